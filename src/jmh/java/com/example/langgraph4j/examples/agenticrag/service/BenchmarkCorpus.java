@@ -0,0 +1,69 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 문서 코퍼스 생성기
+ * 
+ * 레스토랑 메뉴/와인 데이터에서 뽑은 어휘를 치우친 분포로 섞어
+ * 실제 코퍼스처럼 흔한 단어와 드문 단어가 함께 나타나도록 만듭니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class BenchmarkCorpus {
+    
+    private static final String[] VOCABULARY = {
+        "추천", "메뉴", "와인", "가격", "스테이크", "시그니처", "트러플", "리조또", "연어", "타르타르",
+        "버섯", "크림", "수프", "샐러드", "해산물", "파스타", "랍스터", "비스크", "안심", "등심",
+        "한우", "감자", "아스파라거스", "레드와인", "소스", "치즈", "아보카도", "레몬", "드레싱", "토마토",
+        "카베르네", "소비뇽", "메를로", "샤르도네", "피노", "누아", "보르도", "토스카나", "타닌", "산도",
+        "과실향", "블랙베리", "바닐라", "오크", "숙성", "빈티지", "페어링", "디저트", "셰프", "특제",
+        "steak", "wine", "truffle", "pasta", "salad", "cheese", "grill", "sauce", "vintage", "dry"
+    };
+    
+    private BenchmarkCorpus() {
+    }
+    
+    /**
+     * 지정한 개수의 합성 문서 생성
+     */
+    static List<Document> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Document> documents = new ArrayList<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            boolean wine = random.nextInt(3) == 0;
+            int wordCount = 40 + random.nextInt(40);
+            
+            StringBuilder content = new StringBuilder(wordCount * 6);
+            for (int w = 0; w < wordCount; w++) {
+                // 제곱 분포로 앞쪽 어휘(흔한 단어)가 더 자주 선택되도록 함
+                double r = random.nextDouble();
+                content.append(VOCABULARY[(int) (r * r * VOCABULARY.length)]).append(' ');
+                
+                // 드문 단어로 어휘 크기를 코퍼스 크기에 비례하게 늘림
+                if (w % 10 == 0) {
+                    content.append("code").append(random.nextInt(Math.max(1, size / 10))).append(' ');
+                }
+            }
+            content.append("가격: ₩").append(10_000 + random.nextInt(500) * 1_000);
+            
+            documents.add(Document.builder()
+                .id((wine ? "wine_" : "menu_") + (i + 1))
+                .title(VOCABULARY[random.nextInt(VOCABULARY.length)] + " " + (i + 1))
+                .content(content.toString())
+                .source(wine ? "restaurant_wine.txt" : "restaurant_menu.txt")
+                .type(wine ? Document.DocumentType.WINE : Document.DocumentType.MENU)
+                .metadata(Map.of("category", wine ? "wine" : "menu", "index", i))
+                .build());
+        }
+        
+        return documents;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * DocumentRetriever 검색 지연시간 벤치마크
+ * 
+ * 인덱싱 시 미리 계산한 단어 빈도를 사용하는 현재 검색 경로와,
+ * 매 검색마다 매칭 문서를 다시 토큰화해 TF를 구하던 이전 경로를 같은 코퍼스에서 비교합니다.
+ * 결과 문서를 복사하는 검색과 저장 문서를 공유하는 검색 결과 조회의 차이도 함께 측정합니다 (-prof gc로 할당량 비교).
+ * 유사 문서 조회는 문서별 캐시 적중 경로와 대상 문서를 바꿔 가며 검색하는 경로를 나누어 측정합니다.
+ * 
+ * 같은 쿼리를 반복하므로 검색 결과 캐시를 켜면 검색은 캐시 적중만 측정됩니다. queryCache=false가 검색 경로 자체의 비용이고,
+ * true는 캐시 적중 경로입니다. 유사 문서 캐시는 검색 결과 캐시가 켜져 있을 때만 쓰이므로 similarHitsCached는 true에서만
+ * 캐시 적중을 측정합니다.
+ * 
+ * 실행: ./gradlew jmh
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+public class DocumentRetrieverBenchmark {
+    
+    private static final String QUERY = "시그니처 스테이크 와인 추천";
+    
+    @Param({"10000", "100000", "1000000"})
+    public int documentCount;
+    
+    @Param({"false", "true"})
+    public boolean queryCache;
+    
+    private DocumentRetriever retriever;
+    
+    // 이전 경로 재현용 (단어 -> 문서 ID 집합, 문서 ID -> 문서)
+    private Map<String, Set<String>> legacyIndex;
+    private Map<String, Document> legacyStore;
+    
+    // 유사 문서 대상 문서 ID와 다음 순번
+    private String[] similarTargets;
+    private int nextSimilarTarget;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Document> corpus = BenchmarkCorpus.generate(documentCount, 42L);
+        
+        retriever = new DocumentRetriever();
+        if (!queryCache) {
+            retriever.setQueryCacheMaxBytes(0);
+        }
+        corpus.forEach(retriever::addDocument);
+        similarTargets = corpus.stream().map(Document::getId).toArray(String[]::new);
+        
+        legacyIndex = new HashMap<>();
+        legacyStore = new HashMap<>();
+        for (Document doc : corpus) {
+            legacyStore.put(doc.getId(), doc);
+            for (String word : legacyWords(doc.getContent() + " " + doc.getTitle())) {
+                legacyIndex.computeIfAbsent(word, k -> new HashSet<>()).add(doc.getId());
+            }
+        }
+    }
+    
+    /**
+     * 현재 경로: 포스팅에 저장된 단어 빈도로 스코어 계산
+     */
+    @Benchmark
+    public List<Document> search() {
+        return retriever.searchDocuments(QUERY, 10);
+    }
+    
+    /**
+     * 복사 없는 경로: 저장 문서를 공유하는 검색 결과
+     */
+    @Benchmark
+    public List<SearchHit> searchHits() {
+        return retriever.searchHits(QUERY, 10);
+    }
+    
+    /**
+     * 유사 문서: 문서별 캐시 적중 (문서 상세 화면 경로)
+     */
+    @Benchmark
+    public List<SearchHit> similarHitsCached() {
+        return retriever.similarHits(similarTargets[0], 5);
+    }
+    
+    /**
+     * 유사 문서: 대상 문서를 바꿔 가며 조회 (캐시 크기보다 문서가 많으면 대부분 선택 단어 검색)
+     */
+    @Benchmark
+    public List<SearchHit> similarHitsRotating() {
+        nextSimilarTarget = (nextSimilarTarget + 1) % similarTargets.length;
+        return retriever.similarHits(similarTargets[nextSimilarTarget], 5);
+    }
+    
+    /**
+     * 이전 경로: 매칭된 문서마다 본문을 소문자 변환/분할하여 단어 빈도 재계산
+     */
+    @Benchmark
+    public Map<String, Double> legacyRetokenizingScore() {
+        Map<String, Double> scores = new HashMap<>();
+        int totalDocuments = legacyStore.size();
+        
+        for (String word : legacyWords(QUERY)) {
+            Set<String> documentIds = legacyIndex.get(word);
+            if (documentIds == null) {
+                continue;
+            }
+            
+            double idf = Math.log((double) totalDocuments / documentIds.size());
+            for (String docId : documentIds) {
+                Document doc = legacyStore.get(docId);
+                long tf = Arrays.stream((doc.getContent() + " " + doc.getTitle()).toLowerCase().split("\\s+"))
+                    .filter(w -> w.equals(word))
+                    .count();
+                scores.merge(docId, tf * idf, Double::sum);
+            }
+        }
+        
+        return scores;
+    }
+    
+    private static Set<String> legacyWords(String text) {
+        return Arrays.stream(text.toLowerCase()
+                .replaceAll("[^가-힣a-z0-9\\s]", " ")
+                .split("\\s+"))
+            .filter(word -> word.length() >= 2)
+            .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작 시 인덱스 구성 벤치마크
+ * 
+ * 같은 합성 코퍼스를 세 경로로 색인하여 구성 시간을 비교합니다 (1회 실행 시간, 의미 검색 꺼짐, 힙 인덱스).
+ * - sequentialAddDocument: 호출 스레드에서 문서마다 addDocument (이전 시작 경로)
+ * - ingestionPipeline: 작업 스레드 분석 + 색인 스레드 하나가 색인 버퍼에 반영 (addDocuments)
+ * - forkJoinBuild: Fork/Join 작업마다 부분 역색인을 만든 뒤 세그먼트 단위로 병합 (buildIndex)
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['IndexBuildBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class IndexBuildBenchmark {
+    
+    @Param({"100000", "200000"})
+    public int documentCount;
+    
+    private List<Document> corpus;
+    private DocumentRetriever retriever;
+    
+    @Setup(Level.Trial)
+    public void setUpCorpus() {
+        corpus = BenchmarkCorpus.generate(documentCount, 42L);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpRetriever() {
+        retriever = new DocumentRetriever();
+    }
+    
+    @TearDown(Level.Invocation)
+    public void tearDownRetriever() {
+        retriever.flushIndex();
+    }
+    
+    @Benchmark
+    public int sequentialAddDocument() {
+        corpus.forEach(retriever::addDocument);
+        return retriever.getPassageCount();
+    }
+    
+    @Benchmark
+    public int ingestionPipeline() throws InterruptedException {
+        retriever.addDocuments(corpus.stream());
+        return retriever.getPassageCount();
+    }
+    
+    @Benchmark
+    public int forkJoinBuild() throws InterruptedException {
+        retriever.buildIndex(corpus.stream());
+        return retriever.getPassageCount();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.Analyzer;
+import com.example.langgraph4j.examples.agenticrag.index.SegmentedIndex;
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 재시작 시 인덱스 준비 시간 벤치마크 (커밋 복원 vs 다시 색인)
+ * 
+ * 합성 코퍼스를 한 번 색인하여 커밋한 디렉토리를 만들어 두고 두 경로를 비교합니다 (1회 실행 시간, 의미 검색 꺼짐).
+ * - restoreCommit: 최신 커밋 파일을 읽어 세그먼트 파일을 매핑하고 체크섬 확인 (openCommittedSegments)
+ * - reindex: 같은 코퍼스를 Fork/Join으로 다시 분석하여 힙 인덱스 구성 (커밋이 없을 때의 시작 경로)
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['IndexRestoreBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class IndexRestoreBenchmark {
+    
+    @Param({"100000", "200000"})
+    public int documentCount;
+    
+    private List<Document> corpus;
+    private Path directory;
+    
+    @Setup(Level.Trial)
+    public void setUpCommittedIndex() throws IOException, InterruptedException {
+        corpus = BenchmarkCorpus.generate(documentCount, 42L);
+        directory = Files.createTempDirectory("index-restore");
+        
+        SegmentedIndex index = new SegmentedIndex(directory, Analyzer.STANDARD,
+            SegmentedIndex.DEFAULT_MAX_BUFFERED_DOCS, SegmentedIndex.DEFAULT_MERGE_FACTOR);
+        build(index);
+        index.flush();
+        index.close();
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteCommittedIndex() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    @Benchmark
+    public int restoreCommit() throws IOException {
+        SegmentedIndex index = new SegmentedIndex(directory, Analyzer.STANDARD,
+            SegmentedIndex.DEFAULT_MAX_BUFFERED_DOCS, SegmentedIndex.DEFAULT_MERGE_FACTOR);
+        index.openCommittedSegments();
+        int count = index.snapshot().liveDocumentCount();
+        index.close();
+        return count;
+    }
+    
+    @Benchmark
+    public int reindex() throws InterruptedException {
+        SegmentedIndex index = new SegmentedIndex(null);
+        build(index);
+        int count = index.snapshot().liveDocumentCount();
+        index.close();
+        return count;
+    }
+    
+    private void build(SegmentedIndex index) throws InterruptedException {
+        new ParallelIndexBuilder(Runtime.getRuntime().availableProcessors(), SegmentedIndex.DEFAULT_MAX_BUFFERED_DOCS, 32,
+            IngestScalingBenchmark::analyze, null, index::prepareSegment,
+            partials -> index.addSegments(partials.stream().map(ParallelIndexBuilder.PartialIndex::segment).toList()),
+            new IngestionMetrics())
+            .run(corpus.iterator());
+    }
+}
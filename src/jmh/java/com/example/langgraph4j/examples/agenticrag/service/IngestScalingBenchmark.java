@@ -0,0 +1,87 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.Analyzer;
+import com.example.langgraph4j.examples.agenticrag.index.SegmentedIndex;
+import com.example.langgraph4j.examples.agenticrag.index.StandardTokenizer;
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 병렬 색인 작업 스레드 수에 따른 구성 시간 벤치마크
+ * 
+ * 같은 합성 코퍼스를 작업 스레드 1~32개로 Fork/Join 색인하여 확장성을 측정합니다 (1회 실행 시간, 의미 검색 꺼짐, 힙 인덱스).
+ * 작업 스레드는 분석, 부분 역색인 구성, 단어 순번 할당과 문서 빈도 변화량 계산까지 마치고, 호출 스레드는 세그먼트 목록 교체와
+ * 순번별 카운터 덧셈만 수행합니다. 스레드 수를 늘려도 구성 시간이 줄지 않으면 병합 구간이 병목입니다.
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['IngestScalingBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class IngestScalingBenchmark {
+    
+    // DocumentRetriever 기본 설정과 같은 부분 인덱스 크기/배치 크기
+    private static final int SEGMENT_SIZE = 1_000;
+    private static final int BATCH_SIZE = 32;
+    
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+    
+    @Param({"200000"})
+    public int documentCount;
+    
+    private List<Document> corpus;
+    private SegmentedIndex index;
+    
+    @Setup(Level.Trial)
+    public void setUpCorpus() {
+        corpus = BenchmarkCorpus.generate(documentCount, 42L);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpIndex() {
+        index = new SegmentedIndex(null, Analyzer.STANDARD, SEGMENT_SIZE, 10);
+    }
+    
+    @TearDown(Level.Invocation)
+    public void tearDownIndex() {
+        index.close();
+    }
+    
+    @Benchmark
+    public int forkJoinBuild() throws InterruptedException {
+        ParallelIndexBuilder builder = new ParallelIndexBuilder(threads, SEGMENT_SIZE, BATCH_SIZE,
+            IngestScalingBenchmark::analyze, null, index::prepareSegment,
+            partials -> index.addSegments(partials.stream().map(ParallelIndexBuilder.PartialIndex::segment).toList()),
+            new IngestionMetrics());
+        builder.run(corpus.iterator());
+        
+        // 검색 경로의 문서 빈도 조회까지 포함 (통계 스냅샷 읽기)
+        return index.snapshot().documentFrequency("와인");
+    }
+    
+    /**
+     * 문서별 단어 빈도 (DocumentRetriever의 기본 분석과 같음, 분석 결과 캐시 없음)
+     */
+    static Map<String, Integer> analyze(Document document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        StandardTokenizer.TokenConsumer counter =
+            (buffer, length) -> termFrequencies.merge(new String(buffer, 0, length), 1, Integer::sum);
+        Analyzer.STANDARD.analyze(document.getContent(), counter);
+        if (document.getTitle() != null) {
+            Analyzer.STANDARD.analyze(document.getTitle(), counter);
+        }
+        return termFrequencies;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.RankingFunction;
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 랭킹 함수별 검색 비용 벤치마크
+ * 
+ * 같은 인덱스에서 TF-IDF와 BM25 스코어링 경로의 지연시간을 비교합니다.
+ * BM25는 미리 계산된 문서 길이/평균 길이만 사용하므로 추가 비용이 없어야 합니다.
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['RankingFunctionBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class RankingFunctionBenchmark {
+    
+    private static final String QUERY = "시그니처 스테이크 와인 추천";
+    
+    @Param({"tfidf", "bm25"})
+    public String ranking;
+    
+    @Param({"100000"})
+    public int documentCount;
+    
+    private DocumentRetriever retriever;
+    private RankingFunction rankingFunction;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        retriever = new DocumentRetriever();
+        // 같은 쿼리를 반복하므로 검색 결과 캐시를 끄고 스코어링 경로를 측정
+        retriever.setQueryCacheMaxBytes(0);
+        BenchmarkCorpus.generate(documentCount, 42L).forEach(retriever::addDocument);
+        rankingFunction = RankingFunction.forName(ranking);
+    }
+    
+    @Benchmark
+    public List<Document> search() {
+        return retriever.searchDocuments(QUERY, 10, rankingFunction);
+    }
+}
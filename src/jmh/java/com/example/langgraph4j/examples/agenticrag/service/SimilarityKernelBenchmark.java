@@ -0,0 +1,85 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.QuantizedVectorMatrix;
+import com.example.langgraph4j.examples.agenticrag.index.SimilarityKernel;
+import com.example.langgraph4j.examples.agenticrag.index.VectorSimilarity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베딩 유사도 커널 벤치마크
+ * 
+ * 384차원(MiniLM) 정규화 벡터 행렬의 후보 블록 스코어링 비용을 스칼라, Vector API SIMD,
+ * int8 양자화(커널별) 경로로 비교합니다. 양자화 행렬은 float 행렬의 약 4분의 1 메모리를 사용합니다.
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['SimilarityKernelBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class SimilarityKernelBenchmark {
+    
+    private static final int DIMENSION = 384;
+    
+    @Param({"scalar", "vector"})
+    public String kernel;
+    
+    @Param({"10000"})
+    public int rowCount;
+    
+    private SimilarityKernel similarityKernel;
+    private float[] matrix;
+    private QuantizedVectorMatrix quantized;
+    private float[] query;
+    private float[] scores;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        similarityKernel = SimilarityKernel.forName(kernel);
+        quantized = new QuantizedVectorMatrix(DIMENSION, similarityKernel);
+        matrix = new float[rowCount * DIMENSION];
+        
+        Random random = new Random(42L);
+        for (int row = 0; row < rowCount; row++) {
+            float[] vector = randomUnitVector(random);
+            System.arraycopy(vector, 0, matrix, row * DIMENSION, DIMENSION);
+            quantized.add(vector);
+        }
+        query = randomUnitVector(random);
+        scores = new float[rowCount];
+    }
+    
+    @Benchmark
+    public float[] floatBlock() {
+        similarityKernel.dotProducts(query, matrix, 0, rowCount, scores);
+        return scores;
+    }
+    
+    @Benchmark
+    public float[] floatRowByRow() {
+        for (int row = 0; row < rowCount; row++) {
+            scores[row] = similarityKernel.dotProduct(query, 0, matrix, row * DIMENSION, DIMENSION);
+        }
+        return scores;
+    }
+    
+    @Benchmark
+    public float[] int8Quantized() {
+        quantized.dotProducts(query, 0, rowCount, scores);
+        return scores;
+    }
+    
+    private static float[] randomUnitVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return VectorSimilarity.normalize(vector);
+    }
+}
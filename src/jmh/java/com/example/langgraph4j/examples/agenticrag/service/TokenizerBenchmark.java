@@ -0,0 +1,96 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.StandardTokenizer;
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 토크나이저 처리량 벤치마크
+ * 
+ * 코퍼스 문서 1,000개(본문 + 제목)를 토큰화하는 비용을 비교합니다.
+ * 기존 toLowerCase + 정규식 replaceAll/split + 스트림 경로와, 단일 패스 StandardTokenizer 경로를
+ * 토큰 순회만 하는 경우와 인덱싱처럼 단어 빈도 맵까지 만드는 경우로 나누어 측정합니다.
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['TokenizerBenchmark'] } 로 대상 지정,
+ * 할당량 비교는 jmh { profilers = ['gc'] } 추가)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TokenizerBenchmark {
+    
+    private String[] texts;
+    private final StandardTokenizer tokenizer = new StandardTokenizer();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Document> corpus = BenchmarkCorpus.generate(1000, 42L);
+        texts = corpus.stream()
+            .map(doc -> doc.getContent() + " " + doc.getTitle())
+            .toArray(String[]::new);
+    }
+    
+    /**
+     * 기존 경로: 토큰 순회
+     */
+    @Benchmark
+    public void regexTokenize(Blackhole blackhole) {
+        for (String text : texts) {
+            legacyTokens(text).forEach(blackhole::consume);
+        }
+    }
+    
+    /**
+     * 현재 경로: 토큰 순회 (토큰 버퍼 재사용, 문자열 생성 없음)
+     */
+    @Benchmark
+    public void singlePassTokenize(Blackhole blackhole) {
+        for (String text : texts) {
+            tokenizer.tokenize(text, (buffer, length) -> blackhole.consume(length));
+        }
+    }
+    
+    /**
+     * 기존 경로: 단어 빈도 맵 생성
+     */
+    @Benchmark
+    public void regexTermFrequencies(Blackhole blackhole) {
+        for (String text : texts) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            legacyTokens(text).forEach(word -> termFrequencies.merge(word, 1, Integer::sum));
+            blackhole.consume(termFrequencies);
+        }
+    }
+    
+    /**
+     * 현재 경로: 단어 빈도 맵 생성
+     */
+    @Benchmark
+    public void singlePassTermFrequencies(Blackhole blackhole) {
+        for (String text : texts) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            tokenizer.tokenize(text,
+                (buffer, length) -> termFrequencies.merge(new String(buffer, 0, length), 1, Integer::sum));
+            blackhole.consume(termFrequencies);
+        }
+    }
+    
+    private static Stream<String> legacyTokens(String text) {
+        return Arrays.stream(text.toLowerCase()
+                .replaceAll("[^가-힣a-z0-9\\s]", " ")
+                .split("\\s+"))
+                .filter(word -> word.length() >= 2);
+    }
+}
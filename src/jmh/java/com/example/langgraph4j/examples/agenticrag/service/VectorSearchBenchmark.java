@@ -0,0 +1,122 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.HnswIndex;
+import com.example.langgraph4j.examples.agenticrag.index.TopDocs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HNSW 벡터 검색 벤치마크
+ * 
+ * MiniLM 임베딩(384차원)처럼 군집을 이루는 합성 벡터로 HNSW 근사 검색과 전체 비교(brute-force) 코사인 검색의
+ * 지연시간을 비교합니다. 설정 단계에서 쿼리 200개의 recall@10(정확한 상위 10개 중 HNSW가 찾은 비율)을 계산하여
+ * hnswSearch 결과에 보조 카운터({@code recall})로 함께 보고합니다.
+ * 
+ * 실행: ./gradlew jmh (jmh { includes = ['VectorSearchBenchmark'] } 로 대상 지정)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class VectorSearchBenchmark {
+    
+    private static final int DIMENSION = 384;
+    private static final int K = 10;
+    private static final int QUERY_COUNT = 200;
+    
+    @Param({"10000", "50000"})
+    public int vectorCount;
+    
+    @Param({"32", "64", "128"})
+    public int efSearch;
+    
+    private HnswIndex index;
+    private float[][] queries;
+    private int queryCursor;
+    private double recall;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        
+        // 중심 벡터 주변에 흩어진 군집형 벡터 (실제 문장 임베딩의 분포를 흉내)
+        float[][] centroids = new float[Math.max(1, vectorCount / 100)][];
+        for (int c = 0; c < centroids.length; c++) {
+            centroids[c] = gaussian(random, null, 1f);
+        }
+        
+        index = new HnswIndex(DIMENSION);
+        for (int i = 0; i < vectorCount; i++) {
+            index.add("doc_" + i, gaussian(random, centroids[random.nextInt(centroids.length)], 0.5f));
+        }
+        
+        queries = new float[QUERY_COUNT][];
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            queries[q] = gaussian(random, centroids[random.nextInt(centroids.length)], 0.5f);
+        }
+        
+        recall = recall();
+    }
+    
+    @Benchmark
+    public TopDocs hnswSearch(RecallCounter counter) {
+        return index.search(nextQuery(), K, efSearch);
+    }
+    
+    @Benchmark
+    public TopDocs bruteForceSearch() {
+        return index.exactSearch(nextQuery(), K);
+    }
+    
+    private float[] nextQuery() {
+        float[] query = queries[queryCursor];
+        queryCursor = (queryCursor + 1) % QUERY_COUNT;
+        return query;
+    }
+    
+    private double recall() {
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = new HashSet<>();
+            for (int ordinal : index.exactSearch(query, K).ordinals()) {
+                expected.add(ordinal);
+            }
+            for (int ordinal : index.search(query, K, efSearch).ordinals()) {
+                if (expected.contains(ordinal)) {
+                    found++;
+                }
+            }
+        }
+        return (double) found / (QUERY_COUNT * K);
+    }
+    
+    /**
+     * HNSW 재현율 보조 카운터 (JMH 결과에 hnswSearch:recall로 출력)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RecallCounter {
+        
+        public double recall;
+        
+        @Setup(Level.Iteration)
+        public void setUp(VectorSearchBenchmark benchmark) {
+            recall = benchmark.recall;
+        }
+    }
+    
+    private static float[] gaussian(Random random, float[] center, float scale) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (center != null ? center[d] : 0f) + (float) random.nextGaussian() * scale / (float) Math.sqrt(DIMENSION);
+        }
+        return vector;
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.langgraph4j.examples.agenticrag.controller;
 
+import com.example.langgraph4j.examples.agenticrag.index.DocumentFilter;
+import com.example.langgraph4j.examples.agenticrag.index.RankingFunction;
 import com.example.langgraph4j.examples.agenticrag.model.AgenticRAGState;
 import com.example.langgraph4j.examples.agenticrag.model.Document;
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
 import com.example.langgraph4j.examples.agenticrag.service.AgenticRAGService;
 import com.example.langgraph4j.examples.agenticrag.service.DocumentRetriever;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Agentic RAG 시스템의 REST API 컨트롤러
@@ -26,10 +31,13 @@ import java.util.Map;
 @RequestMapping("/api/agentic-rag")
 @RequiredArgsConstructor
 public class AgenticRAGController {
-
+    
+    // 요청 한 번에 돌려줄 수 있는 최대 결과 수 (결과 수만큼 잡히는 top-k 버퍼의 상한)
+    private static final int MAX_RESULTS = 100;
+    
     private final AgenticRAGService agenticRAGService;
     private final DocumentRetriever documentRetriever;
-
+    
     /**
      * Agentic RAG 질문 처리
      * 
@@ -67,7 +75,7 @@ public class AgenticRAGController {
             
             log.info("Agentic RAG 처리 완료: {}", result.getSummary());
             return ResponseEntity.ok(response);
-            
+        
         } catch (Exception e) {
             log.error("Agentic RAG 처리 중 오류 발생", e);
             return ResponseEntity.internalServerError()
@@ -77,21 +85,97 @@ public class AgenticRAGController {
                 ));
         }
     }
-
+    
     /**
      * 문서 검색 (RAG 없이 단순 검색)
      * 
      * @param query 검색 쿼리
      * @param maxResults 최대 결과 수
+     * @param ranking 랭킹 함수 (tfidf, bm25 - 생략 시 기본 설정 사용)
+     * @param type 문서 타입 필터 (생략 시 모든 타입)
+     * @param category 메타데이터 분류 필터 (menu, wine 등 - 생략 시 모든 분류)
      * @return 검색 결과
      */
     @GetMapping("/search")
     public ResponseEntity<Map<String, Object>> searchDocuments(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int maxResults,
+            @RequestParam(required = false) String ranking,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category) {
+        
+        try {
+            DocumentFilter filter = DocumentFilter.NONE;
+            if (type != null) {
+                filter = filter.withType(Document.DocumentType.valueOf(type.toUpperCase()));
+            }
+            if (category != null) {
+                filter = filter.withMetadata("category", category);
+            }
+            
+            // 응답에 필요한 필드만 읽으므로 결과 문서를 복사하지 않는 검색 결과 사용 (필터는 스코어 계산 전에 적용)
+            List<SearchHit> hits = ranking != null ?
+                documentRetriever.searchHits(query, limitResults(maxResults), RankingFunction.forName(ranking), filter) :
+                documentRetriever.searchHits(query, limitResults(maxResults), filter);
+            
+            Map<String, Object> response = Map.of(
+                "query", query,
+                "ranking", ranking != null ? ranking : "default",
+                "documents", hits.stream().map(hit -> Map.of(
+                    "id", hit.id(),
+                    "title", hit.title(),
+                    "content", hit.summary(),
+                    "source", hit.source(),
+                    "type", hit.type(),
+                    "relevanceScore", hit.score()
+                )).toList(),
+                "totalCount", hits.size(),
+                "success", true
+            );
+            
+            log.info("문서 검색 완료: '{}' → {}개 결과", query, hits.size());
+            return ResponseEntity.ok(response);
+        
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", e.getMessage(),
+                    "availableRankings", List.of("tfidf", "bm25"),
+                    "availableTypes", List.of("MENU", "WINE", "RECIPE", "REVIEW", "GENERAL"),
+                    "success", false
+                ));
+        } catch (Exception e) {
+            log.error("문서 검색 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of(
+                    "error", "문서 검색 실패: " + e.getMessage(),
+                    "success", false
+                ));
+        }
+    }
+    
+    /**
+     * 의미 기반 문서 검색 (임베딩 + HNSW)
+     * 
+     * @param query 검색 쿼리
+     * @param maxResults 최대 결과 수
+     * @return 코사인 유사도 순 검색 결과
+     */
+    @GetMapping("/semantic-search")
+    public ResponseEntity<Map<String, Object>> semanticSearch(
             @RequestParam String query,
             @RequestParam(defaultValue = "10") int maxResults) {
         
+        if (!documentRetriever.isSemanticSearchEnabled()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", "의미 검색이 비활성화되어 있습니다 (agentic-rag.semantic.enabled=true 필요)",
+                    "success", false
+                ));
+        }
+        
         try {
-            List<Document> documents = documentRetriever.searchDocuments(query, maxResults);
+            List<Document> documents = documentRetriever.semanticSearch(query, limitResults(maxResults));
             
             Map<String, Object> response = Map.of(
                 "query", query,
@@ -107,21 +191,67 @@ public class AgenticRAGController {
                 "success", true
             );
             
-            log.info("문서 검색 완료: '{}' → {}개 결과", query, documents.size());
+            log.info("의미 검색 완료: '{}' → {}개 결과", query, documents.size());
             return ResponseEntity.ok(response);
+        
+        } catch (Exception e) {
+            log.error("의미 검색 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of(
+                    "error", "의미 검색 실패: " + e.getMessage(),
+                    "success", false
+                ));
+        }
+    }
+    
+    /**
+     * 키워드 빠른 검색 (단어 사전 트라이의 접두사/와일드카드/오타 허용 조회)
+     * 
+     * 예: {@code /quick-search?keyword=카베르*} → 카베르네 소비뇽 와인, {@code keyword=스테이그} → 스테이크 메뉴
+     * 
+     * @param keyword 검색 키워드 ('*', '?' 와일드카드 사용 가능)
+     * @param maxResults 최대 결과 수
+     * @return 제목 일치 우선, 매칭 품질 순 검색 결과
+     */
+    @GetMapping("/quick-search")
+    public ResponseEntity<Map<String, Object>> quickSearch(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "10") int maxResults) {
+        
+        try {
+            // 응답에 필요한 필드만 읽으므로 결과 문서를 복사하지 않는 검색 결과 사용 (상위 결과 수만큼만 선택)
+            List<SearchHit> hits = documentRetriever.quickSearchHits(keyword, limitResults(maxResults));
             
+            Map<String, Object> response = Map.of(
+                "keyword", keyword,
+                "documents", hits.stream().map(hit -> Map.of(
+                    "id", hit.id(),
+                    "title", hit.title(),
+                    "content", hit.summary(),
+                    "source", hit.source(),
+                    "type", hit.type()
+                )).toList(),
+                "totalCount", hits.size(),
+                "success", true
+            );
+            
+            log.info("빠른 검색 완료: '{}' → {}개 결과", keyword, hits.size());
+            return ResponseEntity.ok(response);
+        
         } catch (Exception e) {
-            log.error("문서 검색 중 오류 발생", e);
+            log.error("빠른 검색 중 오류 발생", e);
             return ResponseEntity.internalServerError()
                 .body(Map.of(
-                    "error", "문서 검색 실패: " + e.getMessage(),
+                    "error", "빠른 검색 실패: " + e.getMessage(),
                     "success", false
                 ));
         }
     }
-
+    
     /**
-     * 특정 문서 상세 조회
+     * 특정 문서 상세 조회 (유사 문서 포함)
+     * 
+     * 문서는 ID로 바로 조회하고, 유사 문서는 문서별로 캐시된 결과를 사용합니다.
      * 
      * @param documentId 문서 ID
      * @return 문서 상세 정보
@@ -129,14 +259,14 @@ public class AgenticRAGController {
     @GetMapping("/documents/{documentId}")
     public ResponseEntity<Map<String, Object>> getDocument(@PathVariable String documentId) {
         try {
-            // 유사 문서 검색을 통해 문서 정보 가져오기
-            List<Document> similarDocs = documentRetriever.findSimilarDocuments(documentId, 1);
+            Optional<Document> found = documentRetriever.getDocument(documentId);
             
-            if (similarDocs.isEmpty()) {
+            if (found.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            Document document = similarDocs.get(0);
+            Document document = found.get();
+            List<SearchHit> similarHits = documentRetriever.similarHits(documentId, 3);
             
             Map<String, Object> response = Map.of(
                 "id", document.getId(),
@@ -145,11 +275,16 @@ public class AgenticRAGController {
                 "source", document.getSource(),
                 "type", document.getType(),
                 "metadata", document.getMetadata() != null ? document.getMetadata() : Map.of(),
-                "createdAt", document.getCreatedAt()
+                "createdAt", document.getCreatedAt(),
+                "similarDocuments", similarHits.stream().map(hit -> Map.of(
+                    "id", hit.id(),
+                    "title", hit.title(),
+                    "similarityScore", hit.score()
+                )).toList()
             );
             
             return ResponseEntity.ok(response);
-            
+        
         } catch (Exception e) {
             log.error("문서 조회 중 오류 발생", e);
             return ResponseEntity.internalServerError()
@@ -159,7 +294,106 @@ public class AgenticRAGController {
                 ));
         }
     }
-
+    
+    /**
+     * 문서 추가 또는 수정 (재시작 없이 메뉴 변경 반영)
+     * 
+     * @param documentId 문서 ID
+     * @param request 문서 내용
+     * @return 처리 결과
+     */
+    @PutMapping("/documents/{documentId}")
+    public ResponseEntity<Map<String, Object>> putDocument(
+            @PathVariable String documentId,
+            @RequestBody DocumentRequest request) {
+        
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", "문서 내용(content)이 필요합니다.",
+                    "success", false
+                ));
+        }
+        
+        Document.DocumentType type;
+        try {
+            type = request.getType() != null
+                ? Document.DocumentType.valueOf(request.getType().toUpperCase()) : Document.DocumentType.GENERAL;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", "유효하지 않은 문서 타입: " + request.getType(),
+                    "availableTypes", List.of("MENU", "WINE", "RECIPE", "REVIEW", "GENERAL"),
+                    "success", false
+                ));
+        }
+        
+        try {
+            Document document = Document.builder()
+                .id(documentId)
+                .title(request.getTitle() != null ? request.getTitle() : documentId)
+                .content(request.getContent())
+                .source(request.getSource() != null ? request.getSource() : "api")
+                .type(type)
+                .metadata(request.getMetadata() != null ? request.getMetadata() : Map.of())
+                .build();
+            
+            boolean replaced = documentRetriever.updateDocument(document);
+            
+            return ResponseEntity.ok(Map.of(
+                "id", documentId,
+                "updated", replaced,
+                "created", !replaced,
+                "documentCount", documentRetriever.getDocumentCount(),
+                "success", true
+            ));
+        
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", e.getMessage() != null ? e.getMessage() : "잘못된 문서 요청입니다.",
+                    "success", false
+                ));
+        } catch (Exception e) {
+            log.error("문서 저장 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of(
+                    "error", "문서 저장 실패: " + e.getMessage(),
+                    "success", false
+                ));
+        }
+    }
+    
+    /**
+     * 문서 삭제
+     * 
+     * @param documentId 문서 ID
+     * @return 처리 결과
+     */
+    @DeleteMapping("/documents/{documentId}")
+    public ResponseEntity<Map<String, Object>> deleteDocument(@PathVariable String documentId) {
+        try {
+            if (!documentRetriever.deleteDocument(documentId)) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            return ResponseEntity.ok(Map.of(
+                "id", documentId,
+                "deleted", true,
+                "documentCount", documentRetriever.getDocumentCount(),
+                "success", true
+            ));
+        
+        } catch (Exception e) {
+            log.error("문서 삭제 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of(
+                    "error", "문서 삭제 실패: " + e.getMessage(),
+                    "success", false
+                ));
+        }
+    }
+    
     /**
      * 문서 타입별 검색
      * 
@@ -176,7 +410,7 @@ public class AgenticRAGController {
         
         try {
             Document.DocumentType docType = Document.DocumentType.valueOf(type.toUpperCase());
-            List<Document> documents = documentRetriever.searchDocumentsByType(query, docType, maxResults);
+            List<Document> documents = documentRetriever.searchDocumentsByType(query, docType, limitResults(maxResults));
             
             Map<String, Object> response = Map.of(
                 "query", query,
@@ -194,7 +428,7 @@ public class AgenticRAGController {
             
             log.info("타입별 검색 완료: {} '{}' → {}개 결과", type, query, documents.size());
             return ResponseEntity.ok(response);
-            
+        
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(Map.of(
@@ -211,7 +445,100 @@ public class AgenticRAGController {
                 ));
         }
     }
-
+    
+    /**
+     * 숫자 메타데이터 범위 검색 (LLM 없이 가격/빈티지 조건으로 조회)
+     * 
+     * 예: {@code /search/range?max=30000&type=MENU} → 3만원 이하 메뉴 (가격 오름차순)
+     * 
+     * @param field 숫자 메타데이터 키 (price, vintage, 그 밖의 키는 400)
+     * @param min 최솟값 (생략 시 하한 없음)
+     * @param max 최댓값 (생략 시 상한 없음)
+     * @param type 문서 타입 필터 (생략 시 모든 타입)
+     * @param order 정렬 순서 (asc, desc)
+     * @param maxResults 최대 결과 수
+     * @return 값 순서의 검색 결과
+     */
+    @GetMapping("/search/range")
+    public ResponseEntity<Map<String, Object>> searchByRange(
+            @RequestParam(defaultValue = Document.PRICE_KEY) String field,
+            @RequestParam(required = false) Double min,
+            @RequestParam(required = false) Double max,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "asc") String order,
+            @RequestParam(defaultValue = "10") int maxResults) {
+        
+        try {
+            DocumentFilter.Range range = DocumentFilter.Range.of(min, max);
+            DocumentFilter filter = type != null
+                ? DocumentFilter.ofType(Document.DocumentType.valueOf(type.toUpperCase()))
+                : DocumentFilter.NONE;
+            List<SearchHit> hits = documentRetriever.rangeHits(field, range, filter, limitResults(maxResults),
+                "desc".equalsIgnoreCase(order));
+            
+            Map<String, Object> response = Map.of(
+                "field", field,
+                "min", range.min(),
+                "max", range.max(),
+                "documents", hits.stream().map(hit -> Map.of(
+                    "id", hit.id(),
+                    "title", hit.title(),
+                    "content", hit.summary(),
+                    "source", hit.source(),
+                    "type", hit.type(),
+                    field, hit.metadata().get(field)
+                )).toList(),
+                "totalCount", hits.size(),
+                "success", true
+            );
+            
+            log.info("범위 검색 완료: {} {} ~ {} → {}개 결과", field, min, max, hits.size());
+            return ResponseEntity.ok(response);
+        
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of(
+                    "error", e.getMessage(),
+                    "availableFields", DocumentRetriever.RANGE_FIELDS,
+                    "availableTypes", List.of("MENU", "WINE", "RECIPE", "REVIEW", "GENERAL"),
+                    "success", false
+                ));
+        } catch (Exception e) {
+            log.error("범위 검색 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                .body(Map.of(
+                    "error", "범위 검색 실패: " + e.getMessage(),
+                    "success", false
+                ));
+        }
+    }
+    
+    /**
+     * 준비 상태 확인 (시작 시 인덱스 구성이 끝나기 전에는 503)
+     * 
+     * 로드 밸런서나 오케스트레이터의 readiness 검사에 사용합니다. 구성 중에도 다른 API는 응답하며,
+     * 검색 결과는 그때까지 색인된 문서로 제한됩니다.
+     * 
+     * @return 준비 상태
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> getReadiness() {
+        if (documentRetriever.isReady()) {
+            return ResponseEntity.ok(Map.of(
+                "ready", true,
+                "documentCount", documentRetriever.getDocumentCount()
+            ));
+        }
+        
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("ready", false);
+        response.put("documentCount", documentRetriever.getDocumentCount());
+        if (documentRetriever.getIngestionMetrics() != null) {
+            response.put("ingestion", documentRetriever.getIngestionMetrics().toMap());
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
     /**
      * 시스템 상태 및 통계 조회
      * 
@@ -221,9 +548,15 @@ public class AgenticRAGController {
     public ResponseEntity<Map<String, Object>> getSystemStatus() {
         try {
             Map<String, Object> response = new java.util.HashMap<>();
+            response.put("ready", documentRetriever.isReady());
             response.put("documentCount", documentRetriever.getDocumentCount());
+            response.put("passageCount", documentRetriever.getPassageCount());
             response.put("documentsByType", documentRetriever.getDocumentCountByType());
             response.put("indexStatus", documentRetriever.getIndexStatus());
+            response.put("queryCache", documentRetriever.getQueryCacheStats());
+            if (documentRetriever.getIngestionMetrics() != null) {
+                response.put("ingestion", documentRetriever.getIngestionMetrics().toMap());
+            }
             response.put("systemTime", java.time.LocalDateTime.now());
             response.put("availableDocumentTypes", List.of("MENU", "WINE", "RECIPE", "REVIEW", "GENERAL"));
             response.put("features", List.of(
@@ -234,7 +567,7 @@ public class AgenticRAGController {
             ));
             
             return ResponseEntity.ok(response);
-            
+        
         } catch (Exception e) {
             log.error("시스템 상태 조회 중 오류 발생", e);
             return ResponseEntity.internalServerError()
@@ -244,7 +577,7 @@ public class AgenticRAGController {
                 ));
         }
     }
-
+    
     /**
      * 유사 문서 검색
      * 
@@ -258,24 +591,25 @@ public class AgenticRAGController {
             @RequestParam(defaultValue = "5") int maxResults) {
         
         try {
-            List<Document> similarDocs = documentRetriever.findSimilarDocuments(documentId, maxResults);
+            // 문서별로 캐시된 결과를 복사 없이 사용
+            List<SearchHit> similarHits = documentRetriever.similarHits(documentId, limitResults(maxResults));
             
             Map<String, Object> response = Map.of(
                 "baseDocumentId", documentId,
-                "similarDocuments", similarDocs.stream().map(doc -> Map.of(
-                    "id", doc.getId(),
-                    "title", doc.getTitle(),
-                    "content", doc.getSummary(),
-                    "type", doc.getType(),
-                    "relevanceScore", doc.getRelevanceScore() != null ? doc.getRelevanceScore() : 0.0
+                "similarDocuments", similarHits.stream().map(hit -> Map.of(
+                    "id", hit.id(),
+                    "title", hit.title(),
+                    "content", hit.summary(),
+                    "type", hit.type(),
+                    "relevanceScore", hit.score()
                 )).toList(),
-                "count", similarDocs.size(),
+                "count", similarHits.size(),
                 "success", true
             );
             
-            log.info("유사 문서 검색 완료: {} → {}개 결과", documentId, similarDocs.size());
+            log.info("유사 문서 검색 완료: {} → {}개 결과", documentId, similarHits.size());
             return ResponseEntity.ok(response);
-            
+        
         } catch (Exception e) {
             log.error("유사 문서 검색 중 오류 발생", e);
             return ResponseEntity.internalServerError()
@@ -285,7 +619,7 @@ public class AgenticRAGController {
                 ));
         }
     }
-
+    
     /**
      * 간단한 테스트 엔드포인트
      * 
@@ -307,36 +641,98 @@ public class AgenticRAGController {
         
         return ResponseEntity.ok(response);
     }
-
+    
+    /**
+     * 요청한 결과 수를 0 ~ {@link #MAX_RESULTS}로 제한
+     */
+    private static int limitResults(int maxResults) {
+        return Math.max(0, Math.min(maxResults, MAX_RESULTS));
+    }
+    
+    /**
+     * 문서 추가/수정 요청 DTO
+     */
+    public static class DocumentRequest {
+        private String title;
+        private String content;
+        private String source;
+        private String type;
+        private Map<String, Object> metadata;
+        
+        // 기본 생성자
+        public DocumentRequest() {}
+        
+        // Getter/Setter
+        public String getTitle() {
+            return title;
+        }
+        
+        public void setTitle(String title) {
+            this.title = title;
+        }
+        
+        public String getContent() {
+            return content;
+        }
+        
+        public void setContent(String content) {
+            this.content = content;
+        }
+        
+        public String getSource() {
+            return source;
+        }
+        
+        public void setSource(String source) {
+            this.source = source;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        public void setType(String type) {
+            this.type = type;
+        }
+        
+        public Map<String, Object> getMetadata() {
+            return metadata;
+        }
+        
+        public void setMetadata(Map<String, Object> metadata) {
+            this.metadata = metadata;
+        }
+    }
+    
     /**
      * 질문 요청 DTO
      */
     public static class AskRequest {
         private String query;
         private String sessionId;
-
+        
         // 기본 생성자
         public AskRequest() {}
-
+        
         // 매개변수 생성자
         public AskRequest(String query, String sessionId) {
             this.query = query;
             this.sessionId = sessionId;
         }
-
+        
         // Getter/Setter
         public String getQuery() {
             return query;
         }
-
+        
         public void setQuery(String query) {
             this.query = query;
         }
-
+        
         public String getSessionId() {
             return sessionId;
         }
-
+        
         public void setSessionId(String sessionId) {
             this.sessionId = sessionId;
         }
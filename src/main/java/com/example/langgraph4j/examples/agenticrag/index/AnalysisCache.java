@@ -0,0 +1,96 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 문서별 분석 결과 캐시
+ * 
+ * 문서 ID마다 마지막으로 분석한 본문/제목의 지문(64비트 FNV-1a)과 단어별 빈도를 보관합니다.
+ * 내용이 바뀌지 않은 문서를 다시 저장하거나, 유사 문서 검색처럼 저장된 문서를 다시 분석해야 할 때
+ * 지문이 같으면 분석을 건너뜁니다. 최대 항목 수를 넘으면 Caffeine의 크기 제한 정책(W-TinyLFU)으로 제거하며,
+ * 조회와 저장은 전역 잠금 없이 병렬 색인 작업 스레드에서 동시에 수행됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class AnalysisCache {
+    
+    private record Entry(long fingerprint, Map<String, Integer> termFrequencies) {
+    }
+    
+    private final Cache<String, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    public AnalysisCache(int maxEntries) {
+        this.entries = Caffeine.newBuilder().maximumSize(Math.max(0, maxEntries)).build();
+    }
+    
+    /**
+     * 캐시된 단어 빈도 조회 (지문이 다르면 null, 반환 맵은 수정 불가)
+     */
+    public Map<String, Integer> get(String documentId, long fingerprint) {
+        Entry entry = entries.getIfPresent(documentId);
+        if (entry != null && entry.fingerprint() == fingerprint) {
+            hits.increment();
+            return entry.termFrequencies();
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * 분석 결과 저장 (복사하지 않고 읽기 전용 뷰로 보관하므로 호출자는 저장 후 맵을 수정하지 않아야 함)
+     */
+    public void put(String documentId, long fingerprint, Map<String, Integer> termFrequencies) {
+        entries.put(documentId, new Entry(fingerprint, Collections.unmodifiableMap(termFrequencies)));
+    }
+    
+    /**
+     * 문서 항목 제거
+     */
+    public void remove(String documentId) {
+        entries.invalidate(documentId);
+    }
+    
+    /**
+     * 추정 항목 수 (제거 대기 중인 항목 포함)
+     */
+    public long size() {
+        return entries.estimatedSize();
+    }
+    
+    public long hitCount() {
+        return hits.sum();
+    }
+    
+    public long missCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * 본문과 제목의 64비트 FNV-1a 지문
+     */
+    public static long fingerprint(String content, String title) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, content);
+        // 본문/제목 경계 구분 (null과 빈 문자열도 구분)
+        hash = (hash ^ (title != null ? 1 : 2)) * 0x100000001b3L;
+        return mix(hash, title);
+    }
+    
+    private static long mix(long hash, String text) {
+        if (text == null) {
+            return hash;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 텍스트 분석기 (토크나이저 + 토큰 필터 체인)
+ * 
+ * {@link StandardTokenizer}가 만든 토큰을 설정된 순서대로 필터에 통과시킵니다.
+ * 색인과 검색에 같은 분석기를 사용해야 하므로 분석기 이름은 세그먼트 파일에 함께 기록되며,
+ * 설정이 바뀌면 기존 세그먼트는 다시 색인됩니다.
+ * 
+ * 설정 문자열은 필터 이름을 쉼표로 나열합니다 (예: "particle,bigram,stem", 필터 없음은 "standard").
+ * <ul>
+ *   <li>particle - 한글 조사 제거 ({@link KoreanParticleFilter})</li>
+ *   <li>bigram - 한글 음절 바이그램 ({@link HangulBigramFilter})</li>
+ *   <li>stem - 영어 복수형 어간 추출 ({@link EnglishMinimalStemFilter})</li>
+ * </ul>
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class Analyzer {
+    
+    public static final String STANDARD_NAME = "standard";
+    public static final Analyzer STANDARD = new Analyzer(List.of());
+    
+    // 스레드별 토크나이저 (토큰 버퍼 재사용)
+    private static final ThreadLocal<StandardTokenizer> TOKENIZER = ThreadLocal.withInitial(StandardTokenizer::new);
+    
+    private final List<TokenFilter> filters;
+    private final String name;
+    
+    private Analyzer(List<TokenFilter> filters) {
+        this.filters = List.copyOf(filters);
+        this.name = filters.isEmpty() ? STANDARD_NAME :
+            String.join(",", filters.stream().map(TokenFilter::getName).toList());
+    }
+    
+    /**
+     * 설정 문자열로 분석기 생성
+     * 
+     * @throws IllegalArgumentException 알 수 없는 필터 이름
+     */
+    public static Analyzer forName(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equalsIgnoreCase(STANDARD_NAME)) {
+            return STANDARD;
+        }
+        
+        List<TokenFilter> filters = new ArrayList<>();
+        for (String filterName : spec.split(",")) {
+            filters.add(switch (filterName.trim().toLowerCase(Locale.ROOT)) {
+                case KoreanParticleFilter.NAME -> KoreanParticleFilter.INSTANCE;
+                case HangulBigramFilter.NAME -> HangulBigramFilter.INSTANCE;
+                case EnglishMinimalStemFilter.NAME -> EnglishMinimalStemFilter.INSTANCE;
+                default -> throw new IllegalArgumentException(
+                    "알 수 없는 분석 필터: " + filterName + " (사용 가능: particle, bigram, stem)");
+            });
+        }
+        return new Analyzer(filters);
+    }
+    
+    /**
+     * 분석기 이름 (정규화된 설정 문자열)
+     */
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 텍스트를 분석하여 토큰을 콜백으로 전달 (토큰 버퍼는 재사용되므로 보관 시 복사 필요)
+     */
+    public void analyze(CharSequence text, StandardTokenizer.TokenConsumer consumer) {
+        StandardTokenizer.TokenConsumer chain = consumer;
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            chain = filters.get(i).wrap(chain);
+        }
+        TOKENIZER.get().tokenize(text, chain);
+    }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
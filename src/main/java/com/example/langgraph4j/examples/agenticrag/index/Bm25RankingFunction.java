@@ -0,0 +1,48 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * Okapi BM25 랭킹 함수
+ * 
+ * 단어 빈도 포화(k1)와 문서 길이 정규화(b)를 적용하며,
+ * IDF는 log(1 + (N - df + 0.5) / (df + 0.5))로 계산하여 항상 양수를 유지합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class Bm25RankingFunction implements RankingFunction {
+    
+    public static final String NAME = "bm25";
+    
+    /**
+     * 일반적으로 사용되는 기본 파라미터 (k1 = 1.2, b = 0.75)
+     */
+    public static final Bm25RankingFunction DEFAULT = new Bm25RankingFunction(1.2, 0.75);
+    
+    private final double k1;
+    private final double b;
+    
+    public Bm25RankingFunction(double k1, double b) {
+        if (k1 < 0 || b < 0 || b > 1) {
+            throw new IllegalArgumentException("유효하지 않은 BM25 파라미터: k1=" + k1 + ", b=" + b);
+        }
+        this.k1 = k1;
+        this.b = b;
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public double idf(int documentFrequency, int documentCount) {
+        return Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+    
+    @Override
+    public double score(int termFrequency, int documentLength, double averageDocumentLength, double idf) {
+        double lengthRatio = averageDocumentLength > 0 ? documentLength / averageDocumentLength : 1.0;
+        double norm = k1 * (1.0 - b + b * lengthRatio);
+        return idf * (termFrequency * (k1 + 1.0)) / (termFrequency + norm);
+    }
+}
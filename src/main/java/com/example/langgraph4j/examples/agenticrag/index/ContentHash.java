@@ -0,0 +1,78 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 128비트 내용 해시 (SHA-256 앞 16바이트)
+ * 
+ * 임베딩 캐시처럼 해시가 같으면 같은 내용으로 보고 결과를 재사용하는 영속 저장소의 키로 사용합니다.
+ * 64비트 해시는 수억 건에서 충돌 확률을 무시할 수 없고 충돌 시 다른 문서의 벡터를 돌려주므로, 암호 해시를 128비트로 잘라 씁니다.
+ * 
+ * @param high 앞 8바이트
+ * @param low 다음 8바이트
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public record ContentHash(long high, long low) {
+    
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * 본문과 제목의 해시 (본문 길이를 앞에 넣어 경계를 구분하고, 제목 null과 빈 문자열도 구분)
+     */
+    public static ContentHash of(String content, String title) {
+        MessageDigest digest = sha256();
+        update(digest, content);
+        update(digest, title);
+        return of(digest.digest());
+    }
+    
+    /**
+     * 스트림 전체 바이트의 해시 (스트림은 닫지 않음)
+     */
+    public static ContentHash of(InputStream input) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        for (int read; (read = input.read(buffer)) >= 0; ) {
+            digest.update(buffer, 0, read);
+        }
+        return of(digest.digest());
+    }
+    
+    /**
+     * 32자리 16진수 표기
+     */
+    public String toHex() {
+        return HexFormat.of().toHexDigits(high) + HexFormat.of().toHexDigits(low);
+    }
+    
+    private static ContentHash of(byte[] sha256) {
+        ByteBuffer bytes = ByteBuffer.wrap(sha256);
+        return new ContentHash(bytes.getLong(), bytes.getLong());
+    }
+    
+    private static void update(MessageDigest digest, String text) {
+        byte[] bytes = text != null ? text.getBytes(StandardCharsets.UTF_8) : null;
+        int length = bytes != null ? bytes.length : -1;
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        if (bytes != null) {
+            digest.update(bytes);
+        }
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 Java 플랫폼 구현에 포함된 알고리즘
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
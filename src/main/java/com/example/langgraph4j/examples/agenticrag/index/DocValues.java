@@ -0,0 +1,146 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세그먼트 문서의 필터용 열 값 (문서 순번 → 타입/메타데이터 값)
+ * 
+ * 검색 필터가 포스팅을 순회하며 문서마다 저장 필드를 디코딩하지 않도록, 타입은 타입별 비트셋으로, 메타데이터는
+ * 키를 처음 조회할 때 세그먼트 문서를 한 번 읽어 순번 배열로 만들어 둡니다.
+ * 불변 세그먼트는 인스턴스 하나를 재사용하고, 색인 중인 버퍼는 조회 시점의 문서 수까지만 담은 인스턴스를 매번 만듭니다.
+ * 
+ * 메타데이터 값은 문자열 열(toString)과 숫자 열(숫자 또는 숫자 문자열, 없으면 NaN)로 제공하며,
+ * 범위 검색용으로 숫자 열을 값 순서로 정렬한 {@link NumericRangeIndex}도 키별로 만들어 둡니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class DocValues {
+    
+    private static final Document.DocumentType[] TYPES = Document.DocumentType.values();
+    
+    private final IndexSegment segment;
+    private final int maxDoc;
+    
+    // 타입 순서 → 문서 비트셋 (처음 조회 시 생성)
+    private volatile long[][] typeBits;
+    
+    // 메타데이터 키 → 순번별 값
+    private final Map<String, String[]> stringColumns = new ConcurrentHashMap<>();
+    private final Map<String, double[]> numericColumns = new ConcurrentHashMap<>();
+    private final Map<String, NumericRangeIndex> rangeIndexes = new ConcurrentHashMap<>();
+    
+    /**
+     * @param maxDoc 열에 담을 문서 순번 상한
+     */
+    DocValues(IndexSegment segment, int maxDoc) {
+        this.segment = segment;
+        this.maxDoc = maxDoc;
+    }
+    
+    /**
+     * 열에 담긴 문서 순번 상한
+     */
+    public int maxDoc() {
+        return maxDoc;
+    }
+    
+    /**
+     * 타입별 비트셋 (순번 비트가 켜져 있으면 해당 타입)
+     */
+    long[] typeBits(Document.DocumentType type) {
+        long[][] bits = typeBits;
+        if (bits == null) {
+            bits = new long[TYPES.length][(maxDoc + 63) >>> 6];
+            for (int ordinal = 0; ordinal < maxDoc; ordinal++) {
+                Document.DocumentType documentType = segment.documentType(ordinal);
+                if (documentType != null) {
+                    bits[documentType.ordinal()][ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+            typeBits = bits;
+        }
+        return bits[type.ordinal()];
+    }
+    
+    /**
+     * 메타데이터 문자열 열
+     */
+    String[] strings(String key) {
+        return stringColumns.computeIfAbsent(key, k -> {
+            String[] column = new String[maxDoc];
+            for (int ordinal = 0; ordinal < maxDoc; ordinal++) {
+                Object value = metadataValue(ordinal, k);
+                column[ordinal] = value != null ? value.toString() : null;
+            }
+            return column;
+        });
+    }
+    
+    /**
+     * 메타데이터 숫자 열
+     */
+    double[] numbers(String key) {
+        return numericColumns.computeIfAbsent(key, k -> {
+            double[] column = new double[maxDoc];
+            for (int ordinal = 0; ordinal < maxDoc; ordinal++) {
+                column[ordinal] = toNumber(metadataValue(ordinal, k));
+            }
+            return column;
+        });
+    }
+    
+    /**
+     * 메타데이터 숫자 범위 인덱스 (숫자 열을 값 순서로 정렬)
+     */
+    public NumericRangeIndex rangeIndex(String key) {
+        return rangeIndexes.computeIfAbsent(key, k -> NumericRangeIndex.build(numbers(k)));
+    }
+    
+    /**
+     * 힙 사용량 추정치
+     */
+    public long ramBytesUsed() {
+        long bytes = 64;
+        long[][] bits = typeBits;
+        if (bits != null) {
+            bytes += (long) bits.length * (16 + bits[0].length * 8L);
+        }
+        for (String[] column : stringColumns.values()) {
+            // 문자열 값 자체는 제외하고 참조 크기만 계산
+            bytes += 16 + column.length * 8L;
+        }
+        for (double[] column : numericColumns.values()) {
+            bytes += 16 + column.length * 8L;
+        }
+        for (NumericRangeIndex rangeIndex : rangeIndexes.values()) {
+            bytes += rangeIndex.ramBytesUsed();
+        }
+        return bytes;
+    }
+    
+    /**
+     * 메타데이터 값을 숫자로 변환 (숫자 또는 숫자 문자열, 아니면 NaN)
+     */
+    static double toNumber(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+    
+    private Object metadataValue(int ordinal, String key) {
+        Map<String, Object> metadata = segment.document(ordinal).getMetadata();
+        return metadata != null ? metadata.get(key) : null;
+    }
+}
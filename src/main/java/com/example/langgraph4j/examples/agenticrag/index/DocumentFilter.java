@@ -0,0 +1,129 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 검색 필터 (문서 타입, 메타데이터 값 일치, 메타데이터 숫자 범위)
+ * 
+ * 조건은 모두 AND로 결합합니다. 검색 시 세그먼트마다 {@link #forSegment(IndexSegment)}로 세그먼트 순번 조건을 만들어
+ * 포스팅 순회 중 스코어 계산 전에 적용하므로, 선택도가 높은 필터도 상위 결과 수를 채울 수 있고 걸러질 문서의 스코어는 계산하지 않습니다.
+ * 조건 판정은 세그먼트의 {@link DocValues} 열(타입 비트셋, 메타데이터 배열)을 사용합니다.
+ * 
+ * 불변이며 값 동등성을 가지므로 검색 결과 캐시의 키로 사용합니다.
+ * 
+ * @param type 문서 타입 (null이면 모든 타입)
+ * @param metadata 메타데이터 키 → 일치해야 하는 값 (문자열 비교)
+ * @param ranges 메타데이터 키 → 숫자 범위 (값이 없거나 숫자가 아니면 제외)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public record DocumentFilter(Document.DocumentType type, Map<String, String> metadata, Map<String, Range> ranges) {
+    
+    /**
+     * 조건 없음
+     */
+    public static final DocumentFilter NONE = new DocumentFilter(null, Map.of(), Map.of());
+    
+    private static final IntPredicate ACCEPT_ALL = ordinal -> true;
+    
+    /**
+     * 닫힌 숫자 범위 (경계가 없으면 무한대)
+     */
+    public record Range(double min, double max) {
+        
+        public Range {
+            if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+                throw new IllegalArgumentException("숫자 범위가 올바르지 않습니다: " + min + " ~ " + max);
+            }
+        }
+        
+        /**
+         * 경계가 null이면 열린 범위
+         */
+        public static Range of(Double min, Double max) {
+            return new Range(min != null ? min : Double.NEGATIVE_INFINITY, max != null ? max : Double.POSITIVE_INFINITY);
+        }
+        
+        public boolean contains(double value) {
+            return value >= min && value <= max;
+        }
+    }
+    
+    public DocumentFilter {
+        metadata = metadata != null ? Map.copyOf(metadata) : Map.of();
+        ranges = ranges != null ? Map.copyOf(ranges) : Map.of();
+    }
+    
+    /**
+     * 타입 조건만 있는 필터
+     */
+    public static DocumentFilter ofType(Document.DocumentType type) {
+        return new DocumentFilter(type, Map.of(), Map.of());
+    }
+    
+    /**
+     * 타입 조건을 바꾼 필터
+     */
+    public DocumentFilter withType(Document.DocumentType type) {
+        return new DocumentFilter(type, metadata, ranges);
+    }
+    
+    /**
+     * 메타데이터 값 일치 조건을 추가한 필터
+     */
+    public DocumentFilter withMetadata(String key, String value) {
+        Map<String, String> updated = new HashMap<>(metadata);
+        updated.put(key, value);
+        return new DocumentFilter(type, updated, ranges);
+    }
+    
+    /**
+     * 메타데이터 숫자 범위 조건을 추가한 필터
+     */
+    public DocumentFilter withRange(String key, Range range) {
+        Map<String, Range> updated = new HashMap<>(ranges);
+        updated.put(key, range);
+        return new DocumentFilter(type, metadata, updated);
+    }
+    
+    /**
+     * 조건이 없는지 확인
+     */
+    public boolean isEmpty() {
+        return type == null && metadata.isEmpty() && ranges.isEmpty();
+    }
+    
+    /**
+     * 세그먼트 순번 조건 (세그먼트 열을 한 번만 조회하여 포스팅 순회 중 재사용)
+     * 
+     * 비용이 낮은 조건(타입 비트, 숫자 비교, 문자열 비교) 순서로 결합합니다.
+     */
+    public IntPredicate forSegment(IndexSegment segment) {
+        if (isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        
+        DocValues values = segment.docValues();
+        IntPredicate predicate = ACCEPT_ALL;
+        if (type != null) {
+            long[] bits = values.typeBits(type);
+            predicate = ordinal -> (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+        for (Map.Entry<String, Range> entry : ranges.entrySet()) {
+            double[] column = values.numbers(entry.getKey());
+            Range range = entry.getValue();
+            predicate = predicate.and(ordinal -> range.contains(column[ordinal]));
+        }
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            String[] column = values.strings(entry.getKey());
+            String value = entry.getValue();
+            predicate = predicate.and(ordinal -> value.equals(column[ordinal]));
+        }
+        return predicate;
+    }
+}
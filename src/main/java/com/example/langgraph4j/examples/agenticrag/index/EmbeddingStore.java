@@ -0,0 +1,361 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * 내용 해시 기반 임베딩 캐시 파일
+ * 
+ * <pre>
+ * [헤더 128바이트] magic, version, dimension, rowCount, 모델 ID(UTF-8 길이 int + 바이트)
+ * [행]            행마다 내용 해시(128비트, long 2개) + float × dimension + 앞의 바이트의 CRC32C(int) (고정 폭)
+ * </pre>
+ * 
+ * 문서 내용이 같으면 임베딩도 같으므로, 재시작 시 이 파일에서 벡터를 읽어 모델 추론을 건너뜁니다.
+ * 키는 {@link ContentHash}(SHA-256 앞 128비트)이므로 다른 내용이 같은 키로 다른 문서의 벡터를 받을 가능성은 무시할 수 있습니다.
+ * 행은 뒤에만 추가하고(append-only) 파일은 메모리 매핑하여 읽으며, 해시 → 행 번호 인덱스는
+ * 파일을 열 때 행을 한 번 훑어 기본형 해시 테이블로 메모리에 구성합니다.
+ * 
+ * 헤더의 모델 ID(모델 클래스, 모델 파일 해시, 차원)가 현재 모델과 다르면 파일을 비우고 다시 채우므로,
+ * 바뀌지 않은 문서는 모델 버전이 바뀔 때만 다시 임베딩됩니다. 매핑된 페이지는 기록 순서와 관계없이 디스크에 반영되므로
+ * (헤더의 행 수만 반영되고 행 내용은 반영되지 않을 수 있음) 행마다 체크섬을 함께 기록하고, 파일을 열 때 체크섬이 맞지 않는
+ * 첫 행부터 버립니다. 파일은 2GB 미만으로 제한하며, 한도를 넘으면 더 이상 캐시하지 않습니다.
+ * 
+ * 조회는 읽기 락으로 여러 스레드에서 동시에 할 수 있고, 추가는 쓰기 락으로 직렬화됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+public final class EmbeddingStore implements Closeable {
+    
+    static final int MAGIC = 0x4152454D; // "AREM"
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 128;
+    
+    private static final int ROW_COUNT_OFFSET = 12;
+    private static final int MODEL_ID_OFFSET = 16;
+    private static final int MAX_MODEL_ID_BYTES = HEADER_SIZE - MODEL_ID_OFFSET - 4;
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    // 행 앞의 내용 해시 바이트 수
+    private static final int HASH_SIZE = 16;
+    
+    private final FileChannel channel;
+    private final String modelId;
+    private final int dimension;
+    private final int rowSize;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // 현재 매핑 (확장 시 교체, 이전 매핑도 기록된 행 범위는 계속 유효)
+    private volatile MappedByteBuffer buffer;
+    private int capacity;
+    private int rowCount;
+    private boolean full;
+    
+    // 내용 해시 → 행 번호 + 1 (0 = 빈 칸) 선형 탐사 해시 테이블 (keys[2 * slot], keys[2 * slot + 1] = 해시 앞/뒤 8바이트)
+    private long[] keys;
+    private int[] rows;
+    
+    private EmbeddingStore(FileChannel channel, String modelId, int dimension) {
+        this.channel = channel;
+        this.modelId = modelId;
+        this.dimension = dimension;
+        this.rowSize = HASH_SIZE + dimension * 4 + 4;
+    }
+    
+    /**
+     * 캐시 파일 열기 (없거나 모델 ID/차원이 다르면 새로 생성)
+     * 
+     * @param modelId 임베딩 모델 식별자 (모델 또는 버전이 바뀌면 달라져야 함)
+     */
+    public static EmbeddingStore open(Path file, String modelId, int dimension) throws IOException {
+        byte[] modelIdBytes = modelId.getBytes(StandardCharsets.UTF_8);
+        if (modelIdBytes.length > MAX_MODEL_ID_BYTES) {
+            throw new IllegalArgumentException("모델 ID가 너무 깁니다: " + modelId);
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        EmbeddingStore store = new EmbeddingStore(channel, modelId, dimension);
+        try {
+            store.load(modelIdBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+    
+    /**
+     * 내용 해시의 임베딩 (없으면 null)
+     */
+    public float[] get(ContentHash contentHash) {
+        int row;
+        lock.readLock().lock();
+        try {
+            row = find(contentHash.high(), contentHash.low());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (row < 0) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        
+        // 기록이 끝난 행은 바뀌지 않으므로 잠금 없이 읽음
+        MappedByteBuffer current = buffer;
+        int offset = HEADER_SIZE + row * rowSize + HASH_SIZE;
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = current.getFloat(offset + i * 4);
+        }
+        hitCount.incrementAndGet();
+        return vector;
+    }
+    
+    /**
+     * 임베딩 추가 (이미 있거나 파일 크기 한도에 도달하면 무시)
+     */
+    public void put(ContentHash contentHash, float[] vector) throws IOException {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + vector.length + " != " + dimension);
+        }
+        
+        lock.writeLock().lock();
+        try {
+            if (full || find(contentHash.high(), contentHash.low()) >= 0) {
+                return;
+            }
+            if (rowCount == capacity && !grow()) {
+                full = true;
+                log.warn("임베딩 캐시 파일 크기 한도 도달: {}개 행 이후로는 캐시하지 않습니다.", rowCount);
+                return;
+            }
+            
+            MappedByteBuffer current = buffer;
+            int offset = HEADER_SIZE + rowCount * rowSize;
+            current.putLong(offset, contentHash.high());
+            current.putLong(offset + 8, contentHash.low());
+            for (int i = 0; i < dimension; i++) {
+                current.putFloat(offset + HASH_SIZE + i * 4, vector[i]);
+            }
+            current.putInt(offset + rowSize - 4, rowChecksum(current, offset));
+            
+            // 행 기록 후 헤더의 행 수 갱신 (행이 디스크에 온전히 반영되지 않았으면 다음에 열 때 체크섬으로 걸러짐)
+            insert(contentHash.high(), contentHash.low(), rowCount);
+            rowCount++;
+            current.putInt(ROW_COUNT_OFFSET, rowCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 저장된 임베딩 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 캐시 적중 횟수
+     */
+    public long hitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * 캐시 실패 횟수
+     */
+    public long missCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * 모델 ID
+     */
+    public String modelId() {
+        return modelId;
+    }
+    
+    /**
+     * 매핑된 내용을 디스크에 기록
+     */
+    public void force() {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void load(byte[] modelIdBytes) throws IOException {
+        boolean valid = false;
+        int storedRows = 0;
+        if (channel.size() >= HEADER_SIZE) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            int modelIdLength = header.getInt(MODEL_ID_OFFSET);
+            if (header.getInt(0) == MAGIC && header.getInt(4) == VERSION && header.getInt(8) == dimension
+                && modelIdLength == modelIdBytes.length) {
+                byte[] stored = new byte[modelIdLength];
+                header.get(MODEL_ID_OFFSET + 4, stored);
+                storedRows = header.getInt(ROW_COUNT_OFFSET);
+                // 헤더 행 수가 실제 파일 길이를 넘으면(손상) 처음부터 다시 채움
+                valid = Arrays.equals(stored, modelIdBytes) && storedRows >= 0
+                    && HEADER_SIZE + (long) storedRows * rowSize <= channel.size();
+            }
+            if (!valid) {
+                log.info("임베딩 캐시 모델 또는 파일 형식이 바뀌어 캐시를 비웁니다: {}", modelId);
+            }
+        }
+        
+        if (!valid) {
+            channel.truncate(0);
+            storedRows = 0;
+        }
+        
+        capacity = Math.max(INITIAL_CAPACITY, storedRows);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * rowSize);
+        if (!valid) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, dimension);
+            buffer.putInt(ROW_COUNT_OFFSET, 0);
+            buffer.putInt(MODEL_ID_OFFSET, modelIdBytes.length);
+            buffer.put(MODEL_ID_OFFSET + 4, modelIdBytes);
+        }
+        
+        // 체크섬이 맞지 않는 첫 행부터 버림 (뒤의 행은 다시 추가됨)
+        for (int row = 0; row < storedRows; row++) {
+            int offset = HEADER_SIZE + row * rowSize;
+            if (buffer.getInt(offset + rowSize - 4) != rowChecksum(buffer, offset)) {
+                log.warn("임베딩 캐시 행 {}의 체크섬이 맞지 않아 이후 {}개 행을 버립니다.", row, storedRows - row);
+                storedRows = row;
+                buffer.putInt(ROW_COUNT_OFFSET, storedRows);
+                break;
+            }
+        }
+        
+        int tableSize = tableSize(storedRows);
+        keys = new long[tableSize * 2];
+        rows = new int[tableSize];
+        for (int row = 0; row < storedRows; row++) {
+            int offset = HEADER_SIZE + row * rowSize;
+            insert(buffer.getLong(offset), buffer.getLong(offset + 8), row);
+        }
+        rowCount = storedRows;
+    }
+    
+    /**
+     * 행의 내용 해시와 벡터 바이트의 CRC32C
+     */
+    private int rowChecksum(MappedByteBuffer source, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(source.slice(offset, rowSize - 4));
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * 매핑 확장 (2GB 한도를 넘으면 false)
+     */
+    private boolean grow() throws IOException {
+        long newCapacity = Math.min((long) capacity << 1, (Integer.MAX_VALUE - HEADER_SIZE) / rowSize);
+        if (newCapacity <= capacity) {
+            return false;
+        }
+        capacity = (int) newCapacity;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * rowSize);
+        return true;
+    }
+    
+    private int find(long high, long low) {
+        int mask = rows.length - 1;
+        for (int slot = slot(high, mask); rows[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot << 1] == high && keys[(slot << 1) + 1] == low) {
+                return rows[slot] - 1;
+            }
+        }
+        return -1;
+    }
+    
+    private void insert(long high, long low, int row) {
+        if ((rowCount + 1) * 2 > rows.length) {
+            rehash(rows.length << 1);
+        }
+        int mask = rows.length - 1;
+        int slot = slot(high, mask);
+        while (rows[slot] != 0 && (keys[slot << 1] != high || keys[(slot << 1) + 1] != low)) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot << 1] = high;
+        keys[(slot << 1) + 1] = low;
+        rows[slot] = row + 1;
+    }
+    
+    private void rehash(int size) {
+        long[] oldKeys = keys;
+        int[] oldRows = rows;
+        keys = new long[size * 2];
+        rows = new int[size];
+        int mask = size - 1;
+        for (int i = 0; i < oldRows.length; i++) {
+            if (oldRows[i] != 0) {
+                int slot = slot(oldKeys[i << 1], mask);
+                while (rows[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot << 1] = oldKeys[i << 1];
+                keys[(slot << 1) + 1] = oldKeys[(i << 1) + 1];
+                rows[slot] = oldRows[i];
+            }
+        }
+    }
+    
+    private static int slot(long high, int mask) {
+        // SHA-256 비트는 고르게 분포하므로 앞 8바이트의 하위 비트를 그대로 사용
+        return (int) high & mask;
+    }
+    
+    private static int tableSize(int entries) {
+        int size = 16;
+        while (size < entries * 2 + 2) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 영어 최소 어간 추출 필터 (복수형 처리)
+ * 
+ * 복수형 어미만 제거하는 보수적인 규칙입니다 ("wines" → wine, "cherries" → cherry, "dishes" → dishe).
+ * "-ss", "-us"로 끝나는 단어와 "-aes/-ees/-oes" 같은 형태는 그대로 둡니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class EnglishMinimalStemFilter implements TokenFilter {
+    
+    public static final String NAME = "stem";
+    public static final EnglishMinimalStemFilter INSTANCE = new EnglishMinimalStemFilter();
+    
+    private EnglishMinimalStemFilter() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public StandardTokenizer.TokenConsumer wrap(StandardTokenizer.TokenConsumer next) {
+        char[][] scratch = {new char[16]};
+        return (buffer, length) -> {
+            int stemLength = stemLength(buffer, length);
+            if (stemLength == length) {
+                next.accept(buffer, length);
+                return;
+            }
+            
+            // "-ies" → "-y"는 문자를 바꾸므로 앞 단계 버퍼를 건드리지 않도록 복사본에서 수정
+            if (length > scratch[0].length) {
+                scratch[0] = new char[length];
+            }
+            char[] stemmed = scratch[0];
+            System.arraycopy(buffer, 0, stemmed, 0, stemLength);
+            if (endsWithIes(buffer, length)) {
+                stemmed[stemLength - 1] = 'y';
+            }
+            next.accept(stemmed, stemLength);
+        };
+    }
+    
+    /**
+     * 어간 길이 ("-ies"는 "-y"로 바뀌므로 2글자 감소)
+     */
+    static int stemLength(char[] buffer, int length) {
+        if (length < 3 || buffer[length - 1] != 's') {
+            return length;
+        }
+        
+        switch (buffer[length - 2]) {
+            case 'u':
+            case 's':
+                return length;
+            case 'e':
+                if (endsWithIes(buffer, length)) {
+                    return length - 2;
+                }
+                char before = buffer[length - 3];
+                if (before == 'i' || before == 'a' || before == 'o' || before == 'e') {
+                    return length;
+                }
+                return length - 1;
+            default:
+                return length - 1;
+        }
+    }
+    
+    private static boolean endsWithIes(char[] buffer, int length) {
+        return length > 3 && buffer[length - 2] == 'e' && buffer[length - 3] == 'i'
+            && buffer[length - 4] != 'a' && buffer[length - 4] != 'e';
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 한글 음절 바이그램 필터
+ * 
+ * 3음절 이상인 한글 토큰을 겹치는 2음절 단위로 나눕니다 ("스테이크와" → 스테, 테이, 이크, 크와).
+ * 띄어쓰기나 조사와 붙은 복합어도 부분 일치로 검색되며, 2음절 토큰과 한글이 아닌 문자가 섞인 토큰은 그대로 전달합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class HangulBigramFilter implements TokenFilter {
+    
+    public static final String NAME = "bigram";
+    public static final HangulBigramFilter INSTANCE = new HangulBigramFilter();
+    
+    private HangulBigramFilter() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public StandardTokenizer.TokenConsumer wrap(StandardTokenizer.TokenConsumer next) {
+        char[] bigram = new char[2];
+        return (buffer, length) -> {
+            if (length <= 2 || !isAllHangul(buffer, length)) {
+                next.accept(buffer, length);
+                return;
+            }
+            for (int i = 0; i + 1 < length; i++) {
+                bigram[0] = buffer[i];
+                bigram[1] = buffer[i + 1];
+                next.accept(bigram, 2);
+            }
+        };
+    }
+    
+    private static boolean isAllHangul(char[] buffer, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!TokenFilter.isHangulSyllable(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,696 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 벡터 인덱스
+ * 
+ * 문서 임베딩을 계층형 근접 그래프로 연결하여, 전체 벡터와 비교하지 않고 그래프를 따라가며
+ * 코사인 유사도 상위 문서를 찾습니다 (Malkov & Yashunin, 2016). 외부 벡터 DB 없이 프로세스 안에서 동작합니다.
+ * 
+ * 벡터는 정규화 후 하나의 float 배열에, 이웃 목록은 노드/계층별 int 배열에 저장하여 객체 할당을 최소화합니다.
+ * 같은 문서 ID를 다시 추가하거나 삭제하면 이전 노드는 삭제 표시하여 결과에서 제외하고, 이웃 노드의 연결은
+ * 삭제된 노드의 다른 이웃으로 다시 선택합니다. 삭제 표시된 노드가 전체의 일정 비율을 넘으면 살아 있는 노드만으로
+ * 그래프를 다시 구성합니다 (이때 노드 순번이 바뀜).
+ * 
+ * 추가/삭제는 쓰기 락, 검색은 읽기 락으로 보호되어 여러 스레드에서 동시에 검색할 수 있습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class HnswIndex {
+    
+    /**
+     * 기본 노드당 최대 이웃 수 (0층은 두 배)
+     */
+    public static final int DEFAULT_M = 16;
+    
+    /**
+     * 기본 색인 시 탐색 후보 수
+     */
+    public static final int DEFAULT_EF_CONSTRUCTION = 100;
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
+    // JVM 배열 최대 길이 (벡터 배열 길이 = 노드 수 * 차원)
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    
+    // 삭제 표시된 노드 비율이 이 값을 넘으면 그래프 재구성
+    private static final double COMPACTION_DELETED_RATIO = 0.3;
+    
+    // 전체 비교 검색의 스코어링 블록 크기 (행 수)
+    private static final int EXACT_SEARCH_BLOCK = 256;
+    
+    private final int dimension;
+    private final int m;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // 노드별 정규화된 벡터 (노드 * dimension 위치부터 dimension개)
+    private float[] vectors;
+    // 노드별 계층 이웃 목록 (neighbors[node][level][0] = 이웃 수, 이후 이웃 노드)
+    private int[][][] neighbors;
+    private String[] documentIds;
+    private final Map<String, Integer> nodes = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private int nodeCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+    
+    public HnswIndex(int dimension) {
+        this(dimension, DEFAULT_M, DEFAULT_EF_CONSTRUCTION, 42L);
+    }
+    
+    /**
+     * @param dimension 벡터 차원
+     * @param m 노드당 최대 이웃 수 (클수록 재현율과 메모리 증가)
+     * @param efConstruction 색인 시 탐색 후보 수 (클수록 그래프 품질과 색인 시간 증가)
+     * @param seed 계층 배정 난수 시드 (같은 입력이면 같은 그래프)
+     */
+    public HnswIndex(int dimension, int m, int efConstruction, long seed) {
+        if (dimension <= 0 || m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("잘못된 HNSW 설정: dimension=" + dimension
+                + ", m=" + m + ", efConstruction=" + efConstruction);
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+        allocate(INITIAL_CAPACITY);
+    }
+    
+    /**
+     * 벡터 차원
+     */
+    public int dimension() {
+        return dimension;
+    }
+    
+    /**
+     * 문서 벡터 추가 (같은 ID의 이전 벡터는 삭제 표시)
+     * 
+     * @throws IllegalStateException 벡터 배열 길이가 배열 최대 길이를 넘는 경우
+     */
+    public void add(String documentId, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + vector.length + " != " + dimension);
+        }
+        float[] query = VectorSimilarity.normalize(vector);
+        
+        lock.writeLock().lock();
+        try {
+            // 용량 초과는 이전 노드를 삭제 표시하기 전에 실패
+            ensureCapacity(nodeCount + 1);
+            Integer previous = nodes.get(documentId);
+            if (previous != null) {
+                markDeleted(previous);
+                compactIfNeeded();
+            }
+            insert(documentId, query);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 문서 벡터 삭제 표시
+     * 
+     * @return 삭제된 벡터가 있으면 true
+     */
+    public boolean delete(String documentId) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodes.remove(documentId);
+            if (node == null) {
+                return false;
+            }
+            markDeleted(node);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 근사 상위 K개 검색 (결과 순번은 {@link #documentId(int)}로 문서 ID 변환)
+     * 
+     * 순번은 다음 추가/삭제 전까지만 유효합니다 (그래프 재구성 시 바뀜). 다른 스레드가 색인하는 중에는
+     * 문서 ID를 함께 반환하는 {@link #searchDocuments(float[], int, int)}를 사용합니다.
+     * 
+     * @param ef 탐색 후보 수 (k 이상, 클수록 재현율과 지연시간 증가)
+     */
+    public TopDocs search(float[] vector, int k, int ef) {
+        float[] query = normalizeQuery(vector);
+        
+        lock.readLock().lock();
+        try {
+            return searchNodes(query, k, ef);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 근사 상위 K개 문서 ID 검색 (같은 읽기 락 안에서 순번을 문서 ID로 변환)
+     * 
+     * @param ef 탐색 후보 수 (k 이상, 클수록 재현율과 지연시간 증가)
+     */
+    public List<Neighbor> searchDocuments(float[] vector, int k, int ef) {
+        float[] query = normalizeQuery(vector);
+        
+        lock.readLock().lock();
+        try {
+            TopDocs hits = searchNodes(query, k, ef);
+            List<Neighbor> results = new ArrayList<>(hits.size());
+            for (int i = 0; i < hits.size(); i++) {
+                results.add(new Neighbor(documentIds[hits.ordinals()[i]], hits.scores()[i]));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private float[] normalizeQuery(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + vector.length + " != " + dimension);
+        }
+        return VectorSimilarity.normalize(vector);
+    }
+    
+    /**
+     * 읽기 또는 쓰기 락을 잡은 상태에서 호출
+     */
+    private TopDocs searchNodes(float[] query, int k, int ef) {
+        if (entryPoint < 0 || k <= 0) {
+            return new TopDocs(new int[0], new double[0]);
+        }
+        
+        int current = entryPoint;
+        for (int l = maxLevel; l > 0; l--) {
+            current = greedySearch(query, current, l);
+        }
+        
+        NeighborQueue results = searchLayer(query, current, Math.max(ef, k), 0);
+        while (results.size() > k) {
+            results.pop();
+        }
+        
+        int count = results.size();
+        int[] ordinals = new int[count];
+        double[] scores = new double[count];
+        for (int i = count - 1; i >= 0; i--) {
+            scores[i] = results.topScore();
+            ordinals[i] = results.pop();
+        }
+        return new TopDocs(ordinals, scores);
+    }
+    
+    /**
+     * 전체 벡터와 비교하는 정확한 상위 K개 검색 (재현율 측정 기준)
+     */
+    public TopDocs exactSearch(float[] vector, int k) {
+        float[] query = VectorSimilarity.normalize(vector);
+        
+        lock.readLock().lock();
+        try {
+            TopKCollector collector = new TopKCollector(k);
+            // 연속된 행 블록 단위로 스코어링 (SIMD 커널이 쿼리 로드를 여러 행에 재사용)
+            float[] scores = new float[EXACT_SEARCH_BLOCK];
+            for (int first = 0; first < nodeCount; first += EXACT_SEARCH_BLOCK) {
+                int count = Math.min(EXACT_SEARCH_BLOCK, nodeCount - first);
+                VectorSimilarity.dotProducts(query, vectors, first, count, scores);
+                for (int i = 0; i < count; i++) {
+                    if (!deleted.get(first + i)) {
+                        collector.collect(first + i, scores[i]);
+                    }
+                }
+            }
+            return collector.topDocs();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 노드의 문서 ID ({@link #search(float[], int, int)} 이후 추가/삭제가 없었을 때만 같은 문서)
+     */
+    public String documentId(int node) {
+        lock.readLock().lock();
+        try {
+            return documentIds[node];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 삭제 표시된 노드 수 (그래프 재구성 전까지 탐색 경로로 남아 있는 노드)
+     */
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 삭제되지 않은 벡터 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 힙 사용량 추정치 (바이트)
+     */
+    public long ramBytesUsed() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) vectors.length * 4 + (long) neighbors.length * 8 + (long) documentIds.length * 8;
+            for (int node = 0; node < nodeCount; node++) {
+                for (int[] list : neighbors[node]) {
+                    bytes += 16 + list.length * 4L;
+                }
+            }
+            return bytes + nodes.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 정규화된 벡터를 새 노드로 연결 (쓰기 락 안에서 호출)
+     */
+    private void insert(String documentId, float[] query) {
+        int node = nodeCount;
+        ensureCapacity(node + 1);
+        System.arraycopy(query, 0, vectors, node * dimension, dimension);
+        documentIds[node] = documentId;
+        nodes.put(documentId, node);
+        
+        int level = randomLevel();
+        int[][] levels = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            levels[l] = new int[1 + maxConnections(l)];
+        }
+        neighbors[node] = levels;
+        nodeCount++;
+        
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+        
+        // 새 노드 계층보다 위에서는 가장 가까운 노드 하나만 따라 내려옴
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedySearch(query, current, l);
+        }
+        
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            NeighborQueue candidates = searchLayer(query, current, efConstruction, l);
+            int[] sorted = candidates.drainDescending();
+            if (sorted.length == 0) {
+                continue;
+            }
+            
+            int[] selected = selectNeighbors(node, sorted, maxConnections(l));
+            int[] list = levels[l];
+            list[0] = selected.length;
+            System.arraycopy(selected, 0, list, 1, selected.length);
+            for (int neighbor : selected) {
+                connect(neighbor, node, l);
+            }
+            current = sorted[0];
+        }
+        
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+    
+    /**
+     * 노드를 삭제 표시하고, 이 노드를 이웃으로 가진 이웃 노드의 연결을 복구
+     * 
+     * 연결은 대부분 양방향이므로 삭제된 노드의 이웃 목록으로 역방향 연결을 찾고, 해당 이웃에서는 삭제된 노드 대신
+     * 삭제된 노드의 다른 살아 있는 이웃을 후보에 넣어 휴리스틱으로 다시 선택합니다. 삭제된 노드 자신의 연결은
+     * 탐색 경로로 쓰기 위해 재구성 전까지 유지합니다.
+     */
+    private void markDeleted(int node) {
+        deleted.set(node);
+        deletedCount++;
+        
+        int[][] levels = neighbors[node];
+        for (int l = 0; l < levels.length; l++) {
+            int[] list = levels[l];
+            for (int i = 1; i <= list[0]; i++) {
+                repairLinks(list[i], node, list, l);
+            }
+        }
+    }
+    
+    private void repairLinks(int node, int removed, int[] replacements, int level) {
+        int[] list = neighbors[node][level];
+        int count = list[0];
+        if (!contains(list, removed)) {
+            return;
+        }
+        
+        NeighborQueue candidates = new NeighborQueue(count + replacements[0], false);
+        for (int i = 1; i <= count; i++) {
+            if (list[i] != removed) {
+                candidates.push(list[i], similarity(node, list[i]));
+            }
+        }
+        for (int i = 1; i <= replacements[0]; i++) {
+            int replacement = replacements[i];
+            if (replacement != node && !deleted.get(replacement) && !contains(list, replacement)) {
+                candidates.push(replacement, similarity(node, replacement));
+            }
+        }
+        
+        int[] selected = selectNeighbors(node, candidates.drainDescending(), list.length - 1);
+        list[0] = selected.length;
+        System.arraycopy(selected, 0, list, 1, selected.length);
+    }
+    
+    private static boolean contains(int[] list, int node) {
+        for (int i = 1; i <= list[0]; i++) {
+            if (list[i] == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 삭제 표시된 노드가 많으면 살아 있는 노드만으로 그래프 재구성 (노드 순번이 바뀜)
+     */
+    private void compactIfNeeded() {
+        if (deletedCount >= INITIAL_CAPACITY && deletedCount > nodeCount * COMPACTION_DELETED_RATIO) {
+            compact();
+        }
+    }
+    
+    private void compact() {
+        float[] oldVectors = vectors;
+        String[] oldDocumentIds = documentIds;
+        BitSet oldDeleted = (BitSet) deleted.clone();
+        int oldNodeCount = nodeCount;
+        
+        allocate(Math.max(INITIAL_CAPACITY, oldNodeCount - deletedCount));
+        nodes.clear();
+        deleted.clear();
+        deletedCount = 0;
+        nodeCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+        
+        for (int node = oldDeleted.nextClearBit(0); node < oldNodeCount; node = oldDeleted.nextClearBit(node + 1)) {
+            int offset = node * dimension;
+            insert(oldDocumentIds[node], Arrays.copyOfRange(oldVectors, offset, offset + dimension));
+        }
+    }
+    
+    private int maxConnections(int level) {
+        return level == 0 ? m * 2 : m;
+    }
+    
+    private int randomLevel() {
+        // 계층 l에 배정될 확률이 m^-l로 줄어드는 지수 분포
+        return (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+    
+    private float similarity(float[] query, int node) {
+        return VectorSimilarity.dotProduct(query, 0, vectors, node * dimension, dimension);
+    }
+    
+    private float similarity(int a, int b) {
+        return VectorSimilarity.dotProduct(vectors, a * dimension, vectors, b * dimension, dimension);
+    }
+    
+    /**
+     * 상위 계층 탐색: 더 가까운 이웃이 없을 때까지 이동
+     */
+    private int greedySearch(float[] query, int entry, int level) {
+        int current = entry;
+        float best = similarity(query, current);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] list = neighbors[current][level];
+            for (int i = 1; i <= list[0]; i++) {
+                float score = similarity(query, list[i]);
+                if (score > best) {
+                    best = score;
+                    current = list[i];
+                    changed = true;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * 계층 내 최선 우선 탐색 - 결과는 유사도 최소 힙 (삭제된 노드는 경로로만 사용)
+     */
+    private NeighborQueue searchLayer(float[] query, int entry, int ef, int level) {
+        NeighborQueue candidates = new NeighborQueue(ef, true);
+        NeighborQueue results = new NeighborQueue(ef + 1, false);
+        BitSet visited = new BitSet(nodeCount);
+        
+        float entryScore = similarity(query, entry);
+        visited.set(entry);
+        candidates.push(entry, entryScore);
+        if (!deleted.get(entry)) {
+            results.push(entry, entryScore);
+        }
+        
+        while (candidates.size() > 0) {
+            // 남은 후보 중 최선이 결과 최하위보다 나쁘면 더 나아질 수 없음
+            if (results.size() >= ef && candidates.topScore() < results.topScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+            
+            int[] list = neighbors[candidate][level];
+            for (int i = 1; i <= list[0]; i++) {
+                int neighbor = list[i];
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                
+                float score = similarity(query, neighbor);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.push(neighbor, score);
+                    if (!deleted.get(neighbor)) {
+                        results.push(neighbor, score);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * 이웃 선택 휴리스틱: 이미 선택한 이웃보다 기준 노드에 더 가까운 후보만 연결하여
+     * 한쪽 군집에 연결이 몰리지 않도록 함 (후보는 기준 노드와의 유사도 내림차순)
+     */
+    private int[] selectNeighbors(int base, int[] candidates, int maxConnections) {
+        int[] selected = new int[Math.min(maxConnections, candidates.length)];
+        int count = 0;
+        for (int i = 0; i < candidates.length && count < selected.length; i++) {
+            int candidate = candidates[i];
+            if (candidate == base) {
+                continue;
+            }
+            float toBase = similarity(candidate, base);
+            boolean diverse = true;
+            for (int j = 0; j < count; j++) {
+                if (similarity(candidate, selected[j]) > toBase) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate;
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+    
+    /**
+     * 역방향 연결 추가 (이웃 수 초과 시 휴리스틱으로 다시 선택)
+     */
+    private void connect(int node, int neighbor, int level) {
+        int[] list = neighbors[node][level];
+        int count = list[0];
+        if (count < list.length - 1) {
+            list[++count] = neighbor;
+            list[0] = count;
+            return;
+        }
+        
+        NeighborQueue candidates = new NeighborQueue(count + 1, false);
+        for (int i = 1; i <= count; i++) {
+            candidates.push(list[i], similarity(node, list[i]));
+        }
+        candidates.push(neighbor, similarity(node, neighbor));
+        
+        int[] selected = selectNeighbors(node, candidates.drainDescending(), list.length - 1);
+        list[0] = selected.length;
+        System.arraycopy(selected, 0, list, 1, selected.length);
+    }
+    
+    private void allocate(int capacity) {
+        int initialCapacity = (int) Math.min(capacity, maxNodes());
+        vectors = new float[initialCapacity * dimension];
+        neighbors = new int[initialCapacity][][];
+        documentIds = new String[initialCapacity];
+    }
+    
+    /**
+     * @throws IllegalStateException 벡터 배열 길이(노드 수 * 차원)가 배열 최대 길이를 넘는 경우
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > documentIds.length) {
+            // 노드 수 * 차원은 int 범위를 넘을 수 있으므로 long으로 계산
+            long maxNodes = maxNodes();
+            if (capacity > maxNodes) {
+                throw new IllegalStateException("벡터 인덱스 용량 초과: 차원 " + dimension
+                    + "에서 최대 " + maxNodes + "개 벡터까지 저장할 수 있습니다.");
+            }
+            int newCapacity = (int) Math.min(Math.max(capacity, (long) documentIds.length << 1), maxNodes);
+            vectors = Arrays.copyOf(vectors, newCapacity * dimension);
+            neighbors = Arrays.copyOf(neighbors, newCapacity);
+            documentIds = Arrays.copyOf(documentIds, newCapacity);
+        }
+    }
+    
+    private long maxNodes() {
+        return MAX_ARRAY_LENGTH / dimension;
+    }
+    
+    /**
+     * 문서 ID와 코사인 유사도
+     */
+    public record Neighbor(String documentId, double score) {
+    }
+    
+    /**
+     * 노드 순번/유사도 이진 힙 (박싱 없는 기본형 배열)
+     */
+    private static final class NeighborQueue {
+        
+        private final boolean maxHeap;
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+        
+        NeighborQueue(int initialCapacity, boolean maxHeap) {
+            this.maxHeap = maxHeap;
+            this.nodes = new int[Math.max(1, initialCapacity)];
+            this.scores = new float[nodes.length];
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        float topScore() {
+            return scores[0];
+        }
+        
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size << 1);
+                scores = Arrays.copyOf(scores, size << 1);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!above(score, scores[parent])) {
+                    break;
+                }
+                nodes[index] = nodes[parent];
+                scores[index] = scores[parent];
+                index = parent;
+            }
+            nodes[index] = node;
+            scores[index] = score;
+        }
+        
+        int pop() {
+            int top = nodes[0];
+            size--;
+            int node = nodes[size];
+            float score = scores[size];
+            int index = 0;
+            while (true) {
+                int child = (index << 1) + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && above(scores[child + 1], scores[child])) {
+                    child++;
+                }
+                if (!above(scores[child], score)) {
+                    break;
+                }
+                nodes[index] = nodes[child];
+                scores[index] = scores[child];
+                index = child;
+            }
+            nodes[index] = node;
+            scores[index] = score;
+            return top;
+        }
+        
+        /**
+         * 유사도 내림차순 노드 배열 (큐를 비움)
+         */
+        int[] drainDescending() {
+            int[] sorted = new int[size];
+            if (maxHeap) {
+                for (int i = 0; i < sorted.length; i++) {
+                    sorted[i] = pop();
+                }
+            } else {
+                for (int i = sorted.length - 1; i >= 0; i--) {
+                    sorted[i] = pop();
+                }
+            }
+            return sorted;
+        }
+        
+        private boolean above(float a, float b) {
+            return maxHeap ? a > b : a < b;
+        }
+    }
+}
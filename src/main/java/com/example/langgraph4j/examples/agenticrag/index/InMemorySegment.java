@@ -0,0 +1,305 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 힙 메모리 세그먼트 (색인 버퍼)
+ * 
+ * 새로 추가되는 문서를 받는 쓰기 가능한 세그먼트입니다. 문서 배열과 길이 배열을 먼저 기록한 뒤
+ * 문서 수를 마지막에 공개하므로, 검색 스레드는 잠금 없이 완전히 색인된 문서만 보게 됩니다.
+ * 
+ * 쓰기는 단일 작성자를 가정합니다 ({@link SegmentedIndex}가 직렬화).
+ * 색인 버퍼가 가득 차면 {@link #seal()}로 봉인되어 이후 변경되지 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class InMemorySegment implements IndexSegment {
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final String name;
+    
+    // 단어 -> 포스팅 리스트
+    private final Map<String, VBytePostingsList> postings = new ConcurrentHashMap<>();
+    
+    // 문서 ID -> 순번
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    
+    private volatile Document[] documents = new Document[INITIAL_CAPACITY];
+    private volatile int[] documentLengths = new int[INITIAL_CAPACITY];
+    private volatile long totalDocumentLength;
+    
+    // 순번별 누적 문서 길이 (스냅샷 시점의 평균 문서 길이 계산용)
+    private volatile long[] cumulativeLengths = new long[INITIAL_CAPACITY];
+    
+    // 봉인 여부 (봉인 후에는 문서 추가 불가)
+    private volatile boolean sealed;
+    
+    // 봉인 후 지연 생성되는 단어 사전 트라이
+    private volatile TermTrie termTrie;
+    
+    // 색인 중에 만든 단어 사전 트라이 (생성 시점의 문서 수가 그대로면 재사용)
+    private volatile BufferTrie bufferTrie;
+    
+    // 봉인 후 지연 생성되는 필터용 열 값
+    private volatile DocValues docValues;
+    
+    // 병렬 색인 작업 스레드가 미리 계산한 문서 빈도 통계 변화량 (인덱스에 추가되면 해제)
+    volatile TermStatistics.Delta preparedStatistics;
+    
+    // 공개된 문서 수 (배열 기록 후 마지막에 갱신)
+    private volatile int maxDoc;
+    
+    /**
+     * 색인 중인 버퍼의 트라이와 생성 직전의 문서 수
+     */
+    private record BufferTrie(int maxDoc, TermTrie trie) {
+    }
+    
+    public InMemorySegment(String name) {
+        this.name = name;
+    }
+    
+    /**
+     * 문서 추가
+     * 
+     * @param document 저장할 문서
+     * @param termFrequencies 분석된 단어별 빈도
+     * @return 할당된 세그먼트 내 순번
+     */
+    public int addDocument(Document document, Map<String, Integer> termFrequencies) {
+        if (sealed) {
+            throw new IllegalStateException("봉인된 세그먼트에는 문서를 추가할 수 없습니다: " + name);
+        }
+        
+        int ordinal = maxDoc;
+        ensureCapacity(ordinal + 1);
+        
+        int documentLength = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            // 순번은 항상 증가하므로 포스팅 리스트 끝에 덧붙임
+            postings.computeIfAbsent(entry.getKey(), k -> new VBytePostingsList())
+                    .append(ordinal, entry.getValue());
+            documentLength += entry.getValue();
+        }
+        
+        // 검색 결과가 복사 없이 참조하므로 호출자의 문서와 분리하여 저장
+        storeDocument(ordinal, document.toStoredDocument(), documentLength);
+        
+        // 모든 기록이 끝난 뒤 문서 공개
+        maxDoc = ordinal + 1;
+        return ordinal;
+    }
+    
+    /**
+     * 여러 세그먼트의 삭제되지 않은 문서를 힙 세그먼트 하나로 병합 (인덱스 디렉토리가 없을 때 사용)
+     * 
+     * @param name 새 세그먼트 이름
+     * @param sources 원본 세그먼트 (순서대로 새 순번 할당)
+     * @param liveDocs 원본별 삭제 정보
+     * @return 봉인된 병합 세그먼트
+     */
+    static InMemorySegment merge(String name, List<? extends IndexSegment> sources, List<LiveDocs> liveDocs) {
+        InMemorySegment merged = new InMemorySegment(name);
+        int[][] docMaps = SegmentWriter.docMaps(sources, liveDocs);
+        
+        int newMaxDoc = 0;
+        for (int s = 0; s < sources.size(); s++) {
+            IndexSegment source = sources.get(s);
+            for (int ordinal = 0; ordinal < docMaps[s].length; ordinal++) {
+                if (docMaps[s][ordinal] >= 0) {
+                    merged.ensureCapacity(newMaxDoc + 1);
+                    merged.storeDocument(newMaxDoc++, source.document(ordinal), source.documentLength(ordinal));
+                }
+            }
+        }
+        
+        // 원본 순서대로 덧붙이므로 단어별 새 순번은 항상 오름차순
+        for (int s = 0; s < sources.size(); s++) {
+            IndexSegment source = sources.get(s);
+            int[] docMap = docMaps[s];
+            for (Iterator<String> terms = source.terms(); terms.hasNext(); ) {
+                String term = terms.next();
+                PostingsIterator iterator = source.postings(term).iterator();
+                VBytePostingsList target = null;
+                for (int ordinal = iterator.nextDoc(); ordinal < docMap.length; ordinal = iterator.nextDoc()) {
+                    if (docMap[ordinal] < 0) {
+                        continue;
+                    }
+                    if (target == null) {
+                        target = merged.postings.computeIfAbsent(term, k -> new VBytePostingsList());
+                    }
+                    target.append(docMap[ordinal], iterator.freq());
+                }
+            }
+        }
+        
+        merged.maxDoc = newMaxDoc;
+        merged.seal();
+        return merged;
+    }
+    
+    /**
+     * 세그먼트 봉인 (이후 문서 추가 불가)
+     */
+    void seal() {
+        sealed = true;
+        bufferTrie = null;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > documents.length) {
+            int newCapacity = Math.max(capacity, documents.length << 1);
+            documents = Arrays.copyOf(documents, newCapacity);
+            documentLengths = Arrays.copyOf(documentLengths, newCapacity);
+            cumulativeLengths = Arrays.copyOf(cumulativeLengths, newCapacity);
+        }
+    }
+    
+    private void storeDocument(int ordinal, Document document, int documentLength) {
+        documents[ordinal] = document;
+        documentLengths[ordinal] = documentLength;
+        ordinals.put(document.getId(), ordinal);
+        totalDocumentLength += documentLength;
+        cumulativeLengths[ordinal] = totalDocumentLength;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public int maxDoc() {
+        return maxDoc;
+    }
+    
+    @Override
+    public long totalDocumentLength() {
+        return totalDocumentLength;
+    }
+    
+    @Override
+    public long totalDocumentLength(int maxDoc) {
+        return maxDoc > 0 ? cumulativeLengths[maxDoc - 1] : 0;
+    }
+    
+    @Override
+    public int termCount() {
+        return postings.size();
+    }
+    
+    @Override
+    public Iterator<String> terms() {
+        return postings.keySet().stream().sorted().iterator();
+    }
+    
+    @Override
+    public TermTrie termTrie() {
+        if (!sealed) {
+            // 색인 중인 버퍼는 문서가 추가되었을 때만 다시 생성 (문서 수를 먼저 읽으므로 그 문서들의 단어는 모두 포함)
+            int currentMaxDoc = maxDoc;
+            BufferTrie cached = bufferTrie;
+            if (cached == null || cached.maxDoc() != currentMaxDoc) {
+                cached = new BufferTrie(currentMaxDoc, TermTrie.build(terms()));
+                bufferTrie = cached;
+            }
+            return cached.trie();
+        }
+        TermTrie trie = termTrie;
+        if (trie == null) {
+            trie = TermTrie.build(terms());
+            termTrie = trie;
+        }
+        return trie;
+    }
+    
+    @Override
+    public DocValues docValues() {
+        if (!sealed) {
+            // 색인 중인 버퍼는 조회 시점의 문서까지만 담아 호출 시마다 생성
+            return new DocValues(this, maxDoc);
+        }
+        DocValues values = docValues;
+        if (values == null) {
+            values = new DocValues(this, maxDoc);
+            docValues = values;
+        }
+        return values;
+    }
+    
+    @Override
+    public PostingsList postings(String term) {
+        return postings.get(term);
+    }
+    
+    @Override
+    public int documentFrequency(String term, int maxDoc) {
+        VBytePostingsList list = postings.get(term);
+        if (list == null) {
+            return 0;
+        }
+        if (sealed) {
+            return list.size();
+        }
+        
+        // 색인 중인 버퍼는 스냅샷 이후 추가된 포스팅을 제외 (버퍼 크기로 제한되는 비용)
+        int frequency = 0;
+        PostingsIterator iterator = list.iterator();
+        while (iterator.nextDoc() < maxDoc) {
+            frequency++;
+        }
+        return frequency;
+    }
+    
+    @Override
+    public int documentLength(int ordinal) {
+        return documentLengths[ordinal];
+    }
+    
+    @Override
+    public String documentId(int ordinal) {
+        return documents[ordinal].getId();
+    }
+    
+    @Override
+    public Document.DocumentType documentType(int ordinal) {
+        return documents[ordinal].getType();
+    }
+    
+    @Override
+    public Document document(int ordinal) {
+        return documents[ordinal];
+    }
+    
+    @Override
+    public int ordinalOf(String documentId) {
+        Integer ordinal = ordinals.get(documentId);
+        return ordinal != null && ordinal < maxDoc ? ordinal : -1;
+    }
+    
+    @Override
+    public long ramBytesUsed() {
+        long bytes = (long) documents.length * 8 + (long) documentLengths.length * 4 + (long) cumulativeLengths.length * 8;
+        for (Map.Entry<String, VBytePostingsList> entry : postings.entrySet()) {
+            // 포스팅 + String 객체(헤더 + 문자 배열) + 해시 맵 엔트리 추정치
+            bytes += entry.getValue().ramBytesUsed() + 56 + entry.getKey().length() * 2L + 32;
+        }
+        TermTrie trie = termTrie;
+        if (trie != null) {
+            bytes += trie.ramBytesUsed();
+        }
+        DocValues values = docValues;
+        if (values != null) {
+            bytes += values.ramBytesUsed();
+        }
+        return bytes + ordinals.size() * 64L;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * 인덱스 커밋 지점 (특정 시점의 세그먼트 파일 목록과 세그먼트별 삭제 정보)
+ * 
+ * 세그먼트 파일은 한 번 기록되면 바뀌지 않으므로, 커밋 파일 하나가 그 시점의 인덱스 전체(저장 문서, 단어 사전, 포스팅,
+ * 문서 길이 통계)를 가리키는 스냅샷이 됩니다. 커밋 파일은 번호가 증가하는 새 파일로만 기록하고(임시 파일 기록, fsync,
+ * 원자적 이름 변경, 디렉토리 동기화) 기존 커밋 파일은 수정하지 않으므로, 기록 도중 종료되어도 이전 커밋은 그대로 남습니다.
+ * 
+ * <pre>
+ * magic, version, 커밋 번호(long), 분석기 이름, 세그먼트 수
+ * 세그먼트별: 파일 이름, 문서 수, 파일 길이(long), 파일 CRC32C(long), 삭제 정보({@link LiveDocs})
+ * 앞의 모든 바이트의 CRC32C(long)
+ * </pre>
+ * 
+ * 복원 시 커밋 파일과 참조하는 세그먼트 파일의 길이/체크섬을 모두 확인하여, 하나라도 다르면 그 커밋을 사용하지 않습니다.
+ * 
+ * @param generation 커밋 번호 (파일 이름에 포함, 클수록 최신)
+ * @param analyzerName 세그먼트를 색인한 분석기 이름
+ * @param segments 세그먼트 목록 (인덱스 상태 순서)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+record IndexCommit(long generation, String analyzerName, List<Entry> segments) {
+    
+    static final String PREFIX = "commit_";
+    static final Pattern FILE_PATTERN = Pattern.compile("commit_\\d+");
+    
+    private static final int MAGIC = 0x4152434D; // "ARCM"
+    private static final int VERSION = 1;
+    
+    /**
+     * 커밋에 포함된 세그먼트
+     * 
+     * @param name 세그먼트 파일 이름
+     * @param maxDoc 문서 수
+     * @param length 파일 길이
+     * @param checksum 파일 전체 CRC32C
+     * @param liveDocs 커밋 시점의 삭제 정보
+     */
+    record Entry(String name, int maxDoc, long length, long checksum, LiveDocs liveDocs) {
+    }
+    
+    IndexCommit {
+        segments = List.copyOf(segments);
+    }
+    
+    /**
+     * 커밋 파일 경로
+     */
+    static Path fileFor(Path directory, long generation) {
+        return directory.resolve(PREFIX + generation);
+    }
+    
+    /**
+     * 커밋 파일 이름의 커밋 번호
+     */
+    static long generationOf(Path file) {
+        return Long.parseLong(file.getFileName().toString().substring(PREFIX.length()));
+    }
+    
+    /**
+     * 세그먼트 목록과 삭제 수가 같은지 확인 (바뀐 것이 없으면 새 커밋을 기록하지 않음)
+     */
+    boolean sameContents(IndexCommit other) {
+        if (other == null || segments.size() != other.segments.size()) {
+            return false;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            Entry entry = segments.get(i);
+            Entry otherEntry = other.segments.get(i);
+            if (!entry.name().equals(otherEntry.name())
+                    || entry.liveDocs().deletedCount() != otherEntry.liveDocs().deletedCount()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 커밋 파일 기록 (임시 파일 기록 + fsync 후 원자적 이름 변경, 디렉토리 동기화)
+     * 
+     * @return 기록된 커밋 파일
+     */
+    Path write(Path directory) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + segments.size() * 64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(generation);
+        out.writeUTF(analyzerName);
+        out.writeInt(segments.size());
+        for (Entry entry : segments) {
+            out.writeUTF(entry.name());
+            out.writeInt(entry.maxDoc());
+            out.writeLong(entry.length());
+            out.writeLong(entry.checksum());
+            entry.liveDocs().write(out);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+        
+        Path file = fileFor(directory, generation);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        SegmentWriter.moveAtomically(temp, file);
+        return file;
+    }
+    
+    /**
+     * 커밋 파일 로드 (형식이나 체크섬이 맞지 않으면 IOException)
+     */
+    static IndexCommit read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < 8) {
+            throw new IOException("커밋 파일이 잘렸습니다: " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 8);
+        if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 8, 8).getLong()) {
+            throw new IOException("커밋 파일 체크섬이 일치하지 않습니다: " + file);
+        }
+        
+        try (DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8))) {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("커밋 파일 형식이 올바르지 않습니다: " + file);
+            }
+            if (data.readInt() != VERSION) {
+                throw new IOException("지원하지 않는 커밋 파일 버전입니다: " + file);
+            }
+            long generation = data.readLong();
+            String analyzerName = data.readUTF();
+            int count = data.readInt();
+            List<Entry> segments = new ArrayList<>(Math.max(0, Math.min(count, 1024)));
+            for (int i = 0; i < count; i++) {
+                segments.add(new Entry(data.readUTF(), data.readInt(), data.readLong(), data.readLong(), LiveDocs.read(data)));
+            }
+            return new IndexCommit(generation, analyzerName, segments);
+        }
+    }
+}
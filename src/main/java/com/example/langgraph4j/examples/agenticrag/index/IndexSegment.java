@@ -0,0 +1,114 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.Iterator;
+
+/**
+ * 역색인 세그먼트 인터페이스
+ * 
+ * 세그먼트는 문서 집합 하나에 대한 단어 사전, 포스팅, 문서 길이, 저장 필드를 담습니다.
+ * 문서 순번은 세그먼트 내에서 0부터 시작하며, 여러 세그먼트를 검색할 때는
+ * {@link IndexSnapshot}이 세그먼트별 시작 순번(docBase)을 더해 전역 순번으로 변환합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface IndexSegment {
+    
+    /**
+     * 세그먼트 이름 (파일 기반 세그먼트는 파일명과 동일)
+     */
+    String getName();
+    
+    /**
+     * 문서 순번 상한 (삭제된 문서 포함)
+     */
+    int maxDoc();
+    
+    /**
+     * 전체 문서 길이 합계 (평균 문서 길이 계산용)
+     */
+    long totalDocumentLength();
+    
+    /**
+     * 순번 상한까지의 문서 길이 합계 (색인 중인 세그먼트의 스냅샷 통계용)
+     */
+    default long totalDocumentLength(int maxDoc) {
+        return totalDocumentLength();
+    }
+    
+    /**
+     * 단어 사전 크기
+     */
+    int termCount();
+    
+    /**
+     * 단어 사전을 오름차순으로 순회
+     */
+    Iterator<String> terms();
+    
+    /**
+     * 접두사/퍼지 조회용 단어 사전 트라이 (불변 세그먼트는 처음 호출 시 한 번 생성하여 재사용)
+     */
+    default TermTrie termTrie() {
+        return TermTrie.build(terms());
+    }
+    
+    /**
+     * 단어의 포스팅 리스트 (없으면 null)
+     */
+    PostingsList postings(String term);
+    
+    /**
+     * 순번 상한 미만 문서 중 단어가 등장한 문서 수 (색인 중인 세그먼트의 스냅샷 통계용)
+     */
+    default int documentFrequency(String term, int maxDoc) {
+        PostingsList postings = postings(term);
+        return postings != null ? postings.size() : 0;
+    }
+    
+    /**
+     * 문서 길이 (단어 수)
+     */
+    int documentLength(int ordinal);
+    
+    /**
+     * 문서 ID
+     */
+    String documentId(int ordinal);
+    
+    /**
+     * 문서 타입
+     */
+    Document.DocumentType documentType(int ordinal);
+    
+    /**
+     * 저장된 문서 (파일 기반 세그먼트는 호출 시마다 새로 디코딩, 검색 결과와 공유되므로 수정하지 않음)
+     */
+    Document document(int ordinal);
+    
+    /**
+     * 문서 ID로 순번 조회 (없으면 -1, 같은 ID가 여러 번 색인된 경우 마지막 순번)
+     */
+    int ordinalOf(String documentId);
+    
+    /**
+     * 검색 필터용 열 값 (불변 세그먼트는 처음 호출 시 한 번 생성하여 재사용)
+     */
+    default DocValues docValues() {
+        return new DocValues(this, maxDoc());
+    }
+    
+    /**
+     * 힙 사용량 추정치 (바이트)
+     */
+    long ramBytesUsed();
+    
+    /**
+     * 메모리 매핑된 파일 크기 (힙 밖, 페이지 캐시 사용)
+     */
+    default long mappedBytes() {
+        return 0;
+    }
+}
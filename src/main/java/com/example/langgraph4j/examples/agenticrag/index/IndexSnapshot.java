@@ -0,0 +1,185 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.List;
+
+/**
+ * 검색 시점의 인덱스 스냅샷
+ * 
+ * 세그먼트 목록과 세그먼트별 문서 수를 생성 시점에 고정하여, 검색 도중 문서가 추가되더라도
+ * 일관된 결과를 제공합니다. 세그먼트별 순번에 시작 순번(docBase)을 더한 전역 순번을 사용합니다.
+ * 
+ * 문서 빈도와 평균 문서 길이 같은 코퍼스 통계는 삭제된 문서를 포함하며, 세그먼트 병합 시 보정됩니다.
+ * 봉인된 세그먼트의 문서 빈도는 인덱스가 유지하는 {@link TermStatistics}에서 한 번에 읽고,
+ * 통계가 스냅샷 이후 바뀌었으면 세그먼트별 문서 빈도를 더합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class IndexSnapshot {
+    
+    /**
+     * 스냅샷을 구성하는 세그먼트
+     * 
+     * @param segment 세그먼트
+     * @param liveDocs 삭제 정보
+     * @param docBase 전역 순번 시작값
+     * @param maxDoc 스냅샷 시점의 세그먼트 문서 수
+     */
+    public record Leaf(IndexSegment segment, LiveDocs liveDocs, int docBase, int maxDoc) {
+        
+        /**
+         * 세그먼트 내 순번이 검색 대상인지 확인
+         */
+        public boolean isLive(int ordinal) {
+            return ordinal < maxDoc && liveDocs.isLive(ordinal);
+        }
+    }
+    
+    private final Leaf[] leaves;
+    private final int maxDoc;
+    private final long totalDocumentLength;
+    
+    // 마지막 세그먼트(색인 버퍼)를 제외한 세그먼트의 문서 빈도 합계 (없으면 세그먼트별로 계산)
+    private final TermStatistics statistics;
+    private final long statisticsVersion;
+    
+    IndexSnapshot(List<Leaf> leaves) {
+        this(leaves, null, 0);
+    }
+    
+    /**
+     * @param statistics 마지막 세그먼트를 제외한 세그먼트의 문서 빈도 통계
+     * @param statisticsVersion 그 세그먼트 목록에 해당하는 통계 버전
+     */
+    IndexSnapshot(List<Leaf> leaves, TermStatistics statistics, long statisticsVersion) {
+        this.leaves = leaves.toArray(new Leaf[0]);
+        this.statistics = this.leaves.length > 0 ? statistics : null;
+        this.statisticsVersion = statisticsVersion;
+        
+        int docs = 0;
+        long length = 0;
+        for (Leaf leaf : this.leaves) {
+            docs += leaf.maxDoc();
+            length += leaf.segment().totalDocumentLength(leaf.maxDoc());
+        }
+        this.maxDoc = docs;
+        this.totalDocumentLength = length;
+    }
+    
+    /**
+     * 세그먼트 목록 (전역 순번 오름차순)
+     */
+    public List<Leaf> leaves() {
+        return List.of(leaves);
+    }
+    
+    /**
+     * 전역 순번 상한 (삭제된 문서 포함)
+     */
+    public int maxDoc() {
+        return maxDoc;
+    }
+    
+    /**
+     * 평균 문서 길이
+     */
+    public double averageDocumentLength() {
+        return maxDoc > 0 ? (double) totalDocumentLength / maxDoc : 0.0;
+    }
+    
+    /**
+     * 삭제되지 않은 문서 수
+     */
+    public int liveDocumentCount() {
+        int count = 0;
+        for (Leaf leaf : leaves) {
+            count += leaf.maxDoc() - Math.min(leaf.maxDoc(), leaf.liveDocs().deletedCount());
+        }
+        return count;
+    }
+    
+    /**
+     * 단어의 문서 빈도 (모든 세그먼트 합계)
+     */
+    public int documentFrequency(String term) {
+        if (statistics != null && statistics.version() == statisticsVersion) {
+            int frequency = statistics.documentFrequency(term);
+            // 읽는 도중 통계가 바뀌지 않았으면 색인 버퍼만 더함
+            if (statistics.version() == statisticsVersion) {
+                Leaf buffer = leaves[leaves.length - 1];
+                return frequency + buffer.segment().documentFrequency(term, buffer.maxDoc());
+            }
+        }
+        
+        int frequency = 0;
+        for (Leaf leaf : leaves) {
+            frequency += leaf.segment().documentFrequency(term, leaf.maxDoc());
+        }
+        return frequency;
+    }
+    
+    /**
+     * 전역 순번의 문서가 검색 대상인지 확인
+     */
+    public boolean isLive(int ordinal) {
+        Leaf leaf = leafFor(ordinal);
+        return leaf.isLive(ordinal - leaf.docBase());
+    }
+    
+    /**
+     * 전역 순번의 저장 문서 반환 (수정하지 않음)
+     */
+    public Document document(int ordinal) {
+        Leaf leaf = leafFor(ordinal);
+        return leaf.segment().document(ordinal - leaf.docBase());
+    }
+    
+    /**
+     * 전역 순번의 문서 ID 반환 (저장 문서를 읽지 않음)
+     */
+    public String documentId(int ordinal) {
+        Leaf leaf = leafFor(ordinal);
+        return leaf.segment().documentId(ordinal - leaf.docBase());
+    }
+    
+    /**
+     * 전역 순번의 문서 타입 반환
+     */
+    public Document.DocumentType documentType(int ordinal) {
+        Leaf leaf = leafFor(ordinal);
+        return leaf.segment().documentType(ordinal - leaf.docBase());
+    }
+    
+    /**
+     * 문서 ID로 검색 대상 문서의 전역 순번 조회 (최신 세그먼트부터, 없으면 -1)
+     */
+    public int ordinalOf(String documentId) {
+        for (int i = leaves.length - 1; i >= 0; i--) {
+            Leaf leaf = leaves[i];
+            int ordinal = leaf.segment().ordinalOf(documentId);
+            if (ordinal >= 0 && leaf.isLive(ordinal)) {
+                return leaf.docBase() + ordinal;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 전역 순번이 속한 세그먼트 (docBase 이진 탐색)
+     */
+    public Leaf leafFor(int ordinal) {
+        int low = 0;
+        int high = leaves.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (leaves[mid].docBase() <= ordinal) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return leaves[low];
+    }
+}
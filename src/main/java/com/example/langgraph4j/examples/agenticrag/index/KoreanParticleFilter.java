@@ -0,0 +1,131 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 조사 제거 필터
+ * 
+ * 한글 토큰 끝의 조사를 떼어 "스테이크와", "스테이크를"이 모두 "스테이크"로 색인/검색되게 합니다.
+ * 가장 긴 조사부터 확인하며, 조사 앞 음절의 받침 유무가 조사 형태와 맞을 때만 제거합니다
+ * (예: "이/을/은/과"는 받침 뒤, "가/를/는/와"는 받침 없는 음절 뒤). 남는 어간이 2글자 미만이면 제거하지 않습니다.
+ * 
+ * 형태소 분석 없이 규칙으로만 판단하므로 "바나나"처럼 조사로 끝나는 것처럼 보이는 명사도 잘릴 수 있지만,
+ * 색인과 검색에 같은 규칙이 적용되므로 검색 누락으로 이어지지는 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class KoreanParticleFilter implements TokenFilter {
+    
+    public static final String NAME = "particle";
+    public static final KoreanParticleFilter INSTANCE = new KoreanParticleFilter();
+    
+    // 앞 음절 받침 조건
+    private enum Condition {
+        ANY,
+        WITH_FINAL,
+        WITHOUT_FINAL,
+        WITHOUT_FINAL_OR_RIEUL  // 받침이 없거나 ㄹ 받침 ("로", "로서", "로써")
+    }
+    
+    private record Particle(String text, Condition condition) {
+    }
+    
+    // 조사와 받침 조건 (긴 조사부터 확인)
+    private static final Particle[] PARTICLES = {
+        new Particle("에게서", Condition.ANY),
+        new Particle("한테서", Condition.ANY),
+        new Particle("으로서", Condition.WITH_FINAL),
+        new Particle("으로써", Condition.WITH_FINAL),
+        new Particle("이라고", Condition.WITH_FINAL),
+        new Particle("에서", Condition.ANY),
+        new Particle("에게", Condition.ANY),
+        new Particle("한테", Condition.ANY),
+        new Particle("께서", Condition.ANY),
+        new Particle("으로", Condition.WITH_FINAL),
+        new Particle("까지", Condition.ANY),
+        new Particle("부터", Condition.ANY),
+        new Particle("보다", Condition.ANY),
+        new Particle("처럼", Condition.ANY),
+        new Particle("마다", Condition.ANY),
+        new Particle("조차", Condition.ANY),
+        new Particle("하고", Condition.ANY),
+        new Particle("이랑", Condition.WITH_FINAL),
+        new Particle("이나", Condition.WITH_FINAL),
+        new Particle("에는", Condition.ANY),
+        new Particle("에도", Condition.ANY),
+        new Particle("로서", Condition.WITHOUT_FINAL_OR_RIEUL),
+        new Particle("로써", Condition.WITHOUT_FINAL_OR_RIEUL),
+        new Particle("라고", Condition.WITHOUT_FINAL),
+        new Particle("은", Condition.WITH_FINAL),
+        new Particle("는", Condition.WITHOUT_FINAL),
+        new Particle("이", Condition.WITH_FINAL),
+        new Particle("가", Condition.WITHOUT_FINAL),
+        new Particle("을", Condition.WITH_FINAL),
+        new Particle("를", Condition.WITHOUT_FINAL),
+        new Particle("와", Condition.WITHOUT_FINAL),
+        new Particle("과", Condition.WITH_FINAL),
+        new Particle("의", Condition.ANY),
+        new Particle("에", Condition.ANY),
+        new Particle("로", Condition.WITHOUT_FINAL_OR_RIEUL),
+        new Particle("도", Condition.ANY),
+        new Particle("만", Condition.ANY),
+        new Particle("랑", Condition.WITHOUT_FINAL),
+        new Particle("나", Condition.WITHOUT_FINAL)
+    };
+    
+    // 종성 ㄹ 인덱스 (음절 = 0xAC00 + (초성 * 21 + 중성) * 28 + 종성)
+    private static final int FINAL_RIEUL = 8;
+    
+    private KoreanParticleFilter() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public StandardTokenizer.TokenConsumer wrap(StandardTokenizer.TokenConsumer next) {
+        return (buffer, length) -> next.accept(buffer, stem(buffer, length));
+    }
+    
+    /**
+     * 조사를 제외한 어간 길이
+     */
+    static int stem(char[] buffer, int length) {
+        if (!TokenFilter.isHangulSyllable(buffer[length - 1])) {
+            return length;
+        }
+        
+        for (Particle particle : PARTICLES) {
+            int stemLength = length - particle.text().length();
+            if (stemLength < StandardTokenizer.MIN_TOKEN_LENGTH || !endsWith(buffer, length, particle.text())) {
+                continue;
+            }
+            
+            char last = buffer[stemLength - 1];
+            if (TokenFilter.isHangulSyllable(last) && matches(particle.condition(), (last - '가') % 28)) {
+                return stemLength;
+            }
+        }
+        return length;
+    }
+    
+    private static boolean endsWith(char[] buffer, int length, String suffix) {
+        int offset = length - suffix.length();
+        for (int i = 0; i < suffix.length(); i++) {
+            if (buffer[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean matches(Condition condition, int finalConsonant) {
+        return switch (condition) {
+            case ANY -> true;
+            case WITH_FINAL -> finalConsonant != 0;
+            case WITHOUT_FINAL -> finalConsonant == 0;
+            case WITHOUT_FINAL_OR_RIEUL -> finalConsonant == 0 || finalConsonant == FINAL_RIEUL;
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 세그먼트별 삭제 문서 비트셋 (툼스톤)
+ * 
+ * 불변 세그먼트의 문서는 제자리에서 지울 수 없으므로 삭제된 순번만 비트로 표시하고,
+ * 검색 시 비트 하나만 확인하여 건너뜁니다. 실제 제거는 세그먼트 병합 시 이루어집니다.
+ * 
+ * 인스턴스는 불변입니다. 삭제는 비트 배열을 복사한 새 인스턴스를 만들고, 인덱스가 새 상태와 함께 교체하므로
+ * 스냅샷을 잡은 검색은 끝날 때까지 같은 삭제 정보를 보며 삭제 수와 비트도 항상 일치합니다.
+ * 여러 순번을 한 번에 삭제할 때는 {@link Builder}로 배열을 한 번만 복사합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class LiveDocs {
+    
+    private static final int MAGIC = 0x4152444C; // "ARDL"
+    
+    private final long[] deletedBits;
+    private final int deletedCount;
+    
+    /**
+     * 삭제된 문서가 없는 삭제 정보
+     */
+    public LiveDocs() {
+        this(new long[0], 0);
+    }
+    
+    private LiveDocs(long[] deletedBits, int deletedCount) {
+        this.deletedBits = deletedBits;
+        this.deletedCount = deletedCount;
+    }
+    
+    /**
+     * 문서가 삭제되지 않았는지 확인
+     */
+    public boolean isLive(int ordinal) {
+        return isLive(deletedBits, ordinal);
+    }
+    
+    /**
+     * 순번을 삭제한 새 삭제 정보 (이미 삭제된 문서면 자신)
+     */
+    public LiveDocs delete(int ordinal) {
+        if (!isLive(ordinal)) {
+            return this;
+        }
+        Builder builder = toBuilder();
+        builder.delete(ordinal);
+        return builder.build();
+    }
+    
+    /**
+     * 현재 삭제 정보에서 시작하는 빌더 (첫 삭제 시 배열 복사)
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+    
+    /**
+     * 삭제된 문서 수
+     */
+    public int deletedCount() {
+        return deletedCount;
+    }
+    
+    /**
+     * 파일에서 삭제 정보 로드 (커밋 파일 도입 전 형식의 세그먼트별 삭제 정보 파일)
+     */
+    public static LiveDocs readFrom(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            return read(data);
+        } catch (IOException e) {
+            throw new IOException("삭제 정보 파일 형식이 올바르지 않습니다: " + file, e);
+        }
+    }
+    
+    /**
+     * 삭제 정보를 스트림에 기록 (커밋 파일 안에 포함)
+     */
+    void write(DataOutput data) throws IOException {
+        long[] bits = deletedBits;
+        data.writeInt(MAGIC);
+        data.writeInt(deletedCount);
+        data.writeInt(bits.length);
+        for (long word : bits) {
+            data.writeLong(word);
+        }
+    }
+    
+    /**
+     * 스트림에서 삭제 정보 로드
+     */
+    static LiveDocs read(DataInput data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("삭제 정보 형식이 올바르지 않습니다.");
+        }
+        int deletedCount = data.readInt();
+        int length = data.readInt();
+        if (deletedCount < 0 || length < 0) {
+            throw new IOException("삭제 정보 형식이 올바르지 않습니다.");
+        }
+        long[] bits = new long[length];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = data.readLong();
+        }
+        return new LiveDocs(bits, deletedCount);
+    }
+    
+    private static boolean isLive(long[] bits, int ordinal) {
+        int word = ordinal >>> 6;
+        return word >= bits.length || (bits[word] & (1L << ordinal)) == 0;
+    }
+    
+    /**
+     * 여러 순번을 삭제한 삭제 정보 생성 (단일 스레드, 잠금 안에서 사용)
+     */
+    public static final class Builder {
+        
+        private final LiveDocs base;
+        private long[] bits;
+        private int deletedCount;
+        
+        // bits를 원본이나 이미 만든 삭제 정보와 공유 중인지 (공유 중이면 쓰기 전에 복사)
+        private boolean shared = true;
+        
+        private Builder(LiveDocs base) {
+            this.base = base;
+            this.bits = base.deletedBits;
+            this.deletedCount = base.deletedCount;
+        }
+        
+        /**
+         * 삭제 표시
+         * 
+         * @return 새로 삭제된 경우 true (이미 삭제된 문서면 false)
+         */
+        public boolean delete(int ordinal) {
+            if (!isLive(bits, ordinal)) {
+                return false;
+            }
+            int word = ordinal >>> 6;
+            if (shared || word >= bits.length) {
+                bits = Arrays.copyOf(bits, word < bits.length ? bits.length : Math.max(word + 1, bits.length << 1));
+                shared = false;
+            }
+            bits[word] |= 1L << ordinal;
+            deletedCount++;
+            return true;
+        }
+        
+        /**
+         * 삭제된 순번이 있는지 (없으면 {@link #build()}는 원본을 반환)
+         */
+        public boolean isChanged() {
+            return deletedCount != base.deletedCount;
+        }
+        
+        public LiveDocs build() {
+            if (!isChanged()) {
+                return base;
+            }
+            shared = true;
+            return new LiveDocs(bits, deletedCount);
+        }
+    }
+}
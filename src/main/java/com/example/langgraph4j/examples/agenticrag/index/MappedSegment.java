@@ -0,0 +1,353 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑 세그먼트 (불변)
+ * 
+ * {@link SegmentWriter}가 기록한 세그먼트 파일을 {@link FileChannel#map}으로 매핑하여,
+ * 단어 사전/포스팅/저장 필드를 자바 힙이 아닌 OS 페이지 캐시에서 직접 읽습니다.
+ * 힙에는 헤더 정보만 유지되며, 단어 조회는 정렬된 단어 인덱스에 대한 이진 탐색으로 수행합니다.
+ * 
+ * 모든 읽기는 위치 지정(absolute) 방식이므로 여러 검색 스레드가 동시에 사용할 수 있습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class MappedSegment implements IndexSegment {
+    
+    private static final Document.DocumentType[] TYPES = Document.DocumentType.values();
+    
+    private final String name;
+    private final MappedByteBuffer buffer;
+    private final int maxDoc;
+    private final int termCount;
+    private final long totalDocumentLength;
+    private final int docsOffset;
+    private final int idIndexOffset;
+    private final int termDictOffset;
+    private final int termIndexOffset;
+    private final String analyzerName;
+    
+    // 처음 조회 시 생성되는 단어 사전 트라이
+    private volatile TermTrie termTrie;
+    
+    // 처음 조회 시 생성되는 필터용 열 값 (메타데이터 열은 키별로 저장 필드를 한 번 디코딩하여 힙에 유지)
+    private volatile DocValues docValues;
+    
+    // 처음 조회 시 계산되는 파일 전체 CRC32C (-1: 미계산)
+    private volatile long checksum = -1;
+    
+    private MappedSegment(String name, MappedByteBuffer buffer) throws IOException {
+        this.name = name;
+        this.buffer = buffer;
+        
+        if (buffer.capacity() < SegmentFormat.HEADER_SIZE || buffer.getInt(0) != SegmentFormat.MAGIC) {
+            throw new IOException("세그먼트 파일 형식이 올바르지 않습니다: " + name);
+        }
+        if (buffer.getInt(4) != SegmentFormat.VERSION) {
+            throw new IOException("지원하지 않는 세그먼트 버전입니다: " + name + " (v" + buffer.getInt(4) + ")");
+        }
+        
+        this.maxDoc = buffer.getInt(8);
+        this.termCount = buffer.getInt(12);
+        this.totalDocumentLength = buffer.getLong(16);
+        this.docsOffset = (int) buffer.getLong(32);
+        this.idIndexOffset = (int) buffer.getLong(40);
+        this.termDictOffset = (int) buffer.getLong(56);
+        this.termIndexOffset = (int) buffer.getLong(64);
+        
+        if (buffer.getLong(72) != buffer.capacity()) {
+            throw new IOException("세그먼트 파일 크기가 헤더와 다릅니다: " + name);
+        }
+        
+        int analyzerLength = buffer.getInt(SegmentFormat.ANALYZER_OFFSET);
+        if (analyzerLength < 0 || analyzerLength > SegmentFormat.MAX_ANALYZER_NAME_BYTES) {
+            throw new IOException("세그먼트 헤더의 분석기 이름이 올바르지 않습니다: " + name);
+        }
+        byte[] analyzerBytes = new byte[analyzerLength];
+        buffer.get(SegmentFormat.ANALYZER_OFFSET + 4, analyzerBytes);
+        this.analyzerName = analyzerLength == 0 ? Analyzer.STANDARD_NAME : new String(analyzerBytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 세그먼트를 색인할 때 사용한 분석기 이름
+     */
+    public String analyzerName() {
+        return analyzerName;
+    }
+    
+    /**
+     * 파일 전체의 CRC32C (커밋 기록/복원 시 파일 손상 확인용, 한 번 계산 후 재사용)
+     */
+    public long checksum() {
+        long value = checksum;
+        if (value < 0) {
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().clear());
+            value = crc.getValue();
+            checksum = value;
+        }
+        return value;
+    }
+    
+    /**
+     * 세그먼트 파일을 읽기 전용으로 매핑
+     */
+    public static MappedSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("세그먼트 파일이 2GB 제한을 초과했습니다: " + file);
+            }
+            // 매핑은 채널을 닫은 뒤에도 유효함
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedSegment(file.getFileName().toString(), buffer);
+        }
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public int maxDoc() {
+        return maxDoc;
+    }
+    
+    @Override
+    public long totalDocumentLength() {
+        return totalDocumentLength;
+    }
+    
+    @Override
+    public int termCount() {
+        return termCount;
+    }
+    
+    @Override
+    public Iterator<String> terms() {
+        return new Iterator<>() {
+            private int index;
+            
+            @Override
+            public boolean hasNext() {
+                return index < termCount;
+            }
+            
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return termAt(index++);
+            }
+        };
+    }
+    
+    @Override
+    public PostingsList postings(String term) {
+        int low = 0;
+        int high = termCount - 1;
+        
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = termEntry(mid);
+            int cmp = SegmentFormat.compareUtf8(buffer, entry + 4, buffer.getInt(entry), term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                int metadata = entry + 4 + buffer.getInt(entry);
+                return new MappedPostingsList(buffer,
+                    (int) buffer.getLong(metadata + 4),
+                    buffer.getInt(metadata + 12),
+                    buffer.getInt(metadata));
+            }
+        }
+        
+        return null;
+    }
+    
+    @Override
+    public int documentLength(int ordinal) {
+        return buffer.getInt(docsOffset + ordinal * SegmentFormat.DOC_ENTRY_SIZE);
+    }
+    
+    @Override
+    public String documentId(int ordinal) {
+        return SegmentFormat.decodeDocumentId(buffer, storedOffset(ordinal));
+    }
+    
+    @Override
+    public Document.DocumentType documentType(int ordinal) {
+        int type = buffer.getInt(docsOffset + ordinal * SegmentFormat.DOC_ENTRY_SIZE + 4);
+        return type > 0 ? TYPES[type - 1] : null;
+    }
+    
+    @Override
+    public Document document(int ordinal) {
+        return SegmentFormat.decodeDocument(buffer, storedOffset(ordinal), documentType(ordinal));
+    }
+    
+    @Override
+    public int ordinalOf(String documentId) {
+        int low = 0;
+        int high = maxDoc - 1;
+        
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int ordinal = buffer.getInt(idIndexOffset + mid * 4);
+            int stored = storedOffset(ordinal);
+            int cmp = SegmentFormat.compareUtf8(buffer, stored + 4, buffer.getInt(stored), documentId);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return ordinal;
+            }
+        }
+        
+        return -1;
+    }
+    
+    @Override
+    public TermTrie termTrie() {
+        TermTrie trie = termTrie;
+        if (trie == null) {
+            trie = TermTrie.build(terms());
+            termTrie = trie;
+        }
+        return trie;
+    }
+    
+    @Override
+    public DocValues docValues() {
+        DocValues values = docValues;
+        if (values == null) {
+            values = new DocValues(this, maxDoc);
+            docValues = values;
+        }
+        return values;
+    }
+    
+    @Override
+    public long ramBytesUsed() {
+        // 매핑 버퍼 객체와 헤더 필드, 생성된 트라이와 필터용 열만 힙에 존재
+        TermTrie trie = termTrie;
+        DocValues values = docValues;
+        return 128 + (trie != null ? trie.ramBytesUsed() : 0) + (values != null ? values.ramBytesUsed() : 0);
+    }
+    
+    @Override
+    public long mappedBytes() {
+        return buffer.capacity();
+    }
+    
+    private int storedOffset(int ordinal) {
+        return (int) buffer.getLong(docsOffset + ordinal * SegmentFormat.DOC_ENTRY_SIZE + 8);
+    }
+    
+    private int termEntry(int index) {
+        return termDictOffset + buffer.getInt(termIndexOffset + index * 4);
+    }
+    
+    private String termAt(int index) {
+        int entry = termEntry(index);
+        byte[] bytes = new byte[buffer.getInt(entry)];
+        buffer.get(entry + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 매핑된 영역 위의 VByte 포스팅 리스트
+     */
+    private static final class MappedPostingsList implements PostingsList {
+        
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+        private final int size;
+        
+        MappedPostingsList(ByteBuffer buffer, int offset, int length, int size) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        @Override
+        public PostingsIterator iterator() {
+            return new MappedIterator(buffer, offset, offset + length);
+        }
+        
+        @Override
+        public long ramBytesUsed() {
+            return 32;
+        }
+    }
+    
+    /**
+     * 매핑된 영역 위의 VByte 포스팅 순회자
+     */
+    private static final class MappedIterator implements PostingsIterator {
+        
+        private final ByteBuffer buffer;
+        private final int end;
+        private int position;
+        private int doc = -1;
+        private int freq;
+        
+        MappedIterator(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.position = start;
+            this.end = end;
+        }
+        
+        @Override
+        public int nextDoc() {
+            if (position >= end) {
+                return doc = NO_MORE_DOCS;
+            }
+            
+            int code = readVInt();
+            doc += code >>> 1;
+            freq = (code & 1) != 0 ? 1 : readVInt();
+            return doc;
+        }
+        
+        @Override
+        public int freq() {
+            return freq;
+        }
+        
+        private int readVInt() {
+            byte b = buffer.get(position++);
+            int value = b & 0x7F;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * 문서별 유사 문서(more-like-this) 결과 캐시
+ * 
+ * 유사 문서 검색은 대상 문서의 단어 중 TF-IDF 가중치가 높은 단어를 골라 쿼리로 실행하므로, 문서 ID만으로 결과가 정해집니다.
+ * 문서 ID를 키로 선택한 단어, 결과, 조회 깊이를 보관하고, 적중 시 단어 분석과 스코어 계산 없이 결과를 반환합니다.
+ * 
+ * 무효화는 {@link QueryResultCache}의 단어 세대를 공유합니다. 항목에는 계산 시점의 선택 단어 세대 합을 넣고, 조회할 때
+ * 다시 계산한 합이 다르면 다시 검색합니다. 대상 문서가 바뀌거나 삭제되면 그 문서의 단어가, 결과 문서가 바뀌면 대상 문서와
+ * 겹치는 선택 단어가 무효화되므로 결과에 영향을 주는 변경은 모두 감지됩니다. 선택 단어와 관련 없는 변경으로 생기는
+ * 미세한 가중치 차이는 검색 결과 캐시와 마찬가지로 허용합니다.
+ * 
+ * 단어 세대는 검색 결과 캐시를 사용할 때만 올라가므로, 검색 결과 캐시가 꺼져 있으면 이 캐시도 사용하지 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class MoreLikeThisCache {
+    
+    // 조회 깊이 최솟값 (상세 화면마다 다른 결과 수를 요청해도 다시 검색하지 않도록)
+    private static final int MIN_DEPTH = 10;
+    
+    /**
+     * 유사 문서 검색 결과
+     * 
+     * @param terms 쿼리로 사용한 선택 단어 (비어 있으면 캐시하지 않음)
+     * @param hits 유사도 순 결과
+     */
+    public record Result(List<String> terms, List<SearchHit> hits) {
+        
+        public static final Result EMPTY = new Result(List.of(), List.of());
+        
+        public Result {
+            terms = List.copyOf(terms);
+            hits = List.copyOf(hits);
+        }
+    }
+    
+    private record Entry(int depth, long generation, Result result) {
+        
+        /**
+         * 요청한 결과 수를 이 항목으로 채울 수 있는지 확인 (결과가 깊이보다 적으면 더 찾을 문서가 없음)
+         */
+        boolean covers(int maxResults) {
+            return maxResults <= depth || result.hits().size() < depth;
+        }
+    }
+    
+    private final QueryResultCache generations;
+    private final Cache<String, Entry> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * @param generations 단어 세대를 공유할 검색 결과 캐시
+     * @param maxEntries 최대 문서 수 (0 이하면 캐시하지 않음)
+     */
+    public MoreLikeThisCache(QueryResultCache generations, long maxEntries) {
+        this.generations = generations;
+        this.cache = maxEntries > 0 && generations.isEnabled()
+            ? Caffeine.newBuilder().maximumSize(maxEntries).build()
+            : null;
+    }
+    
+    public boolean isEnabled() {
+        return cache != null;
+    }
+    
+    /**
+     * 캐시된 유사 문서 조회 (없거나 무효화되었으면 loader로 검색하여 저장, 반환 목록은 수정 불가)
+     * 
+     * 검색할 단어는 loader가 정하므로 세대를 미리 읽을 수 없습니다. 대신 검색 전후의 무효화 횟수를 비교하여,
+     * 검색 도중 인덱스가 바뀌었으면 결과를 저장하지 않습니다.
+     * 
+     * @param loader 조회 깊이 → 검색 결과
+     */
+    public List<SearchHit> get(String documentId, int maxResults, IntFunction<Result> loader) {
+        if (cache == null) {
+            return loader.apply(maxResults).hits();
+        }
+        
+        Entry entry = cache.getIfPresent(documentId);
+        if (entry != null && entry.covers(maxResults)
+                && generations.generation(entry.result().terms()) == entry.generation()) {
+            hits.increment();
+            return head(entry.result().hits(), maxResults);
+        }
+        misses.increment();
+        
+        long modifications = generations.modificationCount();
+        int depth = Math.max(maxResults, MIN_DEPTH);
+        Result result = loader.apply(depth);
+        long generation = generations.generation(result.terms());
+        if (!result.terms().isEmpty() && generations.modificationCount() == modifications) {
+            cache.put(documentId, new Entry(depth, generation, result));
+        }
+        return head(result.hits(), maxResults);
+    }
+    
+    /**
+     * 캐시 통계
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cache != null);
+        if (cache == null) {
+            return stats;
+        }
+        
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRatio", hitCount + missCount > 0
+            ? Math.round(hitCount * 1000.0 / (hitCount + missCount)) / 1000.0
+            : 0.0);
+        return stats;
+    }
+    
+    private static List<SearchHit> head(List<SearchHit> hits, int maxResults) {
+        return hits.size() > maxResults ? hits.subList(0, Math.max(0, maxResults)) : hits;
+    }
+}
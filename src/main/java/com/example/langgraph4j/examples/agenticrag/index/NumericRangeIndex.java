@@ -0,0 +1,182 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.function.IntPredicate;
+
+/**
+ * 세그먼트 단위 숫자 메타데이터 범위 인덱스 (값 오름차순으로 정렬한 값/순번 배열)
+ * 
+ * 값이 있는 문서만 (값, 순번) 순서로 정렬한 두 원시 배열에 담고, 범위 경계는 이진 탐색으로 찾습니다.
+ * 범위 검색 비용은 O(log n + 결과 수)이며, 문서마다 메타데이터 맵을 읽지 않습니다.
+ * 세그먼트가 불변이므로 {@link DocValues}가 키별로 한 번 만들어 재사용합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class NumericRangeIndex {
+    
+    private final double[] values;
+    private final int[] ordinals;
+    
+    private NumericRangeIndex(double[] values, int[] ordinals) {
+        this.values = values;
+        this.ordinals = ordinals;
+    }
+    
+    /**
+     * 숫자 열로 인덱스 생성 (NaN은 값이 없는 문서로 보고 제외)
+     */
+    static NumericRangeIndex build(double[] column) {
+        int count = 0;
+        for (double value : column) {
+            if (!Double.isNaN(value)) {
+                count++;
+            }
+        }
+        
+        int[] ordinals = new int[count];
+        int next = 0;
+        for (int ordinal = 0; ordinal < column.length; ordinal++) {
+            if (!Double.isNaN(column[ordinal])) {
+                ordinals[next++] = ordinal;
+            }
+        }
+        sort(ordinals, column, 0, count - 1);
+        
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = column[ordinals[i]];
+        }
+        return new NumericRangeIndex(values, ordinals);
+    }
+    
+    /**
+     * 값이 있는 문서 수
+     */
+    public int size() {
+        return values.length;
+    }
+    
+    /**
+     * 정렬 위치의 값
+     */
+    public double value(int position) {
+        return values[position];
+    }
+    
+    /**
+     * 정렬 위치의 세그먼트 문서 순번
+     */
+    public int ordinal(int position) {
+        return ordinals[position];
+    }
+    
+    /**
+     * 값이 min 이상인 첫 정렬 위치
+     */
+    public int lowerBound(double min) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < min) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * 값이 max 이하인 마지막 정렬 위치 다음
+     */
+    public int upperBound(double max) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * 범위 안의 문서 순번을 값 순서대로 방문 (visitor가 false를 반환하면 중단)
+     * 
+     * @param descending 값 내림차순으로 방문
+     */
+    public void visit(DocumentFilter.Range range, boolean descending, IntPredicate visitor) {
+        int from = lowerBound(range.min());
+        int to = upperBound(range.max());
+        if (descending) {
+            for (int position = to - 1; position >= from; position--) {
+                if (!visitor.test(position)) {
+                    return;
+                }
+            }
+        } else {
+            for (int position = from; position < to; position++) {
+                if (!visitor.test(position)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 힙 사용량 추정치
+     */
+    public long ramBytesUsed() {
+        return 48 + values.length * 8L + ordinals.length * 4L;
+    }
+    
+    /**
+     * 순번 배열을 열 값 기준으로 정렬 (값이 같으면 순번 순, 박싱 없는 퀵 정렬 + 짧은 구간 삽입 정렬)
+     */
+    private static void sort(int[] ordinals, double[] column, int low, int high) {
+        while (high - low > 16) {
+            int pivot = ordinals[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(ordinals[i], pivot, column) < 0) {
+                    i++;
+                }
+                while (compare(ordinals[j], pivot, column) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = ordinals[i];
+                    ordinals[i++] = ordinals[j];
+                    ordinals[j--] = swap;
+                }
+            }
+            // 작은 쪽을 재귀로, 큰 쪽은 반복으로 처리하여 재귀 깊이를 O(log n)으로 제한
+            if (j - low < high - i) {
+                sort(ordinals, column, low, j);
+                low = i;
+            } else {
+                sort(ordinals, column, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int current = ordinals[i];
+            int j = i - 1;
+            while (j >= low && compare(ordinals[j], current, column) > 0) {
+                ordinals[j + 1] = ordinals[j];
+                j--;
+            }
+            ordinals[j + 1] = current;
+        }
+    }
+    
+    private static int compare(int left, int right, double[] column) {
+        int byValue = Double.compare(column[left], column[right]);
+        return byValue != 0 ? byValue : Integer.compare(left, right);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 포스팅 리스트 순회자
+ * 
+ * <pre>
+ * for (int doc = it.nextDoc(); doc != PostingsIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
+ *     int freq = it.freq();
+ * }
+ * </pre>
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface PostingsIterator {
+    
+    /**
+     * 순회 종료 표시값
+     */
+    int NO_MORE_DOCS = Integer.MAX_VALUE;
+    
+    /**
+     * 다음 문서 순번 반환 (없으면 {@link #NO_MORE_DOCS})
+     */
+    int nextDoc();
+    
+    /**
+     * 현재 문서의 단어 빈도
+     */
+    int freq();
+}
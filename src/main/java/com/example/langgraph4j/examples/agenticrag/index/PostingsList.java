@@ -0,0 +1,28 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 역색인 포스팅 리스트 인터페이스
+ * 
+ * 하나의 단어가 등장하는 문서 순번(오름차순)과 문서 내 단어 빈도를 담습니다.
+ * 구현체는 메모리 절약을 위해 압축된 형태로 저장할 수 있습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface PostingsList {
+    
+    /**
+     * 포스팅 수 (단어의 문서 빈도)
+     */
+    int size();
+    
+    /**
+     * 문서 순번 오름차순 순회자 생성
+     */
+    PostingsIterator iterator();
+    
+    /**
+     * 힙 사용량 추정치 (바이트)
+     */
+    long ramBytesUsed();
+}
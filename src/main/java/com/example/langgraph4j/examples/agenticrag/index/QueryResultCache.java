@@ -0,0 +1,179 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 캐시
+ * 
+ * 정규화된 쿼리 단어(분석기 출력, 정렬), 결과 수, 랭킹 함수, 검색 필터를 키로 상위 검색 결과를 보관합니다.
+ * 결과 항목({@link SearchHit})은 불변이고 저장 문서를 공유하므로 적중 시 복사 없이 그대로 반환합니다.
+ * 용량은 항목 수가 아닌 결과의 추정 메모리 크기로 제한하며, 제거 정책은 Caffeine의 W-TinyLFU(빈도 기반 입장 + LRU 창)이므로
+ * 한 번만 나오는 쿼리가 자주 반복되는 쿼리를 밀어내지 않습니다.
+ * 
+ * 무효화는 단어 세대(generation)로 합니다. 문서가 추가, 교체, 삭제되면 그 문서의 단어마다 세대를 올리고, 키에는 조회 시점의
+ * 쿼리 단어 세대 합을 넣습니다. 세대는 줄어들지 않으므로 합이 같으면 쿼리 단어의 포스팅도 바뀌지 않았으며, 바뀐 쿼리의 이전 항목은
+ * 더 이상 조회되지 않고 정책에 따라 제거됩니다. 쿼리 단어와 관련 없는 문서가 바뀌어도 항목은 유지됩니다.
+ * 단어 세대는 단어 해시로 나눈 고정 크기 배열에 두므로 해시가 겹치는 단어는 함께 무효화됩니다 (결과의 정확성에는 영향 없음).
+ * 
+ * 쿼리 단어와 관련 없는 변경으로 전체 통계(문서 수, 평균 길이)가 달라져 생기는 미세한 점수 차이는 허용합니다.
+ * 세그먼트 일괄 추가처럼 바뀐 단어를 모으기 어려운 변경은 {@link #invalidateAll()}로 모든 항목을 무효화합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class QueryResultCache {
+    
+    // 단어 세대 배열 크기 (2의 거듭제곱)
+    private static final int GENERATION_STRIPES = 1 << 16;
+    
+    // 결과 항목 하나의 고정 추정 크기 (객체 헤더, 필드, 메타데이터)
+    private static final int DOCUMENT_OVERHEAD_BYTES = 256;
+    
+    private record Key(List<String> terms, int maxResults, String ranking, DocumentFilter filter,
+                       long generation) {
+    }
+    
+    private final long maxWeightBytes;
+    private final Cache<Key, List<SearchHit>> cache;
+    private final AtomicLongArray termGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final AtomicLong modifications = new AtomicLong();
+    
+    /**
+     * @param maxWeightBytes 결과 문서 추정 크기 합계 한도 (0 이하면 캐시하지 않음)
+     */
+    public QueryResultCache(long maxWeightBytes) {
+        this.maxWeightBytes = Math.max(0, maxWeightBytes);
+        this.cache = maxWeightBytes > 0
+            ? Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(QueryResultCache::weigh)
+                .recordStats()
+                .build()
+            : null;
+    }
+    
+    public boolean isEnabled() {
+        return cache != null;
+    }
+    
+    /**
+     * 캐시된 결과 조회 (없으면 loader로 검색하여 저장, 반환 목록은 수정 불가)
+     * 
+     * 세대는 loader가 인덱스 스냅샷을 잡기 전에 읽으므로, 검색 도중 바뀐 단어의 결과가 바뀐 뒤의 세대로 저장되지 않습니다.
+     * 
+     * @param filter 검색 필터 (없으면 {@link DocumentFilter#NONE})
+     */
+    public List<SearchHit> get(Collection<String> terms, int maxResults, String ranking, DocumentFilter filter,
+                               Supplier<List<SearchHit>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        
+        List<String> sortedTerms = terms.stream().sorted().toList();
+        return cache.get(new Key(sortedTerms, maxResults, ranking, filter, generation(sortedTerms)),
+            key -> List.copyOf(loader.get()));
+    }
+    
+    /**
+     * 단어들의 현재 세대 합 (단어의 포스팅이 바뀌었거나 전체 무효화가 있었으면 이전 값과 달라짐)
+     * 
+     * 캐시를 쓰지 않으면 세대를 올리지 않으므로 항상 같은 값입니다.
+     */
+    public long generation(Collection<String> terms) {
+        long generation = globalGeneration.get();
+        for (String term : terms) {
+            generation += termGenerations.get(stripe(term));
+        }
+        return generation;
+    }
+    
+    /**
+     * 무효화 호출 횟수 (단어를 미리 알 수 없는 검색이 검색 도중 변경이 있었는지 확인하는 용도)
+     */
+    public long modificationCount() {
+        return modifications.get();
+    }
+    
+    /**
+     * 포스팅이 바뀐 단어의 캐시 항목 무효화 (인덱스에 반영한 뒤 호출)
+     */
+    public void invalidate(Collection<String> terms) {
+        if (cache == null) {
+            return;
+        }
+        for (String term : terms) {
+            termGenerations.incrementAndGet(stripe(term));
+        }
+        modifications.incrementAndGet();
+    }
+    
+    /**
+     * 모든 캐시 항목 무효화 (인덱스에 반영한 뒤 호출)
+     */
+    public void invalidateAll() {
+        if (cache == null) {
+            return;
+        }
+        globalGeneration.incrementAndGet();
+        modifications.incrementAndGet();
+        cache.invalidateAll();
+    }
+    
+    /**
+     * 캐시 통계 (적중률, 제거, 검색 지연)
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cache != null);
+        if (cache == null) {
+            return stats;
+        }
+        
+        CacheStats cacheStats = cache.stats();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("weightedKB", Math.round(cache.policy().eviction()
+            .map(eviction -> eviction.weightedSize().orElse(0))
+            .orElse(0L) / 1024.0));
+        stats.put("maxWeightKB", Math.round(maxWeightBytes / 1024.0));
+        stats.put("hitCount", cacheStats.hitCount());
+        stats.put("missCount", cacheStats.missCount());
+        stats.put("hitRatio", Math.round(cacheStats.hitRate() * 1000) / 1000.0);
+        stats.put("evictionCount", cacheStats.evictionCount());
+        stats.put("evictionWeightKB", Math.round(cacheStats.evictionWeight() / 1024.0));
+        stats.put("loadCount", cacheStats.loadCount());
+        stats.put("averageLoadMillis", Math.round(cacheStats.averageLoadPenalty() / 1e4) / 100.0);
+        return stats;
+    }
+    
+    private static int stripe(String term) {
+        return (term.hashCode() * 0x9E3779B9) >>> 16;
+    }
+    
+    /**
+     * 항목의 추정 메모리 크기 (문자열은 UTF-16 2바이트/문자)
+     */
+    private static int weigh(Key key, List<SearchHit> results) {
+        long bytes = 64;
+        for (String term : key.terms()) {
+            bytes += 40 + 2L * term.length();
+        }
+        for (SearchHit hit : results) {
+            bytes += DOCUMENT_OVERHEAD_BYTES;
+            bytes += hit.content() != null ? 2L * hit.content().length() : 0;
+            bytes += hit.title() != null ? 2L * hit.title().length() : 0;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색 결과 융합 인터페이스
+ * 
+ * 서로 다른 검색기(키워드, 벡터)가 같은 스냅샷 순번 공간에서 낸 순위 목록을 하나로 합칩니다.
+ * 같은 문서는 순번으로 식별하여 한 번만 결과에 포함하며, 융합 스코어는 0~1 범위로 맞춥니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface RankFusion {
+    
+    /**
+     * 융합 방식 이름 (설정으로 선택 시 사용)
+     */
+    String getName();
+    
+    /**
+     * 순위 목록 융합
+     * 
+     * @param rankings 검색기별 결과 (스코어 내림차순)
+     * @param weights 검색기별 가중치 (rankings와 같은 인덱스)
+     * @param topK 반환할 최대 문서 수
+     * @return 융합 스코어 내림차순 결과 (같으면 순번 오름차순)
+     */
+    TopDocs fuse(List<TopDocs> rankings, double[] weights, int topK);
+    
+    /**
+     * 이름으로 융합 방식 조회
+     * 
+     * @throws IllegalArgumentException 지원하지 않는 이름인 경우
+     */
+    static RankFusion forName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("결과 융합 방식 이름이 없습니다.");
+        }
+        
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case ReciprocalRankFusion.NAME -> ReciprocalRankFusion.DEFAULT;
+            case WeightedScoreFusion.NAME -> WeightedScoreFusion.INSTANCE;
+            default -> throw new IllegalArgumentException("지원하지 않는 결과 융합 방식: " + name);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Locale;
+
+/**
+ * 검색 랭킹 함수 인터페이스
+ * 
+ * 역색인에 저장된 단어 빈도와 문서 길이 통계만으로 문서 스코어를 계산합니다.
+ * 코퍼스를 다시 읽지 않도록 모든 입력값은 인덱싱 시점에 미리 계산된 값을 사용합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface RankingFunction {
+    
+    /**
+     * 랭킹 함수 이름 (요청 파라미터로 선택 시 사용)
+     */
+    String getName();
+    
+    /**
+     * 단어의 역문서 빈도(IDF) 계산 - 쿼리 단어당 1회 호출
+     * 
+     * @param documentFrequency 단어가 포함된 문서 수
+     * @param documentCount 전체 문서 수
+     */
+    double idf(int documentFrequency, int documentCount);
+    
+    /**
+     * 단일 문서에 대한 단어 스코어 계산 - 포스팅당 1회 호출
+     * 
+     * @param termFrequency 문서 내 단어 빈도
+     * @param documentLength 문서 길이 (단어 수)
+     * @param averageDocumentLength 코퍼스 평균 문서 길이
+     * @param idf {@link #idf(int, int)} 결과
+     */
+    double score(int termFrequency, int documentLength, double averageDocumentLength, double idf);
+    
+    /**
+     * 이름으로 랭킹 함수 조회
+     * 
+     * @throws IllegalArgumentException 지원하지 않는 이름인 경우
+     */
+    static RankingFunction forName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("랭킹 함수 이름이 없습니다.");
+        }
+        
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case TfIdfRankingFunction.NAME -> TfIdfRankingFunction.INSTANCE;
+            case Bm25RankingFunction.NAME -> Bm25RankingFunction.DEFAULT;
+            default -> throw new IllegalArgumentException("지원하지 않는 랭킹 함수: " + name);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 순위 역수 융합(Reciprocal Rank Fusion)
+ * 
+ * 각 목록에서의 순위 r(1부터)에 대해 weight / (k + r)를 더합니다 (Cormack et al., 2009).
+ * 스코어 척도가 다른 TF-IDF/BM25와 코사인 유사도를 보정 없이 합칠 수 있으며,
+ * 결과 스코어는 결과가 있는 모든 목록에서 1위인 문서가 1.0이 되도록 나눕니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class ReciprocalRankFusion implements RankFusion {
+    
+    public static final String NAME = "rrf";
+    
+    /**
+     * 일반적으로 사용되는 기본 순위 상수 (k = 60)
+     */
+    public static final ReciprocalRankFusion DEFAULT = new ReciprocalRankFusion(60);
+    
+    private final int k;
+    
+    public ReciprocalRankFusion(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("유효하지 않은 RRF 상수: k=" + k);
+        }
+        this.k = k;
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public TopDocs fuse(List<TopDocs> rankings, double[] weights, int topK) {
+        Map<Integer, Double> fused = new HashMap<>();
+        double maxScore = 0;
+        for (int list = 0; list < rankings.size(); list++) {
+            TopDocs ranking = rankings.get(list);
+            if (ranking.size() == 0) {
+                continue;
+            }
+            
+            double weight = weights[list];
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                fused.merge(ranking.ordinals()[rank], weight / (k + rank + 1), Double::sum);
+            }
+            maxScore += weight / (k + 1);
+        }
+        
+        TopKCollector collector = new TopKCollector(topK);
+        double scale = maxScore > 0 ? 1.0 / maxScore : 0;
+        fused.forEach((ordinal, score) -> collector.collect(ordinal, score * scale));
+        return collector.topDocs();
+    }
+}
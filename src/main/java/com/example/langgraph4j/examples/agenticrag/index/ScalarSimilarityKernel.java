@@ -0,0 +1,48 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 스칼라 루프 내적 커널 (Vector API를 쓸 수 없을 때의 기본 구현)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class ScalarSimilarityKernel implements SimilarityKernel {
+    
+    static final String NAME = "scalar";
+    
+    static final ScalarSimilarityKernel INSTANCE = new ScalarSimilarityKernel();
+    
+    private ScalarSimilarityKernel() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+    
+    @Override
+    public void dotProducts(float[] query, float[] matrix, int firstRow, int rowCount, float[] scores) {
+        int dimension = query.length;
+        for (int row = 0; row < rowCount; row++) {
+            scores[row] = dotProduct(query, 0, matrix, (firstRow + row) * dimension, dimension);
+        }
+    }
+    
+    @Override
+    public int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+}
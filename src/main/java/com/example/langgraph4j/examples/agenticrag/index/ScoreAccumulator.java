@@ -0,0 +1,189 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 쿼리 단위 문서 스코어 누적기
+ * 
+ * 문서 순번으로 인덱싱되는 double 배열에 단어별 스코어를 더하고,
+ * 한 번이라도 매칭된 문서 순번만 따로 기록하여 상위 K개 선택 시 전체 배열을 훑지 않도록 합니다.
+ * 
+ * 쿼리 단어의 포스팅 길이 합이 전체 문서 수보다 훨씬 작으면(희귀 단어 쿼리) 문서 수 크기의 배열 대신
+ * 매칭된 문서만 담는 해시 테이블(순번 → 매칭 번호)을 사용하여 쿼리마다 인덱스 크기만큼 할당하지 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class ScoreAccumulator {
+    
+    // 예상 매칭 수가 문서 수의 1/SPARSE_RATIO 미만이면 해시 테이블 사용
+    private static final int SPARSE_RATIO = 16;
+    private static final int MIN_CAPACITY = 16;
+    
+    // 순번별 스코어와 매칭 여부 (배열 방식, 해시 테이블 방식이면 null)
+    private final double[] scores;
+    private final long[] matchedBits;
+    
+    // 순번 해시 → 매칭 번호 + 1 (0은 빈 슬롯, 해시 테이블 방식에서만 사용)
+    private int[] slots;
+    // 매칭 번호별 스코어 (해시 테이블 방식에서만 사용)
+    private double[] matchedScores;
+    
+    private int[] matched;
+    private int matchCount;
+    
+    /**
+     * 문서 수 크기의 배열을 사용하는 누적기
+     * 
+     * @param maxOrdinal 문서 순번 상한 (배타적)
+     */
+    public ScoreAccumulator(int maxOrdinal) {
+        this.scores = new double[maxOrdinal];
+        this.matchedBits = new long[(maxOrdinal + 63) >>> 6];
+        this.matched = new int[64];
+    }
+    
+    /**
+     * 해시 테이블을 사용하는 누적기
+     * 
+     * @param capacity 초기 매칭 수 용량
+     * @param tableSize 해시 테이블 크기 (2의 거듭제곱, 용량의 2배 이상)
+     */
+    private ScoreAccumulator(int capacity, int tableSize) {
+        this.scores = null;
+        this.matchedBits = null;
+        this.slots = new int[tableSize];
+        this.matched = new int[capacity];
+        this.matchedScores = new double[capacity];
+    }
+    
+    /**
+     * 예상 매칭 수에 맞는 누적기 생성
+     * 
+     * @param maxOrdinal 문서 순번 상한 (배타적)
+     * @param postingsLength 쿼리 단어 포스팅 길이의 합 (매칭 문서 수의 상한)
+     */
+    public static ScoreAccumulator forPostings(int maxOrdinal, long postingsLength) {
+        if (postingsLength * SPARSE_RATIO < maxOrdinal) {
+            int capacity = Math.max(MIN_CAPACITY, (int) postingsLength);
+            return new ScoreAccumulator(capacity, Integer.highestOneBit(capacity - 1) << 2);
+        }
+        return new ScoreAccumulator(maxOrdinal);
+    }
+    
+    /**
+     * 문서 스코어 누적
+     */
+    public void add(int ordinal, double score) {
+        if (scores == null) {
+            // matchOf가 배열을 늘릴 수 있으므로 번호를 먼저 구함
+            int match = matchOf(ordinal);
+            matchedScores[match] += score;
+            return;
+        }
+        long mask = 1L << ordinal;
+        int word = ordinal >>> 6;
+        if ((matchedBits[word] & mask) == 0) {
+            matchedBits[word] |= mask;
+            if (matchCount == matched.length) {
+                matched = Arrays.copyOf(matched, matchCount << 1);
+            }
+            matched[matchCount++] = ordinal;
+        }
+        scores[ordinal] += score;
+    }
+    
+    /**
+     * 매칭 번호 조회 (처음 매칭된 순번이면 새 번호 할당, 선형 탐사)
+     */
+    private int matchOf(int ordinal) {
+        int mask = slots.length - 1;
+        for (int slot = hash(ordinal) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                if (matchCount == matched.length) {
+                    matched = Arrays.copyOf(matched, matchCount << 1);
+                    matchedScores = Arrays.copyOf(matchedScores, matchCount << 1);
+                }
+                int match = matchCount++;
+                matched[match] = ordinal;
+                slots[slot] = match + 1;
+                if (matchCount << 1 > slots.length) {
+                    rehash();
+                }
+                return match;
+            }
+            if (matched[entry - 1] == ordinal) {
+                return entry - 1;
+            }
+        }
+    }
+    
+    private void rehash() {
+        slots = new int[slots.length << 1];
+        int mask = slots.length - 1;
+        for (int match = 0; match < matchCount; match++) {
+            int slot = hash(matched[match]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = match + 1;
+        }
+    }
+    
+    private static int hash(int ordinal) {
+        int h = ordinal * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+    
+    /**
+     * 순번이 한 번이라도 매칭되었는지 확인
+     */
+    public boolean contains(int ordinal) {
+        return scores == null ? find(ordinal) >= 0 : (matchedBits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+    
+    /**
+     * 순번의 누적 스코어 (매칭되지 않았으면 0)
+     */
+    public double score(int ordinal) {
+        if (scores != null) {
+            return scores[ordinal];
+        }
+        int match = find(ordinal);
+        return match >= 0 ? matchedScores[match] : 0;
+    }
+    
+    /**
+     * 매칭 번호 조회 (없으면 -1, 해시 테이블 방식에서만 사용)
+     */
+    private int find(int ordinal) {
+        int mask = slots.length - 1;
+        for (int slot = hash(ordinal) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (matched[slots[slot] - 1] == ordinal) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 매칭된 문서 수
+     */
+    public int matchCount() {
+        return matchCount;
+    }
+    
+    /**
+     * 매칭된 문서 중 조건을 통과한 문서를 수집기에 전달
+     */
+    public void collectInto(TopKCollector collector, IntPredicate accept) {
+        for (int i = 0; i < matchCount; i++) {
+            int ordinal = matched[i];
+            if (accept.test(ordinal)) {
+                collector.collect(ordinal, scores == null ? matchedScores[i] : scores[ordinal]);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 세그먼트 파일 형식 정의 및 저장 필드 인코딩
+ * 
+ * <pre>
+ * [헤더 128바이트]
+ *   magic, version, maxDoc, termCount, totalDocumentLength,
+ *   storedOffset, docsOffset, idIndexOffset, postingsOffset, termDictOffset, termIndexOffset, fileLength,
+ *   분석기 이름(UTF-8 길이 int + 바이트, 길이 0 = standard)
+ * [저장 필드]   문서별 id, title, content, source, metadata(JSON), createdAt, updatedAt
+ * [문서 테이블] 문서별 16바이트 - 길이(int), 타입(int, 0 = 없음), 저장 필드 위치(long)
+ * [ID 인덱스]   문서 ID 오름차순으로 정렬된 순번(int)
+ * [포스팅]      단어별 델타 + VByte 인코딩 포스팅 ({@link VBytePostingsList}와 동일)
+ * [단어 사전]   단어별 UTF-8 길이(int), 바이트, 문서 빈도(int), 포스팅 위치(long), 포스팅 길이(int)
+ * [단어 인덱스] 단어 오름차순 사전 항목 위치(int, 단어 사전 시작 기준)
+ * </pre>
+ * 
+ * 모든 위치는 파일 시작 기준이며, 세그먼트 파일 하나는 2GB 미만으로 제한합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class SegmentFormat {
+    
+    static final int MAGIC = 0x41525347; // "ARSG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 128;
+    static final int DOC_ENTRY_SIZE = 16;
+    static final int ANALYZER_OFFSET = 80;
+    static final int MAX_ANALYZER_NAME_BYTES = HEADER_SIZE - ANALYZER_OFFSET - 4;
+    
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String DELETES_SUFFIX = ".del";
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {};
+    
+    private SegmentFormat() {
+    }
+    
+    /**
+     * 문서 저장 필드 인코딩
+     */
+    static byte[] encodeDocument(Document document) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeString(out, document.getId());
+            writeString(out, document.getTitle());
+            writeString(out, document.getContent());
+            writeString(out, document.getSource());
+            writeString(out, document.getMetadata() != null ?
+                OBJECT_MAPPER.writeValueAsString(document.getMetadata()) : null);
+            writeString(out, document.getCreatedAt() != null ? document.getCreatedAt().toString() : null);
+            writeString(out, document.getUpdatedAt() != null ? document.getUpdatedAt().toString() : null);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("문서 인코딩 실패: " + document.getId(), e);
+        }
+    }
+    
+    /**
+     * 저장 필드 디코딩
+     */
+    static Document decodeDocument(ByteBuffer buffer, int offset, Document.DocumentType type) {
+        int[] position = {offset};
+        String id = readString(buffer, position);
+        String title = readString(buffer, position);
+        String content = readString(buffer, position);
+        String source = readString(buffer, position);
+        String metadata = readString(buffer, position);
+        String createdAt = readString(buffer, position);
+        String updatedAt = readString(buffer, position);
+        
+        try {
+            return Document.builder()
+                .id(id)
+                .title(title)
+                .content(content)
+                .source(source)
+                .type(type)
+                .metadata(metadata != null ?
+                    Collections.unmodifiableMap(OBJECT_MAPPER.readValue(metadata, METADATA_TYPE)) : null)
+                .createdAt(createdAt != null ? LocalDateTime.parse(createdAt) : null)
+                .updatedAt(updatedAt != null ? LocalDateTime.parse(updatedAt) : null)
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("문서 메타데이터 디코딩 실패: " + id, e);
+        }
+    }
+    
+    /**
+     * 저장 필드의 첫 번째 필드(문서 ID)만 디코딩
+     */
+    static String decodeDocumentId(ByteBuffer buffer, int offset) {
+        return readString(buffer, new int[] {offset});
+    }
+    
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static String readString(ByteBuffer buffer, int[] position) {
+        int length = buffer.getInt(position[0]);
+        position[0] += 4;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position[0], bytes);
+        position[0] += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 버퍼의 UTF-8 바이트와 문자열을 할당 없이 비교 ({@link String#compareTo}와 같은 순서)
+     */
+    static int compareUtf8(ByteBuffer buffer, int offset, int length, String value) {
+        int end = offset + length;
+        int position = offset;
+        int index = 0;
+        
+        while (position < end && index < value.length()) {
+            int b = buffer.get(position) & 0xFF;
+            char c;
+            if (b < 0x80) {
+                c = (char) b;
+                position++;
+            } else if (b < 0xE0) {
+                c = (char) (((b & 0x1F) << 6) | (buffer.get(position + 1) & 0x3F));
+                position += 2;
+            } else if (b < 0xF0) {
+                c = (char) (((b & 0x0F) << 12) | ((buffer.get(position + 1) & 0x3F) << 6)
+                    | (buffer.get(position + 2) & 0x3F));
+                position += 3;
+            } else {
+                // 보조 평면 문자는 드물므로 남은 부분을 디코딩하여 비교
+                byte[] rest = new byte[end - position];
+                buffer.get(position, rest);
+                return new String(rest, StandardCharsets.UTF_8).compareTo(value.substring(index));
+            }
+            
+            int cmp = Character.compare(c, value.charAt(index++));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        
+        if (position < end) {
+            return 1;
+        }
+        return index < value.length() ? -1 : 0;
+    }
+}
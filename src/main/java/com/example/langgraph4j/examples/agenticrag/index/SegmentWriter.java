@@ -0,0 +1,266 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * 세그먼트 파일 작성기
+ * 
+ * 하나 이상의 원본 세그먼트에서 삭제되지 않은 문서만 모아 불변 세그먼트 파일 하나로 기록합니다.
+ * 색인 버퍼 플러시(원본 1개)와 세그먼트 병합(원본 여러 개)이 같은 경로를 사용합니다.
+ * 
+ * 임시 파일에 기록하고 디스크 동기화 후 최종 이름으로 원자적으로 이동하므로,
+ * 중간에 중단되더라도 불완전한 세그먼트 파일이 남지 않습니다 (이동 후 디렉토리도 동기화). 기록이 실패하면 임시 파일은 삭제합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class SegmentWriter {
+    
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+    
+    private SegmentWriter() {
+    }
+    
+    /**
+     * 원본 세그먼트들을 하나의 세그먼트 파일로 기록
+     * 
+     * @param sources 원본 세그먼트 (기록 순서대로 새 순번 할당)
+     * @param liveDocs 원본별 삭제 정보
+     * @param analyzerName 색인에 사용한 분석기 이름
+     * @param file 기록할 세그먼트 파일
+     * @return 기록된 문서 수
+     */
+    public static int write(List<? extends IndexSegment> sources, List<LiveDocs> liveDocs, String analyzerName,
+                            Path file) throws IOException {
+        byte[] analyzerBytes = Analyzer.STANDARD_NAME.equals(analyzerName) ?
+            new byte[0] : analyzerName.getBytes(StandardCharsets.UTF_8);
+        if (analyzerBytes.length > SegmentFormat.MAX_ANALYZER_NAME_BYTES) {
+            throw new IllegalArgumentException("분석기 이름이 너무 깁니다: " + analyzerName);
+        }
+        
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int maxDoc;
+        try {
+            maxDoc = writeTemp(sources, liveDocs, analyzerBytes, file, temp);
+            moveAtomically(temp, file);
+        } catch (Throwable e) {
+            // 기록에 실패한 임시 파일 삭제 (병합마다 새 이름을 쓰므로 남겨 두면 디렉토리에 쌓임)
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        return maxDoc;
+    }
+    
+    /**
+     * 디스크 동기화된 임시 파일을 최종 이름으로 원자적으로 이동하고 디렉토리 항목까지 동기화
+     * 
+     * 이름 변경은 디렉토리 항목의 변경이므로, 디렉토리를 동기화하지 않으면 전원 장애 후 새 이름이 사라질 수 있습니다.
+     */
+    static void moveAtomically(Path temp, Path file) throws IOException {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(file.toAbsolutePath().getParent());
+    }
+    
+    /**
+     * 디렉토리 동기화 (디렉토리를 채널로 열 수 없는 Windows에서는 건너뜀)
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * 임시 파일에 세그먼트 기록 (헤더 기록 및 디스크 동기화까지)
+     * 
+     * @return 기록된 문서 수
+     */
+    private static int writeTemp(List<? extends IndexSegment> sources, List<LiveDocs> liveDocs, byte[] analyzerBytes,
+                                 Path file, Path temp) throws IOException {
+        int[][] docMaps = docMaps(sources, liveDocs);
+        int[] maxDocs = new int[sources.size()];
+        int newMaxDoc = 0;
+        for (int s = 0; s < sources.size(); s++) {
+            maxDocs[s] = docMaps[s].length;
+            for (int newOrdinal : docMaps[s]) {
+                newMaxDoc = Math.max(newMaxDoc, newOrdinal + 1);
+            }
+        }
+        
+        long[] storedOffsets = new long[newMaxDoc];
+        int[] lengths = new int[newMaxDoc];
+        int[] types = new int[newMaxDoc];
+        String[] ids = new String[newMaxDoc];
+        long totalDocumentLength = 0;
+        
+        long storedOffset;
+        long docsOffset;
+        long idIndexOffset;
+        long postingsOffset;
+        long termDictOffset;
+        long termIndexOffset;
+        int termCount = 0;
+        
+        try (OutputStream stream = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+            out.write(new byte[SegmentFormat.HEADER_SIZE]);
+            
+            // 저장 필드
+            storedOffset = out.size();
+            for (int s = 0; s < sources.size(); s++) {
+                IndexSegment source = sources.get(s);
+                for (int ordinal = 0; ordinal < maxDocs[s]; ordinal++) {
+                    int newOrdinal = docMaps[s][ordinal];
+                    if (newOrdinal < 0) {
+                        continue;
+                    }
+                    storedOffsets[newOrdinal] = out.size();
+                    lengths[newOrdinal] = source.documentLength(ordinal);
+                    types[newOrdinal] = source.documentType(ordinal) != null ? source.documentType(ordinal).ordinal() + 1 : 0;
+                    ids[newOrdinal] = source.documentId(ordinal);
+                    totalDocumentLength += lengths[newOrdinal];
+                    out.write(SegmentFormat.encodeDocument(source.document(ordinal)));
+                }
+            }
+            
+            // 문서 테이블
+            docsOffset = out.size();
+            for (int ordinal = 0; ordinal < newMaxDoc; ordinal++) {
+                out.writeInt(lengths[ordinal]);
+                out.writeInt(types[ordinal]);
+                out.writeLong(storedOffsets[ordinal]);
+            }
+            
+            // ID 인덱스 (ID 오름차순 순번)
+            idIndexOffset = out.size();
+            int[] byId = IntStream.range(0, newMaxDoc).boxed()
+                .sorted(Comparator.comparing(ordinal -> ids[ordinal]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+            for (int ordinal : byId) {
+                out.writeInt(ordinal);
+            }
+            
+            // 포스팅 (모든 원본의 단어 합집합을 오름차순으로)
+            postingsOffset = out.size();
+            TreeSet<String> terms = new TreeSet<>();
+            for (IndexSegment source : sources) {
+                for (Iterator<String> it = source.terms(); it.hasNext(); ) {
+                    terms.add(it.next());
+                }
+            }
+            
+            List<String> termList = new ArrayList<>(terms.size());
+            List<long[]> termEntries = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                VBytePostingsList merged = new VBytePostingsList();
+                for (int s = 0; s < sources.size(); s++) {
+                    PostingsList postings = sources.get(s).postings(term);
+                    if (postings == null) {
+                        continue;
+                    }
+                    PostingsIterator iterator = postings.iterator();
+                    for (int ordinal = iterator.nextDoc(); ordinal < maxDocs[s]; ordinal = iterator.nextDoc()) {
+                        int newOrdinal = docMaps[s][ordinal];
+                        if (newOrdinal >= 0) {
+                            merged.append(newOrdinal, iterator.freq());
+                        }
+                    }
+                }
+                if (merged.size() == 0) {
+                    continue;
+                }
+                termList.add(term);
+                termEntries.add(new long[] {merged.size(), out.size(), merged.encodedLength()});
+                out.write(merged.encodedBytes());
+            }
+            termCount = termList.size();
+            
+            // 단어 사전
+            termDictOffset = out.size();
+            int[] termOffsets = new int[termCount];
+            for (int t = 0; t < termCount; t++) {
+                termOffsets[t] = (int) (out.size() - termDictOffset);
+                byte[] termBytes = termList.get(t).getBytes(StandardCharsets.UTF_8);
+                long[] entry = termEntries.get(t);
+                out.writeInt(termBytes.length);
+                out.write(termBytes);
+                out.writeInt((int) entry[0]);
+                out.writeLong(entry[1]);
+                out.writeInt((int) entry[2]);
+            }
+            
+            // 단어 인덱스
+            termIndexOffset = out.size();
+            for (int offset : termOffsets) {
+                out.writeInt(offset);
+            }
+            
+            // DataOutputStream.size()는 Integer.MAX_VALUE에서 포화됨
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("세그먼트 파일이 2GB 제한을 초과했습니다: " + file);
+            }
+        }
+        
+        // 헤더 기록 및 디스크 동기화
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(SegmentFormat.HEADER_SIZE);
+            header.putInt(SegmentFormat.MAGIC)
+                .putInt(SegmentFormat.VERSION)
+                .putInt(newMaxDoc)
+                .putInt(termCount)
+                .putLong(totalDocumentLength)
+                .putLong(storedOffset)
+                .putLong(docsOffset)
+                .putLong(idIndexOffset)
+                .putLong(postingsOffset)
+                .putLong(termDictOffset)
+                .putLong(termIndexOffset)
+                .putLong(channel.size())
+                .putInt(analyzerBytes.length)
+                .put(analyzerBytes);
+            header.rewind();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        return newMaxDoc;
+    }
+    
+    /**
+     * 원본 순번 -> 새 순번 매핑 (삭제된 문서는 -1, 원본 순서대로 새 순번 할당)
+     */
+    static int[][] docMaps(List<? extends IndexSegment> sources, List<LiveDocs> liveDocs) {
+        int[][] docMaps = new int[sources.size()][];
+        int newMaxDoc = 0;
+        for (int s = 0; s < sources.size(); s++) {
+            docMaps[s] = new int[sources.get(s).maxDoc()];
+            for (int ordinal = 0; ordinal < docMaps[s].length; ordinal++) {
+                docMaps[s][ordinal] = liveDocs.get(s).isLive(ordinal) ? newMaxDoc++ : -1;
+            }
+        }
+        return docMaps;
+    }
+}
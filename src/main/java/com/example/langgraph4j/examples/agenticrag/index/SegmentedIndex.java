@@ -0,0 +1,895 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 세그먼트 기반(LSM) 역색인
+ * 
+ * 새 문서는 힙의 색인 버퍼({@link InMemorySegment})에 쌓이고, 버퍼가 가득 차면 불변 세그먼트로
+ * 봉인됩니다. 백그라운드 스레드가 봉인된 버퍼를 세그먼트 파일로 기록하여 메모리 매핑({@link MappedSegment})으로
+ * 교체하고, 병합 정책에 따라 비슷한 크기의 세그먼트를 하나로 병합합니다.
+ * 인덱스 디렉토리를 지정하지 않으면 세그먼트를 파일 없이 힙에 유지하며 병합도 힙에서 수행합니다.
+ * 
+ * 봉인된 세그먼트 목록, 세그먼트별 삭제 정보(불변 {@link LiveDocs}), 색인 버퍼와 버퍼의 공개된 문서 수는 하나의
+ * 불변 상태 객체로 묶여 원자적으로 교체되므로, 검색 스레드는 잠금 없이 {@link #snapshot()}으로 일관된 세그먼트 목록을 얻고
+ * 검색 도중의 삭제나 교체를 보지 않습니다. 문서 교체는 기존 문서의 삭제 표시와 새 문서 추가를 한 번의 상태 교체로 공개하므로
+ * 어느 시점의 스냅샷이든 이전 버전과 새 버전 중 정확히 하나를 봅니다.
+ * 문서 추가와 상태 교체는 짧은 잠금으로 직렬화되며, 파일 기록과 병합은 잠금 밖에서 수행됩니다.
+ * 
+ * 인덱스 디렉토리를 지정하면 파일 기록/병합 후와 {@link #flush()} 시 세그먼트 파일 목록과 삭제 정보를
+ * 체크섬이 포함된 커밋 파일({@link IndexCommit})로 원자적으로 기록하고, 시작 시 {@link #openCommittedSegments()}가
+ * 최신 유효 커밋을 복원합니다. 병합으로 대체된 세그먼트 파일은 유지 중인 커밋이 더 이상 참조하지 않을 때 삭제됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+public final class SegmentedIndex implements Closeable {
+    
+    public static final int DEFAULT_MAX_BUFFERED_DOCS = 1000;
+    public static final int DEFAULT_MERGE_FACTOR = 10;
+    
+    // 삭제된 문서 비율이 이 값 이상인 세그먼트는 단독으로 다시 기록하여 통계 보정
+    private static final double DELETES_MERGE_RATIO = 0.3;
+    
+    // 병합 결과 세그먼트 파일 크기 상한 (세그먼트 파일 2GB 제한보다 여유 있게, 예상 크기 기준)
+    private static final long MAX_MERGED_SEGMENT_BYTES = 1L << 30;
+    
+    private static final String SEGMENT_PREFIX = "segment_";
+    private static final Pattern SEGMENT_FILE_PATTERN = Pattern.compile("segment_\\d+\\.seg");
+    
+    // 유지하는 최근 커밋 수 (최신 커밋 파일이 손상되면 이전 커밋으로 복원)
+    private static final int KEPT_COMMITS = 2;
+    
+    /**
+     * 세그먼트와 삭제 정보
+     */
+    private record SegmentEntry(IndexSegment segment, LiveDocs liveDocs) {
+    }
+    
+    /**
+     * 원자적으로 교체되는 인덱스 상태
+     * 
+     * @param sealed 봉인된 세그먼트
+     * @param buffer 색인 버퍼
+     * @param bufferMaxDoc 검색에 공개된 색인 버퍼 문서 수 (버퍼에는 다음 상태에서 공개될 문서가 먼저 추가됨)
+     * @param statisticsVersion 봉인된 세그먼트 문서 빈도 통계 버전
+     */
+    private record IndexState(List<SegmentEntry> sealed, SegmentEntry buffer, int bufferMaxDoc, long statisticsVersion) {
+    }
+    
+    // 인덱스 디렉토리 (null이면 파일 없이 힙에만 유지)
+    private final Path directory;
+    
+    // 색인/검색 공통 분석기 (세그먼트 파일에 이름 기록)
+    private final Analyzer analyzer;
+    
+    // 색인 버퍼 봉인 기준 문서 수
+    private final int maxBufferedDocs;
+    
+    // 같은 크기 등급의 세그먼트가 이 수만큼 모이면 병합
+    private final int mergeFactor;
+    
+    private final AtomicReference<IndexState> state;
+    
+    // 봉인된 세그먼트 전체의 단어별 문서 빈도 (세그먼트 목록과 함께 잠금 안에서 갱신)
+    private final TermStatistics statistics = new TermStatistics();
+    
+    // 세그먼트 파일 기록 및 병합 스레드 (작업이 없으면 종료)
+    private final ThreadPoolExecutor mergeExecutor = new ThreadPoolExecutor(
+        0, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "segment-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    
+    // 파일 기록/병합 직렬화 (문서 추가 잠금과 별도)
+    private final Object maintenanceLock = new Object();
+    
+    // 대기 중인 백그라운드 작업 여부 (연속된 요청을 작업 하나로 합침)
+    private final AtomicBoolean maintenancePending = new AtomicBoolean();
+    
+    // 유지 중인 커밋 (오래된 순, maintenanceLock으로 보호)
+    private final Deque<IndexCommit> commits = new ArrayDeque<>();
+    
+    // 다음 커밋 번호 (maintenanceLock으로 보호)
+    private long nextCommitGeneration = 1;
+    
+    // 다음 세그먼트 번호
+    private long nextGeneration;
+    
+    // 분석기가 달라 복원하지 않은 세그먼트 (this로 보호, 다시 색인 후 flush하면 비움)
+    private List<SegmentEntry> staleSegments = List.of();
+    
+    // 다시 색인이 끝나기 전에는 커밋하지 않음 (이전 분석기의 커밋과 세그먼트 파일 보존)
+    private volatile boolean reanalysisPending;
+    
+    // 빈 인덱스에서 시작한 addSegments 호출들이 추가한 문서 ID (this로 보호)
+    // 다른 경로로 문서가 들어오거나 flush되면 null이 되어 교체 대상을 모든 세그먼트에서 조회
+    private Set<String> bulkDocumentIds;
+    
+    private volatile boolean closed;
+    
+    public SegmentedIndex(Path directory) {
+        this(directory, Analyzer.STANDARD, DEFAULT_MAX_BUFFERED_DOCS, DEFAULT_MERGE_FACTOR);
+    }
+    
+    public SegmentedIndex(Path directory, Analyzer analyzer, int maxBufferedDocs, int mergeFactor) {
+        if (maxBufferedDocs < 1 || mergeFactor < 2) {
+            throw new IllegalArgumentException(
+                "maxBufferedDocs는 1 이상, mergeFactor는 2 이상이어야 합니다: " + maxBufferedDocs + ", " + mergeFactor);
+        }
+        this.directory = directory;
+        this.analyzer = analyzer;
+        this.maxBufferedDocs = maxBufferedDocs;
+        this.mergeFactor = mergeFactor;
+        this.state = new AtomicReference<>(new IndexState(List.of(), newBuffer(), 0, statistics.version()));
+    }
+    
+    /**
+     * 디렉토리의 최신 유효 커밋을 복원하여 세그먼트 파일을 매핑 (문서 추가 전에 호출)
+     * 
+     * 커밋 파일을 최신 순으로 확인하여, 커밋 파일과 참조하는 세그먼트 파일의 길이/체크섬이 모두 맞는 첫 커밋을 복원합니다.
+     * 그 커밋이 참조하지 않는 세그먼트 파일(커밋 이후 기록되었거나 병합으로 대체된 파일)과 건너뛴 손상된 커밋은 삭제됩니다.
+     * 유효한 커밋이 없으면 0을 반환합니다 (호출자가 다시 색인하면 다음 커밋 기록 시 정리).
+     * 커밋 파일이 없는 디렉토리는 세그먼트 파일과 삭제 정보 파일을 모두 로드합니다 (이전 형식).
+     * 
+     * 다른 분석기로 색인된 커밋은 검색 결과가 일관되지 않으므로 복원하지 않고 0을 반환합니다. 이때 그 커밋의 세그먼트는
+     * 저장 문서를 모두 가지고 있으므로 {@link #staleDocuments()}로 살아 있는 문서를 읽어 현재 분석기로 다시 색인할 수 있습니다
+     * (런타임에 추가/수정된 문서 포함). 다시 색인한 뒤 {@link #flush()}가 새 커밋을 기록하기 전까지는 커밋하지 않으므로,
+     * 도중에 종료되어도 이전 커밋과 세그먼트 파일은 남아 다음 시작 시 다시 분석합니다.
+     * 
+     * @return 로드된 세그먼트 수
+     */
+    public synchronized int openCommittedSegments() throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return 0;
+        }
+        
+        List<Path> files = listFiles(SEGMENT_FILE_PATTERN).stream()
+            .sorted((a, b) -> Long.compare(generationOf(a), generationOf(b)))
+            .toList();
+        List<Path> commitFiles = listFiles(IndexCommit.FILE_PATTERN).stream()
+            .sorted((a, b) -> Long.compare(IndexCommit.generationOf(b), IndexCommit.generationOf(a)))
+            .toList();
+        // 복원하지 않는 파일과 번호가 겹치지 않도록 기존 파일 번호 다음부터 사용
+        for (Path file : files) {
+            nextGeneration = Math.max(nextGeneration, generationOf(file) + 1);
+        }
+        for (Path file : commitFiles) {
+            nextCommitGeneration = Math.max(nextCommitGeneration, IndexCommit.generationOf(file) + 1);
+        }
+        
+        if (commitFiles.isEmpty()) {
+            return openUncommittedSegments(files);
+        }
+        
+        List<Path> invalid = new ArrayList<>();
+        for (Path commitFile : commitFiles) {
+            IndexCommit commit;
+            List<SegmentEntry> entries;
+            try {
+                commit = IndexCommit.read(commitFile);
+                entries = openCommit(commit);
+            } catch (IOException | RuntimeException e) {
+                log.warn("커밋을 복원할 수 없어 이전 커밋을 확인합니다: {} ({})", commitFile.getFileName(), e.getMessage());
+                invalid.add(commitFile);
+                continue;
+            }
+            
+            if (!commit.analyzerName().equals(analyzer.getName())) {
+                return deferReanalysis(commit.analyzerName(), entries);
+            }
+            
+            Set<String> referenced = new HashSet<>();
+            commit.segments().forEach(entry -> referenced.add(entry.name()));
+            for (Path file : files) {
+                if (!referenced.contains(file.getFileName().toString())) {
+                    deleteSegmentFiles(file);
+                }
+            }
+            for (Path file : invalid) {
+                Files.deleteIfExists(file);
+            }
+            commits.addLast(commit);
+            installSegments(entries);
+            log.info("인덱스 커밋 복원: {} ({}개 세그먼트)", commitFile.getFileName(), entries.size());
+            return entries.size();
+        }
+        
+        log.warn("유효한 커밋이 없어 인덱스를 다시 구성해야 합니다: {}", directory);
+        return 0;
+    }
+    
+    /**
+     * 커밋이 참조하는 세그먼트 파일을 매핑하고 길이/문서 수/체크섬 확인
+     */
+    private List<SegmentEntry> openCommit(IndexCommit commit) throws IOException {
+        List<SegmentEntry> entries = new ArrayList<>(commit.segments().size());
+        for (IndexCommit.Entry entry : commit.segments()) {
+            if (!SEGMENT_FILE_PATTERN.matcher(entry.name()).matches()) {
+                throw new IOException("커밋의 세그먼트 파일 이름이 올바르지 않습니다: " + entry.name());
+            }
+            MappedSegment segment = MappedSegment.open(directory.resolve(entry.name()));
+            if (segment.mappedBytes() != entry.length() || segment.maxDoc() != entry.maxDoc()
+                    || segment.checksum() != entry.checksum()) {
+                throw new IOException("세그먼트 파일이 커밋 기록과 다릅니다: " + entry.name());
+            }
+            entries.add(new SegmentEntry(segment, entry.liveDocs()));
+        }
+        return entries;
+    }
+    
+    /**
+     * 커밋 파일이 없는 디렉토리의 세그먼트 파일과 삭제 정보 파일을 모두 로드 (이전 형식, 다음 커밋부터 커밋 파일 사용)
+     */
+    private int openUncommittedSegments(List<Path> files) throws IOException {
+        List<SegmentEntry> entries = new ArrayList<>(files.size());
+        String staleAnalyzer = null;
+        for (Path file : files) {
+            MappedSegment segment = MappedSegment.open(file);
+            if (!segment.analyzerName().equals(analyzer.getName())) {
+                staleAnalyzer = segment.analyzerName();
+            }
+            Path deletesFile = deletesFileFor(file);
+            LiveDocs liveDocs = Files.exists(deletesFile) ? LiveDocs.readFrom(deletesFile) : new LiveDocs();
+            entries.add(new SegmentEntry(segment, liveDocs));
+        }
+        if (staleAnalyzer != null) {
+            return deferReanalysis(staleAnalyzer, entries);
+        }
+        installSegments(entries);
+        return files.size();
+    }
+    
+    /**
+     * 다른 분석기로 색인된 세그먼트를 복원하지 않고 다시 색인 대상으로 보관 (파일은 다시 색인 후 커밋 시 정리)
+     */
+    private int deferReanalysis(String staleAnalyzer, List<SegmentEntry> entries) {
+        log.warn("세그먼트 분석기({})가 설정({})과 달라 저장 문서를 다시 분석해야 합니다: {}",
+            staleAnalyzer, analyzer.getName(), directory);
+        staleSegments = List.copyOf(entries);
+        reanalysisPending = true;
+        return 0;
+    }
+    
+    /**
+     * 분석기가 달라 복원하지 않은 세그먼트가 있어 다시 색인해야 하는지 확인
+     */
+    public boolean needsReanalysis() {
+        return reanalysisPending;
+    }
+    
+    /**
+     * 분석기가 달라 복원하지 않은 세그먼트의 살아 있는 저장 문서 (없으면 빈 스트림)
+     * 
+     * 다른 분석기로 색인된 커밋을 만나 {@link #openCommittedSegments()}가 0을 반환한 경우에만 문서가 있으며,
+     * 호출자는 이 문서들을 현재 분석기로 다시 색인한 뒤 {@link #flush()}를 호출해야 합니다.
+     */
+    public synchronized Stream<Document> staleDocuments() {
+        return staleSegments.stream().flatMap(entry -> IntStream.range(0, entry.segment().maxDoc())
+            .filter(entry.liveDocs()::isLive)
+            .mapToObj(entry.segment()::document));
+    }
+    
+    /**
+     * 로드한 세그먼트를 봉인된 세그먼트 목록 뒤에 추가
+     */
+    private void installSegments(List<SegmentEntry> entries) {
+        bulkDocumentIds = null;
+        List<SegmentEntry> sealed = new ArrayList<>(state.get().sealed());
+        List<TermStatistics.Delta> deltas = new ArrayList<>(entries.size());
+        for (SegmentEntry entry : entries) {
+            sealed.add(entry);
+            deltas.add(statistics.deltaOf(entry.segment()));
+            
+            log.debug("세그먼트 매핑: {} ({}개 문서, {}바이트)", entry.segment().getName(), entry.segment().maxDoc(),
+                entry.segment().mappedBytes());
+        }
+        
+        IndexState current = state.get();
+        state.set(new IndexState(List.copyOf(sealed), current.buffer(), current.bufferMaxDoc(), statistics.apply(deltas)));
+        scheduleMaintenance();
+    }
+    
+    /**
+     * 문서 추가 (같은 ID의 기존 문서는 삭제 표시)
+     * 
+     * 기존 문서의 삭제 표시와 새 문서는 한 번의 상태 교체로 함께 공개됩니다.
+     * 색인 버퍼가 {@code maxBufferedDocs}에 도달하면 봉인하고 백그라운드 기록/병합을 예약합니다.
+     * 
+     * @param document 저장할 문서
+     * @param termFrequencies 분석된 단어별 빈도
+     * @return 같은 ID의 기존 문서를 교체했으면 true
+     */
+    public synchronized boolean addDocument(Document document, Map<String, Integer> termFrequencies) {
+        bulkDocumentIds = null;
+        IndexState current = state.get();
+        List<SegmentEntry> entries = allEntries(current);
+        boolean replaced = markDeleted(entries, document.getId());
+        
+        // 버퍼에 추가한 문서는 아래 상태 교체 전까지 스냅샷의 버퍼 문서 수 밖에 있어 보이지 않음
+        InMemorySegment buffer = (InMemorySegment) current.buffer().segment();
+        buffer.addDocument(document, termFrequencies);
+        SegmentEntry bufferEntry = entries.remove(entries.size() - 1);
+        state.set(new IndexState(List.copyOf(entries), bufferEntry, buffer.maxDoc(), current.statisticsVersion()));
+        
+        if (buffer.maxDoc() >= maxBufferedDocs) {
+            sealBuffer();
+            scheduleMaintenance();
+        } else if (replaced) {
+            scheduleMaintenance();
+        }
+        return replaced;
+    }
+    
+    /**
+     * 병렬 색인 작업 스레드에서 만든 힙 세그먼트를 봉인하고 문서 빈도 통계 변화량을 미리 계산 (여러 스레드에서 동시에 호출 가능)
+     * 
+     * 단어 순번 할당과 세그먼트 단어 순회를 작업 스레드로 옮겨, {@link #addSegments(List)}의 잠금 구간에서는
+     * 미리 계산한 순번별 카운터만 더하게 합니다. 호출하지 않은 세그먼트는 추가 시 호출 스레드에서 계산합니다.
+     */
+    public void prepareSegment(InMemorySegment segment) {
+        segment.seal();
+        if (segment.preparedStatistics == null) {
+            segment.preparedStatistics = statistics.deltaOf(segment);
+        }
+    }
+    
+    /**
+     * 미리 만든 힙 세그먼트들을 한 번에 추가 (병렬 색인에서 스레드별로 만든 부분 인덱스 병합)
+     * 
+     * 색인 버퍼를 먼저 봉인한 뒤 세그먼트를 순서대로 뒤에 붙이므로, ID가 같은 문서는 나중에 추가된 문서만 남고
+     * 앞선 문서는 삭제 표시됩니다. 세그먼트는 봉인되며, 파일 기록과 병합은 백그라운드에서 기존 병합 정책대로 진행됩니다.
+     * 
+     * 빈 인덱스에서 시작한 대량 색인이면(이후 {@link #flush()} 전까지 다른 경로로 문서가 들어오지 않은 경우) 추가한 ID를
+     * 집합으로 기억하여, 앞서 추가된 ID일 때만 기존 세그먼트를 조회합니다 (문서마다 모든 세그먼트를 조회하지 않음).
+     * 
+     * @param segments 추가할 세그먼트 (다른 곳에서 더 이상 수정하지 않아야 함)
+     * @return 교체된 기존 문서 수
+     */
+    public int addSegments(List<InMemorySegment> segments) {
+        // 통계 변화량 계산은 잠금 밖에서 (작업 스레드가 미리 계산했으면 재사용)
+        List<TermStatistics.Delta> deltas = new ArrayList<>(segments.size());
+        for (InMemorySegment segment : segments) {
+            if (segment.maxDoc() > 0) {
+                prepareSegment(segment);
+                deltas.add(segment.preparedStatistics);
+                segment.preparedStatistics = null;
+            }
+        }
+        
+        synchronized (this) {
+            sealBuffer();
+            
+            IndexState current = state.get();
+            List<SegmentEntry> sealed = new ArrayList<>(current.sealed());
+            if (sealed.isEmpty()) {
+                bulkDocumentIds = new HashSet<>();
+            }
+            Set<String> addedIds = bulkDocumentIds;
+            // 기존 세그먼트별 삭제 정보 빌더 (삭제가 생긴 세그먼트만, 배열은 세그먼트마다 한 번만 복사)
+            LiveDocs.Builder[] deletes = new LiveDocs.Builder[sealed.size()];
+            int replaced = 0;
+            for (InMemorySegment segment : segments) {
+                if (segment.maxDoc() == 0) {
+                    continue;
+                }
+                
+                LiveDocs.Builder liveDocs = new LiveDocs().toBuilder();
+                for (int ordinal = 0; ordinal < segment.maxDoc(); ordinal++) {
+                    String documentId = segment.documentId(ordinal);
+                    // 세그먼트 안에서 같은 ID가 다시 나오면 마지막 문서만 ID로 조회됨
+                    if (segment.ordinalOf(documentId) != ordinal) {
+                        liveDocs.delete(ordinal);
+                        continue;
+                    }
+                    // 대량 색인 중 처음 보는 ID면 기존 세그먼트에 없음
+                    if (addedIds != null && addedIds.add(documentId)) {
+                        continue;
+                    }
+                    for (int i = 0; i < deletes.length; i++) {
+                        int previous = sealed.get(i).segment().ordinalOf(documentId);
+                        if (previous < 0) {
+                            continue;
+                        }
+                        if (deletes[i] == null) {
+                            deletes[i] = sealed.get(i).liveDocs().toBuilder();
+                        }
+                        if (deletes[i].delete(previous)) {
+                            replaced++;
+                        }
+                    }
+                }
+                sealed.add(new SegmentEntry(segment, liveDocs.build()));
+            }
+            for (int i = 0; i < deletes.length; i++) {
+                if (deletes[i] != null) {
+                    sealed.set(i, new SegmentEntry(sealed.get(i).segment(), deletes[i].build()));
+                }
+            }
+            
+            state.set(new IndexState(List.copyOf(sealed), current.buffer(), current.bufferMaxDoc(),
+                statistics.apply(deltas)));
+            scheduleMaintenance();
+            return replaced;
+        }
+    }
+    
+    /**
+     * 문서 삭제 (툼스톤 표시)
+     * 
+     * 포스팅과 문서 빈도 통계는 세그먼트 병합 시 정리되며, 그때까지 검색은 삭제 비트만 확인하여 건너뜁니다.
+     * 인덱스 디렉토리가 있으면 삭제 정보는 백그라운드에서 파일로 기록됩니다.
+     * 
+     * @return 삭제된 문서가 있으면 true
+     */
+    public synchronized boolean deleteDocument(String documentId) {
+        IndexState current = state.get();
+        List<SegmentEntry> entries = allEntries(current);
+        boolean deleted = markDeleted(entries, documentId);
+        if (deleted) {
+            SegmentEntry buffer = entries.remove(entries.size() - 1);
+            state.set(new IndexState(List.copyOf(entries), buffer, current.bufferMaxDoc(), current.statisticsVersion()));
+            scheduleMaintenance();
+        }
+        return deleted;
+    }
+    
+    /**
+     * 문서 ID의 살아 있는 문서를 삭제 표시한 항목으로 목록을 바꿈 (공개는 호출자가 상태 교체로)
+     */
+    private static boolean markDeleted(List<SegmentEntry> entries, String documentId) {
+        boolean deleted = false;
+        for (int i = 0; i < entries.size(); i++) {
+            SegmentEntry entry = entries.get(i);
+            int ordinal = entry.segment().ordinalOf(documentId);
+            if (ordinal >= 0 && entry.liveDocs().isLive(ordinal)) {
+                entries.set(i, new SegmentEntry(entry.segment(), entry.liveDocs().delete(ordinal)));
+                deleted = true;
+            }
+        }
+        return deleted;
+    }
+    
+    /**
+     * 색인 버퍼를 봉인하고, 인덱스 디렉토리가 있으면 힙 세그먼트를 모두 파일로 기록한 뒤 커밋 (동기)
+     * 
+     * 반환 후에는 호출 시점까지 추가/삭제된 문서가 커밋 파일에 반영되어 재시작 시 복원됩니다.
+     * 이전 커밋과 달라진 것이 없으면 커밋 파일을 기록하지 않습니다. 병합은 백그라운드에서 계속됩니다.
+     * 분석기가 달라 다시 색인 중이었으면 다시 색인이 끝난 것으로 보고, 이 커밋 후 이전 분석기의 파일을 정리합니다.
+     * 
+     * @return 새 세그먼트가 봉인되었으면 true
+     */
+    public boolean flush() throws IOException {
+        boolean sealed;
+        synchronized (this) {
+            sealed = sealBuffer();
+            // 대량 색인 종료 (이후 addSegments는 기존 세그먼트를 조회)
+            bulkDocumentIds = null;
+            staleSegments = List.of();
+            reanalysisPending = false;
+        }
+        
+        if (directory != null) {
+            synchronized (maintenanceLock) {
+                commit();
+            }
+        }
+        
+        scheduleMaintenance();
+        return sealed;
+    }
+    
+    /**
+     * 진행 중인 병합을 마치고 백그라운드 스레드 종료
+     */
+    @Override
+    public void close() {
+        closed = true;
+        mergeExecutor.shutdown();
+        try {
+            if (!mergeExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("세그먼트 병합이 제한 시간 내에 끝나지 않았습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * 검색용 스냅샷 생성 (잠금 없음)
+     */
+    public IndexSnapshot snapshot() {
+        IndexState current = state.get();
+        List<IndexSnapshot.Leaf> leaves = new ArrayList<>(current.sealed().size() + 1);
+        
+        int docBase = 0;
+        for (SegmentEntry entry : current.sealed()) {
+            int maxDoc = entry.segment().maxDoc();
+            leaves.add(new IndexSnapshot.Leaf(entry.segment(), entry.liveDocs(), docBase, maxDoc));
+            docBase += maxDoc;
+        }
+        // 색인 버퍼는 상태에 공개된 문서 수까지만
+        leaves.add(new IndexSnapshot.Leaf(current.buffer().segment(), current.buffer().liveDocs(), docBase,
+            current.bufferMaxDoc()));
+        
+        return new IndexSnapshot(leaves, statistics, current.statisticsVersion());
+    }
+    
+    /**
+     * 색인/검색 공통 분석기
+     */
+    public Analyzer analyzer() {
+        return analyzer;
+    }
+    
+    /**
+     * 인덱스 디렉토리 사용 여부
+     */
+    public boolean isPersistent() {
+        return directory != null;
+    }
+    
+    /**
+     * 세그먼트 수 (색인 버퍼 제외)
+     */
+    public int segmentCount() {
+        return state.get().sealed().size();
+    }
+    
+    /**
+     * 힙 사용량 추정치
+     */
+    public long ramBytesUsed() {
+        return allEntries(state.get()).stream().mapToLong(entry -> entry.segment().ramBytesUsed()).sum()
+            + statistics.ramBytesUsed();
+    }
+    
+    /**
+     * 메모리 매핑된 세그먼트 파일 크기 합계
+     */
+    public long mappedBytes() {
+        return allEntries(state.get()).stream().mapToLong(entry -> entry.segment().mappedBytes()).sum();
+    }
+    
+    /**
+     * 색인 버퍼 봉인 (잠금 보유 상태에서 호출)
+     */
+    private boolean sealBuffer() {
+        IndexState current = state.get();
+        SegmentEntry buffer = current.buffer();
+        if (buffer.segment().maxDoc() == 0) {
+            return false;
+        }
+        
+        ((InMemorySegment) buffer.segment()).seal();
+        List<SegmentEntry> sealed = new ArrayList<>(current.sealed());
+        sealed.add(buffer);
+        long version = statistics.apply(List.of(statistics.deltaOf(buffer.segment())));
+        state.set(new IndexState(List.copyOf(sealed), newBuffer(), 0, version));
+        return true;
+    }
+    
+    private void scheduleMaintenance() {
+        if (closed || !maintenancePending.compareAndSet(false, true)) {
+            return;
+        }
+        mergeExecutor.execute(() -> {
+            maintenancePending.set(false);
+            synchronized (maintenanceLock) {
+                // 새 세그먼트 파일은 병합 성공 여부와 관계없이 먼저 커밋 (커밋 시 봉인된 힙 세그먼트를 파일로 기록)
+                commitQuietly();
+                try {
+                    mergeSegments();
+                } catch (Exception e) {
+                    log.error("세그먼트 병합 실패", e);
+                }
+                // 병합 결과 커밋 (바뀐 세그먼트가 없으면 기록하지 않음)
+                commitQuietly();
+            }
+        });
+    }
+    
+    /**
+     * 인덱스 디렉토리가 있으면 커밋 (실패는 기록만 하고 다음 유지 보수 작업에서 다시 시도)
+     */
+    private void commitQuietly() {
+        if (directory == null) {
+            return;
+        }
+        try {
+            commit();
+        } catch (Exception e) {
+            log.error("세그먼트 기록/인덱스 커밋 실패", e);
+        }
+    }
+    
+    /**
+     * 봉인된 힙 세그먼트를 하나씩 세그먼트 파일로 기록
+     */
+    private void writePendingSegments() throws IOException {
+        while (true) {
+            SegmentEntry pending = state.get().sealed().stream()
+                .filter(entry -> entry.segment() instanceof InMemorySegment)
+                .findFirst()
+                .orElse(null);
+            if (pending == null) {
+                return;
+            }
+            replaceSegments(List.of(pending));
+        }
+    }
+    
+    /**
+     * 병합 정책에 따라 더 이상 병합할 세그먼트가 없을 때까지 병합
+     * 
+     * 세그먼트를 살아 있는 문서 수로 크기 등급(log_mergeFactor(문서 수 / maxBufferedDocs))을 나누고,
+     * 같은 등급의 연속된 세그먼트가 mergeFactor개 모이면 하나로 병합합니다.
+     * 병합 결과의 예상 크기(세그먼트 파일 크기 x 살아 있는 문서 비율의 합)가 {@link #MAX_MERGED_SEGMENT_BYTES}를 넘는 조합은
+     * 병합하지 않으며, 이미 상한을 넘은 세그먼트는 병합 후보에서 제외합니다 (기록 실패 후 같은 병합을 반복하지 않도록).
+     * 삭제된 문서가 많은 세그먼트는 단독으로 다시 기록하여 삭제된 문서의 포스팅과 문서 빈도를 제거합니다.
+     */
+    private void mergeSegments() throws IOException {
+        while (!closed) {
+            List<SegmentEntry> candidates = findMerge(state.get().sealed());
+            if (candidates == null) {
+                return;
+            }
+            replaceSegments(candidates);
+        }
+    }
+    
+    private List<SegmentEntry> findMerge(List<SegmentEntry> sealed) {
+        int runStart = 0;
+        for (int i = 1; i <= sealed.size(); i++) {
+            if (i == sealed.size() || level(sealed.get(i)) != level(sealed.get(runStart))) {
+                if (level(sealed.get(runStart)) >= 0) {
+                    for (int start = runStart; start + mergeFactor <= i; start++) {
+                        List<SegmentEntry> window = sealed.subList(start, start + mergeFactor);
+                        if (window.stream().mapToLong(SegmentedIndex::liveBytes).sum() <= MAX_MERGED_SEGMENT_BYTES) {
+                            return window;
+                        }
+                    }
+                }
+                runStart = i;
+            }
+        }
+        
+        for (SegmentEntry entry : sealed) {
+            int maxDoc = entry.segment().maxDoc();
+            if (maxDoc > 0 && entry.liveDocs().deletedCount() >= maxDoc * DELETES_MERGE_RATIO) {
+                return List.of(entry);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 크기 등급 (병합 후보에서 제외되는 세그먼트는 -1)
+     */
+    private int level(SegmentEntry entry) {
+        if (liveBytes(entry) >= MAX_MERGED_SEGMENT_BYTES) {
+            return -1;
+        }
+        long liveCount = entry.segment().maxDoc() - entry.liveDocs().deletedCount();
+        int level = 0;
+        for (long size = (long) maxBufferedDocs * mergeFactor; liveCount >= size; size *= mergeFactor) {
+            level++;
+        }
+        return level;
+    }
+    
+    /**
+     * 병합 후 예상 파일 크기 (삭제된 문서를 뺀 비율만큼, 힙 세그먼트는 0)
+     */
+    private static long liveBytes(SegmentEntry entry) {
+        int maxDoc = entry.segment().maxDoc();
+        if (maxDoc == 0) {
+            return 0;
+        }
+        return (long) (entry.segment().mappedBytes() * ((double) (maxDoc - entry.liveDocs().deletedCount()) / maxDoc));
+    }
+    
+    /**
+     * 원본 세그먼트들을 새 세그먼트 하나로 기록하고 원자적으로 교체
+     * 
+     * 기록은 시작 시점의 삭제 정보(불변) 기준으로 잠금 밖에서 수행하고, 교체 시 그 사이에 새로 삭제된 문서를
+     * 현재 상태의 삭제 정보에서 찾아 새 세그먼트의 삭제 정보로 옮깁니다. 원본은 상태 목록에서 연속되어야 하며,
+     * 새 세그먼트가 그 자리를 차지합니다. 삭제로 항목이 바뀌어도 세그먼트는 같으므로 원본은 세그먼트로 찾습니다.
+     */
+    private void replaceSegments(List<SegmentEntry> sources) throws IOException {
+        List<IndexSegment> segments = sources.stream().map(SegmentEntry::segment).toList();
+        List<LiveDocs> frozen = sources.stream().map(SegmentEntry::liveDocs).toList();
+        String name;
+        synchronized (this) {
+            name = SEGMENT_PREFIX + nextGeneration++;
+        }
+        
+        IndexSegment merged;
+        if (directory != null) {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(name + SegmentFormat.SEGMENT_SUFFIX);
+            SegmentWriter.write(segments, frozen, analyzer.getName(), file);
+            merged = MappedSegment.open(file);
+        } else {
+            merged = InMemorySegment.merge(name, segments, frozen);
+        }
+        
+        // 원본 통계를 빼고 새 세그먼트 통계를 더하는 변화량 (잠금 밖에서 계산)
+        List<TermStatistics.Delta> deltas = new ArrayList<>(segments.size() + 1);
+        for (IndexSegment segment : segments) {
+            deltas.add(statistics.deltaOf(segment).negate());
+        }
+        if (merged.maxDoc() > 0) {
+            deltas.add(statistics.deltaOf(merged));
+        }
+        
+        synchronized (this) {
+            IndexState current = state.get();
+            List<SegmentEntry> sealed = new ArrayList<>(current.sealed());
+            int position = -1;
+            for (int i = 0; i < sealed.size() && position < 0; i++) {
+                if (sealed.get(i).segment() == segments.get(0)) {
+                    position = i;
+                }
+            }
+            
+            // 기록 도중 삭제된 문서는 현재 상태의 삭제 정보에만 있음
+            int[][] docMaps = SegmentWriter.docMaps(segments, frozen);
+            LiveDocs.Builder mergedLiveDocs = new LiveDocs().toBuilder();
+            for (int s = 0; s < segments.size(); s++) {
+                LiveDocs liveDocs = sealed.get(position + s).liveDocs();
+                for (int ordinal = 0; ordinal < docMaps[s].length; ordinal++) {
+                    if (docMaps[s][ordinal] >= 0 && !liveDocs.isLive(ordinal)) {
+                        mergedLiveDocs.delete(docMaps[s][ordinal]);
+                    }
+                }
+            }
+            
+            sealed.subList(position, position + segments.size()).clear();
+            if (merged.maxDoc() > 0) {
+                sealed.add(position, new SegmentEntry(merged, mergedLiveDocs.build()));
+            }
+            state.set(new IndexState(List.copyOf(sealed), current.buffer(), current.bufferMaxDoc(),
+                statistics.apply(deltas)));
+        }
+        
+        // 원본 파일과 빈 병합 결과 파일은 커밋이 더 이상 참조하지 않을 때 삭제 (deleteUnreferencedFiles)
+        log.info("세그먼트 {}: {}개 → {} ({}개 문서)", directory != null && sources.size() == 1 ? "기록" : "병합",
+            sources.size(), name, merged.maxDoc());
+    }
+    
+    /**
+     * 봉인된 세그먼트 목록과 삭제 정보를 커밋 파일로 기록 (maintenanceLock 안에서 호출)
+     * 
+     * 봉인된 힙 세그먼트를 먼저 파일로 기록하므로 커밋은 세그먼트 파일만 참조합니다. 목록과 삭제 정보는 문서 추가 잠금
+     * 안에서 복사하여 같은 시점의 상태를 기록하고, 직전 커밋과 세그먼트 목록 및 삭제 수가 같으면 기록하지 않습니다.
+     * 분석기가 달라 다시 색인 중이면 기록하지 않습니다 (일부만 색인된 인덱스가 이전 커밋을 대체하지 않도록).
+     */
+    private void commit() throws IOException {
+        if (reanalysisPending) {
+            return;
+        }
+        List<SegmentEntry> sealed;
+        while (true) {
+            writePendingSegments();
+            synchronized (this) {
+                List<SegmentEntry> current = state.get().sealed();
+                if (current.stream().allMatch(entry -> entry.segment() instanceof MappedSegment)) {
+                    // 삭제 정보는 불변이므로 복사하지 않음
+                    sealed = current;
+                    break;
+                }
+            }
+        }
+        
+        // 체크섬은 세그먼트마다 한 번만 계산 (잠금 밖)
+        List<IndexCommit.Entry> entries = new ArrayList<>(sealed.size());
+        for (SegmentEntry entry : sealed) {
+            MappedSegment segment = (MappedSegment) entry.segment();
+            entries.add(new IndexCommit.Entry(segment.getName(), segment.maxDoc(), segment.mappedBytes(),
+                segment.checksum(), entry.liveDocs()));
+        }
+        IndexCommit commit = new IndexCommit(nextCommitGeneration, analyzer.getName(), entries);
+        if (commit.sameContents(commits.peekLast())) {
+            return;
+        }
+        
+        Files.createDirectories(directory);
+        Path file = commit.write(directory);
+        nextCommitGeneration++;
+        commits.addLast(commit);
+        while (commits.size() > KEPT_COMMITS) {
+            commits.removeFirst();
+        }
+        deleteUnreferencedFiles();
+        log.debug("인덱스 커밋: {} ({}개 세그먼트)", file.getFileName(), entries.size());
+    }
+    
+    /**
+     * 현재 상태와 유지 중인 커밋이 참조하지 않는 세그먼트 파일, 이전 커밋 파일, 이전 형식 삭제 정보 파일 삭제
+     * 
+     * 병합 중인 새 세그먼트 파일도 maintenanceLock 안에서만 기록되므로 삭제 대상이 되지 않습니다.
+     * 진행 중인 검색의 매핑은 파일 삭제 후에도 유효합니다 (매핑 해제는 GC 시점).
+     */
+    private void deleteUnreferencedFiles() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        Set<Long> keptCommits = new HashSet<>();
+        for (IndexCommit commit : commits) {
+            keptCommits.add(commit.generation());
+            commit.segments().forEach(entry -> referenced.add(entry.name()));
+        }
+        state.get().sealed().forEach(entry -> referenced.add(entry.segment().getName()));
+        
+        for (Path file : listFiles(SEGMENT_FILE_PATTERN)) {
+            if (referenced.contains(file.getFileName().toString())) {
+                // 삭제 정보는 커밋 파일에 포함됨
+                Files.deleteIfExists(deletesFileFor(file));
+            } else {
+                deleteSegmentFiles(file);
+            }
+        }
+        for (Path file : listFiles(IndexCommit.FILE_PATTERN)) {
+            if (!keptCommits.contains(IndexCommit.generationOf(file))) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    private List<Path> listFiles(Pattern pattern) throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(path -> pattern.matcher(path.getFileName().toString()).matches()).toList();
+        }
+    }
+    
+    private void deleteSegmentFiles(Path segmentFile) {
+        try {
+            Files.deleteIfExists(segmentFile);
+            Files.deleteIfExists(deletesFileFor(segmentFile));
+        } catch (IOException e) {
+            log.warn("세그먼트 파일 삭제 실패: {}", segmentFile, e);
+        }
+    }
+    
+    private List<SegmentEntry> allEntries(IndexState current) {
+        List<SegmentEntry> entries = new ArrayList<>(current.sealed());
+        entries.add(current.buffer());
+        return entries;
+    }
+    
+    private SegmentEntry newBuffer() {
+        return new SegmentEntry(new InMemorySegment("buffer"), new LiveDocs());
+    }
+    
+    private static Path deletesFileFor(Path segmentFile) {
+        return segmentFile.resolveSibling(segmentFile.getFileName().toString()
+            .replace(SegmentFormat.SEGMENT_SUFFIX, SegmentFormat.DELETES_SUFFIX));
+    }
+    
+    private static long generationOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SegmentFormat.SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+/**
+ * 벡터 내적 계산 커널
+ * 
+ * 행 우선(row-major)으로 이어 저장된 벡터 행렬에서 여러 행을 한 번에 스코어링하는 블록 연산과,
+ * int8 양자화 벡터용 정수 내적을 제공합니다. 구현은 스칼라 루프({@code scalar})와
+ * Java Vector API SIMD({@code vector}, {@code --add-modules jdk.incubator.vector} 필요) 두 가지입니다.
+ * 
+ * SIMD 커널은 인큐베이터 모듈 옵션을 쓰는 별도 소스 세트(src/vector/java)에서 컴파일되므로
+ * 메인 코드는 이 클래스를 직접 참조하지 않고 모듈이 있을 때 리플렉션으로 로드합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface SimilarityKernel {
+    
+    /**
+     * Java Vector API SIMD 커널 이름
+     */
+    String VECTOR_KERNEL = "vector";
+    
+    /**
+     * 커널 이름 (scalar, vector)
+     */
+    String getName();
+    
+    /**
+     * 두 벡터의 내적 (a[aOffset..], b[bOffset..]에서 length개 원소)
+     */
+    float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length);
+    
+    /**
+     * 쿼리와 행렬의 연속된 행들의 내적 (행 길이 = query.length)
+     * 
+     * @param matrix 행 우선으로 이어 저장된 벡터
+     * @param firstRow 첫 행 번호
+     * @param rowCount 계산할 행 수
+     * @param scores 결과 (scores[i] = firstRow + i 행의 내적)
+     */
+    void dotProducts(float[] query, float[] matrix, int firstRow, int rowCount, float[] scores);
+    
+    /**
+     * int8 벡터의 정수 내적
+     */
+    int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length);
+    
+    /**
+     * Java Vector API 모듈 사용 가능 여부 (JVM 옵션 --add-modules jdk.incubator.vector)
+     */
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+    
+    /**
+     * 이름으로 커널 조회
+     * 
+     * @throws IllegalArgumentException 지원하지 않는 이름인 경우
+     * @throws IllegalStateException Vector API 모듈 없이 vector 커널을 요청한 경우
+     */
+    static SimilarityKernel forName(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("유사도 커널 이름이 없습니다.");
+        }
+        
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case ScalarSimilarityKernel.NAME -> ScalarSimilarityKernel.INSTANCE;
+            case VECTOR_KERNEL -> {
+                if (!isVectorApiAvailable()) {
+                    throw new IllegalStateException("Vector API 모듈이 없습니다 (--add-modules jdk.incubator.vector 필요)");
+                }
+                yield loadVectorKernel();
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 유사도 커널: " + name);
+        };
+    }
+    
+    /**
+     * 별도 소스 세트의 SIMD 커널(PanamaSimilarityKernel.INSTANCE) 로드
+     * 
+     * @throws IllegalStateException 커널 클래스가 클래스패스에 없거나 초기화에 실패한 경우
+     */
+    private static SimilarityKernel loadVectorKernel() {
+        try {
+            Class<?> type = Class.forName(SimilarityKernel.class.getPackageName() + ".PanamaSimilarityKernel");
+            Field instance = type.getDeclaredField("INSTANCE");
+            instance.setAccessible(true);
+            return (SimilarityKernel) instance.get(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Vector API 커널을 로드할 수 없습니다: " + e, e);
+        }
+    }
+}
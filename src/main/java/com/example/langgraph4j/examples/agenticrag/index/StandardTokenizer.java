@@ -0,0 +1,98 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+
+/**
+ * 한글/영문/숫자 토크나이저
+ * 
+ * 정규식과 중간 문자열 없이 입력을 한 번만 순회하며, 한글 음절(가-힣)과 ASCII 영문/숫자의 연속 구간을
+ * 소문자로 정규화한 토큰으로 내보냅니다. 그 밖의 문자는 모두 구분자로 취급하고 2글자 미만 토큰은 버립니다.
+ * 
+ * 기존 {@code toLowerCase() → replaceAll("[^가-힣a-z0-9\\s]", " ") → split("\\s+")} 파이프라인과
+ * 같은 토큰을 만듭니다. 소문자 변환은 로케일 특수 규칙이 없는 로케일(ko, en 등, {@code Locale.ROOT}과 동일)을 기준으로 하며,
+ * 대문자가 아니면서 소문자 변환 결과가 영문인 문자(켈빈 기호 K, 점 있는 대문자 I)도 같은 방식으로 처리합니다.
+ * 
+ * 토큰은 재사용하는 내부 버퍼로 전달되므로, 보관하려면 콜백에서 복사해야 합니다.
+ * 인스턴스는 스레드 안전하지 않습니다 (스레드별로 하나씩 사용).
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class StandardTokenizer {
+    
+    /**
+     * 최소 토큰 길이
+     */
+    public static final int MIN_TOKEN_LENGTH = 2;
+    
+    // 점 있는 대문자 I: 소문자 변환 시 "i" + 결합 점(U+0307, 구분자)으로 바뀜
+    private static final char CAPITAL_I_WITH_DOT = '\u0130';
+    
+    /**
+     * 토큰 수신 콜백
+     */
+    @FunctionalInterface
+    public interface TokenConsumer {
+        
+        /**
+         * @param buffer 토큰 문자 (다음 토큰에서 덮어쓰므로 보관 시 복사 필요)
+         * @param length 토큰 길이
+         */
+        void accept(char[] buffer, int length);
+    }
+    
+    private char[] buffer = new char[64];
+    
+    /**
+     * 텍스트를 토큰으로 분할하여 콜백으로 전달
+     */
+    public void tokenize(CharSequence text, TokenConsumer consumer) {
+        int length = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            char normalized = normalize(c);
+            
+            if (normalized != 0) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, length << 1);
+                }
+                buffer[length++] = normalized;
+                if (c != CAPITAL_I_WITH_DOT) {
+                    continue;
+                }
+            }
+            
+            // 구분자 (점 있는 대문자 I는 'i' 뒤에 결합 점이 붙으므로 토큰이 끝남)
+            if (length >= MIN_TOKEN_LENGTH) {
+                consumer.accept(buffer, length);
+            }
+            length = 0;
+        }
+        
+        if (length >= MIN_TOKEN_LENGTH) {
+            consumer.accept(buffer, length);
+        }
+    }
+    
+    /**
+     * 토큰 문자면 소문자로 정규화한 문자, 구분자면 0
+     */
+    static char normalize(char c) {
+        if (c < 0x80) {
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                return c;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return 0;
+        }
+        if (c >= '가' && c <= '힣') {
+            return c;
+        }
+        
+        // 소문자 변환 결과가 ASCII 영문인 비ASCII 문자 (켈빈 기호, 점 있는 대문자 I)
+        char lower = Character.toLowerCase(c);
+        return lower >= 'a' && lower <= 'z' ? lower : 0;
+    }
+}
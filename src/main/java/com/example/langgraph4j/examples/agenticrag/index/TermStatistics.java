@@ -0,0 +1,234 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 봉인된 세그먼트 전체의 단어별 문서 빈도 (단어 순번 → 원시 int 카운터)
+ * 
+ * 검색마다 쿼리 단어의 문서 빈도를 세그먼트별 단어 사전에서 찾아 더하지 않도록, 봉인된 세그먼트의 문서 빈도 합계를
+ * 단어 순번으로 색인한 페이지 단위 int 배열에 유지합니다. 단어 → 순번 사전은 단어마다 한 번만 순번을 할당하므로
+ * 문서마다 카운터 객체를 만들지 않으며, 순번 할당은 병렬 색인 작업 스레드가 잠금 없이 동시에 수행합니다.
+ * 
+ * 카운터 변경은 세그먼트 목록이 바뀔 때(버퍼 봉인, 세그먼트 추가, 병합) 인덱스 잠금 안에서만 일어나며, 변경 중에는 버전이 홀수입니다.
+ * 검색 스레드는 잠금 없이 읽되 읽기 전후의 버전이 스냅샷의 버전과 같을 때만 값을 사용하고(seqlock), 아니면
+ * 스냅샷의 세그먼트별 문서 빈도를 직접 더합니다. 따라서 검색 결과는 카운터 사용 여부와 관계없이 같습니다.
+ * 
+ * 삭제된 문서는 세그먼트 통계와 마찬가지로 병합 시까지 문서 빈도에 포함됩니다.
+ * 
+ * 병합으로 사라진 단어의 순번은 문서 빈도가 0이 된 채 남으므로, 변화량 반영 후 빈도가 0이 된 순번이 살아 있는 순번보다
+ * 많아지면 같은 변경 구간 안에서 살아 있는 단어만 새 사전과 페이지로 옮겨 순번을 다시 매깁니다(세대 증가).
+ * 이전 세대 사전으로 계산된 변화량은 반영 시 세그먼트에서 다시 계산하므로, 미리 계산한 변화량도 그대로 사용할 수 있습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class TermStatistics {
+    
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    
+    // 순번 회수 최소 단위 (빈도 0인 순번이 이보다 적으면 다시 매기지 않음)
+    private static final int MIN_RECLAIMED_ORDINALS = PAGE_SIZE;
+    
+    /**
+     * 세그먼트 하나의 문서 빈도 변화량 (단어 순번별)
+     * 
+     * @param segment 변화량을 계산한 세그먼트 (사전 세대가 바뀌었을 때 다시 계산)
+     * @param generation 순번을 할당한 사전 세대
+     * @param negated 세그먼트를 목록에서 빼는 변화량인지 여부
+     * @param termOrdinals 단어 순번
+     * @param counts 순번별 문서 빈도 변화량
+     */
+    record Delta(IndexSegment segment, int generation, boolean negated, int[] termOrdinals, int[] counts) {
+        
+        /**
+         * 부호를 반대로 한 변화량 (세그먼트를 목록에서 뺄 때)
+         */
+        Delta negate() {
+            int[] negatedCounts = new int[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                negatedCounts[i] = -counts[i];
+            }
+            return new Delta(segment, generation, !negated, termOrdinals, negatedCounts);
+        }
+    }
+    
+    /**
+     * 단어 → 순번 사전 (세대 안에서 한 번 할당한 순번은 바뀌지 않음)
+     * 
+     * @param generation 사전 세대 (순번을 다시 매길 때마다 증가)
+     * @param ordinals 단어별 순번
+     * @param nextOrdinal 다음에 할당할 순번
+     */
+    private record Dictionary(int generation, Map<String, Integer> ordinals, AtomicInteger nextOrdinal) {
+    }
+    
+    private volatile Dictionary dictionary = new Dictionary(0, new ConcurrentHashMap<>(), new AtomicInteger());
+    
+    // 순번 → 문서 빈도 (PAGE_SIZE 단위 페이지, 작성자만 확장)
+    private volatile AtomicIntegerArray[] pages = new AtomicIntegerArray[0];
+    
+    // 문서 빈도가 0보다 큰 순번 수와 마지막 순번 정리 이후 빈도가 0이 된 횟수 (작성자만 변경)
+    private int liveTerms;
+    private int releasedTerms;
+    
+    // 짝수: 안정, 홀수: 변경 중
+    private volatile long version;
+    
+    /**
+     * 세그먼트의 단어별 문서 빈도를 단어 순번 기준 변화량으로 변환 (여러 스레드에서 동시에 호출 가능)
+     * 
+     * 봉인되어 더 이상 바뀌지 않는 세그먼트에만 사용합니다.
+     */
+    Delta deltaOf(IndexSegment segment) {
+        Dictionary current = dictionary;
+        int[] termOrdinals = new int[segment.termCount()];
+        int[] counts = new int[termOrdinals.length];
+        int size = 0;
+        for (Iterator<String> terms = segment.terms(); terms.hasNext() && size < termOrdinals.length; ) {
+            String term = terms.next();
+            PostingsList postings = segment.postings(term);
+            if (postings == null || postings.size() == 0) {
+                continue;
+            }
+            termOrdinals[size] = current.ordinals().computeIfAbsent(term, k -> current.nextOrdinal().getAndIncrement());
+            counts[size++] = postings.size();
+        }
+        return size == termOrdinals.length
+            ? new Delta(segment, current.generation(), false, termOrdinals, counts)
+            : new Delta(segment, current.generation(), false, Arrays.copyOf(termOrdinals, size), Arrays.copyOf(counts, size));
+    }
+    
+    /**
+     * 변화량 반영 (인덱스 잠금 안에서만 호출)
+     * 
+     * 이전 세대 사전으로 계산된 변화량은 현재 사전으로 다시 계산하고, 반영 후 빈도 0인 순번이 많으면 순번을 다시 매깁니다.
+     * 
+     * @return 반영 후 버전 (새 스냅샷에 기록)
+     */
+    long apply(List<Delta> deltas) {
+        long current = version;
+        version = current + 1;
+        for (Delta delta : deltas) {
+            if (delta.generation() != dictionary.generation()) {
+                Delta recomputed = deltaOf(delta.segment());
+                delta = delta.negated() ? recomputed.negate() : recomputed;
+            }
+            int[] termOrdinals = delta.termOrdinals();
+            int[] counts = delta.counts();
+            for (int i = 0; i < termOrdinals.length; i++) {
+                int previous = page(termOrdinals[i]).getAndAdd(termOrdinals[i] & PAGE_MASK, counts[i]);
+                if (previous == 0 && counts[i] > 0) {
+                    liveTerms++;
+                } else if (previous > 0 && previous + counts[i] == 0) {
+                    liveTerms--;
+                    releasedTerms++;
+                }
+            }
+        }
+        // 빈도가 0이 되는 것은 병합으로 세그먼트가 빠질 때뿐이므로, 작업 스레드가 미리 할당한 순번으로는 정리하지 않음
+        if (releasedTerms >= MIN_RECLAIMED_ORDINALS && releasedTerms > liveTerms) {
+            reclaimOrdinals();
+        }
+        version = current + 2;
+        return current + 2;
+    }
+    
+    /**
+     * 현재 버전
+     */
+    long version() {
+        return version;
+    }
+    
+    /**
+     * 단어의 문서 빈도 (버전 확인은 호출자가 수행)
+     */
+    int documentFrequency(String term) {
+        Integer ordinal = dictionary.ordinals().get(term);
+        if (ordinal == null) {
+            return 0;
+        }
+        AtomicIntegerArray[] current = pages;
+        int page = ordinal >>> PAGE_SHIFT;
+        return page < current.length ? current[page].get(ordinal & PAGE_MASK) : 0;
+    }
+    
+    /**
+     * 현재 세대 사전에서 순번이 할당된 단어 수
+     */
+    int termCount() {
+        return dictionary.nextOrdinal().get();
+    }
+    
+    /**
+     * 사전 세대 (순번을 다시 매긴 횟수)
+     */
+    int generation() {
+        return dictionary.generation();
+    }
+    
+    /**
+     * 힙 사용량 추정치 (사전 항목은 문자열 제외 고정 크기로 계산)
+     */
+    long ramBytesUsed() {
+        return 64 + (long) pages.length * (16 + PAGE_SIZE * 4L) + dictionary.ordinals().size() * 64L;
+    }
+    
+    /**
+     * 문서 빈도가 0보다 큰 단어만 새 사전으로 옮겨 순번을 0부터 다시 매김 (변경 구간 안에서만 호출)
+     * 
+     * 검색 스레드는 버전이 바뀌었으므로 새 사전과 이전 페이지를 섞어 읽은 값을 사용하지 않습니다.
+     * 작업 스레드가 이전 사전에 새로 할당한 순번은 빈도가 0이라 옮기지 않으며, 그 변화량은 반영 시 다시 계산됩니다.
+     */
+    private void reclaimOrdinals() {
+        Dictionary previous = dictionary;
+        AtomicIntegerArray[] previousPages = pages;
+        Map<String, Integer> ordinals = new ConcurrentHashMap<>(liveTerms * 2);
+        AtomicIntegerArray[] reclaimed = grow(new AtomicIntegerArray[0], Math.max(liveTerms - 1, 0) >>> PAGE_SHIFT);
+        int next = 0;
+        for (Map.Entry<String, Integer> entry : previous.ordinals().entrySet()) {
+            int ordinal = entry.getValue();
+            int page = ordinal >>> PAGE_SHIFT;
+            int count = page < previousPages.length ? previousPages[page].get(ordinal & PAGE_MASK) : 0;
+            if (count == 0) {
+                continue;
+            }
+            if (next >>> PAGE_SHIFT >= reclaimed.length) {
+                reclaimed = grow(reclaimed, next >>> PAGE_SHIFT);
+            }
+            reclaimed[next >>> PAGE_SHIFT].set(next & PAGE_MASK, count);
+            ordinals.put(entry.getKey(), next++);
+        }
+        
+        pages = reclaimed;
+        dictionary = new Dictionary(previous.generation() + 1, ordinals, new AtomicInteger(next));
+        liveTerms = next;
+        releasedTerms = 0;
+    }
+    
+    private AtomicIntegerArray page(int ordinal) {
+        int page = ordinal >>> PAGE_SHIFT;
+        AtomicIntegerArray[] current = pages;
+        if (page >= current.length) {
+            current = grow(current, page);
+            pages = current;
+        }
+        return current[page];
+    }
+    
+    private static AtomicIntegerArray[] grow(AtomicIntegerArray[] current, int page) {
+        AtomicIntegerArray[] grown = Arrays.copyOf(current, Math.max(page + 1, current.length * 2));
+        for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicIntegerArray(PAGE_SIZE);
+        }
+        return grown;
+    }
+}
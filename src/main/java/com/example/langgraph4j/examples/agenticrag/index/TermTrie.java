@@ -0,0 +1,293 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 배열 기반 단어 사전 트라이
+ * 
+ * 정렬된 단어 목록으로 한 번 만들어지는 불변 트라이입니다. 노드는 너비 우선 순서로 배열에 저장되며,
+ * 각 노드의 자식은 연속된 위치에 문자 오름차순으로 놓여 이진 탐색으로 찾습니다.
+ * 단어 문자열은 따로 보관하지 않고 탐색 경로에서 다시 만들기 때문에 노드당 약 10바이트만 사용합니다.
+ * 
+ * 접두사, 와일드카드(*, ?), 편집 거리 이내 퍼지 조회를 모두 사전 크기에 비례하는 탐색으로 처리하며
+ * (문서 수와 무관), 결과 단어는 사전 순서로 전달됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class TermTrie {
+    
+    /**
+     * 퍼지 조회 결과 콜백
+     */
+    @FunctionalInterface
+    public interface FuzzyConsumer {
+        
+        /**
+         * @param term 일치한 단어
+         * @param edits 편집 거리
+         */
+        void accept(String term, int edits);
+    }
+    
+    private static final TermTrie EMPTY = new TermTrie(new char[1], new int[1], new int[1], new BitSet(), 0, 0);
+    
+    // 노드별 진입 문자 (루트는 사용하지 않음)
+    private final char[] labels;
+    // 노드별 첫 자식 위치와 자식 수
+    private final int[] firstChild;
+    private final int[] childCount;
+    // 단어가 끝나는 노드
+    private final BitSet terminal;
+    private final int termCount;
+    private final int maxDepth;
+    
+    private TermTrie(char[] labels, int[] firstChild, int[] childCount, BitSet terminal, int termCount, int maxDepth) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.terminal = terminal;
+        this.termCount = termCount;
+        this.maxDepth = maxDepth;
+    }
+    
+    /**
+     * 정렬된(오름차순, 중복 없음) 단어로 트라이 생성
+     */
+    public static TermTrie build(Iterator<String> sortedTerms) {
+        List<String> terms = new ArrayList<>();
+        sortedTerms.forEachRemaining(terms::add);
+        if (terms.isEmpty()) {
+            return EMPTY;
+        }
+        
+        // 같은 접두사를 공유하는 단어 범위 [from, to)와 깊이로 노드를 너비 우선 생성
+        int capacity = 1;
+        for (String term : terms) {
+            capacity += term.length();
+        }
+        char[] labels = new char[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] depth = new int[capacity];
+        BitSet terminal = new BitSet(capacity);
+        
+        from[0] = 0;
+        to[0] = terms.size();
+        int nodeCount = 1;
+        int maxDepth = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            int d = depth[node];
+            int start = from[node];
+            // 정렬되어 있으므로 접두사와 같은 단어는 범위의 첫 번째
+            if (terms.get(start).length() == d) {
+                terminal.set(node);
+                start++;
+            }
+            
+            firstChild[node] = nodeCount;
+            for (int i = start; i < to[node]; ) {
+                char c = terms.get(i).charAt(d);
+                int j = i + 1;
+                while (j < to[node] && terms.get(j).charAt(d) == c) {
+                    j++;
+                }
+                labels[nodeCount] = c;
+                from[nodeCount] = i;
+                to[nodeCount] = j;
+                depth[nodeCount] = d + 1;
+                maxDepth = Math.max(maxDepth, d + 1);
+                nodeCount++;
+                i = j;
+            }
+            childCount[node] = nodeCount - firstChild[node];
+        }
+        
+        return new TermTrie(
+            Arrays.copyOf(labels, nodeCount),
+            Arrays.copyOf(firstChild, nodeCount),
+            Arrays.copyOf(childCount, nodeCount),
+            terminal, terms.size(), maxDepth);
+    }
+    
+    /**
+     * 단어 수
+     */
+    public int size() {
+        return termCount;
+    }
+    
+    /**
+     * 단어 포함 여부
+     */
+    public boolean contains(String term) {
+        int node = find(term);
+        return node >= 0 && terminal.get(node);
+    }
+    
+    /**
+     * 접두사로 시작하는 모든 단어 (접두사와 같은 단어 포함)
+     */
+    public void prefix(String prefix, Consumer<String> consumer) {
+        int node = find(prefix);
+        if (node >= 0) {
+            collect(node, new StringBuilder(prefix), consumer);
+        }
+    }
+    
+    /**
+     * 와일드카드 패턴과 일치하는 단어 ('*' = 0개 이상 문자, '?' = 문자 1개)
+     * 
+     * 연속된 '*'는 하나로 합치고, (노드, 패턴 위치) 상태를 한 번만 방문하므로 '*'가 여러 개인 패턴도
+     * 노드 수 x 패턴 길이에 비례하는 비용으로 끝납니다.
+     */
+    public void wildcard(String pattern, Consumer<String> consumer) {
+        String collapsed = pattern.replaceAll("\\*+", "*");
+        if ((long) labels.length * (collapsed.length() + 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("와일드카드 패턴이 너무 깁니다: " + collapsed.length() + "자");
+        }
+        wildcard(0, collapsed, 0, new StringBuilder(), new BitSet(), consumer);
+    }
+    
+    /**
+     * 편집 거리(레벤슈타인) maxEdits 이내의 단어
+     */
+    public void fuzzy(String term, int maxEdits, FuzzyConsumer consumer) {
+        int n = term.length();
+        if (n > maxDepth + maxEdits) {
+            return;
+        }
+        
+        // 깊이별 편집 거리 행 (행 d = 트라이 경로 d글자와 term 접두사들의 거리)
+        int[][] rows = new int[maxDepth + 1][n + 1];
+        for (int j = 0; j <= n; j++) {
+            rows[0][j] = j;
+        }
+        if (terminal.get(0) && n <= maxEdits) {
+            consumer.accept("", n);
+        }
+        fuzzy(0, term, maxEdits, rows, 1, new StringBuilder(), consumer);
+    }
+    
+    /**
+     * 힙 사용량 추정치
+     */
+    public long ramBytesUsed() {
+        return (long) labels.length * (2 + 4 + 4) + terminal.size() / 8;
+    }
+    
+    private int find(String term) {
+        int node = 0;
+        for (int i = 0; i < term.length() && node >= 0; i++) {
+            node = child(node, term.charAt(i));
+        }
+        return node;
+    }
+    
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < c) {
+                low = mid + 1;
+            } else if (labels[mid] > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    private void collect(int node, StringBuilder path, Consumer<String> consumer) {
+        if (terminal.get(node)) {
+            consumer.accept(path.toString());
+        }
+        for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+            path.append(labels[child]);
+            collect(child, path, consumer);
+            path.setLength(path.length() - 1);
+        }
+    }
+    
+    private void wildcard(int node, String pattern, int position, StringBuilder path, BitSet visited,
+                          Consumer<String> consumer) {
+        // 여러 '*' 분기가 같은 상태에 도달할 수 있으므로 상태마다 한 번만 탐색 (같은 단어도 한 번만 전달)
+        int state = node * (pattern.length() + 1) + position;
+        if (visited.get(state)) {
+            return;
+        }
+        visited.set(state);
+        
+        if (position == pattern.length()) {
+            if (terminal.get(node)) {
+                consumer.accept(path.toString());
+            }
+            return;
+        }
+        
+        char p = pattern.charAt(position);
+        if (p == '*') {
+            // 0글자 소비 후 다음 패턴, 또는 1글자 소비 후 같은 '*' 유지
+            wildcard(node, pattern, position + 1, path, visited, consumer);
+            for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+                path.append(labels[child]);
+                wildcard(child, pattern, position, path, visited, consumer);
+                path.setLength(path.length() - 1);
+            }
+        } else if (p == '?') {
+            for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+                path.append(labels[child]);
+                wildcard(child, pattern, position + 1, path, visited, consumer);
+                path.setLength(path.length() - 1);
+            }
+        } else {
+            int child = child(node, p);
+            if (child >= 0) {
+                path.append(p);
+                wildcard(child, pattern, position + 1, path, visited, consumer);
+                path.setLength(path.length() - 1);
+            }
+        }
+    }
+    
+    private void fuzzy(int node, String term, int maxEdits, int[][] rows, int depth, StringBuilder path,
+                       FuzzyConsumer consumer) {
+        int n = term.length();
+        int[] previous = rows[depth - 1];
+        int[] row = rows[depth];
+        
+        for (int child = firstChild[node], end = child + childCount[node]; child < end; child++) {
+            char c = labels[child];
+            row[0] = depth;
+            int rowMin = row[0];
+            for (int j = 1; j <= n; j++) {
+                int substitution = previous[j - 1] + (term.charAt(j - 1) == c ? 0 : 1);
+                row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            
+            // 행 최솟값이 허용 거리를 넘으면 더 깊은 경로도 넘으므로 가지치기
+            if (rowMin > maxEdits) {
+                continue;
+            }
+            
+            path.append(c);
+            if (terminal.get(child) && row[n] <= maxEdits) {
+                consumer.accept(path.toString(), row[n]);
+            }
+            if (depth < maxDepth) {
+                fuzzy(child, term, maxEdits, rows, depth + 1, path, consumer);
+            }
+            path.setLength(path.length() - 1);
+        }
+    }
+}
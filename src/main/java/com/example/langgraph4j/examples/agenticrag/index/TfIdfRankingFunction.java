@@ -0,0 +1,35 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 기본 TF-IDF 랭킹 함수
+ * 
+ * 원시 단어 빈도와 log(N / df) IDF를 곱합니다. 문서 길이 정규화가 없으며,
+ * 모든 문서에 등장하는 단어는 IDF가 0이 됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class TfIdfRankingFunction implements RankingFunction {
+    
+    public static final String NAME = "tfidf";
+    
+    public static final TfIdfRankingFunction INSTANCE = new TfIdfRankingFunction();
+    
+    private TfIdfRankingFunction() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public double idf(int documentFrequency, int documentCount) {
+        return Math.log((double) documentCount / documentFrequency);
+    }
+    
+    @Override
+    public double score(int termFrequency, int documentLength, double averageDocumentLength, double idf) {
+        return termFrequency * idf;
+    }
+}
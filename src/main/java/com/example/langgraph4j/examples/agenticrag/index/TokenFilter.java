@@ -0,0 +1,33 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 토큰 필터 인터페이스
+ * 
+ * {@link Analyzer} 체인에서 토크나이저가 만든 토큰을 받아 변형하거나, 버리거나, 여러 토큰으로 나누어
+ * 다음 단계로 전달합니다. 필터 인스턴스는 불변이며 스레드 간에 공유됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public interface TokenFilter {
+    
+    /**
+     * 필터 이름 (분석기 설정 문자열에 사용)
+     */
+    String getName();
+    
+    /**
+     * 다음 단계 콜백을 감싼 필터 콜백 생성 (분석 호출마다 1회, 필요한 작업 버퍼는 콜백이 소유)
+     * 
+     * @param next 다음 단계 콜백
+     * @return 이 필터를 적용하는 콜백
+     */
+    StandardTokenizer.TokenConsumer wrap(StandardTokenizer.TokenConsumer next);
+    
+    /**
+     * 한글 음절 여부
+     */
+    static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 상위 문서 검색 결과 (스코어 내림차순)
+ * 
+ * @param ordinals 문서 순번
+ * @param scores 문서 스코어 (ordinals와 같은 인덱스)
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public record TopDocs(int[] ordinals, double[] scores) {
+    
+    /**
+     * 결과 문서 수
+     */
+    public int size() {
+        return ordinals.length;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+
+/**
+ * 상위 K개 문서 선택기
+ * 
+ * 크기가 K로 제한된 최소 힙으로 스코어 상위 문서만 유지합니다.
+ * 전체 정렬(O(n log n)) 대신 O(n log k)로 동작하며, 박싱 없이
+ * 기본형 배열(문서 순번 int, 스코어 double)만 사용합니다.
+ * 
+ * 스코어가 같으면 순번이 작은(먼저 색인된) 문서를 우선합니다.
+ * 
+ * K는 요청한 결과 수이므로 힙 배열은 미리 K 크기로 만들지 않고, 수집한 문서 수에 맞춰 K까지 두 배씩 늘립니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class TopKCollector {
+    
+    // 힙 배열 초기 크기 (K가 더 작으면 K)
+    private static final int INITIAL_CAPACITY = 16;
+    
+    private final int k;
+    private int[] ordinals;
+    private double[] scores;
+    private int size;
+    
+    public TopKCollector(int k) {
+        this.k = Math.max(0, k);
+        this.ordinals = new int[Math.min(this.k, INITIAL_CAPACITY)];
+        this.scores = new double[this.ordinals.length];
+    }
+    
+    /**
+     * 문서 후보 추가 - 힙이 가득 차 있으면 최하위 문서보다 나은 경우에만 교체
+     */
+    public void collect(int ordinal, double score) {
+        if (k == 0) {
+            return;
+        }
+        
+        if (size < k) {
+            if (size == ordinals.length) {
+                grow();
+            }
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (isBetter(score, ordinal, scores[0], ordinals[0])) {
+            ordinals[0] = ordinal;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+    
+    /**
+     * 수집된 문서 수
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * 스코어 내림차순으로 정렬된 결과 반환 (수집기를 비움)
+     */
+    public TopDocs topDocs() {
+        int count = size;
+        int[] sortedOrdinals = new int[count];
+        double[] sortedScores = new double[count];
+        
+        // 최소 힙에서 하나씩 꺼내 뒤에서부터 채움
+        for (int i = count - 1; i >= 0; i--) {
+            sortedOrdinals[i] = ordinals[0];
+            sortedScores[i] = scores[0];
+            size--;
+            ordinals[0] = ordinals[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        
+        return new TopDocs(sortedOrdinals, sortedScores);
+    }
+    
+    private void grow() {
+        int capacity = (int) Math.min(k, ordinals.length * 2L);
+        ordinals = Arrays.copyOf(ordinals, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+    }
+    
+    private void siftUp(int index) {
+        int ordinal = ordinals[index];
+        double score = scores[index];
+        
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isBetter(scores[parent], ordinals[parent], score, ordinal)) {
+                break;
+            }
+            ordinals[index] = ordinals[parent];
+            scores[index] = scores[parent];
+            index = parent;
+        }
+        
+        ordinals[index] = ordinal;
+        scores[index] = score;
+    }
+    
+    private void siftDown(int index) {
+        int ordinal = ordinals[index];
+        double score = scores[index];
+        int half = size >>> 1;
+        
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && isBetter(scores[child], ordinals[child], scores[right], ordinals[right])) {
+                child = right;
+            }
+            if (!isBetter(score, ordinal, scores[child], ordinals[child])) {
+                break;
+            }
+            ordinals[index] = ordinals[child];
+            scores[index] = scores[child];
+            index = child;
+        }
+        
+        ordinals[index] = ordinal;
+        scores[index] = score;
+    }
+    
+    /**
+     * a가 b보다 상위 문서인지 여부 (스코어 내림차순, 동점 시 순번 오름차순)
+     */
+    private static boolean isBetter(double scoreA, int ordinalA, double scoreB, int ordinalB) {
+        int cmp = Double.compare(scoreA, scoreB);
+        return cmp > 0 || (cmp == 0 && ordinalA < ordinalB);
+    }
+}
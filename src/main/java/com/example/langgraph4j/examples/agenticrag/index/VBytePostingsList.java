@@ -0,0 +1,154 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.Arrays;
+
+/**
+ * 델타 + 가변 바이트(VByte) 인코딩 포스팅 리스트
+ * 
+ * 문서 순번은 이전 순번과의 차이(델타)로, 단어 빈도는 가변 바이트로 저장합니다.
+ * 델타의 최하위 비트로 빈도가 1인지 표시하여 대부분의 포스팅을 1~2바이트에 담습니다.
+ * 
+ * 쓰기는 순번 오름차순 추가만 허용하며 단일 작성자를 가정합니다.
+ * 읽기는 잠금 없이 가능하며, 순회자 생성 시점까지 추가된 포스팅만 보입니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class VBytePostingsList implements PostingsList {
+    
+    private static final int INITIAL_CAPACITY = 8;
+    
+    // 인코딩된 포스팅 (재할당 시에도 기존 바이트는 그대로 복사되므로 이전 배열을 읽는 순회자도 안전)
+    private volatile byte[] buffer = new byte[INITIAL_CAPACITY];
+    
+    // 공개된 상태: 상위 32비트 = 포스팅 수, 하위 32비트 = 인코딩 바이트 길이 (원자적으로 함께 갱신)
+    private volatile long state;
+    
+    // 마지막으로 추가된 문서 순번 (작성자 전용)
+    private int lastOrdinal = -1;
+    
+    /**
+     * 포스팅 추가
+     * 
+     * @param ordinal 문서 순번 (이전에 추가한 순번보다 커야 함)
+     * @param freq 문서 내 단어 빈도 (1 이상)
+     */
+    public void append(int ordinal, int freq) {
+        if (ordinal <= lastOrdinal) {
+            throw new IllegalArgumentException("문서 순번은 오름차순이어야 합니다: " + ordinal + " <= " + lastOrdinal);
+        }
+        if (freq < 1) {
+            throw new IllegalArgumentException("단어 빈도는 1 이상이어야 합니다: " + freq);
+        }
+        
+        long current = state;
+        int size = (int) (current >>> 32);
+        int length = (int) current;
+        
+        byte[] bytes = buffer;
+        if (length + 10 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length + 10, bytes.length + (bytes.length >> 1)));
+        }
+        
+        int delta = ordinal - lastOrdinal;
+        if (freq == 1) {
+            length = writeVInt(bytes, length, (delta << 1) | 1);
+        } else {
+            length = writeVInt(bytes, length, delta << 1);
+            length = writeVInt(bytes, length, freq);
+        }
+        lastOrdinal = ordinal;
+        
+        // 바이트 기록 후 배열, 상태 순서로 공개
+        buffer = bytes;
+        state = ((long) (size + 1) << 32) | length;
+    }
+    
+    @Override
+    public int size() {
+        return (int) (state >>> 32);
+    }
+    
+    @Override
+    public PostingsIterator iterator() {
+        long current = state;
+        return new VByteIterator(buffer, (int) current, (int) (current >>> 32));
+    }
+    
+    @Override
+    public long ramBytesUsed() {
+        // 객체 헤더 + 필드 + 배열 헤더 + 배열 본문
+        return 40 + 16 + buffer.length;
+    }
+    
+    /**
+     * 인코딩된 바이트 길이
+     */
+    public int encodedLength() {
+        return (int) state;
+    }
+    
+    /**
+     * 인코딩된 바이트 복사본 반환 (세그먼트 기록용)
+     */
+    public byte[] encodedBytes() {
+        long current = state;
+        return Arrays.copyOf(buffer, (int) current);
+    }
+    
+    static int writeVInt(byte[] bytes, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[offset++] = (byte) value;
+        return offset;
+    }
+    
+    /**
+     * 바이트 배열 위의 VByte 포스팅 순회자
+     */
+    private static final class VByteIterator implements PostingsIterator {
+        
+        private final byte[] bytes;
+        private final int end;
+        private int remaining;
+        private int position;
+        private int doc = -1;
+        private int freq;
+        
+        VByteIterator(byte[] bytes, int end, int count) {
+            this.bytes = bytes;
+            this.end = end;
+            this.remaining = count;
+        }
+        
+        @Override
+        public int nextDoc() {
+            if (remaining == 0 || position >= end) {
+                return doc = NO_MORE_DOCS;
+            }
+            remaining--;
+            
+            int code = readVInt();
+            doc += code >>> 1;
+            freq = (code & 1) != 0 ? 1 : readVInt();
+            return doc;
+        }
+        
+        @Override
+        public int freq() {
+            return freq;
+        }
+        
+        private int readVInt() {
+            byte b = bytes[position++];
+            int value = b & 0x7F;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+            }
+            return value;
+        }
+    }
+}
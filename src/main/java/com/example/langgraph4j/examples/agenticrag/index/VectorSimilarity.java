@@ -0,0 +1,71 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+/**
+ * 임베딩 벡터 유사도 계산
+ * 
+ * 벡터는 색인 시 단위 길이로 정규화하므로 코사인 유사도는 내적과 같습니다.
+ * 여러 벡터를 하나의 float 배열에 이어 저장하는 인덱스를 위해 오프셋 기반 연산과 행 블록 연산을 제공합니다.
+ * 
+ * 내적은 {@link SimilarityKernel}에 위임합니다. Vector API 모듈이 로드되어 있으면 SIMD 커널을, 없거나
+ * 시스템 속성 {@code agentic-rag.vector.scalar=true}이면 스칼라 커널을 사용합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class VectorSimilarity {
+    
+    private static final SimilarityKernel KERNEL =
+        !Boolean.getBoolean("agentic-rag.vector.scalar") && SimilarityKernel.isVectorApiAvailable()
+            ? SimilarityKernel.forName(SimilarityKernel.VECTOR_KERNEL)
+            : SimilarityKernel.forName(ScalarSimilarityKernel.NAME);
+    
+    private VectorSimilarity() {
+    }
+    
+    /**
+     * 사용 중인 내적 커널
+     */
+    public static SimilarityKernel kernel() {
+        return KERNEL;
+    }
+    
+    /**
+     * 두 벡터의 내적 (a[aOffset..], b[bOffset..]에서 length개 원소)
+     */
+    public static float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        return KERNEL.dotProduct(a, aOffset, b, bOffset, length);
+    }
+    
+    /**
+     * 쿼리와 행렬의 연속된 행들의 내적 (행 길이 = query.length, scores[i] = firstRow + i 행)
+     */
+    public static void dotProducts(float[] query, float[] matrix, int firstRow, int rowCount, float[] scores) {
+        KERNEL.dotProducts(query, matrix, firstRow, rowCount, scores);
+    }
+    
+    /**
+     * 코사인 유사도 (정규화되지 않은 벡터용)
+     */
+    public static float cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("벡터 차원이 다릅니다: " + a.length + " != " + b.length);
+        }
+        float dot = dotProduct(a, 0, b, 0, a.length);
+        float norm = (float) Math.sqrt(dotProduct(a, 0, a, 0, a.length) * dotProduct(b, 0, b, 0, b.length));
+        return norm == 0f ? 0f : dot / norm;
+    }
+    
+    /**
+     * 단위 길이로 정규화한 복사본 (영벡터는 그대로 복사)
+     */
+    public static float[] normalize(float[] vector) {
+        float[] normalized = vector.clone();
+        float norm = (float) Math.sqrt(dotProduct(vector, 0, vector, 0, vector.length));
+        if (norm > 0f) {
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] /= norm;
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정규화 스코어 가중합 융합
+ * 
+ * 목록마다 스코어를 1위 스코어로 나눠 0~1로 맞춘 뒤 가중치를 곱해 더하고, 가중치 합으로 나눕니다.
+ * 최소-최대 정규화와 달리 목록의 마지막 문서가 항상 0점이 되지 않으며, 음수 스코어(반대 방향 벡터)는 0점으로 취급합니다.
+ * 순위뿐 아니라 스코어 간격도 반영되지만, 목록 하나에만 있는 문서는 다른 목록에서 0점으로 취급됩니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class WeightedScoreFusion implements RankFusion {
+    
+    public static final String NAME = "weighted";
+    
+    public static final WeightedScoreFusion INSTANCE = new WeightedScoreFusion();
+    
+    private WeightedScoreFusion() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public TopDocs fuse(List<TopDocs> rankings, double[] weights, int topK) {
+        Map<Integer, Double> fused = new HashMap<>();
+        double totalWeight = 0;
+        for (int list = 0; list < rankings.size(); list++) {
+            TopDocs ranking = rankings.get(list);
+            if (ranking.size() == 0) {
+                continue;
+            }
+            
+            // 내림차순이므로 첫 번째가 최댓값 (0 이하면 모두 1점)
+            double max = ranking.scores()[0];
+            double weight = weights[list];
+            for (int i = 0; i < ranking.size(); i++) {
+                double normalized = max > 0 ? Math.max(0, ranking.scores()[i]) / max : 1.0;
+                fused.merge(ranking.ordinals()[i], weight * normalized, Double::sum);
+            }
+            totalWeight += weight;
+        }
+        
+        TopKCollector collector = new TopKCollector(topK);
+        double scale = totalWeight > 0 ? 1.0 / totalWeight : 0;
+        fused.forEach((ordinal, score) -> collector.collect(ordinal, score * scale));
+        return collector.topDocs();
+    }
+}
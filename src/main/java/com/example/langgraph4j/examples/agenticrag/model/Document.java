@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -22,6 +24,36 @@ import java.util.Map;
 @AllArgsConstructor
 public class Document {
     
+    /**
+     * 구절 메타데이터 키: 원본 문서 ID
+     */
+    public static final String PARENT_ID_KEY = "parentId";
+    
+    /**
+     * 구절 메타데이터 키: 원본 문서 안에서의 구절 순번 (0부터)
+     */
+    public static final String PASSAGE_INDEX_KEY = "passageIndex";
+    
+    /**
+     * 구절 메타데이터 키: 원본 문서의 전체 구절 수
+     */
+    public static final String PASSAGE_COUNT_KEY = "passageCount";
+    
+    /**
+     * 구절 메타데이터 키: 원본 문서 내용에서 구절이 시작하는 문자 위치 (구절을 원본 문서로 다시 합칠 때 사용)
+     */
+    public static final String PASSAGE_OFFSET_KEY = "passageOffset";
+    
+    /**
+     * 숫자 메타데이터 키: 가격 (원, long)
+     */
+    public static final String PRICE_KEY = "price";
+    
+    /**
+     * 숫자 메타데이터 키: 빈티지 연도 (int)
+     */
+    public static final String VINTAGE_KEY = "vintage";
+    
     /**
      * 문서 고유 ID
      */
@@ -90,6 +122,21 @@ public class Document {
         return content.length() > 100 ? content.substring(0, 100) + "..." : content;
     }
     
+    /**
+     * 원본 문서 ID (구절이 아니면 자신의 ID)
+     */
+    public String getParentId() {
+        Object parentId = metadata != null ? metadata.get(PARENT_ID_KEY) : null;
+        return parentId != null ? parentId.toString() : id;
+    }
+    
+    /**
+     * 긴 문서를 나눈 구절인지 확인
+     */
+    public boolean isPassage() {
+        return metadata != null && metadata.containsKey(PARENT_ID_KEY);
+    }
+    
     /**
      * 문서가 비어있는지 확인
      */
@@ -143,6 +190,24 @@ public class Document {
         return false;
     }
     
+    /**
+     * 인덱스 저장용 복사본 (메타데이터는 수정할 수 없는 맵으로 고정, 관련도 점수 제외)
+     * 
+     * 검색 결과는 저장 문서를 복사하지 않고 공유하므로, 색인 후 호출자가 원본을 수정해도 인덱스에 영향이 없도록 합니다.
+     */
+    public Document toStoredDocument() {
+        return Document.builder()
+            .id(this.id)
+            .content(this.content)
+            .title(this.title)
+            .source(this.source)
+            .type(this.type)
+            .metadata(this.metadata != null ? Collections.unmodifiableMap(new LinkedHashMap<>(this.metadata)) : null)
+            .createdAt(this.createdAt)
+            .updatedAt(this.updatedAt)
+            .build();
+    }
+    
     /**
      * 문서 복사본 생성
      */
@@ -0,0 +1,112 @@
+package com.example.langgraph4j.examples.agenticrag.model;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 검색 결과 항목 (문서 순번 + 스코어)
+ * 
+ * 인덱스에 저장된 문서를 복사하지 않고 그대로 참조합니다. 저장 문서는 인덱스와 검색 결과 캐시가 함께 쓰므로
+ * 필드는 조회 메서드로만 노출하며, 문서를 수정하거나 상태에 담아야 하는 호출자만 {@link #toDocument()}로 복사본을 만듭니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class SearchHit {
+    
+    private final int ordinal;
+    private final double score;
+    private final Document stored;
+    
+    /**
+     * @param ordinal 검색한 인덱스 스냅샷의 전역 순번
+     * @param score 검색 스코어
+     * @param stored 인덱스에 저장된 문서 (수정하지 않음)
+     */
+    public SearchHit(int ordinal, double score, Document stored) {
+        this.ordinal = ordinal;
+        this.score = score;
+        this.stored = stored;
+    }
+    
+    /**
+     * 검색한 인덱스 스냅샷의 전역 순번 (스냅샷이 바뀌면 다른 문서를 가리킬 수 있음)
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+    
+    public double score() {
+        return score;
+    }
+    
+    public String id() {
+        return stored.getId();
+    }
+    
+    public String title() {
+        return stored.getTitle();
+    }
+    
+    public String content() {
+        return stored.getContent();
+    }
+    
+    public String source() {
+        return stored.getSource();
+    }
+    
+    public Document.DocumentType type() {
+        return stored.getType();
+    }
+    
+    /**
+     * 문서 메타데이터 (수정할 수 없는 맵, 없으면 null)
+     */
+    public Map<String, Object> metadata() {
+        return stored.getMetadata();
+    }
+    
+    public LocalDateTime createdAt() {
+        return stored.getCreatedAt();
+    }
+    
+    /**
+     * 원본 문서 ID (구절이 아니면 자신의 ID)
+     */
+    public String parentId() {
+        return stored.getParentId();
+    }
+    
+    /**
+     * 문서 내용 요약 (처음 100자)
+     */
+    public String summary() {
+        return stored.getSummary();
+    }
+    
+    /**
+     * 수정 가능한 결과 문서 (relevanceScore = 검색 스코어)
+     * 
+     * 문자열 필드와 수정할 수 없는 메타데이터 맵은 저장 문서와 공유하므로 문서 객체 하나만 새로 할당합니다.
+     * 생성/수정 시간은 저장 문서의 값을 유지합니다.
+     */
+    public Document toDocument() {
+        return Document.builder()
+            .id(stored.getId())
+            .content(stored.getContent())
+            .title(stored.getTitle())
+            .source(stored.getSource())
+            .type(stored.getType())
+            .metadata(stored.getMetadata())
+            .relevanceScore(score)
+            .createdAt(stored.getCreatedAt())
+            .updatedAt(stored.getUpdatedAt())
+            .build();
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchHit[" + stored.getId() + ", score=" + String.format("%.4f", score) + "]";
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.langgraph4j.examples.agenticrag.service;
 
+import com.example.langgraph4j.examples.agenticrag.index.DocumentFilter;
 import com.example.langgraph4j.examples.agenticrag.model.AgenticRAGState;
 import com.example.langgraph4j.examples.agenticrag.model.Document;
 import com.example.langgraph4j.examples.agenticrag.model.QueryRewriteResult;
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,6 +42,10 @@ public class AgenticRAGService {
     @Autowired
     private QueryRewriter queryRewriter;
     
+    // 검색 단계에서 가져올 문서 수 (하이브리드 검색 융합 후 상위 K개)
+    @Value("${agentic-rag.retriever.top-k:10}")
+    private int retrievalTopK = 10;
+    
     // RAG 시스템 프롬프트
     private static final String RAG_SYSTEM_PROMPT = """
         당신은 레스토랑 정보 전문 AI 어시스턴트입니다.
@@ -176,15 +186,28 @@ public class AgenticRAGService {
             String searchQuery = state.getRefinedQuery() != null ? 
                 state.getRefinedQuery() : state.getOriginalQuery();
             
-            // 일반 검색
-            List<Document> documents = documentRetriever.searchDocuments(searchQuery, 10);
+            // 키워드 검색과 의미 검색을 병렬로 실행하고 순위 융합 (같은 문서는 한 번만 포함)
+            // 원본 질문에 가격 조건이 있으면("3만원 이하 와인") 가격 범위를 필터로 함께 적용하여
+            // LLM이 문서 내용에서 가격을 읽어 거르지 않도록 함
+            Optional<DocumentFilter.Range> priceRange = PriceQueryParser.parse(state.getOriginalQuery());
+            List<Document> documents;
+            if (priceRange.isPresent()) {
+                DocumentFilter filter = DocumentFilter.NONE.withRange(Document.PRICE_KEY, priceRange.get());
+                documents = documentRetriever.hybridSearch(searchQuery, retrievalTopK, filter);
+                if (documents.isEmpty()) {
+                    // 질문 단어와 겹치는 문서가 없으면 가격 조건에 맞는 문서를 가격 순으로 제공
+                    documents = documentRetriever.findDocumentsInRange(
+                        Document.PRICE_KEY, priceRange.get(), DocumentFilter.NONE, retrievalTopK, false);
+                }
+                if (documents.isEmpty()) {
+                    documents = documentRetriever.hybridSearch(searchQuery, retrievalTopK);
+                }
+            } else {
+                documents = documentRetriever.hybridSearch(searchQuery, retrievalTopK);
+            }
             documents.forEach(state::addDocument);
             
-            // 키워드 기반 빠른 검색으로 보완
-            List<Document> quickResults = documentRetriever.quickSearch(searchQuery);
-            quickResults.stream()
-                .filter(doc -> !containsDocument(state.getDocuments(), doc.getId()))
-                .forEach(state::addDocument);
+            priceRange.ifPresent(range -> log.debug("가격 조건: {} ~ {}", range.min(), range.max()));
             
             log.debug("문서 검색 완료: {}개 문서", state.getDocuments().size());
             
@@ -323,10 +346,13 @@ public class AgenticRAGService {
         String improvedQuery = generateImprovedQuery(state);
         state.addSearchQuery(improvedQuery);
         
-        // 추가 문서 검색
-        List<Document> additionalDocs = documentRetriever.searchDocuments(improvedQuery, 5);
-        additionalDocs.stream()
-            .filter(doc -> !containsDocument(state.getDocuments(), doc.getId()))
+        // 추가 문서 검색 (이미 가져온 문서는 ID 집합으로 제외하고, 새 문서만 결과 문서로 복사)
+        Set<String> retrievedIds = state.getDocuments().stream()
+            .map(Document::getId)
+            .collect(Collectors.toCollection(HashSet::new));
+        documentRetriever.hybridSearchHits(improvedQuery, retrievalTopK).stream()
+            .filter(hit -> retrievedIds.add(hit.id()))
+            .map(SearchHit::toDocument)
             .forEach(state::addDocument);
         
         // 관련 문서 재선별
@@ -365,6 +391,10 @@ public class AgenticRAGService {
             Document doc = documents.get(i);
             context.append(String.format("[문서 %d]\n", i + 1));
             context.append("제목: ").append(doc.getTitle()).append("\n");
+            if (doc.isPassage()) {
+                // 긴 문서는 질문과 관련된 구절만 전달하므로 원본 문서를 함께 표시
+                context.append("원본 문서: ").append(doc.getParentId()).append("\n");
+            }
             context.append("내용: ").append(doc.getContent()).append("\n");
             if (doc.getRelevanceScore() != null) {
                 context.append("관련도: ").append(String.format("%.2f", doc.getRelevanceScore())).append("\n");
@@ -426,13 +456,6 @@ public class AgenticRAGService {
         return 0.6; // 기본값
     }
     
-    /**
-     * 문서 목록에 특정 ID의 문서가 포함되어 있는지 확인
-     */
-    private boolean containsDocument(List<Document> documents, String documentId) {
-        return documents.stream().anyMatch(doc -> doc.getId().equals(documentId));
-    }
-    
     /**
      * 테스트 모드 확인
      */
@@ -0,0 +1,340 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 텍스트 코퍼스 파일을 문서 스트림으로 읽는 로더
+ * 
+ * 위치는 Spring 리소스 패턴({@code classpath*:data/*.txt}, {@code file:/data/corpus/**}{@code /*.txt} 등)으로 지정하므로
+ * 패키징된 JAR 안의 파일과 임의 디렉토리의 파일을 같은 방식으로 읽습니다.
+ * 
+ * 파일은 줄 단위로 버퍼링하여 읽고, 빈 줄로 구분된 블록을 만나는 즉시 문서 하나로 내보냅니다. 스트림이 요청하는 만큼만
+ * 읽으므로 메모리에는 현재 블록 하나만 올라오며, 수 GB 크기의 파일도 대량 색인 파이프라인에 그대로 넘길 수 있습니다.
+ * 
+ * 파일 이름의 마지막 '_' 뒤 부분을 분류로 사용합니다 ({@code restaurant_menu.txt} → menu). 타입은 분류와 이름이 같은
+ * (복수형 포함) {@link Document.DocumentType}이며 없으면 GENERAL입니다. 문서 ID는 기본 코퍼스({@value #BUNDLED_LOCATION})
+ * 파일이면 기존과 같은 {@code <분류>_<블록 순번>}이고, 그 밖의 위치는 분류가 같은 파일끼리 겹치지 않도록 패턴의 고정 디렉토리
+ * 기준 상대 경로로 만듭니다 ({@code file:/data/corpus/**}{@code /*.txt}의 {@code 2024/2024_reviews.txt} 세 번째 블록 →
+ * {@code 2024.2024_reviews_3}).
+ * 
+ * 가격/빈티지 숫자 메타데이터는 다른 경로로 들어온 문서와 같이 색인 시 {@link NumericMetadataExtractor}가 추출합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+final class CorpusLoader {
+    
+    // 파일 읽기 버퍼 크기
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    
+    // 제목 최대 길이
+    private static final int MAX_TITLE_LENGTH = 50;
+    
+    /**
+     * 기본 코퍼스 위치 (이 위치의 파일은 분류 기반 문서 ID 유지)
+     */
+    static final String BUNDLED_LOCATION = "classpath*:data/*.txt";
+    
+    private final ResourcePatternResolver resolver;
+    private final String[] locations;
+    
+    /**
+     * 읽을 파일과 문서 ID 접두사
+     */
+    private record CorpusFile(Resource resource, String idPrefix) {
+    }
+    
+    /**
+     * @param locations 리소스 패턴 목록 (빈 항목은 무시)
+     */
+    CorpusLoader(ResourcePatternResolver resolver, String... locations) {
+        this.resolver = resolver;
+        this.locations = locations;
+    }
+    
+    /**
+     * 모든 위치의 파일을 순서대로 읽는 문서 스트림 (사용 후 닫아야 열린 파일이 정리됨)
+     */
+    Stream<Document> documents() throws IOException {
+        BlockIterator iterator = new BlockIterator(resolve());
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+    
+    /**
+     * 위치 패턴을 읽을 수 있는 파일 목록으로 변환 (패턴별로 이름 순 정렬)
+     */
+    private List<CorpusFile> resolve() throws IOException {
+        List<CorpusFile> files = new ArrayList<>();
+        for (String location : locations) {
+            if (location == null || location.isBlank()) {
+                continue;
+            }
+            
+            String pattern = location.trim();
+            Resource[] matched = resolver.getResources(pattern);
+            List<Resource> readable = Arrays.stream(matched)
+                .filter(resource -> resource.exists() && resource.isReadable())
+                .sorted(Comparator.comparing(Resource::getDescription))
+                .toList();
+            if (readable.isEmpty()) {
+                log.warn("코퍼스 위치에 읽을 파일이 없습니다: {}", location);
+            }
+            for (Resource resource : readable) {
+                String idPrefix = BUNDLED_LOCATION.equals(pattern)
+                    ? category(resource.getFilename())
+                    : relativeIdPrefix(pattern, resource);
+                files.add(new CorpusFile(resource, idPrefix));
+            }
+        }
+        return files;
+    }
+    
+    /**
+     * 위치 패턴의 고정 디렉토리 기준 상대 경로로 만든 문서 ID 접두사 (확장자 제외, '/' → '.')
+     * 
+     * 상대 경로를 찾지 못하면 파일 이름을 사용합니다.
+     */
+    static String relativeIdPrefix(String pattern, Resource resource) {
+        String filename = resource.getFilename() != null ? resource.getFilename() : "document";
+        String relative = filename;
+        try {
+            String url = URLDecoder.decode(resource.getURL().toString().replace("+", "%2B"), StandardCharsets.UTF_8);
+            String root = rootDirectory(pattern);
+            // JAR 안의 리소스는 JAR 내부 경로에서 찾음
+            int searchFrom = url.lastIndexOf("!/") + 1;
+            int at = root.isEmpty() ? -1 : url.indexOf(root, searchFrom);
+            if (at >= 0) {
+                relative = url.substring(at + root.length());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("코퍼스 파일의 상대 경로를 알 수 없어 파일 이름을 사용합니다: {}", resource.getDescription());
+        }
+        
+        while (relative.startsWith("/")) {
+            relative = relative.substring(1);
+        }
+        int dot = relative.lastIndexOf('.');
+        if (dot > relative.lastIndexOf('/') + 1) {
+            relative = relative.substring(0, dot);
+        }
+        return relative.isEmpty() ? category(filename) : relative.replace('/', '.');
+    }
+    
+    /**
+     * 위치 패턴에서 와일드카드 앞의 디렉토리 경로 ({@code file:/data/corpus/**}{@code /*.txt} → /data/corpus/)
+     */
+    private static String rootDirectory(String pattern) {
+        String path = pattern.substring(pattern.indexOf(':') + 1);
+        int wildcard = path.length();
+        for (char c : new char[] {'*', '?', '{'}) {
+            int index = path.indexOf(c);
+            if (index >= 0) {
+                wildcard = Math.min(wildcard, index);
+            }
+        }
+        return path.substring(0, path.lastIndexOf('/', wildcard - 1) + 1);
+    }
+    
+    /**
+     * 파일 이름의 분류 (확장자를 뗀 이름의 마지막 '_' 뒤 부분, 소문자)
+     */
+    static String category(String filename) {
+        String name = filename != null ? filename : "document";
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        return name.substring(name.lastIndexOf('_') + 1).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 분류에 해당하는 문서 타입 (복수형 허용, 없으면 GENERAL)
+     */
+    static Document.DocumentType documentType(String category) {
+        String singular = category.endsWith("s") ? category.substring(0, category.length() - 1) : category;
+        for (Document.DocumentType type : Document.DocumentType.values()) {
+            if (type.name().equalsIgnoreCase(category) || type.name().equalsIgnoreCase(singular)) {
+                return type;
+            }
+        }
+        return Document.DocumentType.GENERAL;
+    }
+    
+    /**
+     * 문서에서 제목 추출
+     */
+    static String extractTitle(String content) {
+        if (content == null || content.isEmpty()) {
+            return "Untitled";
+        }
+        
+        // 첫 번째 줄을 제목으로 사용
+        int newline = content.indexOf('\n');
+        String firstLine = (newline >= 0 ? content.substring(0, newline) : content).trim();
+        
+        // 숫자나 특수문자로 시작하는 경우 정리
+        if (firstLine.matches("^\\d+\\.\\s*(.+)")) {
+            firstLine = firstLine.replaceFirst("^\\d+\\.\\s*", "");
+        }
+        
+        return firstLine.length() > MAX_TITLE_LENGTH ? firstLine.substring(0, MAX_TITLE_LENGTH) + "..." : firstLine;
+    }
+    
+    /**
+     * 블록의 메타데이터 (분류, 블록 순번)
+     */
+    static Map<String, Object> metadata(String category, int index) {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("category", category);
+        metadata.put("index", index);
+        return metadata;
+    }
+    
+    /**
+     * 파일을 차례로 열어 빈 줄로 구분된 블록을 문서로 내보내는 반복자
+     */
+    private static final class BlockIterator implements Iterator<Document> {
+        
+        private final Iterator<CorpusFile> files;
+        private final StringBuilder block = new StringBuilder();
+        
+        private BufferedReader reader;
+        private String source;
+        private String category;
+        private String idPrefix;
+        private Document.DocumentType type;
+        private int blockCount;
+        private Document next;
+        
+        BlockIterator(List<CorpusFile> files) {
+            this.files = files.iterator();
+        }
+        
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    if (reader == null && !openNext()) {
+                        return false;
+                    }
+                    String content = readBlock();
+                    if (content != null) {
+                        next = document(content);
+                    } else {
+                        log.info("코퍼스 파일 읽기 완료: {} ({}개 문서)", source, blockCount);
+                        closeReader();
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("코퍼스 파일 읽기 실패: " + source, e);
+            }
+        }
+        
+        @Override
+        public Document next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Document document = next;
+            next = null;
+            return document;
+        }
+        
+        void close() {
+            try {
+                closeReader();
+            } catch (IOException e) {
+                log.warn("코퍼스 파일 닫기 실패: {}", source, e);
+            }
+        }
+        
+        private boolean openNext() throws IOException {
+            if (!files.hasNext()) {
+                return false;
+            }
+            CorpusFile file = files.next();
+            Resource resource = file.resource();
+            reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+            source = resource.getFilename() != null ? resource.getFilename() : resource.getDescription();
+            category = category(resource.getFilename());
+            idPrefix = file.idPrefix();
+            type = documentType(category);
+            blockCount = 0;
+            return true;
+        }
+        
+        private void closeReader() throws IOException {
+            if (reader != null) {
+                BufferedReader current = reader;
+                reader = null;
+                current.close();
+            }
+        }
+        
+        /**
+         * 다음 블록 (빈 줄이 여러 개 이어져도 구분자 하나로 취급, 파일 끝이면 null)
+         */
+        private String readBlock() throws IOException {
+            block.setLength(0);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    if (!block.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!block.isEmpty()) {
+                    block.append('\n');
+                } else if (blockCount == 0 && line.charAt(0) == '\uFEFF') {
+                    // UTF-8 BOM
+                    line = line.substring(1);
+                }
+                block.append(line);
+            }
+            String content = block.toString().trim();
+            return content.isEmpty() ? null : content;
+        }
+        
+        private Document document(String content) {
+            int index = blockCount++;
+            return Document.builder()
+                .id(idPrefix + "_" + (index + 1))
+                .content(content)
+                .title(extractTitle(content))
+                .source(source)
+                .type(type)
+                .metadata(metadata(category, index))
+                .build();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 긴 문서를 겹치는 구절로 분할
+ * 
+ * 공백으로 구분한 단어(토큰) windowTokens개 크기의 창을 (windowTokens - overlapTokens)개씩 밀면서 구절을 만들어,
+ * 구절 경계에 걸친 문장도 앞뒤 구절 중 하나에는 온전히 들어가도록 합니다. 구절 내용은 원문을 그대로 잘라내므로
+ * 줄바꿈 등 서식이 유지됩니다.
+ * 
+ * 창보다 짧은 문서는 그대로 반환하고, 구절은 {@code <원본 ID>#<순번>} ID와 원본 문서 ID, 순번, 전체 구절 수,
+ * 원본 내용에서의 시작 위치를 메타데이터로 가지며 원본 문서의 제목, 출처, 타입, 메타데이터를 물려받습니다.
+ * 시작 위치로 겹친 부분을 한 번만 남기면 구절들을 원본 문서로 다시 합칠 수 있습니다 ({@link #join(List)}).
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class DocumentChunker {
+    
+    /**
+     * 구절 ID의 원본 ID 구분자
+     */
+    static final char PASSAGE_SEPARATOR = '#';
+    
+    private final int windowTokens;
+    private final int overlapTokens;
+    
+    /**
+     * @param windowTokens 구절당 최대 토큰 수 (0 이하면 분할하지 않음)
+     * @param overlapTokens 이웃한 구절이 공유하는 토큰 수
+     */
+    DocumentChunker(int windowTokens, int overlapTokens) {
+        if (windowTokens > 0 && (overlapTokens < 0 || overlapTokens >= windowTokens)) {
+            throw new IllegalArgumentException(
+                "구절 겹침은 0 이상, 창 크기 미만이어야 합니다: window=" + windowTokens + ", overlap=" + overlapTokens);
+        }
+        this.windowTokens = windowTokens;
+        this.overlapTokens = overlapTokens;
+    }
+    
+    /**
+     * 구절 ID
+     */
+    static String passageId(String parentId, int passageIndex) {
+        return parentId + PASSAGE_SEPARATOR + passageIndex;
+    }
+    
+    /**
+     * 원본 문서의 첫 구절이 아닌 구절 ID인지 확인 ({@code <원본 ID>#<0이 아닌 순번>})
+     * 
+     * 원본 문서 수를 셀 때 원본 문서와 첫 구절만 세도록 저장 문서를 읽지 않고 ID만으로 구분합니다.
+     */
+    static boolean isContinuationPassageId(String documentId) {
+        int separator = documentId.lastIndexOf(PASSAGE_SEPARATOR);
+        if (separator < 0 || separator == documentId.length() - 1) {
+            return false;
+        }
+        for (int i = separator + 1; i < documentId.length(); i++) {
+            if (documentId.charAt(i) < '0' || documentId.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return !(separator == documentId.length() - 2 && documentId.charAt(separator + 1) == '0');
+    }
+    
+    /**
+     * 분할 사용 여부
+     */
+    boolean isEnabled() {
+        return windowTokens > 0;
+    }
+    
+    /**
+     * 문서를 구절로 분할 (창보다 짧으면 원본 문서 하나)
+     */
+    List<Document> split(Document document) {
+        String content = document.getContent();
+        if (!isEnabled() || content == null) {
+            return List.of(document);
+        }
+        
+        // 단어 시작/끝 위치 (원문 그대로 잘라내기 위해 문자열 대신 위치만 기록)
+        List<int[]> words = new ArrayList<>();
+        for (int i = 0, n = content.length(); i < n; ) {
+            while (i < n && Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < n && !Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                words.add(new int[]{start, i});
+            }
+        }
+        if (words.size() <= windowTokens) {
+            return List.of(document);
+        }
+        
+        int step = windowTokens - overlapTokens;
+        int passageCount = (words.size() - overlapTokens + step - 1) / step;
+        List<Document> passages = new ArrayList<>(passageCount);
+        for (int index = 0; index < passageCount; index++) {
+            int first = index * step;
+            int last = Math.min(first + windowTokens, words.size()) - 1;
+            int offset = words.get(first)[0];
+            passages.add(passage(document, index, passageCount, offset,
+                content.substring(offset, words.get(last)[1])));
+        }
+        return passages;
+    }
+    
+    /**
+     * 구절들을 원본 문서로 다시 합침 (구절 순번 순서, 첫 구절의 제목/출처/타입/메타데이터 사용)
+     * 
+     * 시작 위치가 앞 구절 끝보다 앞이면 겹친 부분을 건너뛰고 이어 붙입니다. 겹치지 않는 구절 사이(겹침 0)나
+     * 시작 위치가 없는 이전 형식 구절 사이의 원문 공백은 알 수 없으므로 공백 하나로 잇고, 원본 문서 앞뒤 공백은 복원되지 않습니다.
+     * 
+     * @param passages 같은 원본 문서의 구절 (순번 순서)
+     */
+    static Document join(List<Document> passages) {
+        Document first = passages.get(0);
+        StringBuilder content = new StringBuilder();
+        // 이어 붙인 내용의 끝에 해당하는 원본 내용 위치 (알 수 없으면 -1)
+        int end = -1;
+        for (Document passage : passages) {
+            String text = passage.getContent() != null ? passage.getContent() : "";
+            Object value = passage.getMetadata().get(Document.PASSAGE_OFFSET_KEY);
+            int offset = value instanceof Number number ? number.intValue() : -1;
+            if (content.isEmpty()) {
+                content.append(text);
+            } else if (offset >= 0 && end >= 0 && offset < end) {
+                content.append(text, Math.min(end - offset, text.length()), text.length());
+            } else {
+                content.append(' ').append(text);
+            }
+            end = offset >= 0 ? Math.max(end, offset + text.length()) : -1;
+        }
+        
+        Map<String, Object> metadata = new LinkedHashMap<>(first.getMetadata());
+        metadata.remove(Document.PARENT_ID_KEY);
+        metadata.remove(Document.PASSAGE_INDEX_KEY);
+        metadata.remove(Document.PASSAGE_COUNT_KEY);
+        metadata.remove(Document.PASSAGE_OFFSET_KEY);
+        
+        return Document.builder()
+            .id(first.getParentId())
+            .content(content.toString())
+            .title(first.getTitle())
+            .source(first.getSource())
+            .type(first.getType())
+            .metadata(metadata)
+            .createdAt(first.getCreatedAt())
+            .updatedAt(first.getUpdatedAt())
+            .build();
+    }
+    
+    private static Document passage(Document parent, int index, int count, int offset, String content) {
+        Map<String, Object> metadata = parent.getMetadata() != null
+            ? new HashMap<>(parent.getMetadata())
+            : new HashMap<>();
+        metadata.put(Document.PARENT_ID_KEY, parent.getId());
+        metadata.put(Document.PASSAGE_INDEX_KEY, index);
+        metadata.put(Document.PASSAGE_COUNT_KEY, count);
+        metadata.put(Document.PASSAGE_OFFSET_KEY, offset);
+        
+        return Document.builder()
+            .id(passageId(parent.getId(), index))
+            .content(content)
+            .title(parent.getTitle())
+            .source(parent.getSource())
+            .type(parent.getType())
+            .metadata(metadata)
+            .createdAt(parent.getCreatedAt())
+            .updatedAt(parent.getUpdatedAt())
+            .build();
+    }
+}
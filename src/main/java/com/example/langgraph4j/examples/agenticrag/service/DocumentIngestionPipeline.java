@@ -0,0 +1,183 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 대량 문서 색인 파이프라인
+ * 
+ * 입력 문서를 배치로 묶어 작업 스레드 풀에서 단어 분석과 임베딩 계산(모델 배치 호출)을 병렬로 수행하고,
+ * 결과는 색인 스레드 하나가 입력 순서대로 인덱스에 반영합니다.
+ * 
+ * 처리 중인 배치 수는 작업 스레드 수의 두 배로 제한됩니다. 한도에 도달하면 입력을 읽는 호출 스레드가 대기하므로
+ * (백프레셔) 입력이 아무리 커도 메모리에는 제한된 수의 배치만 올라옵니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+final class DocumentIngestionPipeline {
+    
+    /**
+     * 색인 준비가 끝난 문서 (임베딩은 의미 검색이 꺼져 있으면 null)
+     */
+    record PreparedDocument(Document document, Map<String, Integer> termFrequencies, float[] embedding) {
+    }
+    
+    /**
+     * 제출된 배치 (문서 수 + 준비 결과)
+     */
+    private record PendingBatch(int size, CompletableFuture<List<PreparedDocument>> prepared) {
+    }
+    
+    // 입력 종료 표시
+    private static final PendingBatch END = new PendingBatch(0, CompletableFuture.completedFuture(List.of()));
+    
+    // 진행 로그 간격 (문서 수)
+    private static final int PROGRESS_LOG_INTERVAL = 10_000;
+    
+    private final int threads;
+    private final int batchSize;
+    private final Function<Document, Map<String, Integer>> analysis;
+    private final Function<List<Document>, List<float[]>> embedder;
+    private final Consumer<PreparedDocument> indexer;
+    private final IngestionMetrics metrics;
+    
+    /**
+     * @param threads 작업 스레드 수
+     * @param batchSize 배치당 문서 수 (임베딩 모델 1회 호출 단위)
+     * @param analysis 문서별 단어 빈도 계산 (스레드 안전해야 함)
+     * @param embedder 배치 임베딩 계산 (의미 검색을 쓰지 않으면 null)
+     * @param indexer 준비된 문서를 인덱스에 반영 (색인 스레드 하나에서만 호출)
+     */
+    DocumentIngestionPipeline(int threads, int batchSize, Function<Document, Map<String, Integer>> analysis,
+                              Function<List<Document>, List<float[]>> embedder,
+                              Consumer<PreparedDocument> indexer, IngestionMetrics metrics) {
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.analysis = analysis;
+        this.embedder = embedder;
+        this.indexer = indexer;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * 입력 문서를 모두 색인할 때까지 실행
+     */
+    void run(Iterator<Document> documents) throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "ingest-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        
+        // 제출 순서대로 쌓이는 배치 결과 (가득 차면 입력 읽기가 대기)
+        BlockingQueue<PendingBatch> pending = new ArrayBlockingQueue<>(threads * 2);
+        Thread indexerThread = new Thread(() -> drain(pending), "ingest-indexer");
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+        
+        try {
+            while (documents.hasNext()) {
+                List<Document> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && documents.hasNext()) {
+                    batch.add(documents.next());
+                }
+                metrics.documentsRead(batch.size());
+                
+                CompletableFuture<List<PreparedDocument>> prepared =
+                    CompletableFuture.supplyAsync(() -> prepare(batch), workers);
+                metrics.batchSubmitted();
+                pending.put(new PendingBatch(batch.size(), prepared));
+            }
+        } finally {
+            pending.put(END);
+            indexerThread.join();
+            workers.shutdown();
+            metrics.finish();
+        }
+    }
+    
+    /**
+     * 작업 스레드: 배치 단어 분석 + 임베딩 계산
+     */
+    private List<PreparedDocument> prepare(List<Document> batch) {
+        List<Map<String, Integer>> termFrequencies = new ArrayList<>(batch.size());
+        for (Document document : batch) {
+            termFrequencies.add(analysis.apply(document));
+        }
+        
+        long start = System.nanoTime();
+        List<float[]> embeddings = embedder != null ? embedder.apply(batch) : null;
+        metrics.batchPrepared(batch.size(), System.nanoTime() - start);
+        
+        List<PreparedDocument> prepared = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            prepared.add(new PreparedDocument(batch.get(i), termFrequencies.get(i),
+                embeddings != null ? embeddings.get(i) : null));
+        }
+        return prepared;
+    }
+    
+    /**
+     * 색인 스레드: 배치 결과를 제출 순서대로 인덱스에 반영
+     */
+    private void drain(BlockingQueue<PendingBatch> pending) {
+        try {
+            while (true) {
+                PendingBatch batch = pending.take();
+                if (batch == END) {
+                    return;
+                }
+                
+                try {
+                    for (PreparedDocument document : batch.prepared().get()) {
+                        index(document);
+                    }
+                } catch (ExecutionException e) {
+                    // 배치 단위 실패는 기록하고 나머지 배치는 계속 색인
+                    log.error("문서 배치 준비 실패", e.getCause());
+                    metrics.documentsFailed(batch.size());
+                } finally {
+                    metrics.batchCompleted();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void index(PreparedDocument document) {
+        try {
+            indexer.accept(document);
+        } catch (RuntimeException e) {
+            // 색인 스레드가 멈추면 입력 스레드가 대기열에서 무한 대기하므로 문서 단위로 격리
+            log.error("문서 색인 실패: {}", document.document().getId(), e);
+            metrics.documentsFailed(1);
+            return;
+        }
+        
+        metrics.documentIndexed();
+        if (metrics.getDocumentsIndexed() % PROGRESS_LOG_INTERVAL == 0) {
+            log.info("대량 색인 진행: {}개 문서 ({}개/초)", metrics.getDocumentsIndexed(),
+                Math.round(metrics.getDocumentsPerSecond()));
+        }
+    }
+}
@@ -1,24 +1,79 @@
 package com.example.langgraph4j.examples.agenticrag.service;
 
+import com.example.langgraph4j.examples.agenticrag.index.AnalysisCache;
+import com.example.langgraph4j.examples.agenticrag.index.Analyzer;
+import com.example.langgraph4j.examples.agenticrag.index.ContentHash;
+import com.example.langgraph4j.examples.agenticrag.index.DocumentFilter;
+import com.example.langgraph4j.examples.agenticrag.index.EmbeddingStore;
+import com.example.langgraph4j.examples.agenticrag.index.HnswIndex;
+import com.example.langgraph4j.examples.agenticrag.index.IndexSnapshot;
+import com.example.langgraph4j.examples.agenticrag.index.MoreLikeThisCache;
+import com.example.langgraph4j.examples.agenticrag.index.NumericRangeIndex;
+import com.example.langgraph4j.examples.agenticrag.index.PostingsIterator;
+import com.example.langgraph4j.examples.agenticrag.index.PostingsList;
+import com.example.langgraph4j.examples.agenticrag.index.QueryResultCache;
+import com.example.langgraph4j.examples.agenticrag.index.RankFusion;
+import com.example.langgraph4j.examples.agenticrag.index.RankingFunction;
+import com.example.langgraph4j.examples.agenticrag.index.ReciprocalRankFusion;
+import com.example.langgraph4j.examples.agenticrag.index.ScoreAccumulator;
+import com.example.langgraph4j.examples.agenticrag.index.SegmentedIndex;
+import com.example.langgraph4j.examples.agenticrag.index.StandardTokenizer;
+import com.example.langgraph4j.examples.agenticrag.index.TermTrie;
+import com.example.langgraph4j.examples.agenticrag.index.TopDocs;
+import com.example.langgraph4j.examples.agenticrag.index.TopKCollector;
 import com.example.langgraph4j.examples.agenticrag.model.Document;
+import com.example.langgraph4j.examples.agenticrag.model.SearchHit;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2.AllMiniLmL6V2EmbeddingModel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * 문서 검색 및 인덱싱 서비스
  * 
  * Python 예제의 vector store retrieval을 Java로 구현한 서비스입니다.
- * 간단한 키워드 기반 검색과 TF-IDF 스코어링을 사용합니다.
+ * 간단한 키워드 기반 검색과 TF-IDF/BM25 스코어링을 사용합니다.
+ * 
+ * 역색인은 {@link SegmentedIndex}에 저장됩니다. 인덱스 디렉토리를 설정하면 색인 결과를
+ * 메모리 매핑 세그먼트 파일로 기록하고, 재시작 시 텍스트 파일을 다시 분석하지 않고 바로 엽니다.
+ * 
+ * 의미 검색을 켜면 색인 시 로컬 MiniLM 모델로 문서 임베딩을 계산하여 {@link HnswIndex}에 함께 저장하고,
+ * {@link #semanticSearch(String, int)}로 키워드가 겹치지 않는 문서도 찾을 수 있습니다.
+ * 
+ * 키워드 검색 결과는 {@link QueryResultCache}에 보관하며, 문서 추가/수정/삭제로 쿼리 단어의 포스팅이 바뀐 항목만 무효화합니다.
+ * 유사 문서 결과도 같은 방식으로 {@link MoreLikeThisCache}에 문서별로 보관합니다.
+ * 
+ * 검색은 저장 문서를 복사하지 않는 {@link SearchHit} 목록을 만들고, {@code List<Document>}를 반환하는 API만
+ * 결과마다 수정 가능한 문서를 만듭니다. 결과를 읽기만 하는 호출자는 {@link #searchHits(String, int)}와
+ * {@link #hybridSearchHits(String, int)}를 사용합니다.
+ * 
+ * 타입/메타데이터 필터({@link DocumentFilter})는 상위 결과를 고른 뒤가 아니라 포스팅을 순회하며 스코어 계산 전에 적용합니다.
+ * 가격, 빈티지 같은 숫자 메타데이터는 {@link #rangeHits(String, DocumentFilter.Range, DocumentFilter, int, boolean)}로
+ * 키워드 없이 범위 검색할 수 있습니다.
  * 
  * @author Claude AI Assistant
  * @since 2025-07-31
@@ -28,105 +83,379 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DocumentRetriever {
     
-    // 인메모리 문서 저장소
-    private final Map<String, Document> documentStore = new ConcurrentHashMap<>();
+    private static final TopDocs EMPTY_TOP_DOCS = new TopDocs(new int[0], new double[0]);
+    
+    /**
+     * 범위 검색을 허용하는 숫자 메타데이터 키 (키마다 세그먼트별 숫자 열과 정렬 인덱스가 메모리에 유지됨)
+     */
+    public static final List<String> RANGE_FIELDS = List.of(Document.PRICE_KEY, Document.VINTAGE_KEY);
+    
+    // 하이브리드 검색 시 검색기별 조회 깊이 (결과 수의 배수)
+    private static final int HYBRID_CANDIDATE_FACTOR = 2;
+    
+    // 원본 문서별 색인 락 수 (문서 ID 해시로 분산)
+    private static final int DOCUMENT_LOCK_STRIPES = 64;
+    
+    // 인덱스 디렉토리 안의 임베딩 캐시 파일 이름
+    private static final String EMBEDDING_STORE_FILE = "embeddings.vec";
+    
+    // 임베딩 라이브러리 JAR에 포함된 MiniLM 모델 파일 (임베딩 캐시의 모델 식별자 계산)
+    private static final String EMBEDDING_MODEL_RESOURCE = "all-minilm-l6-v2.onnx";
+    
+    // 빠른 검색 매칭 품질 (정확히 일치 > 접두사/와일드카드 일치 > 오타 허용 일치)
+    private static final int EXACT_MATCH = 3;
+    private static final int PREFIX_MATCH = 2;
+    private static final int FUZZY_MATCH = 1;
+    
+    // 세그먼트 역색인 (색인 버퍼 + 봉인된 세그먼트, 인덱스 디렉토리 설정 시 메모리 매핑 파일)
+    private SegmentedIndex index = new SegmentedIndex(null);
+    
+    // 세그먼트 파일 디렉토리 (비어 있으면 힙에만 유지)
+    @Value("${agentic-rag.index.directory:}")
+    private String indexDirectory = "";
+    
+    // 색인 버퍼 봉인 기준 문서 수
+    @Value("${agentic-rag.index.max-buffered-docs:1000}")
+    private int maxBufferedDocs = SegmentedIndex.DEFAULT_MAX_BUFFERED_DOCS;
+    
+    // 같은 크기 등급의 세그먼트가 이 수만큼 모이면 백그라운드 병합
+    @Value("${agentic-rag.index.merge-factor:10}")
+    private int mergeFactor = SegmentedIndex.DEFAULT_MERGE_FACTOR;
+    
+    // 색인 버퍼 기록 + 인덱스 커밋 주기 (초, 인덱스 디렉토리 사용 시, 0이면 종료 시에만 커밋)
+    @Value("${agentic-rag.index.commit-interval-seconds:30}")
+    private long commitIntervalSeconds = 30;
+    
+    // 주기적 인덱스 커밋 스레드 (시작 시 인덱스 구성 후 생성, 사용하지 않으면 null)
+    private volatile ScheduledExecutorService commitScheduler;
+    
+    // 분석기 설정 (standard 또는 particle, bigram, stem 필터를 쉼표로 나열)
+    @Value("${agentic-rag.index.analyzer:standard}")
+    private String analyzerSpec = Analyzer.STANDARD_NAME;
+    
+    // 문서별 분석 결과 캐시 크기
+    @Value("${agentic-rag.index.analysis-cache-size:10000}")
+    private int analysisCacheSize = 10_000;
+    
+    // 문서별 분석 결과 캐시 (내용이 같으면 재분석 생략)
+    private AnalysisCache analysisCache = new AnalysisCache(analysisCacheSize);
+    
+    // 기본 랭킹 함수 (tfidf, bm25)
+    @Value("${agentic-rag.retriever.ranking:tfidf}")
+    private String defaultRanking = "tfidf";
+    
+    // 검색 결과 캐시 용량 (결과 문서 추정 크기 합계, 0이면 캐시하지 않음)
+    @Value("${agentic-rag.retriever.query-cache.max-bytes:16777216}")
+    private long queryCacheMaxBytes = 16L * 1024 * 1024;
+    
+    // 검색 결과 캐시 (쿼리 단어의 포스팅이 바뀌면 무효화)
+    private QueryResultCache queryCache = new QueryResultCache(queryCacheMaxBytes);
+    
+    // 유사 문서 검색 시 대상 문서에서 고르는 최대 단어 수 (TF-IDF 가중치 순)
+    @Value("${agentic-rag.retriever.more-like-this.max-query-terms:25}")
+    private int moreLikeThisMaxQueryTerms = 25;
+    
+    // 유사 문서 결과 캐시 문서 수 (0이면 캐시하지 않음, 검색 결과 캐시가 꺼져 있으면 사용 안 함)
+    @Value("${agentic-rag.retriever.more-like-this.cache-size:10000}")
+    private long moreLikeThisCacheSize = 10_000;
+    
+    // 문서별 유사 문서 결과 캐시 (검색 결과 캐시의 단어 세대로 무효화)
+    private MoreLikeThisCache moreLikeThisCache = new MoreLikeThisCache(queryCache, moreLikeThisCacheSize);
+    
+    // 의미 검색 사용 여부 (로컬 MiniLM 임베딩 + HNSW 벡터 인덱스, 색인 시 문서마다 임베딩 계산)
+    @Value("${agentic-rag.semantic.enabled:false}")
+    private boolean semanticSearchEnabled = false;
     
-    // 역색인 (단어 -> 문서 ID 목록)
-    private final Map<String, Set<String>> invertedIndex = new ConcurrentHashMap<>();
+    // HNSW 노드당 최대 이웃 수
+    @Value("${agentic-rag.semantic.hnsw.m:16}")
+    private int hnswM = HnswIndex.DEFAULT_M;
     
-    // TF-IDF 계산용 문서 빈도수
-    private final Map<String, Integer> documentFrequency = new ConcurrentHashMap<>();
+    // HNSW 색인 시 탐색 후보 수
+    @Value("${agentic-rag.semantic.hnsw.ef-construction:100}")
+    private int hnswEfConstruction = HnswIndex.DEFAULT_EF_CONSTRUCTION;
+    
+    // HNSW 검색 시 탐색 후보 수 (결과 수보다 작으면 결과 수 사용)
+    @Value("${agentic-rag.semantic.hnsw.ef-search:64}")
+    private int hnswEfSearch = 64;
+    
+    // 하이브리드 검색 결과 융합 방식 (rrf, weighted)
+    @Value("${agentic-rag.retriever.fusion:rrf}")
+    private String fusionMethod = ReciprocalRankFusion.NAME;
+    
+    // 하이브리드 검색에서 의미 검색 결과의 가중치 (키워드 검색은 1 - 가중치)
+    @Value("${agentic-rag.retriever.semantic-weight:0.5}")
+    private double semanticWeight = 0.5;
+    
+    // 초기 색인 코퍼스 위치 (Spring 리소스 패턴을 쉼표로 나열, classpath*:/file: 접두사와 *, ** 글롭 사용 가능)
+    @Value("${agentic-rag.corpus.locations:classpath*:data/*.txt}")
+    private String[] corpusLocations = {CorpusLoader.BUNDLED_LOCATION};
+    
+    // 구절 분할 창 크기 (공백 구분 토큰 수, 0이면 분할하지 않음)
+    @Value("${agentic-rag.chunking.window-tokens:200}")
+    private int chunkWindowTokens = 200;
+    
+    // 이웃한 구절이 공유하는 토큰 수
+    @Value("${agentic-rag.chunking.overlap-tokens:40}")
+    private int chunkOverlapTokens = 40;
+    
+    // 긴 문서의 구절 분할기 (구절마다 별도 문서로 색인하고 원본 문서 ID를 메타데이터로 보관)
+    private DocumentChunker chunker = new DocumentChunker(chunkWindowTokens, chunkOverlapTokens);
+    
+    // 대량 색인 배치당 문서 수 (임베딩 모델 1회 호출 단위)
+    @Value("${agentic-rag.ingest.batch-size:32}")
+    private int ingestBatchSize = 32;
+    
+    // 대량 색인 작업 스레드 수 (0이면 CPU 코어 수)
+    @Value("${agentic-rag.ingest.threads:0}")
+    private int ingestThreads = 0;
+    
+    // 가장 최근 대량 색인의 진행 지표 (진행 중에도 조회 가능)
+    private volatile IngestionMetrics ingestionMetrics;
+    
+    // 시작 시 인덱스 구성을 백그라운드에서 수행 (구성 중에도 요청을 받고, 준비 여부는 isReady()로 확인)
+    @Value("${agentic-rag.index.async-build:true}")
+    private boolean asyncBuild = true;
+    
+    // 시작 시 인덱스 구성 완료 신호
+    private final CountDownLatch readyLatch = new CountDownLatch(1);
+    
+    // 같은 원본 문서의 구절 교체/삭제를 직렬화하는 락 (역색인과 벡터 인덱스가 같은 버전의 구절을 갖도록)
+    private final Object[] documentLocks = IntStream.range(0, DOCUMENT_LOCK_STRIPES)
+        .mapToObj(i -> new Object())
+        .toArray();
+    
+    // 하이브리드 검색의 벡터 검색 실행 스레드 (포화 시 호출 스레드에서 실행)
+    private final ThreadPoolExecutor semanticSearchExecutor = new ThreadPoolExecutor(
+        0, Runtime.getRuntime().availableProcessors(), 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        runnable -> {
+            Thread thread = new Thread(runnable, "semantic-search");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    
+    // 문서 임베딩 모델과 벡터 인덱스 (의미 검색이 꺼져 있으면 null)
+    private EmbeddingModel embeddingModel;
+    private HnswIndex vectorIndex;
+    
+    // 내용 해시 → 임베딩 캐시 파일 (인덱스 디렉토리와 의미 검색이 모두 설정된 경우에만 사용)
+    private EmbeddingStore embeddingStore;
     
     /**
-     * 문서 저장소 초기화 (레스토랑 데이터 로드)
+     * 문서 저장소 초기화 (코퍼스 파일 로드)
+     * 
+     * 인덱스와 모델만 준비하고, 세그먼트 로드 또는 코퍼스 색인은 비동기 구성이 켜져 있으면 백그라운드 스레드에서 수행합니다.
+     * 구성 중의 검색은 그때까지 색인된 문서만 대상으로 하며, 완료 여부는 {@link #isReady()}로 확인합니다.
      */
     @PostConstruct
     public void initializeDocuments() {
         try {
-            loadRestaurantDocuments();
-            log.info("문서 인덱싱 완료: {}개 문서", documentStore.size());
+            boolean persistent = indexDirectory != null && !indexDirectory.isBlank();
+            index = new SegmentedIndex(persistent ? Paths.get(indexDirectory) : null,
+                Analyzer.forName(analyzerSpec), maxBufferedDocs, mergeFactor);
+            analysisCache = new AnalysisCache(analysisCacheSize);
+            queryCache = new QueryResultCache(queryCacheMaxBytes);
+            moreLikeThisCache = new MoreLikeThisCache(queryCache, moreLikeThisCacheSize);
+            chunker = new DocumentChunker(chunkWindowTokens, chunkOverlapTokens);
+            
+            if (semanticSearchEnabled) {
+                // 모델은 라이브러리 JAR에 포함되어 있어 네트워크 없이 프로세스 안에서 실행
+                // (배치 병렬화는 대량 색인 작업 스레드가 담당하므로 모델 내부 스레드 풀은 쓰지 않음)
+                embeddingModel = new AllMiniLmL6V2EmbeddingModel(Runnable::run);
+                vectorIndex = new HnswIndex(embeddingModel.dimension(), hnswM, hnswEfConstruction, 42L);
+                String modelId = persistent ? embeddingModelId() : null;
+                if (modelId != null) {
+                    // 재시작 시 내용이 바뀌지 않은 문서는 모델을 다시 실행하지 않음
+                    embeddingStore = EmbeddingStore.open(Paths.get(indexDirectory).resolve(EMBEDDING_STORE_FILE),
+                        modelId, embeddingModel.dimension());
+                }
+            }
         } catch (Exception e) {
             log.error("문서 로드 실패", e);
+            readyLatch.countDown();
+            return;
+        }
+        
+        if (asyncBuild) {
+            Thread builder = new Thread(this::loadDocuments, "index-build");
+            builder.setDaemon(true);
+            builder.start();
+        } else {
+            loadDocuments();
         }
     }
     
     /**
-     * 레스토랑 메뉴 및 와인 데이터 로드
+     * 기록된 세그먼트를 열거나 코퍼스로 인덱스를 구성한 뒤 준비 완료 표시 (실패해도 빈 인덱스로 서비스)
      */
-    private void loadRestaurantDocuments() throws IOException {
-        // 메뉴 데이터 로드
-        String menuPath = "src/main/resources/data/restaurant_menu.txt";
-        if (Files.exists(Paths.get(menuPath))) {
-            String menuContent = Files.readString(Paths.get(menuPath));
-            
-            // 메뉴를 개별 아이템으로 분할
-            String[] menuItems = menuContent.split("\\n\\s*\\n");
-            
-            for (int i = 0; i < menuItems.length; i++) {
-                String item = menuItems[i].trim();
-                if (!item.isEmpty()) {
-                    Document menuDoc = Document.builder()
-                        .id("menu_" + (i + 1))
-                        .content(item)
-                        .title(extractTitle(item))
-                        .source("restaurant_menu.txt")
-                        .type(Document.DocumentType.MENU)
-                        .metadata(Map.of("category", "menu", "index", i))
-                        .build();
-                    
-                    addDocument(menuDoc);
+    private void loadDocuments() {
+        long start = System.nanoTime();
+        try {
+            if (index.isPersistent()) {
+                // 기록된 세그먼트가 있으면 텍스트 파일을 다시 분석하지 않고 매핑만 수행
+                int segments = index.openCommittedSegments();
+                if (segments > 0) {
+                    queryCache.invalidateAll();
+                    indexCommittedVectors();
+                    log.info("세그먼트 인덱스 로드 완료: {}개 세그먼트, {}개 문서 ({}개 구절)", segments, getDocumentCount(),
+                        getPassageCount());
+                    return;
+                }
+                
+                // 분석기 설정이 바뀌었으면 코퍼스 파일 대신 저장 문서를 다시 분석 (런타임에 추가/수정된 문서 유지)
+                if (index.needsReanalysis()) {
+                    IngestionMetrics metrics;
+                    try (Stream<Document> stored = index.staleDocuments()) {
+                        metrics = buildIndex(stored);
+                    }
+                    if (metrics.getDocumentsIndexed() > 0) {
+                        index.flush();
+                        log.info("저장 문서 재분석 완료: {}개 문서 ({}개 구절)", getDocumentCount(), getPassageCount());
+                        return;
+                    }
                 }
             }
+            
+            loadCorpus();
+            index.flush();
+            log.info("문서 인덱싱 완료: {}개 문서 ({}개 구절)", getDocumentCount(), getPassageCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("문서 로드가 중단되었습니다.");
+        } catch (Exception e) {
+            log.error("문서 로드 실패", e);
+        } finally {
+            readyLatch.countDown();
+            log.info("인덱스 준비 완료: {}초", String.format("%.1f", (System.nanoTime() - start) / 1e9));
+            startPeriodicCommit();
+        }
+    }
+    
+    /**
+     * 런타임에 추가/삭제된 문서가 비정상 종료 후에도 복원되도록 주기적으로 색인 버퍼를 세그먼트 파일로 기록하고 커밋
+     * 
+     * 바뀐 것이 없으면 커밋 파일을 기록하지 않으므로, 유휴 상태의 비용은 디렉토리 확인뿐입니다.
+     * 비정상 종료 시 잃을 수 있는 변경은 마지막 커밋 이후(최대 커밋 주기)의 문서입니다.
+     */
+    private void startPeriodicCommit() {
+        if (!index.isPersistent() || commitIntervalSeconds <= 0) {
+            return;
         }
         
-        // 와인 데이터 로드
-        String winePath = "src/main/resources/data/restaurant_wine.txt";
-        if (Files.exists(Paths.get(winePath))) {
-            String wineContent = Files.readString(Paths.get(winePath));
-            
-            // 와인을 개별 아이템으로 분할
-            String[] wineItems = wineContent.split("\\n\\s*\\n");
-            
-            for (int i = 0; i < wineItems.length; i++) {
-                String item = wineItems[i].trim();
-                if (!item.isEmpty()) {
-                    Document wineDoc = Document.builder()
-                        .id("wine_" + (i + 1))
-                        .content(item)
-                        .title(extractTitle(item))
-                        .source("restaurant_wine.txt")
-                        .type(Document.DocumentType.WINE)
-                        .metadata(Map.of("category", "wine", "index", i))
-                        .build();
-                    
-                    addDocument(wineDoc);
-                }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::commitIndex, commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+        commitScheduler = scheduler;
+    }
+    
+    private void commitIndex() {
+        try {
+            index.flush();
+            if (embeddingStore != null) {
+                embeddingStore.force();
             }
+        } catch (Exception e) {
+            // 예외가 전파되면 이후 실행이 취소되므로 기록만 하고 다음 주기에 다시 시도
+            log.error("인덱스 커밋 실패", e);
         }
     }
     
     /**
-     * 문서에서 제목 추출
+     * 시작 시 인덱스 구성 완료 여부
      */
-    private String extractTitle(String content) {
-        if (content == null || content.isEmpty()) {
-            return "Untitled";
+    public boolean isReady() {
+        return readyLatch.getCount() == 0;
+    }
+    
+    /**
+     * 시작 시 인덱스 구성 완료 대기
+     * 
+     * @return 제한 시간 안에 완료되었으면 true
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return readyLatch.await(timeout, unit);
+    }
+    
+    /**
+     * 세그먼트 파일에서 연 문서의 임베딩을 벡터 인덱스에 추가 (벡터 인덱스는 메모리에만 유지)
+     * 
+     * 임베딩 캐시에 있는 문서는 모델을 실행하지 않고, 없는 문서만 배치 단위로 임베딩합니다.
+     */
+    private void indexCommittedVectors() {
+        if (vectorIndex == null) {
+            return;
         }
         
-        // 첫 번째 줄을 제목으로 사용
-        String[] lines = content.split("\\n");
-        String firstLine = lines[0].trim();
-        
-        // 숫자나 특수문자로 시작하는 경우 정리
-        if (firstLine.matches("^\\d+\\.\\s*(.+)")) {
-            firstLine = firstLine.replaceFirst("^\\d+\\.\\s*", "");
+        IndexSnapshot snapshot = index.snapshot();
+        int[] ordinals = liveOrdinals(snapshot).toArray();
+        for (int start = 0; start < ordinals.length; start += ingestBatchSize) {
+            List<Document> batch = Arrays.stream(ordinals, start, Math.min(start + ingestBatchSize, ordinals.length))
+                .mapToObj(snapshot::document)
+                .toList();
+            List<float[]> vectors = embedBatch(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                vectorIndex.add(batch.get(i).getId(), vectors.get(i));
+            }
         }
-        
-        return firstLine.length() > 50 ? firstLine.substring(0, 50) + "..." : firstLine;
+        log.info("벡터 인덱스 구성 완료: {}개 문서 (임베딩 캐시 적중 {}건)", vectorIndex.size(),
+            embeddingStore != null ? embeddingStore.hitCount() : 0);
     }
     
     /**
-     * 문서 추가 및 인덱싱
+     * 종료 시 색인 버퍼와 삭제 정보를 세그먼트 파일로 기록하여 커밋하고 병합 스레드 종료
+     */
+    @PreDestroy
+    public void flushIndex() {
+        ScheduledExecutorService scheduler = commitScheduler;
+        if (scheduler != null) {
+            // 진행 중인 커밋은 중단하지 않고 마침 (파일 기록 중 인터럽트 방지)
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (index.isPersistent()) {
+                index.flush();
+            }
+        } catch (IOException e) {
+            log.error("세그먼트 기록 실패", e);
+        } finally {
+            semanticSearchExecutor.shutdown();
+            closeEmbeddingStore();
+            index.close();
+        }
+    }
+    
+    private void closeEmbeddingStore() {
+        if (embeddingStore != null) {
+            try {
+                embeddingStore.close();
+            } catch (IOException e) {
+                log.error("임베딩 캐시 기록 실패", e);
+            }
+        }
+    }
+    
+    /**
+     * 코퍼스 파일을 스트리밍으로 읽어 대량 색인 (파일 전체를 메모리에 올리지 않음)
+     */
+    private void loadCorpus() throws IOException, InterruptedException {
+        CorpusLoader loader = new CorpusLoader(
+            new PathMatchingResourcePatternResolver(getClass().getClassLoader()), corpusLocations);
+        try (Stream<Document> documents = loader.documents()) {
+            buildIndex(documents);
+        }
+    }
+    
+    /**
+     * 문서 추가 및 인덱싱 (단어 분석은 잠금 없이 수행하고 세그먼트 기록만 직렬화)
+     * 
+     * 창 크기보다 긴 문서는 겹치는 구절로 나누어 구절마다 색인합니다.
      */
     public void addDocument(Document document) {
         if (document == null || document.getId() == null) {
@@ -134,59 +463,459 @@ public class DocumentRetriever {
             return;
         }
         
-        // 문서 저장
-        documentStore.put(document.getId(), document);
-        
-        // 역색인 업데이트
-        updateInvertedIndex(document);
+        indexPassages(document);
         
         log.debug("문서 추가됨: {} ({})", document.getId(), document.getTitle());
     }
     
     /**
-     * 역색인 업데이트
+     * 문서를 구절로 나누어 색인 (같은 ID의 이전 문서와 그 구절은 삭제 표시)
+     * 
+     * 단어 분석과 임베딩은 락 없이 먼저 계산하고, 이전 구절 삭제부터 역색인/벡터 인덱스 반영까지는 원본 문서 락 안에서
+     * 수행하여 같은 문서의 동시 수정이 서로 다른 버전의 구절을 섞지 않도록 합니다.
      */
-    private void updateInvertedIndex(Document document) {
-        String content = document.getContent() + " " + 
-                        (document.getTitle() != null ? document.getTitle() : "");
+    private void indexPassages(Document document) {
+        List<Document> passages = split(document);
         
-        // 텍스트를 단어로 분할하고 정규화
-        Set<String> words = extractWords(content);
+        // 텍스트를 단어로 분할하고 문서 내 단어 빈도수 계산
+        List<Map<String, Integer>> termFrequencies = passages.stream().map(this::extractTermFrequencies).toList();
+        List<float[]> vectors = vectorIndex != null ? embedBatch(passages) : null;
         
-        for (String word : words) {
-            // 역색인에 추가
-            invertedIndex.computeIfAbsent(word, k -> ConcurrentHashMap.newKeySet())
-                         .add(document.getId());
-            
-            // 문서 빈도수 업데이트
-            documentFrequency.merge(word, 1, Integer::sum);
+        synchronized (documentLock(document.getId())) {
+            removeStalePassages(document.getId(), passageCount(passages.get(0)));
+            for (int i = 0; i < passages.size(); i++) {
+                addToIndex(passages.get(i), termFrequencies.get(i));
+            }
+            if (vectors != null) {
+                for (int i = 0; i < passages.size(); i++) {
+                    vectorIndex.add(passages.get(i).getId(), vectors.get(i));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 원본 문서 ID의 색인 락
+     */
+    private Object documentLock(String parentId) {
+        return documentLocks[Math.floorMod(parentId.hashCode(), DOCUMENT_LOCK_STRIPES)];
+    }
+    
+    /**
+     * 새 버전에 없는 이전 버전의 구절 삭제
+     * 
+     * 새 버전이 구절로 나뉘면 분할되지 않은 이전 문서를, 나뉘지 않으면 이전 구절 전체를, 구절 수가 줄었으면
+     * 남는 구절을 삭제합니다. 새 버전과 ID가 같은 문서와 구절은 색인 시 교체되므로 건드리지 않습니다.
+     * 
+     * @param passageCount 새 버전의 구절 수 (분할되지 않았으면 0)
+     */
+    private void removeStalePassages(String parentId, int passageCount) {
+        if (passageCount > 0) {
+            removeFromIndex(parentId);
+        }
+        for (int i = passageCount; removeFromIndex(DocumentChunker.passageId(parentId, i)); i++) {
+            // 구절 순번은 연속이므로 처음 없는 순번에서 멈춤
+        }
+    }
+    
+    /**
+     * 문서 하나를 역색인에 추가하고 포스팅이 바뀐 단어(같은 ID의 이전 문서 단어 포함)의 검색 결과 캐시 무효화
+     */
+    private void addToIndex(Document document, Map<String, Integer> termFrequencies) {
+        Set<String> replacedTerms = indexedTerms(document.getId());
+        index.addDocument(document, termFrequencies);
+        queryCache.invalidate(termFrequencies.keySet());
+        queryCache.invalidate(replacedTerms);
+    }
+    
+    /**
+     * 문서 하나를 역색인과 벡터 인덱스에서 삭제
+     */
+    private boolean removeFromIndex(String documentId) {
+        Set<String> removedTerms = indexedTerms(documentId);
+        if (!index.deleteDocument(documentId)) {
+            return false;
+        }
+        queryCache.invalidate(removedTerms);
+        analysisCache.remove(documentId);
+        if (vectorIndex != null) {
+            vectorIndex.delete(documentId);
+        }
+        return true;
+    }
+    
+    /**
+     * 인덱스에 있는 문서의 단어 (없거나 검색 결과 캐시를 쓰지 않으면 빈 집합)
+     * 
+     * 교체/삭제 직전의 내용을 분석하므로 분석 결과 캐시에는 저장하지 않습니다.
+     */
+    private Set<String> indexedTerms(String documentId) {
+        if (!queryCache.isEnabled()) {
+            return Collections.emptySet();
+        }
+        IndexSnapshot snapshot = index.snapshot();
+        int ordinal = snapshot.ordinalOf(documentId);
+        return ordinal >= 0 ? analyze(snapshot.document(ordinal)).keySet() : Collections.emptySet();
+    }
+    
+    /**
+     * 원본 문서의 구절 수 (구절이 아니면 0)
+     */
+    private static int passageCount(Document document) {
+        return document.isPassage()
+            ? ((Number) document.getMetadata().get(Document.PASSAGE_COUNT_KEY)).intValue()
+            : 0;
+    }
+    
+    /**
+     * 원본 문서 안에서의 구절 순번 (구절이 아니면 0)
+     */
+    private static int passageIndex(Document document) {
+        return document.isPassage()
+            ? ((Number) document.getMetadata().get(Document.PASSAGE_INDEX_KEY)).intValue()
+            : 0;
+    }
+    
+    /**
+     * 원본 문서 ID의 순번 (분할된 문서는 첫 구절, 없으면 -1)
+     */
+    private static int resolveOrdinal(IndexSnapshot snapshot, String documentId) {
+        int ordinal = snapshot.ordinalOf(documentId);
+        return ordinal >= 0 ? ordinal : snapshot.ordinalOf(DocumentChunker.passageId(documentId, 0));
+    }
+    
+    /**
+     * 대량 문서 색인
+     * 
+     * 문서를 배치로 묶어 작업 스레드 풀에서 단어 분석과 임베딩 계산을 병렬로 수행한 뒤, 색인 스레드 하나가
+     * 입력 순서대로 역색인과 벡터 인덱스에 반영합니다. 입력 스트림은 처리 속도에 맞춰 필요한 만큼만 읽으므로
+     * 파일을 순회하는 스트림을 그대로 넘길 수 있습니다. 진행 지표는 {@link #getIngestionMetrics()}로 조회합니다.
+     * 긴 문서는 구절로 나누어 색인하며, 지표의 문서 수는 구절 단위입니다.
+     * 
+     * @return 완료된 색인의 지표
+     */
+    public IngestionMetrics addDocuments(Stream<Document> documents) throws InterruptedException {
+        IngestionMetrics metrics = new IngestionMetrics();
+        ingestionMetrics = metrics;
+        
+        int threads = ingestThreads > 0 ? ingestThreads : Runtime.getRuntime().availableProcessors();
+        DocumentIngestionPipeline pipeline = new DocumentIngestionPipeline(threads, ingestBatchSize,
+            this::extractTermFrequencies,
+            vectorIndex != null ? this::embedBatch : null,
+            prepared -> {
+                synchronized (documentLock(prepared.document().getParentId())) {
+                    // 원본 문서의 첫 구절(또는 분할되지 않은 문서)을 반영할 때 이전 버전의 남는 구절 삭제
+                    if (passageIndex(prepared.document()) == 0) {
+                        removeStalePassages(prepared.document().getParentId(), passageCount(prepared.document()));
+                    }
+                    addToIndex(prepared.document(), prepared.termFrequencies());
+                    if (prepared.embedding() != null) {
+                        vectorIndex.add(prepared.document().getId(), prepared.embedding());
+                    }
+                }
+            },
+            metrics);
+        
+        pipeline.run(passages(documents));
+        
+        log.info("대량 색인 완료: {}개 문서, {}개 실패, {}초 ({}개/초, 작업 스레드 {}개)",
+            metrics.getDocumentsIndexed(), metrics.getDocumentsFailed(),
+            String.format("%.1f", metrics.getElapsedSeconds()), Math.round(metrics.getDocumentsPerSecond()), threads);
+        return metrics;
+    }
+    
+    /**
+     * Fork/Join 병렬 인덱스 구성 (시작 시 코퍼스 색인 경로)
+     * 
+     * 작업 스레드마다 {@code maxBufferedDocs}개 단위의 부분 역색인(힙 세그먼트)과 임베딩을 만들고,
+     * 입력 순서대로 세그먼트 인덱스와 벡터 인덱스에 병합합니다. 세그먼트 파일 기록과 병합은 기존 백그라운드 병합이 담당합니다.
+     * 구성 중에도 병합된 부분까지는 검색할 수 있습니다.
+     * 
+     * @return 완료된 구성의 지표
+     */
+    IngestionMetrics buildIndex(Stream<Document> documents) throws InterruptedException {
+        IngestionMetrics metrics = new IngestionMetrics();
+        ingestionMetrics = metrics;
+        
+        int threads = ingestThreads > 0 ? ingestThreads : Runtime.getRuntime().availableProcessors();
+        ParallelIndexBuilder builder = new ParallelIndexBuilder(threads, maxBufferedDocs, ingestBatchSize,
+            this::extractTermFrequencies,
+            vectorIndex != null ? this::embedBatch : null,
+            index::prepareSegment,
+            partials -> {
+                index.addSegments(partials.stream().map(ParallelIndexBuilder.PartialIndex::segment).toList());
+                queryCache.invalidateAll();
+                if (vectorIndex != null) {
+                    for (ParallelIndexBuilder.PartialIndex partial : partials) {
+                        for (int ordinal = 0; ordinal < partial.segment().maxDoc(); ordinal++) {
+                            vectorIndex.add(partial.segment().documentId(ordinal), partial.embeddings().get(ordinal));
+                        }
+                    }
+                }
+            },
+            metrics);
+        
+        builder.run(passages(documents));
+        
+        log.info("병렬 인덱스 구성 완료: {}개 문서, {}개 실패, {}초 ({}개/초, 작업 스레드 {}개)",
+            metrics.getDocumentsIndexed(), metrics.getDocumentsFailed(),
+            String.format("%.1f", metrics.getElapsedSeconds()), Math.round(metrics.getDocumentsPerSecond()), threads);
+        return metrics;
+    }
+    
+    /**
+     * 유효한 입력 문서를 구절로 나눈 색인 단위 (입력 스트림은 필요한 만큼만 읽음)
+     */
+    private Iterator<Document> passages(Stream<Document> documents) {
+        return documents
+            .filter(document -> {
+                if (document == null || document.getId() == null) {
+                    log.warn("유효하지 않은 문서입니다.");
+                    return false;
+                }
+                return true;
+            })
+            // 이미 나눈 구절(저장 문서 재분석)은 다시 나누지 않음
+            .flatMap(document -> document.isPassage() ? Stream.of(document) : split(document).stream())
+            .iterator();
+    }
+    
+    /**
+     * 가격/빈티지 메타데이터를 추출한 뒤 구절로 분할 (구절은 원본 문서의 메타데이터를 물려받음)
+     */
+    private List<Document> split(Document document) {
+        return chunker.split(NumericMetadataExtractor.extract(document));
+    }
+    
+    /**
+     * 가장 최근 대량 색인의 진행 지표 (없으면 null)
+     */
+    public IngestionMetrics getIngestionMetrics() {
+        return ingestionMetrics;
+    }
+    
+    /**
+     * 문서 수정 (없으면 새로 추가)
+     * 
+     * 기존 문서는 삭제 표시되고 새 내용이 색인 버퍼에 추가되며, 생성 시간은 기존 문서의 값을 유지합니다.
+     * 
+     * @return 기존 문서를 교체했으면 true
+     */
+    public boolean updateDocument(Document document) {
+        if (document == null || document.getId() == null) {
+            throw new IllegalArgumentException("문서 ID가 필요합니다.");
+        }
+        
+        IndexSnapshot snapshot = index.snapshot();
+        int ordinal = resolveOrdinal(snapshot, document.getId());
+        boolean replaced = ordinal >= 0;
+        if (replaced) {
+            document.setCreatedAt(snapshot.document(ordinal).getCreatedAt());
         }
+        document.setUpdatedAt(LocalDateTime.now());
+        
+        indexPassages(document);
+        
+        log.info("문서 {}: {} ({})", replaced ? "수정됨" : "추가됨", document.getId(), document.getTitle());
+        return replaced;
     }
     
     /**
-     * 텍스트에서 단어 추출 및 정규화
+     * 문서 삭제 (툼스톤 표시, 통계는 세그먼트 병합 시 보정)
+     * 
+     * 구절로 나뉜 문서는 모든 구절을 삭제합니다.
+     * 
+     * @return 삭제된 문서가 있으면 true
+     */
+    public boolean deleteDocument(String documentId) {
+        if (documentId == null) {
+            return false;
+        }
+        
+        boolean deleted;
+        synchronized (documentLock(documentId)) {
+            deleted = removeFromIndex(documentId);
+            for (int i = 0; removeFromIndex(DocumentChunker.passageId(documentId, i)); i++) {
+                deleted = true;
+            }
+        }
+        if (deleted) {
+            log.info("문서 삭제됨: {}", documentId);
+        }
+        return deleted;
+    }
+    
+    /**
+     * 문서 배치 임베딩 (캐시에 없는 문서만 모델 1회 호출)
+     */
+    private List<float[]> embedBatch(List<Document> documents) {
+        float[][] vectors = new float[documents.size()][];
+        ContentHash[] hashes = new ContentHash[documents.size()];
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            Document document = documents.get(i);
+            if (embeddingStore != null) {
+                hashes[i] = ContentHash.of(document.getContent(), document.getTitle());
+                vectors[i] = embeddingStore.get(hashes[i]);
+            }
+            if (vectors[i] == null) {
+                misses.add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Arrays.asList(vectors);
+        }
+        
+        List<TextSegment> segments = misses.stream()
+            .map(i -> TextSegment.from(embeddingText(documents.get(i))))
+            .toList();
+        List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+        for (int m = 0; m < misses.size(); m++) {
+            int i = misses.get(m);
+            vectors[i] = embeddings.get(m).vector();
+            cacheEmbedding(hashes[i], vectors[i]);
+        }
+        return Arrays.asList(vectors);
+    }
+    
+    private void cacheEmbedding(ContentHash contentHash, float[] vector) {
+        if (embeddingStore != null) {
+            try {
+                embeddingStore.put(contentHash, vector);
+            } catch (IOException e) {
+                // 캐시 기록 실패는 다음 시작 시 다시 임베딩할 뿐이므로 색인은 계속 진행
+                log.warn("임베딩 캐시 기록 실패: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 임베딩 캐시 파일의 모델 식별자 (모델 클래스, 모델 파일 해시, 차원 중 하나라도 바뀌면 캐시를 다시 채움)
+     * 
+     * 라이브러리 버전은 JAR 매니페스트에 없을 수 있으므로 JAR에 포함된 ONNX 모델 파일의 해시를 사용합니다.
+     * 모델 파일을 찾을 수 없으면 캐시가 다른 모델의 벡터를 돌려줄 수 있으므로 null(캐시 사용 안 함)을 반환합니다.
+     */
+    private String embeddingModelId() throws IOException {
+        Class<?> modelClass = embeddingModel.getClass();
+        InputStream model = modelClass.getResourceAsStream(EMBEDDING_MODEL_RESOURCE);
+        if (model == null) {
+            model = modelClass.getResourceAsStream("/" + EMBEDDING_MODEL_RESOURCE);
+        }
+        if (model == null) {
+            log.warn("임베딩 모델 파일을 찾을 수 없어 임베딩 캐시를 사용하지 않습니다: {}", EMBEDDING_MODEL_RESOURCE);
+            return null;
+        }
+        
+        try (InputStream input = model) {
+            return modelClass.getSimpleName() + "@" + ContentHash.of(input).toHex() + "/" + embeddingModel.dimension();
+        }
+    }
+    
+    /**
+     * 임베딩 입력 텍스트 (제목 + 본문)
+     */
+    private static String embeddingText(Document document) {
+        return document.getTitle() != null ? document.getTitle() + "\n" + document.getContent() : document.getContent();
+    }
+    
+    /**
+     * 텍스트에서 단어 추출 및 정규화 (인덱스 분석기 사용)
      */
     private Set<String> extractWords(String text) {
         if (text == null) {
             return Collections.emptySet();
         }
         
-        return Arrays.stream(text.toLowerCase()
-                .replaceAll("[^가-힣a-z0-9\\s]", " ") // 한글, 영문, 숫자만 유지
-                .split("\\s+"))
-                .filter(word -> word.length() >= 2) // 2글자 이상만
-                .collect(Collectors.toSet());
+        Set<String> words = new HashSet<>();
+        index.analyzer().analyze(text, (buffer, length) -> words.add(new String(buffer, 0, length)));
+        return words;
+    }
+    
+    /**
+     * 문서 본문과 제목의 단어별 출현 빈도 계산 (내용이 같으면 캐시된 분석 결과 재사용)
+     */
+    private Map<String, Integer> extractTermFrequencies(Document document) {
+        long fingerprint = AnalysisCache.fingerprint(document.getContent(), document.getTitle());
+        Map<String, Integer> cached = analysisCache.get(document.getId(), fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Map<String, Integer> termFrequencies = analyze(document);
+        analysisCache.put(document.getId(), fingerprint, termFrequencies);
+        return termFrequencies;
+    }
+    
+    /**
+     * 문서 본문과 제목의 단어별 출현 빈도 분석 (캐시 사용 안 함)
+     */
+    private Map<String, Integer> analyze(Document document) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        StandardTokenizer.TokenConsumer counter =
+            (buffer, length) -> termFrequencies.merge(new String(buffer, 0, length), 1, Integer::sum);
+        
+        Analyzer analyzer = index.analyzer();
+        analyzer.analyze(String.valueOf(document.getContent()), counter);
+        if (document.getTitle() != null) {
+            analyzer.analyze(document.getTitle(), counter);
+        }
+        return termFrequencies;
     }
     
     /**
-     * 쿼리로 문서 검색
+     * 쿼리로 문서 검색 (기본 랭킹 함수 사용)
      */
     public List<Document> searchDocuments(String query, int maxResults) {
+        return searchDocuments(query, maxResults, RankingFunction.forName(defaultRanking));
+    }
+    
+    /**
+     * 지정한 랭킹 함수로 문서 검색 (결과마다 수정 가능한 문서 생성)
+     */
+    public List<Document> searchDocuments(String query, int maxResults, RankingFunction rankingFunction) {
+        return toDocuments(searchHits(query, maxResults, rankingFunction));
+    }
+    
+    /**
+     * 필터 조건(타입, 메타데이터)을 만족하는 문서만 검색 (기본 랭킹 함수 사용)
+     */
+    public List<Document> searchDocuments(String query, int maxResults, DocumentFilter filter) {
+        return toDocuments(searchHits(query, maxResults, filter));
+    }
+    
+    /**
+     * 쿼리로 검색 결과 조회 (기본 랭킹 함수 사용, 저장 문서를 복사하지 않음)
+     */
+    public List<SearchHit> searchHits(String query, int maxResults) {
+        return searchHits(query, maxResults, RankingFunction.forName(defaultRanking));
+    }
+    
+    /**
+     * 지정한 랭킹 함수로 검색 결과 조회 (저장 문서를 복사하지 않음)
+     */
+    public List<SearchHit> searchHits(String query, int maxResults, RankingFunction rankingFunction) {
+        return searchHits(query, maxResults, rankingFunction, DocumentFilter.NONE);
+    }
+    
+    /**
+     * 필터 조건을 만족하는 문서만 검색 결과로 조회 (기본 랭킹 함수 사용, 저장 문서를 복사하지 않음)
+     */
+    public List<SearchHit> searchHits(String query, int maxResults, DocumentFilter filter) {
+        return searchHits(query, maxResults, RankingFunction.forName(defaultRanking), filter);
+    }
+    
+    /**
+     * 필터 조건을 만족하는 문서만 검색 결과로 조회 (저장 문서를 복사하지 않음)
+     * 
+     * 필터는 포스팅을 순회하며 스코어를 계산하기 전에 세그먼트 열 값으로 판정하므로, 결과 수는 필터를 통과한 문서 기준입니다.
+     */
+    public List<SearchHit> searchHits(String query, int maxResults, RankingFunction rankingFunction,
+                                      DocumentFilter filter) {
         if (query == null || query.trim().isEmpty()) {
             return Collections.emptyList();
         }
         
-        log.debug("문서 검색: '{}' (최대 {}개)", query, maxResults);
+        log.debug("문서 검색: '{}' (최대 {}개, {}, 필터 {})", query, maxResults, rankingFunction.getName(), filter);
         
         // 쿼리에서 키워드 추출
         Set<String> queryWords = extractWords(query);
@@ -195,53 +924,119 @@ public class DocumentRetriever {
             return Collections.emptyList();
         }
         
-        // 문서별 스코어 계산
-        Map<String, Double> documentScores = calculateDocumentScores(queryWords);
-        
-        // 스코어 기준으로 정렬하여 상위 문서 반환
-        List<Document> results = documentScores.entrySet().stream()
-            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-            .limit(maxResults)
-            .map(entry -> {
-                Document doc = documentStore.get(entry.getKey()).copy();
-                doc.setRelevanceScore(entry.getValue());
-                return doc;
-            })
-            .collect(Collectors.toList());
+        // 상위 문서만 힙으로 선택하여 반환 (같은 쿼리 단어의 포스팅이 바뀌지 않았으면 캐시된 결과)
+        List<SearchHit> results = queryCache.get(queryWords, maxResults, rankingFunction.getName(), filter,
+            () -> searchTopDocuments(queryWords, maxResults, rankingFunction, filter, ordinal -> true));
         
         log.debug("검색 결과: {}개 문서", results.size());
         return results;
     }
     
     /**
-     * TF-IDF 기반 문서 스코어 계산
+     * 스코어 계산 후 상위 K개 문서를 선택하여 검색 결과로 변환
+     */
+    private List<SearchHit> searchTopDocuments(Set<String> queryWords, int maxResults, RankingFunction rankingFunction,
+                                               DocumentFilter filter, IntPredicate accept) {
+        // 검색 시점의 세그먼트 목록을 고정 (이후 추가되는 문서는 무시)
+        IndexSnapshot snapshot = index.snapshot();
+        return toHits(snapshot, lexicalTopDocs(snapshot, queryWords, maxResults, rankingFunction, filter, accept));
+    }
+    
+    /**
+     * 키워드 스코어 상위 K개 스냅샷 순번
+     * 
+     * @param filter 스코어 계산 전에 적용하는 세그먼트 단위 필터
+     * @param accept 상위 K개 수집 시 적용하는 전역 순번 조건
+     */
+    private TopDocs lexicalTopDocs(IndexSnapshot snapshot, Set<String> queryWords, int maxResults,
+                                   RankingFunction rankingFunction, DocumentFilter filter, IntPredicate accept) {
+        ScoreAccumulator accumulator = calculateDocumentScores(snapshot, queryWords, rankingFunction, filter);
+        
+        TopKCollector collector = new TopKCollector(maxResults);
+        accumulator.collectInto(collector, ordinal -> snapshot.isLive(ordinal) && accept.test(ordinal));
+        return collector.topDocs();
+    }
+    
+    /**
+     * 스냅샷 순번을 검색 결과로 변환 (저장 문서를 그대로 참조)
+     */
+    private static List<SearchHit> toHits(IndexSnapshot snapshot, TopDocs topDocs) {
+        List<SearchHit> results = new ArrayList<>(topDocs.size());
+        for (int i = 0; i < topDocs.size(); i++) {
+            int ordinal = topDocs.ordinals()[i];
+            results.add(new SearchHit(ordinal, topDocs.scores()[i], snapshot.document(ordinal)));
+        }
+        return results;
+    }
+    
+    /**
+     * 검색 결과를 수정 가능한 결과 문서로 변환 (relevanceScore = 검색 스코어)
+     */
+    private static List<Document> toDocuments(List<SearchHit> hits) {
+        List<Document> results = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            results.add(hit.toDocument());
+        }
+        return results;
+    }
+    
+    /**
+     * 랭킹 함수 기반 문서 스코어 계산 (세그먼트별 순번 + docBase = 전역 순번)
+     * 
+     * 필터를 통과하지 못한 문서는 스코어를 계산하지 않습니다. 세그먼트별 필터 조건은 쿼리 단어마다가 아니라 한 번만 만듭니다.
+     * 누적기는 쿼리 단어의 문서 빈도 합(포스팅 길이 합)에 맞춰 고르므로, 희귀 단어 쿼리는 문서 수 크기의 배열을 할당하지 않습니다.
      */
-    private Map<String, Double> calculateDocumentScores(Set<String> queryWords) {
-        Map<String, Double> scores = new HashMap<>();
-        int totalDocuments = documentStore.size();
+    private ScoreAccumulator calculateDocumentScores(IndexSnapshot snapshot, Set<String> queryWords,
+                                                     RankingFunction rankingFunction, DocumentFilter filter) {
+        int totalDocuments = snapshot.maxDoc();
+        double averageDocumentLength = snapshot.averageDocumentLength();
         
+        // 문서 빈도를 먼저 조회하여 매칭될 수 있는 문서 수 상한 계산
+        List<String> words = new ArrayList<>(queryWords.size());
+        int[] documentFrequencies = new int[queryWords.size()];
+        long postingsLength = 0;
         for (String word : queryWords) {
-            Set<String> documentIds = invertedIndex.get(word);
-            if (documentIds == null) {
-                continue;
+            int documentFrequency = snapshot.documentFrequency(word);
+            if (documentFrequency > 0) {
+                documentFrequencies[words.size()] = documentFrequency;
+                words.add(word);
+                postingsLength += documentFrequency;
             }
+        }
+        ScoreAccumulator scores = ScoreAccumulator.forPostings(totalDocuments, postingsLength);
+        
+        List<IndexSnapshot.Leaf> leaves = snapshot.leaves();
+        IntPredicate[] leafFilters = new IntPredicate[leaves.size()];
+        for (int i = 0; i < leafFilters.length; i++) {
+            leafFilters[i] = filter.forSegment(leaves.get(i).segment());
+        }
+        
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
             
-            // IDF 계산
-            double idf = Math.log((double) totalDocuments / documentIds.size());
+            // IDF 계산 (모든 세그먼트의 문서 빈도 합계 기준)
+            double idf = rankingFunction.idf(documentFrequencies[w], totalDocuments);
             
-            for (String docId : documentIds) {
-                Document doc = documentStore.get(docId);
-                if (doc == null) {
+            for (int i = 0; i < leafFilters.length; i++) {
+                IndexSnapshot.Leaf leaf = leaves.get(i);
+                PostingsList postings = leaf.segment().postings(word);
+                if (postings == null) {
                     continue;
                 }
                 
-                // TF 계산 (간단한 단어 빈도)
-                long tf = countWordOccurrences(doc.getContent() + " " + doc.getTitle(), word);
-                
-                // TF-IDF 스코어 계산
-                double tfidf = tf * idf;
-                
-                scores.merge(docId, tfidf, Double::sum);
+                int docBase = leaf.docBase();
+                int maxOrdinal = leaf.maxDoc();
+                IntPredicate leafFilter = leafFilters[i];
+                PostingsIterator iterator = postings.iterator();
+                for (int ordinal = iterator.nextDoc(); ordinal < maxOrdinal; ordinal = iterator.nextDoc()) {
+                    if (!leafFilter.test(ordinal)) {
+                        continue;
+                    }
+                    // 인덱싱 시 미리 계산된 단어 빈도와 문서 길이로 스코어 계산
+                    double score = rankingFunction.score(iterator.freq(), leaf.segment().documentLength(ordinal),
+                        averageDocumentLength, idf);
+                    scores.add(docBase + ordinal, score);
+                }
             }
         }
         
@@ -249,100 +1044,588 @@ public class DocumentRetriever {
     }
     
     /**
-     * 텍스트에서 특정 단어의 출현 빈도 계산
+     * 의미 기반 검색 (쿼리 임베딩과 코사인 유사도가 높은 순)
+     * 
+     * 단어가 겹치지 않아도 의미가 가까운 문서를 HNSW 근사 최근접 이웃 탐색으로 찾습니다.
+     * relevanceScore에는 코사인 유사도가 들어가며, 의미 검색이 꺼져 있으면 빈 목록을 반환합니다.
      */
-    private long countWordOccurrences(String text, String word) {
-        if (text == null || word == null) {
-            return 0;
+    public List<Document> semanticSearch(String query, int maxResults) {
+        if (vectorIndex == null || query == null || query.trim().isEmpty()) {
+            return Collections.emptyList();
         }
         
-        return Arrays.stream(text.toLowerCase().split("\\s+"))
-            .filter(w -> w.equals(word))
-            .count();
+        IndexSnapshot snapshot = index.snapshot();
+        List<Document> results = toDocuments(toHits(snapshot,
+            semanticTopDocs(snapshot, query, maxResults, DocumentFilter.NONE)));
+        
+        log.debug("의미 검색 결과: '{}' → {}개 문서", query, results.size());
+        return results;
+    }
+    
+    /**
+     * 의미 유사도 상위 K개 스냅샷 순번 (벡터 검색 후 삭제/교체된 문서와 필터를 통과하지 못한 문서는 제외)
+     * 
+     * 벡터 인덱스는 필터를 모르므로 필터는 검색 결과에 적용하며, 조건이 좁으면 결과가 K개보다 적을 수 있습니다.
+     */
+    private TopDocs semanticTopDocs(IndexSnapshot snapshot, String query, int maxResults, DocumentFilter filter) {
+        float[] queryVector = embeddingModel.embed(query).content().vector();
+        // 벡터 인덱스 순번은 그래프 재구성 시 바뀌므로 검색과 같은 락 안에서 변환한 문서 ID 사용
+        List<HnswIndex.Neighbor> hits = vectorIndex.searchDocuments(queryVector, maxResults, hnswEfSearch);
+        
+        Map<IndexSnapshot.Leaf, IntPredicate> leafFilters = new HashMap<>();
+        int[] ordinals = new int[hits.size()];
+        double[] scores = new double[hits.size()];
+        int count = 0;
+        for (HnswIndex.Neighbor hit : hits) {
+            int ordinal = snapshot.ordinalOf(hit.documentId());
+            if (ordinal >= 0 && snapshot.isLive(ordinal) && accepts(snapshot, leafFilters, filter, ordinal)) {
+                ordinals[count] = ordinal;
+                scores[count++] = hit.score();
+            }
+        }
+        return new TopDocs(Arrays.copyOf(ordinals, count), Arrays.copyOf(scores, count));
+    }
+    
+    /**
+     * 전역 순번의 문서가 필터를 통과하는지 확인 (세그먼트별 조건은 한 번만 생성)
+     */
+    private static boolean accepts(IndexSnapshot snapshot, Map<IndexSnapshot.Leaf, IntPredicate> leafFilters,
+                                   DocumentFilter filter, int ordinal) {
+        if (filter.isEmpty()) {
+            return true;
+        }
+        IndexSnapshot.Leaf leaf = snapshot.leafFor(ordinal);
+        return leafFilters.computeIfAbsent(leaf, l -> filter.forSegment(l.segment())).test(ordinal - leaf.docBase());
+    }
+    
+    /**
+     * 키워드 + 의미 하이브리드 검색
+     * 
+     * 벡터 검색(쿼리 임베딩 포함)은 별도 스레드에서, 키워드 검색은 호출 스레드에서 같은 스냅샷으로 동시에 실행하므로
+     * 지연시간은 두 검색의 합이 아니라 느린 쪽에 맞춰집니다. 두 순위 목록은 설정된 방식(rrf, weighted)으로 융합하고,
+     * 같은 문서는 스냅샷 순번으로 식별하여 한 번만 포함합니다.
+     * 
+     * 의미 검색이 꺼져 있거나 실패하면 키워드 검색 결과만 사용합니다. relevanceScore에는 0~1 범위의 융합 스코어가 들어갑니다.
+     */
+    public List<Document> hybridSearch(String query, int maxResults) {
+        return toDocuments(hybridSearchHits(query, maxResults));
+    }
+    
+    /**
+     * 필터 조건(타입, 메타데이터, 숫자 범위)을 만족하는 문서만 하이브리드 검색
+     * 
+     * 키워드 검색은 스코어 계산 전에, 의미 검색은 벡터 검색 결과에 필터를 적용합니다.
+     */
+    public List<Document> hybridSearch(String query, int maxResults, DocumentFilter filter) {
+        return toDocuments(hybridSearchHits(query, maxResults, filter));
+    }
+    
+    /**
+     * 키워드 + 의미 하이브리드 검색 결과 조회 (저장 문서를 복사하지 않음, 스코어는 0~1 범위의 융합 스코어)
+     */
+    public List<SearchHit> hybridSearchHits(String query, int maxResults) {
+        return hybridSearchHits(query, maxResults, DocumentFilter.NONE);
     }
     
     /**
-     * 문서 타입별 검색
+     * 필터 조건을 만족하는 문서만 하이브리드 검색 결과로 조회 (저장 문서를 복사하지 않음)
+     */
+    public List<SearchHit> hybridSearchHits(String query, int maxResults, DocumentFilter filter) {
+        if (query == null || query.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        IndexSnapshot snapshot = index.snapshot();
+        // 융합 후 순위가 바뀔 수 있도록 검색기마다 결과 수보다 깊게 조회 (전체 문서 수 이하, long으로 계산하여 넘침 방지)
+        int candidates = (int) Math.min((long) Math.max(0, maxResults) * HYBRID_CANDIDATE_FACTOR, snapshot.maxDoc());
+        
+        CompletableFuture<TopDocs> semantic = vectorIndex == null
+            ? CompletableFuture.completedFuture(EMPTY_TOP_DOCS)
+            : CompletableFuture.supplyAsync(() -> semanticTopDocs(snapshot, query, candidates, filter),
+                    semanticSearchExecutor)
+                .exceptionally(e -> {
+                    log.warn("의미 검색 실패, 키워드 검색 결과만 사용: {}", e.getMessage());
+                    return EMPTY_TOP_DOCS;
+                });
+        
+        Set<String> queryWords = extractWords(query);
+        TopDocs lexical = queryWords.isEmpty() ? EMPTY_TOP_DOCS
+            : cachedLexicalTopDocs(snapshot, queryWords, candidates, filter);
+        
+        TopDocs semanticHits = semantic.join();
+        TopDocs fused = RankFusion.forName(fusionMethod).fuse(List.of(lexical, semanticHits),
+            new double[] {1.0 - semanticWeight, semanticWeight}, maxResults);
+        
+        List<SearchHit> results = toHits(snapshot, fused);
+        log.debug("하이브리드 검색 결과: '{}' → {}개 문서 (키워드 {}개, 의미 {}개, {})",
+            query, results.size(), lexical.size(), semanticHits.size(), fusionMethod);
+        return results;
+    }
+    
+    /**
+     * 키워드 스코어 상위 K개를 검색 결과 캐시를 거쳐 조회하여 스냅샷 순번으로 변환 (하이브리드 검색의 키워드 검색)
+     * 
+     * 캐시된 결과는 다른 스냅샷(봉인/병합 전)에서 계산되었을 수 있으므로 문서 ID로 현재 스냅샷의 순번을 다시 찾고,
+     * 현재 스냅샷에 없는 문서는 제외합니다. 캐시를 쓰지 않으면 현재 스냅샷에서 바로 계산합니다.
+     */
+    private TopDocs cachedLexicalTopDocs(IndexSnapshot snapshot, Set<String> queryWords, int maxResults,
+                                         DocumentFilter filter) {
+        RankingFunction rankingFunction = RankingFunction.forName(defaultRanking);
+        if (!queryCache.isEnabled()) {
+            return lexicalTopDocs(snapshot, queryWords, maxResults, rankingFunction, filter, ordinal -> true);
+        }
+        
+        // 키워드 검색과 같은 캐시 항목 (loader는 세대를 읽은 뒤 새 스냅샷으로 검색)
+        List<SearchHit> hits = queryCache.get(queryWords, maxResults, rankingFunction.getName(), filter,
+            () -> searchTopDocuments(queryWords, maxResults, rankingFunction, filter, ordinal -> true));
+        int[] ordinals = new int[hits.size()];
+        double[] scores = new double[hits.size()];
+        int count = 0;
+        for (SearchHit hit : hits) {
+            int ordinal = snapshot.ordinalOf(hit.id());
+            if (ordinal >= 0) {
+                ordinals[count] = ordinal;
+                scores[count++] = hit.score();
+            }
+        }
+        return new TopDocs(Arrays.copyOf(ordinals, count), Arrays.copyOf(scores, count));
+    }
+    
+    /**
+     * 의미 검색 사용 가능 여부
+     */
+    public boolean isSemanticSearchEnabled() {
+        return vectorIndex != null;
+    }
+    
+    /**
+     * 문서 타입별 검색 (타입 비트셋으로 스코어 계산 전에 필터링하므로 해당 타입 문서가 있으면 maxResults개를 채움)
      */
     public List<Document> searchDocumentsByType(String query, Document.DocumentType type, int maxResults) {
-        List<Document> allResults = searchDocuments(query, maxResults * 2);
+        return searchDocuments(query, maxResults, DocumentFilter.ofType(type));
+    }
+    
+    /**
+     * 숫자 메타데이터 범위 검색 (가격, 빈티지, 결과마다 수정 가능한 문서 생성)
+     * 
+     * @see #rangeHits(String, DocumentFilter.Range, DocumentFilter, int, boolean)
+     */
+    public List<Document> findDocumentsInRange(String field, DocumentFilter.Range range, DocumentFilter filter,
+                                               int maxResults, boolean descending) {
+        return toDocuments(rangeHits(field, range, filter, maxResults, descending));
+    }
+    
+    /**
+     * 숫자 메타데이터 범위 검색 (값 순서, 저장 문서를 복사하지 않음)
+     * 
+     * 키워드 스코어를 계산하지 않고 세그먼트별 {@link NumericRangeIndex}에서 이진 탐색으로 범위 경계를 찾은 뒤,
+     * 값 순서대로 삭제 여부와 필터를 확인하여 세그먼트마다 원본 문서 maxResults개까지만 후보로 모읍니다.
+     * 같은 원본 문서의 구절은 값이 앞선 하나만 포함하며, 결과 스코어는 모두 1.0입니다 (값은 메타데이터에서 읽음).
+     * 
+     * @param field 숫자 메타데이터 키 ({@link #RANGE_FIELDS} 중 하나)
+     * @param filter 범위와 함께 적용할 타입/메타데이터 조건
+     * @param descending 값 내림차순 정렬 (기본은 오름차순)
+     * @throws IllegalArgumentException 범위 검색을 허용하지 않는 키인 경우
+     */
+    public List<SearchHit> rangeHits(String field, DocumentFilter.Range range, DocumentFilter filter,
+                                     int maxResults, boolean descending) {
+        if (field == null || !RANGE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("범위 검색을 지원하지 않는 필드입니다: " + field);
+        }
+        if (range == null || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+        
+        IndexSnapshot snapshot = index.snapshot();
+        List<RangeCandidate> candidates = new ArrayList<>();
+        for (IndexSnapshot.Leaf leaf : snapshot.leaves()) {
+            NumericRangeIndex rangeIndex = leaf.segment().docValues().rangeIndex(field);
+            IntPredicate leafFilter = filter.forSegment(leaf.segment());
+            Set<String> parents = new HashSet<>();
+            rangeIndex.visit(range, descending, position -> {
+                int ordinal = rangeIndex.ordinal(position);
+                if (leaf.isLive(ordinal) && leafFilter.test(ordinal)) {
+                    Document document = leaf.segment().document(ordinal);
+                    if (parents.add(document.getParentId())) {
+                        candidates.add(new RangeCandidate(rangeIndex.value(position), leaf.docBase() + ordinal,
+                            document));
+                    }
+                }
+                return parents.size() < maxResults;
+            });
+        }
         
-        return allResults.stream()
-            .filter(doc -> doc.getType() == type)
-            .limit(maxResults)
-            .collect(Collectors.toList());
+        // 세그먼트별 후보를 값 순서로 병합 (값이 같으면 전역 순번 순)
+        Comparator<RangeCandidate> order = Comparator.comparingDouble(RangeCandidate::value);
+        candidates.sort((descending ? order.reversed() : order).thenComparingInt(RangeCandidate::ordinal));
+        
+        Set<String> parents = new HashSet<>();
+        List<SearchHit> results = new ArrayList<>(Math.min(maxResults, candidates.size()));
+        for (RangeCandidate candidate : candidates) {
+            if (results.size() >= maxResults) {
+                break;
+            }
+            if (parents.add(candidate.document().getParentId())) {
+                results.add(new SearchHit(candidate.ordinal(), 1.0, candidate.document()));
+            }
+        }
+        
+        log.debug("범위 검색: {} {} ~ {} (필터 {}) → {}개 문서", field, range.min(), range.max(), filter, results.size());
+        return results;
+    }
+    
+    /**
+     * 범위 검색 후보 (값, 전역 순번, 저장 문서)
+     */
+    private record RangeCandidate(double value, int ordinal, Document document) {
     }
     
     /**
-     * 유사한 문서 검색
+     * 문서 ID로 저장 문서 조회 (수정 가능한 복사본)
+     * 
+     * 검색 없이 최신 세그먼트부터 ID 사전을 조회하므로 문서 상세 화면에 사용합니다.
+     * 분할된 문서의 원본 ID이면 같은 스냅샷의 모든 구절을 합친 원본 문서를, 구절 ID이면 그 구절을 반환합니다.
+     */
+    public Optional<Document> getDocument(String documentId) {
+        if (documentId == null) {
+            return Optional.empty();
+        }
+        IndexSnapshot snapshot = index.snapshot();
+        int ordinal = snapshot.ordinalOf(documentId);
+        if (ordinal >= 0) {
+            return Optional.of(new SearchHit(ordinal, 0.0, snapshot.document(ordinal)).toDocument());
+        }
+        
+        int first = snapshot.ordinalOf(DocumentChunker.passageId(documentId, 0));
+        if (first < 0) {
+            return Optional.empty();
+        }
+        Document firstPassage = snapshot.document(first);
+        int passageCount = passageCount(firstPassage);
+        List<Document> passages = new ArrayList<>(passageCount);
+        passages.add(firstPassage);
+        for (int i = 1; i < passageCount; i++) {
+            int passage = snapshot.ordinalOf(DocumentChunker.passageId(documentId, i));
+            if (passage >= 0) {
+                passages.add(snapshot.document(passage));
+            }
+        }
+        return Optional.of(DocumentChunker.join(passages));
+    }
+    
+    /**
+     * 유사한 문서 검색 (결과마다 수정 가능한 문서 생성)
+     * 
+     * @see #similarHits(String, int)
      */
     public List<Document> findSimilarDocuments(String documentId, int maxResults) {
-        Document targetDoc = documentStore.get(documentId);
-        if (targetDoc == null) {
+        return toDocuments(similarHits(documentId, maxResults));
+    }
+    
+    /**
+     * 유사한 문서 검색 (more-like-this, 저장 문서를 복사하지 않음)
+     * 
+     * 대상 문서 전체를 쿼리로 쓰지 않고, TF-IDF 가중치(문서 내 빈도 × IDF)가 높은 단어를 최대
+     * more-like-this.max-query-terms개만 골라 검색합니다. 대상 문서에만 있는 단어(문서 빈도 1)는 다른 문서와 겹치지 않으므로 제외합니다.
+     * 결과는 {@link MoreLikeThisCache}에 문서별로 보관하며, 선택 단어의 포스팅이 바뀌면 다시 검색합니다.
+     */
+    public List<SearchHit> similarHits(String documentId, int maxResults) {
+        if (documentId == null || maxResults <= 0) {
             return Collections.emptyList();
         }
+        return moreLikeThisCache.get(documentId, maxResults, depth -> moreLikeThis(documentId, depth));
+    }
+    
+    /**
+     * 대상 문서의 선택 단어로 유사 문서 검색 (같은 원본 문서의 구절 제외)
+     */
+    private MoreLikeThisCache.Result moreLikeThis(String documentId, int maxResults) {
+        IndexSnapshot snapshot = index.snapshot();
+        int targetOrdinal = resolveOrdinal(snapshot, documentId);
+        if (targetOrdinal < 0) {
+            return MoreLikeThisCache.Result.EMPTY;
+        }
+        Document targetDoc = snapshot.document(targetOrdinal);
+        
+        // 같은 원본 문서의 구절 (겹치는 내용 때문에 항상 가장 유사하므로 결과에서 제외)
+        Set<Integer> siblings = new HashSet<>();
+        siblings.add(targetOrdinal);
+        for (int i = 0; i < passageCount(targetDoc); i++) {
+            siblings.add(snapshot.ordinalOf(DocumentChunker.passageId(targetDoc.getParentId(), i)));
+        }
         
-        // 대상 문서의 내용을 쿼리로 사용하여 유사 문서 검색
-        return searchDocuments(targetDoc.getContent(), maxResults + 1).stream()
-            .filter(doc -> !doc.getId().equals(documentId)) // 자기 자신 제외
-            .limit(maxResults)
-            .collect(Collectors.toList());
+        RankingFunction rankingFunction = RankingFunction.forName(defaultRanking);
+        List<String> terms = moreLikeThisTerms(snapshot, targetDoc, rankingFunction);
+        if (terms.isEmpty()) {
+            return MoreLikeThisCache.Result.EMPTY;
+        }
+        
+        // 자기 자신과 구절은 수집 단계에서 제외
+        TopDocs topDocs = lexicalTopDocs(snapshot, new HashSet<>(terms), maxResults, rankingFunction,
+            DocumentFilter.NONE, ordinal -> !siblings.contains(ordinal));
+        return new MoreLikeThisCache.Result(terms, toHits(snapshot, topDocs));
+    }
+    
+    /**
+     * 대상 문서에서 변별력이 높은 단어 선택 (TF-IDF 가중치 내림차순, 같으면 단어 순)
+     */
+    private List<String> moreLikeThisTerms(IndexSnapshot snapshot, Document document, RankingFunction rankingFunction) {
+        int totalDocuments = snapshot.maxDoc();
+        List<Map.Entry<String, Double>> weighted = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : extractTermFrequencies(document).entrySet()) {
+            int documentFrequency = snapshot.documentFrequency(entry.getKey());
+            if (documentFrequency <= 1) {
+                continue;
+            }
+            double weight = entry.getValue() * rankingFunction.idf(documentFrequency, totalDocuments);
+            weighted.add(Map.entry(entry.getKey(), weight));
+        }
+        
+        return weighted.stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(moreLikeThisMaxQueryTerms)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+    
+    /**
+     * 키워드 기반 빠른 검색 (결과 문서는 수정 가능한 복사본)
+     * 
+     * @see #quickSearchHits(String, int)
+     */
+    public List<Document> quickSearch(String keyword, int maxResults) {
+        return toDocuments(quickSearchHits(keyword, maxResults));
     }
     
     /**
-     * 키워드 기반 빠른 검색 (정확한 매칭)
+     * 키워드 기반 빠른 검색 (단어 사전 트라이 조회, 저장 문서를 복사하지 않는 검색 결과)
+     * 
+     * 키워드의 각 단어를 세그먼트별 단어 사전 트라이에서 정확히 일치, 접두사 일치, 오타 허용(편집 거리) 일치 단어로
+     * 확장한 뒤 포스팅 리스트로 문서를 찾으므로, 문서 수가 아닌 사전 크기에 비례하는 비용으로 동작합니다.
+     * '*', '?'가 들어간 단어는 와일드카드 패턴으로 조회합니다.
+     * 
+     * 모든 단어가 매칭되는 문서만 반환하며, 제목에 키워드가 있는 문서를 먼저, 그다음은 매칭 품질 순으로 정렬합니다
+     * (스코어 = 단어별 최고 매칭 품질의 합). 매칭 품질은 기본형 누적기에 모으고 상위 K개 선택기로 결과 수만큼만 고르며,
+     * 제목은 매칭 문서마다 한 번만 소문자로 바꿉니다.
      */
-    public List<Document> quickSearch(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
+    public List<SearchHit> quickSearchHits(String keyword, int maxResults) {
+        if (keyword == null || keyword.trim().isEmpty() || maxResults <= 0) {
             return Collections.emptyList();
         }
         
-        return documentStore.values().stream()
-            .filter(doc -> doc.containsKeyword(keyword))
-            .sorted((d1, d2) -> {
-                // 제목에 키워드가 있는 것을 우선
-                boolean d1HasInTitle = d1.getTitle() != null && 
-                    d1.getTitle().toLowerCase().contains(keyword.toLowerCase());
-                boolean d2HasInTitle = d2.getTitle() != null && 
-                    d2.getTitle().toLowerCase().contains(keyword.toLowerCase());
-                
-                if (d1HasInTitle && !d2HasInTitle) return -1;
-                if (!d1HasInTitle && d2HasInTitle) return 1;
-                return 0;
-            })
-            .collect(Collectors.toList());
+        List<String> queryTerms = extractQuickSearchTerms(keyword);
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        IndexSnapshot snapshot = index.snapshot();
+        
+        // 단어마다 매칭 문서를 구하고 이전 단어까지의 후보와 교집합 (스코어 = 누적 매칭 품질)
+        ScoreAccumulator matches = null;
+        for (String queryTerm : queryTerms) {
+            List<List<Map.Entry<String, Integer>>> leafExpansions = new ArrayList<>(snapshot.leaves().size());
+            long postingsLength = 0;
+            for (IndexSnapshot.Leaf leaf : snapshot.leaves()) {
+                // 품질이 높은 확장부터 처리하여 문서마다 처음 매칭된 확장의 품질이 최고 품질이 되도록 정렬
+                List<Map.Entry<String, Integer>> expansions =
+                    new ArrayList<>(expandQuickSearchTerm(leaf.segment().termTrie(), queryTerm).entrySet());
+                expansions.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+                for (Map.Entry<String, Integer> expansion : expansions) {
+                    postingsLength += leaf.segment().postings(expansion.getKey()).size();
+                }
+                leafExpansions.add(expansions);
+            }
+            
+            // 교집합은 이전 단어의 매칭 수를 넘지 않음
+            ScoreAccumulator termMatches = ScoreAccumulator.forPostings(snapshot.maxDoc(),
+                matches != null ? Math.min(postingsLength, matches.matchCount()) : postingsLength);
+            for (int l = 0; l < snapshot.leaves().size(); l++) {
+                IndexSnapshot.Leaf leaf = snapshot.leaves().get(l);
+                int docBase = leaf.docBase();
+                for (Map.Entry<String, Integer> expansion : leafExpansions.get(l)) {
+                    PostingsIterator iterator = leaf.segment().postings(expansion.getKey()).iterator();
+                    for (int ordinal = iterator.nextDoc(); ordinal < leaf.maxDoc(); ordinal = iterator.nextDoc()) {
+                        int globalOrdinal = docBase + ordinal;
+                        if (leaf.isLive(ordinal) && !termMatches.contains(globalOrdinal)
+                            && (matches == null || matches.contains(globalOrdinal))) {
+                            termMatches.add(globalOrdinal,
+                                expansion.getValue() + (matches != null ? matches.score(globalOrdinal) : 0));
+                        }
+                    }
+                }
+            }
+            
+            matches = termMatches;
+            if (matches.matchCount() == 0) {
+                return Collections.emptyList();
+            }
+        }
+        
+        // 제목에 키워드가 있는 문서를 먼저 고르고, 남은 자리를 나머지 문서로 채움 (제목 검사는 문서마다 한 번)
+        String lowerKeyword = keyword.toLowerCase();
+        BitSet titleMatches = new BitSet();
+        TopKCollector titled = new TopKCollector(maxResults);
+        matches.collectInto(titled, ordinal -> {
+            String title = snapshot.document(ordinal).getTitle();
+            if (title != null && title.toLowerCase().contains(lowerKeyword)) {
+                titleMatches.set(ordinal);
+                return true;
+            }
+            return false;
+        });
+        
+        List<SearchHit> results = new ArrayList<>(toHits(snapshot, titled.topDocs()));
+        if (results.size() < maxResults) {
+            TopKCollector others = new TopKCollector(maxResults - results.size());
+            matches.collectInto(others, ordinal -> !titleMatches.get(ordinal));
+            results.addAll(toHits(snapshot, others.topDocs()));
+        }
+        return results;
+    }
+    
+    /**
+     * 빠른 검색 키워드를 조회 단위로 분리 (와일드카드 단어는 소문자 패턴 그대로, 나머지는 분석기 적용)
+     */
+    private List<String> extractQuickSearchTerms(String keyword) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        for (String piece : keyword.trim().split("\\s+")) {
+            if (piece.indexOf('*') >= 0 || piece.indexOf('?') >= 0) {
+                // 와일드카드만으로 된 패턴은 사전 전체와 일치하므로 제외
+                if (!piece.replace("*", "").replace("?", "").isEmpty()) {
+                    queryTerms.add(piece.toLowerCase());
+                }
+            } else {
+                index.analyzer().analyze(piece, (buffer, length) -> queryTerms.add(new String(buffer, 0, length)));
+            }
+        }
+        return new ArrayList<>(queryTerms);
     }
     
     /**
-     * 전체 문서 수 반환
+     * 트라이에서 쿼리 단어와 매칭되는 사전 단어와 매칭 품질 조회
+     */
+    private static Map<String, Integer> expandQuickSearchTerm(TermTrie trie, String queryTerm) {
+        Map<String, Integer> expansions = new HashMap<>();
+        if (queryTerm.indexOf('*') >= 0 || queryTerm.indexOf('?') >= 0) {
+            trie.wildcard(queryTerm, term -> expansions.put(term, PREFIX_MATCH));
+            return expansions;
+        }
+        
+        trie.prefix(queryTerm, term ->
+            expansions.put(term, term.length() == queryTerm.length() ? EXACT_MATCH : PREFIX_MATCH));
+        
+        // 짧은 단어는 오타 허용 시 무관한 단어가 많이 걸리므로 길이에 따라 허용 편집 거리 조정
+        int maxEdits = queryTerm.length() < 3 ? 0 : queryTerm.length() < 6 ? 1 : 2;
+        if (maxEdits > 0) {
+            trie.fuzzy(queryTerm, maxEdits, (term, edits) -> expansions.putIfAbsent(term, FUZZY_MATCH));
+        }
+        return expansions;
+    }
+    
+    /**
+     * 전체 원본 문서 수 반환 (구절로 나뉜 문서도 하나로 셈)
      */
     public int getDocumentCount() {
-        return documentStore.size();
+        IndexSnapshot snapshot = index.snapshot();
+        return (int) parentOrdinals(snapshot).count();
+    }
+    
+    /**
+     * 색인된 검색 단위 수 반환 (나뉘지 않은 문서와 구절 각각)
+     */
+    public int getPassageCount() {
+        return index.snapshot().liveDocumentCount();
     }
     
     /**
-     * 문서 타입별 개수 반환
+     * 문서 타입별 원본 문서 수 반환
      */
     public Map<Document.DocumentType, Long> getDocumentCountByType() {
-        return documentStore.values().stream()
+        IndexSnapshot snapshot = index.snapshot();
+        return parentOrdinals(snapshot)
+            .mapToObj(snapshot::documentType)
             .collect(Collectors.groupingBy(
-                Document::getType,
+                type -> type,
                 Collectors.counting()
             ));
     }
     
+    /**
+     * 검색 결과 캐시 용량 변경 (기존 항목을 버리고 유사 문서 캐시도 다시 만듦, 0이면 두 캐시 모두 사용 안 함)
+     * 
+     * 같은 쿼리를 반복하는 벤치마크가 캐시 적중 대신 검색 경로를 측정하도록 캐시를 끄는 데 사용합니다.
+     * 검색과 동시에 호출하지 않아야 합니다.
+     */
+    public void setQueryCacheMaxBytes(long maxBytes) {
+        queryCacheMaxBytes = maxBytes;
+        queryCache = new QueryResultCache(maxBytes);
+        moreLikeThisCache = new MoreLikeThisCache(queryCache, moreLikeThisCacheSize);
+    }
+    
+    /**
+     * 검색 결과 캐시 통계 (적중률, 제거, 검색 지연, 유사 문서 캐시)
+     */
+    public Map<String, Object> getQueryCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(queryCache.stats());
+        stats.put("moreLikeThis", moreLikeThisCache.stats());
+        return stats;
+    }
+    
+    /**
+     * 스냅샷의 삭제되지 않은 문서 순번
+     */
+    private IntStream liveOrdinals(IndexSnapshot snapshot) {
+        return IntStream.range(0, snapshot.maxDoc()).filter(snapshot::isLive);
+    }
+    
+    /**
+     * 나뉘지 않은 문서와 첫 구절의 전역 순번 (원본 문서당 하나)
+     */
+    private IntStream parentOrdinals(IndexSnapshot snapshot) {
+        return liveOrdinals(snapshot)
+            .filter(ordinal -> !DocumentChunker.isContinuationPassageId(snapshot.documentId(ordinal)));
+    }
+    
     /**
      * 인덱스 상태 정보 반환
      */
     public String getIndexStatus() {
+        IndexSnapshot snapshot = index.snapshot();
+        long postingsCount = 0;
+        Set<String> terms = new HashSet<>();
+        for (IndexSnapshot.Leaf leaf : snapshot.leaves()) {
+            Iterator<String> iterator = leaf.segment().terms();
+            while (iterator.hasNext()) {
+                String term = iterator.next();
+                terms.add(term);
+                postingsCount += leaf.segment().postings(term).size();
+            }
+        }
+        
         return String.format(
-            "문서: %d개, 인덱스 단어: %d개, 평균 문서당 단어: %.1f개",
-            documentStore.size(),
-            invertedIndex.size(),
-            invertedIndex.values().stream()
-                .mapToInt(Set::size)
-                .average()
-                .orElse(0.0)
+            "문서: %d개 (구절 %d개), 인덱스 단어: %d개, 평균 문서당 단어: %.1f개, 평균 문서 길이: %.1f, " +
+            "세그먼트: %d개%s, 힙 메모리: %.1fKB, 매핑 파일: %.1fKB, 분석기: %s, 분석 캐시: %d개 (적중 %d, 실패 %d), " +
+            "벡터 인덱스: %s, 임베딩 캐시: %s",
+            parentOrdinals(snapshot).count(),
+            snapshot.liveDocumentCount(),
+            terms.size(),
+            terms.isEmpty() ? 0.0 : (double) postingsCount / terms.size(),
+            snapshot.averageDocumentLength(),
+            index.segmentCount(),
+            index.isPersistent() ? "" : " (힙)",
+            index.ramBytesUsed() / 1024.0,
+            index.mappedBytes() / 1024.0,
+            index.analyzer().getName(),
+            analysisCache.size(),
+            analysisCache.hitCount(),
+            analysisCache.missCount(),
+            vectorIndex != null
+                ? String.format("%d개 (%.1fKB)", vectorIndex.size(), vectorIndex.ramBytesUsed() / 1024.0)
+                : "사용 안 함",
+            embeddingStore != null
+                ? String.format("%d개 (적중 %d, 실패 %d)", embeddingStore.size(),
+                    embeddingStore.hitCount(), embeddingStore.missCount())
+                : "사용 안 함"
         );
     }
-}
\ No newline at end of file
+}
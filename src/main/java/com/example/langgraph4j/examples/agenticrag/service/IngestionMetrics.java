@@ -0,0 +1,113 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 색인 진행 지표
+ * 
+ * 색인이 진행되는 동안 여러 스레드가 갱신하고, 상태 API가 언제든 읽을 수 있도록 원자적 카운터만 사용합니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+public final class IngestionMetrics {
+    
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong documentsRead = new AtomicLong();
+    private final AtomicLong documentsPrepared = new AtomicLong();
+    private final AtomicLong documentsIndexed = new AtomicLong();
+    private final AtomicLong documentsFailed = new AtomicLong();
+    private final AtomicLong embeddingNanos = new AtomicLong();
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private volatile long finishNanos;
+    
+    void documentsRead(int count) {
+        documentsRead.addAndGet(count);
+    }
+    
+    void batchSubmitted() {
+        batchesInFlight.incrementAndGet();
+    }
+    
+    void batchPrepared(int count, long embeddingTimeNanos) {
+        documentsPrepared.addAndGet(count);
+        embeddingNanos.addAndGet(embeddingTimeNanos);
+    }
+    
+    void batchCompleted() {
+        batchesInFlight.decrementAndGet();
+    }
+    
+    void documentIndexed() {
+        documentsIndexed.incrementAndGet();
+    }
+    
+    void documentsIndexed(int count) {
+        documentsIndexed.addAndGet(count);
+    }
+    
+    void documentsFailed(int count) {
+        documentsFailed.addAndGet(count);
+    }
+    
+    void finish() {
+        finishNanos = System.nanoTime();
+    }
+    
+    /**
+     * 진행 중 여부
+     */
+    public boolean isRunning() {
+        return finishNanos == 0;
+    }
+    
+    /**
+     * 색인 완료 문서 수
+     */
+    public long getDocumentsIndexed() {
+        return documentsIndexed.get();
+    }
+    
+    /**
+     * 실패 문서 수
+     */
+    public long getDocumentsFailed() {
+        return documentsFailed.get();
+    }
+    
+    /**
+     * 경과 시간 (초)
+     */
+    public double getElapsedSeconds() {
+        long end = finishNanos != 0 ? finishNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+    
+    /**
+     * 초당 색인 문서 수
+     */
+    public double getDocumentsPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? documentsIndexed.get() / elapsed : 0;
+    }
+    
+    /**
+     * 상태 API 응답용 지표
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("running", isRunning());
+        metrics.put("documentsRead", documentsRead.get());
+        metrics.put("documentsPrepared", documentsPrepared.get());
+        metrics.put("documentsIndexed", documentsIndexed.get());
+        metrics.put("documentsFailed", documentsFailed.get());
+        metrics.put("batchesInFlight", batchesInFlight.get());
+        metrics.put("elapsedSeconds", Math.round(getElapsedSeconds() * 10) / 10.0);
+        metrics.put("documentsPerSecond", Math.round(getDocumentsPerSecond()));
+        metrics.put("embeddingCpuSeconds", Math.round(embeddingNanos.get() / 1e8) / 10.0);
+        return metrics;
+    }
+}
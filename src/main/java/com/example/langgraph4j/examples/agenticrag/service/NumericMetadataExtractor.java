@@ -0,0 +1,68 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 문서 내용과 제목에서 범위 검색용 숫자 메타데이터를 추출하는 도구
+ * 
+ * 내용의 {@code 가격: ₩35,000} 줄은 {@link Document#PRICE_KEY}로, 제목 끝의 연도({@code 샤토 마고 2015})는
+ * {@link Document#VINTAGE_KEY}로 저장합니다. 코퍼스 파일, 문서 추가 API, 수정 API로 들어온 문서가 모두 같은 값을 갖도록
+ * 색인 경로에서 구절로 나누기 전에 적용하며, 요청에 이미 들어 있는 값은 덮어쓰지 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+final class NumericMetadataExtractor {
+    
+    // 가격 줄 ("• 가격: ₩35,000", "가격: 35,000원")
+    private static final Pattern PRICE_PATTERN = Pattern.compile("가격\\s*[:：]\\s*₩?\\s*(\\d[\\d,]*)");
+    
+    // 제목 끝의 빈티지 연도 ("샤토 마고 2015")
+    private static final Pattern VINTAGE_PATTERN = Pattern.compile("(?:^|\\s)((?:19|20)\\d{2})$");
+    
+    private NumericMetadataExtractor() {
+    }
+    
+    /**
+     * 추출한 가격/빈티지를 메타데이터에 추가 (새 값이 있을 때만 메타데이터를 복사하여 교체)
+     * 
+     * @return 같은 문서 객체
+     */
+    static Document extract(Document document) {
+        Map<String, Object> extracted = new HashMap<>();
+        Map<String, Object> metadata = document.getMetadata();
+        
+        if (document.getContent() != null && (metadata == null || !metadata.containsKey(Document.PRICE_KEY))) {
+            Matcher price = PRICE_PATTERN.matcher(document.getContent());
+            if (price.find()) {
+                try {
+                    extracted.put(Document.PRICE_KEY, Long.parseLong(price.group(1).replace(",", "")));
+                } catch (NumberFormatException e) {
+                    log.debug("가격을 숫자로 읽을 수 없습니다: {}", price.group(1));
+                }
+            }
+        }
+        
+        if (document.getTitle() != null && (metadata == null || !metadata.containsKey(Document.VINTAGE_KEY))) {
+            Matcher vintage = VINTAGE_PATTERN.matcher(document.getTitle());
+            if (vintage.find()) {
+                extracted.put(Document.VINTAGE_KEY, Integer.parseInt(vintage.group(1)));
+            }
+        }
+        
+        if (!extracted.isEmpty()) {
+            // 요청 본문이나 불변 맵일 수 있으므로 복사본에 추가
+            Map<String, Object> merged = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            merged.putAll(extracted);
+            document.setMetadata(merged);
+        }
+        return document;
+    }
+}
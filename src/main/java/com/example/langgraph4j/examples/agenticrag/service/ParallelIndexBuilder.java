@@ -0,0 +1,207 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.InMemorySegment;
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fork/Join 병렬 인덱스 구성
+ * 
+ * 입력 문서를 창(window) 단위로 읽어 {@link ForkJoinPool}에서 절반씩 나누어 처리합니다. 말단 작업은 맡은 문서를
+ * 분석(필요하면 임베딩)하여 자기만의 부분 역색인({@link InMemorySegment})을 만들고, 결과는 입력 순서대로 모아
+ * 호출 스레드가 최종 인덱스에 병합합니다. 부분 인덱스끼리는 공유 상태가 없으므로 작업 스레드 사이의 잠금이 없습니다.
+ * 완성된 부분 인덱스는 작업 스레드에서 바로 병합 준비(봉인, 코퍼스 통계 계산)를 마쳐, 병합 구간에서는 목록 교체만 남깁니다.
+ * 
+ * 창 하나를 구성하는 동안 호출 스레드는 다음 창을 읽고 이전 창의 결과를 병합하므로 입력 읽기, 구성, 병합이 겹쳐 진행되며,
+ * 메모리에는 최대 두 창의 문서만 올라옵니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+@Slf4j
+final class ParallelIndexBuilder {
+    
+    /**
+     * 말단 작업 하나가 만든 부분 인덱스 (임베딩은 세그먼트 순번 순서, 의미 검색을 쓰지 않으면 null)
+     */
+    record PartialIndex(InMemorySegment segment, List<float[]> embeddings) {
+    }
+    
+    // 진행 로그 간격 (문서 수)
+    private static final int PROGRESS_LOG_INTERVAL = 10_000;
+    
+    // 창 하나에 담는 말단 작업 수 (작업 스레드당)
+    private static final int TASKS_PER_THREAD = 2;
+    
+    private final int parallelism;
+    private final int segmentSize;
+    private final int embeddingBatchSize;
+    private final Function<Document, Map<String, Integer>> analysis;
+    private final Function<List<Document>, List<float[]>> embedder;
+    private final Consumer<InMemorySegment> preparer;
+    private final Consumer<List<PartialIndex>> merger;
+    private final IngestionMetrics metrics;
+    
+    /**
+     * @param parallelism 작업 스레드 수
+     * @param segmentSize 부분 인덱스 하나의 최대 문서 수 (말단 작업 크기)
+     * @param embeddingBatchSize 임베딩 모델 1회 호출 문서 수
+     * @param analysis 문서별 단어 빈도 계산 (스레드 안전해야 함)
+     * @param embedder 배치 임베딩 계산 (의미 검색을 쓰지 않으면 null)
+     * @param preparer 완성된 부분 인덱스의 병합 준비 (작업 스레드에서 동시에 호출되므로 스레드 안전해야 함)
+     * @param merger 창 하나의 부분 인덱스를 입력 순서대로 최종 인덱스에 병합 (호출 스레드에서만 호출)
+     */
+    ParallelIndexBuilder(int parallelism, int segmentSize, int embeddingBatchSize,
+                         Function<Document, Map<String, Integer>> analysis,
+                         Function<List<Document>, List<float[]>> embedder,
+                         Consumer<InMemorySegment> preparer,
+                         Consumer<List<PartialIndex>> merger, IngestionMetrics metrics) {
+        this.parallelism = Math.max(1, parallelism);
+        this.segmentSize = Math.max(1, segmentSize);
+        this.embeddingBatchSize = Math.max(1, embeddingBatchSize);
+        this.analysis = analysis;
+        this.embedder = embedder;
+        this.preparer = preparer;
+        this.merger = merger;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * 입력 문서를 모두 색인할 때까지 실행
+     */
+    void run(Iterator<Document> documents) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, owner -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(owner);
+            thread.setName("index-build-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        
+        int windowSize = segmentSize * parallelism * TASKS_PER_THREAD;
+        try {
+            List<Document> window = readWindow(documents, windowSize);
+            ForkJoinTask<List<PartialIndex>> running = window.isEmpty() ? null : pool.submit(new BuildTask(window));
+            while (running != null) {
+                // 현재 창을 구성하는 동안 다음 창 읽기
+                List<Document> next = readWindow(documents, windowSize);
+                List<PartialIndex> built = running.join();
+                running = next.isEmpty() ? null : pool.submit(new BuildTask(next));
+                
+                // 다음 창을 구성하는 동안 현재 창 병합
+                merge(built);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("인덱스 구성이 중단되었습니다.");
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            metrics.finish();
+        }
+    }
+    
+    private List<Document> readWindow(Iterator<Document> documents, int windowSize) {
+        List<Document> window = new ArrayList<>(windowSize);
+        while (window.size() < windowSize && documents.hasNext()) {
+            window.add(documents.next());
+        }
+        metrics.documentsRead(window.size());
+        return window;
+    }
+    
+    private void merge(List<PartialIndex> partials) {
+        long before = metrics.getDocumentsIndexed();
+        merger.accept(partials);
+        for (PartialIndex partial : partials) {
+            metrics.documentsIndexed(partial.segment().maxDoc());
+            metrics.batchCompleted();
+        }
+        
+        long indexed = metrics.getDocumentsIndexed();
+        if (indexed / PROGRESS_LOG_INTERVAL > before / PROGRESS_LOG_INTERVAL) {
+            log.info("인덱스 구성 진행: {}개 문서 ({}개/초)", indexed, Math.round(metrics.getDocumentsPerSecond()));
+        }
+    }
+    
+    /**
+     * 문서 범위를 절반씩 나누어 부분 인덱스 목록을 만드는 작업 (결과는 입력 순서)
+     */
+    private final class BuildTask extends RecursiveTask<List<PartialIndex>> {
+        
+        private final List<Document> documents;
+        
+        BuildTask(List<Document> documents) {
+            this.documents = documents;
+        }
+        
+        @Override
+        protected List<PartialIndex> compute() {
+            if (documents.size() <= segmentSize) {
+                metrics.batchSubmitted();
+                return List.of(buildPartial(documents));
+            }
+            
+            int middle = documents.size() >>> 1;
+            BuildTask left = new BuildTask(documents.subList(0, middle));
+            left.fork();
+            List<PartialIndex> right = new BuildTask(documents.subList(middle, documents.size())).compute();
+            
+            List<PartialIndex> partials = new ArrayList<>(left.join());
+            partials.addAll(right);
+            return partials;
+        }
+    }
+    
+    /**
+     * 말단 작업: 임베딩 배치 단위로 분석과 임베딩을 마친 문서만 부분 인덱스에 추가 (실패한 문서/배치는 건너뜀)
+     */
+    private PartialIndex buildPartial(List<Document> documents) {
+        InMemorySegment segment = new InMemorySegment("partial");
+        List<float[]> embeddings = embedder != null ? new ArrayList<>(documents.size()) : null;
+        
+        for (int start = 0; start < documents.size(); start += embeddingBatchSize) {
+            List<Document> batch = new ArrayList<>(embeddingBatchSize);
+            List<Map<String, Integer>> termFrequencies = new ArrayList<>(embeddingBatchSize);
+            for (Document document : documents.subList(start, Math.min(start + embeddingBatchSize, documents.size()))) {
+                try {
+                    termFrequencies.add(analysis.apply(document));
+                    batch.add(document);
+                } catch (RuntimeException e) {
+                    log.error("문서 분석 실패: {}", document.getId(), e);
+                    metrics.documentsFailed(1);
+                }
+            }
+            
+            List<float[]> vectors = null;
+            long embeddingStart = System.nanoTime();
+            if (embedder != null && !batch.isEmpty()) {
+                try {
+                    vectors = embedder.apply(batch);
+                } catch (RuntimeException e) {
+                    log.error("문서 배치 임베딩 실패", e);
+                    metrics.documentsFailed(batch.size());
+                    continue;
+                }
+            }
+            metrics.batchPrepared(batch.size(), System.nanoTime() - embeddingStart);
+            
+            for (int i = 0; i < batch.size(); i++) {
+                segment.addDocument(batch.get(i), termFrequencies.get(i));
+                if (vectors != null) {
+                    embeddings.add(vectors.get(i));
+                }
+            }
+        }
+        preparer.accept(segment);
+        return new PartialIndex(segment, embeddings);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.DocumentFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 질문에서 가격 조건을 찾아 숫자 범위로 변환하는 파서
+ * 
+ * "3만원 이하 메뉴", "3만 5천원 이하", "₩50,000 이상 와인", "2만원에서 3만원 사이" 같은 표현을 {@link DocumentFilter.Range}로 바꾸어
+ * LLM이 문서 내용에서 가격을 읽지 않고도 가격 범위 인덱스로 후보를 좁힐 수 있게 합니다.
+ * 
+ * 금액 뒤의 조사(이하/미만/이상/초과 등)로 경계를 정하고, 조사 없는 금액이 두 개 이상이면 앞의 두 금액 사이로 봅니다.
+ * 금액이 하나뿐이고 조사가 없으면("3만원짜리") 조건으로 보지 않습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class PriceQueryParser {
+    
+    // 금액 ("₩35,000", "35,000원", "3만원", "3.5만 원", "3만 5천원", "3만5000원", "5천원") + 경계 표현
+    // 만 단위 뒤의 천 단위/원 단위 나머지는 같은 금액으로 묶음 ("3만 5천원 이하" = 35,000원 이하)
+    private static final Pattern PRICE_PATTERN = Pattern.compile(
+        "(?:₩\\s*(\\d[\\d,]*)"
+            + "|(\\d+(?:\\.\\d+)?)\\s*만(?:\\s*(\\d+)\\s*천|\\s*(\\d[\\d,]*)(?=\\s*원))?\\s*원?"
+            + "|(\\d+(?:\\.\\d+)?)\\s*천\\s*원?"
+            + "|(\\d[\\d,]*)\\s*원)"
+            + "\\s*(이하|이내|까지|미만|이상|부터|초과|넘는|넘게)?");
+    
+    private PriceQueryParser() {
+    }
+    
+    /**
+     * 질문의 가격 범위 (가격 조건이 없으면 empty)
+     */
+    static Optional<DocumentFilter.Range> parse(String query) {
+        if (query == null || query.isBlank()) {
+            return Optional.empty();
+        }
+        
+        Double min = null;
+        Double max = null;
+        List<Double> unbounded = new ArrayList<>();
+        Matcher matcher = PRICE_PATTERN.matcher(query);
+        while (matcher.find()) {
+            double amount = amount(matcher);
+            String bound = matcher.group(7);
+            if (bound == null) {
+                unbounded.add(amount);
+                continue;
+            }
+            switch (bound) {
+                case "이하", "이내", "까지" -> max = amount;
+                case "미만" -> max = Math.nextDown(amount);
+                case "이상", "부터" -> min = amount;
+                default -> min = Math.nextUp(amount);
+            }
+        }
+        
+        if (min == null && max == null) {
+            if (unbounded.size() < 2) {
+                return Optional.empty();
+            }
+            min = Math.min(unbounded.get(0), unbounded.get(1));
+            max = Math.max(unbounded.get(0), unbounded.get(1));
+        }
+        if (min != null && max != null && min > max) {
+            return Optional.empty();
+        }
+        return Optional.of(DocumentFilter.Range.of(min, max));
+    }
+    
+    /**
+     * 일치한 금액 (원 단위)
+     */
+    private static double amount(Matcher matcher) {
+        if (matcher.group(1) != null) {
+            return Double.parseDouble(matcher.group(1).replace(",", ""));
+        }
+        if (matcher.group(2) != null) {
+            double amount = Double.parseDouble(matcher.group(2)) * 10_000;
+            if (matcher.group(3) != null) {
+                amount += Double.parseDouble(matcher.group(3)) * 1_000;
+            } else if (matcher.group(4) != null) {
+                amount += Double.parseDouble(matcher.group(4).replace(",", ""));
+            }
+            return amount;
+        }
+        if (matcher.group(5) != null) {
+            return Double.parseDouble(matcher.group(5)) * 1_000;
+        }
+        return Double.parseDouble(matcher.group(6).replace(",", ""));
+    }
+}
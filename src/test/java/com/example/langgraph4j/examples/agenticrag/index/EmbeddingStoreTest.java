@@ -0,0 +1,68 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 임베딩 캐시 파일의 128비트 키 왕복, 재시작 복원, 모델 변경 시 초기화 검증
+ */
+class EmbeddingStoreTest {
+    
+    private static final int DIMENSION = 4;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void reopensStoredVectors() throws IOException {
+        Path file = directory.resolve("embeddings.vec");
+        float[][] vectors = new float[3_000][];
+        try (EmbeddingStore store = EmbeddingStore.open(file, "model@a/4", DIMENSION)) {
+            for (int i = 0; i < vectors.length; i++) {
+                vectors[i] = new float[] {i, -i, i * 0.5f, 1f};
+                store.put(ContentHash.of("내용 " + i, "제목"), vectors[i]);
+            }
+        }
+        
+        try (EmbeddingStore store = EmbeddingStore.open(file, "model@a/4", DIMENSION)) {
+            assertEquals(vectors.length, store.size());
+            for (int i = 0; i < vectors.length; i++) {
+                assertArrayEquals(vectors[i], store.get(ContentHash.of("내용 " + i, "제목")));
+            }
+            assertNull(store.get(ContentHash.of("내용 0", null)));
+        }
+    }
+    
+    @Test
+    void clearsStoreWhenModelChanges() throws IOException {
+        Path file = directory.resolve("embeddings.vec");
+        try (EmbeddingStore store = EmbeddingStore.open(file, "model@a/4", DIMENSION)) {
+            store.put(ContentHash.of("내용", "제목"), new float[] {1f, 2f, 3f, 4f});
+        }
+        
+        try (EmbeddingStore store = EmbeddingStore.open(file, "model@b/4", DIMENSION)) {
+            assertEquals(0, store.size());
+            assertNull(store.get(ContentHash.of("내용", "제목")));
+        }
+    }
+    
+    @Test
+    void separatesContentTitleBoundaryAndNullTitle() throws IOException {
+        assertNotEquals(ContentHash.of("ab", "c"), ContentHash.of("a", "bc"));
+        assertNotEquals(ContentHash.of("내용", null), ContentHash.of("내용", ""));
+        assertEquals(ContentHash.of("내용", "제목"), ContentHash.of("내용", "제목"));
+        
+        byte[] bytes = "모델 파일".getBytes(StandardCharsets.UTF_8);
+        assertEquals(32, ContentHash.of(new ByteArrayInputStream(bytes)).toHex().length());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HnswIndex 삭제/교체 후 그래프 복구와 재구성 검증
+ * 
+ * 고정 시드의 무작위 벡터를 색인한 뒤 문서를 삭제하거나 같은 ID로 다시 추가하고,
+ * 삭제된 문서가 결과에 나오지 않는지와 전체 비교 검색 대비 재현율이 유지되는지 확인합니다.
+ */
+class HnswIndexTest {
+    
+    private static final int DIMENSION = 32;
+    private static final int VECTOR_COUNT = 2_000;
+    private static final int K = 10;
+    private static final int EF = 64;
+    
+    @Test
+    void compactsAfterManyDeletes() {
+        Random random = new Random(20250731L);
+        HnswIndex index = new HnswIndex(DIMENSION);
+        for (int i = 0; i < VECTOR_COUNT; i++) {
+            index.add("doc_" + i, randomVector(random));
+        }
+        
+        for (int i = 0; i < VECTOR_COUNT; i += 2) {
+            assertTrue(index.delete("doc_" + i));
+        }
+        
+        assertEquals(VECTOR_COUNT / 2, index.size());
+        // 삭제 비율이 기준을 넘을 때마다 살아 있는 노드만으로 다시 구성되어 삭제 표시 노드가 누적되지 않음
+        assertTrue(index.deletedCount() < VECTOR_COUNT / 2, "삭제 표시 노드: " + index.deletedCount());
+        assertRecall(index, random, id -> Integer.parseInt(id.substring(4)) % 2 == 1);
+    }
+    
+    @Test
+    void repairsNeighborsOnReplace() {
+        Random random = new Random(42L);
+        HnswIndex index = new HnswIndex(DIMENSION);
+        for (int i = 0; i < VECTOR_COUNT; i++) {
+            index.add("doc_" + i, randomVector(random));
+        }
+        
+        // 재구성 기준 아래에서 일부 문서를 새 벡터로 교체 (이전 노드는 삭제 표시로 남음)
+        for (int i = 0; i < VECTOR_COUNT / 10; i++) {
+            index.add("doc_" + i, randomVector(random));
+        }
+        
+        assertEquals(VECTOR_COUNT, index.size());
+        assertEquals(VECTOR_COUNT / 10, index.deletedCount());
+        assertRecall(index, random, id -> true);
+    }
+    
+    @Test
+    void rejectsDimensionMismatch() {
+        HnswIndex index = new HnswIndex(DIMENSION);
+        
+        assertFalse(index.delete("missing"));
+        assertThrows(IllegalArgumentException.class, () -> index.add("doc", new float[DIMENSION + 1]));
+    }
+    
+    private static void assertRecall(HnswIndex index, Random random, Predicate<String> live) {
+        int found = 0;
+        int expectedCount = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random);
+            
+            Set<String> expected = new HashSet<>();
+            TopDocs exact = index.exactSearch(query, K);
+            for (int ordinal : exact.ordinals()) {
+                expected.add(index.documentId(ordinal));
+            }
+            expectedCount += expected.size();
+            
+            List<HnswIndex.Neighbor> hits = index.searchDocuments(query, K, EF);
+            for (HnswIndex.Neighbor hit : hits) {
+                assertTrue(live.test(hit.documentId()), "삭제된 문서 반환: " + hit.documentId());
+                if (expected.contains(hit.documentId())) {
+                    found++;
+                }
+            }
+        }
+        double recall = (double) found / expectedCount;
+        assertTrue(recall >= 0.9, "recall@" + K + "=" + recall);
+    }
+    
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int d = 0; d < DIMENSION; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 인덱스 커밋 파일 형식과 재시작 시 복원 순서 검증
+ * 
+ * 커밋 파일 왕복과 체크섬 검사(모든 바이트 변조, 모든 길이로 잘림)를 확인하고, 임시 디렉토리에 작은 인덱스를 만들어
+ * 손상된 최신 커밋 대신 이전 커밋 복원, 손상된 세그먼트 파일로 인한 재구성, 커밋 파일이 없는 이전 형식 디렉토리 로드,
+ * 분석기 변경 시 저장 문서 재분석을 확인합니다.
+ */
+class IndexCommitTest {
+    
+    // 자동 봉인/병합이 일어나지 않도록 세그먼트는 flush로만 생성
+    private static final int MAX_BUFFERED_DOCS = 1_000;
+    private static final int MERGE_FACTOR = 10;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void readsBackWrittenCommit() throws IOException {
+        IndexCommit commit = sampleCommit();
+        
+        Path file = commit.write(directory);
+        IndexCommit read = IndexCommit.read(file);
+        
+        assertEquals(IndexCommit.fileFor(directory, 7), file);
+        assertEquals(7, IndexCommit.generationOf(file));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+        assertEquals(7, read.generation());
+        assertEquals(Analyzer.STANDARD_NAME, read.analyzerName());
+        assertEquals(2, read.segments().size());
+        assertTrue(read.sameContents(commit));
+        
+        IndexCommit.Entry first = read.segments().get(0);
+        assertEquals("segment_0.seg", first.name());
+        assertEquals(100, first.maxDoc());
+        assertEquals(4096, first.length());
+        assertEquals(0x1234L, first.checksum());
+        assertEquals(2, first.liveDocs().deletedCount());
+        assertFalse(first.liveDocs().isLive(3));
+        assertFalse(first.liveDocs().isLive(70));
+        assertTrue(first.liveDocs().isLive(4));
+        assertEquals(0, read.segments().get(1).liveDocs().deletedCount());
+    }
+    
+    @Test
+    void rejectsCommitWithAnyCorruptedByte() throws IOException {
+        Path file = sampleCommit().write(directory);
+        byte[] original = Files.readAllBytes(file);
+        
+        for (int i = 0; i < original.length; i++) {
+            byte[] corrupted = original.clone();
+            corrupted[i] ^= 0x01;
+            Files.write(file, corrupted);
+            int position = i;
+            assertThrows(IOException.class, () -> IndexCommit.read(file), () -> "변조 위치: " + position);
+        }
+    }
+    
+    @Test
+    void rejectsTruncatedCommit() throws IOException {
+        Path file = sampleCommit().write(directory);
+        byte[] original = Files.readAllBytes(file);
+        
+        for (int length = 0; length < original.length; length++) {
+            Files.write(file, Arrays.copyOf(original, length));
+            int truncated = length;
+            assertThrows(IOException.class, () -> IndexCommit.read(file), () -> "파일 길이: " + truncated);
+        }
+    }
+    
+    @Test
+    void restoresCommittedDocumentsAndDeletions() throws IOException {
+        try (SegmentedIndex index = newIndex()) {
+            addDocuments(index, 0, 50);
+            index.deleteDocument("doc-3");
+            index.flush();
+        }
+        
+        try (SegmentedIndex restored = newIndex()) {
+            assertEquals(1, restored.openCommittedSegments());
+            IndexSnapshot snapshot = restored.snapshot();
+            assertEquals(49, snapshot.liveDocumentCount());
+            assertEquals(-1, snapshot.ordinalOf("doc-3"));
+            assertTrue(snapshot.ordinalOf("doc-49") >= 0);
+            assertEquals(1, snapshot.documentFrequency("doc-49"));
+        }
+    }
+    
+    @Test
+    void fallsBackToPreviousCommitWhenNewestIsCorrupt() throws IOException {
+        try (SegmentedIndex index = newIndex()) {
+            addDocuments(index, 0, 50);
+            index.flush();
+            addDocuments(index, 50, 60);
+            index.flush();
+        }
+        List<Path> commits = commitFiles();
+        assertEquals(2, commits.size());
+        Path newest = commits.get(1);
+        flipByte(newest, Files.size(newest) / 2);
+        
+        try (SegmentedIndex restored = newIndex()) {
+            assertEquals(1, restored.openCommittedSegments());
+            IndexSnapshot snapshot = restored.snapshot();
+            assertEquals(50, snapshot.liveDocumentCount());
+            assertTrue(snapshot.ordinalOf("doc-49") >= 0);
+            assertEquals(-1, snapshot.ordinalOf("doc-50"));
+        }
+        // 손상된 커밋과 그 커밋만 참조하던 세그먼트 파일은 삭제
+        assertEquals(List.of(commits.get(0)), commitFiles());
+        assertEquals(1, segmentFiles().size());
+    }
+    
+    @Test
+    void requiresRebuildWhenSegmentFileIsCorrupt() throws IOException {
+        try (SegmentedIndex index = newIndex()) {
+            addDocuments(index, 0, 50);
+            index.flush();
+        }
+        Path segment = segmentFiles().get(0);
+        flipByte(segment, Files.size(segment) - 3);
+        
+        try (SegmentedIndex restored = newIndex()) {
+            assertEquals(0, restored.openCommittedSegments());
+            assertEquals(0, restored.snapshot().liveDocumentCount());
+        }
+    }
+    
+    @Test
+    void loadsLegacyDirectoryWithoutCommit() throws IOException {
+        try (SegmentedIndex index = newIndex()) {
+            addDocuments(index, 0, 30);
+            index.flush();
+            addDocuments(index, 30, 40);
+            index.flush();
+        }
+        for (Path commit : commitFiles()) {
+            Files.delete(commit);
+        }
+        // 이전 형식의 세그먼트별 삭제 정보 파일 (첫 세그먼트의 순번 0 = doc-0)
+        Path firstSegment = segmentFiles().get(0);
+        LiveDocs deletes = new LiveDocs().delete(0);
+        Path deletesFile = firstSegment.resolveSibling(firstSegment.getFileName().toString()
+            .replace(SegmentFormat.SEGMENT_SUFFIX, SegmentFormat.DELETES_SUFFIX));
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(deletesFile))) {
+            deletes.write(out);
+        }
+        
+        try (SegmentedIndex restored = newIndex()) {
+            assertEquals(2, restored.openCommittedSegments());
+            IndexSnapshot snapshot = restored.snapshot();
+            assertEquals(39, snapshot.liveDocumentCount());
+            assertEquals(-1, snapshot.ordinalOf("doc-0"));
+            assertTrue(snapshot.ordinalOf("doc-39") >= 0);
+            
+            // 다음 커밋부터 커밋 파일 사용 (삭제 정보는 커밋 파일로 옮겨짐)
+            restored.deleteDocument("doc-1");
+            restored.flush();
+        }
+        // 로드 직후 백그라운드 커밋이 먼저 기록될 수 있으므로 커밋 수는 확인하지 않음
+        assertFalse(commitFiles().isEmpty());
+        assertFalse(Files.exists(deletesFile));
+        
+        try (SegmentedIndex reopened = newIndex()) {
+            assertEquals(2, reopened.openCommittedSegments());
+            assertEquals(38, reopened.snapshot().liveDocumentCount());
+        }
+    }
+    
+    @Test
+    void reanalyzesStoredDocumentsWhenAnalyzerChanges() throws IOException {
+        try (SegmentedIndex index = newIndex()) {
+            addDocuments(index, 0, 50);
+            index.deleteDocument("doc-3");
+            index.flush();
+        }
+        List<Path> previousCommits = commitFiles();
+        Analyzer changed = Analyzer.forName("particle");
+        
+        // 다시 색인하지 않고 종료하면 이전 커밋이 그대로 남음
+        try (SegmentedIndex index = new SegmentedIndex(directory, changed, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            assertEquals(0, index.openCommittedSegments());
+            assertTrue(index.needsReanalysis());
+        }
+        assertEquals(previousCommits, commitFiles());
+        
+        try (SegmentedIndex index = new SegmentedIndex(directory, changed, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            assertEquals(0, index.openCommittedSegments());
+            List<Document> stored;
+            try (Stream<Document> documents = index.staleDocuments()) {
+                stored = documents.toList();
+            }
+            assertEquals(49, stored.size());
+            assertTrue(stored.stream().noneMatch(document -> document.getId().equals("doc-3")));
+            for (Document document : stored) {
+                index.addDocument(document, Map.of("와인", 1, document.getId(), 1));
+            }
+            index.flush();
+            assertFalse(index.needsReanalysis());
+        }
+        // 새 커밋 기록 후 이전 분석기의 커밋과 세그먼트 파일 정리
+        assertFalse(commitFiles().stream().anyMatch(previousCommits::contains));
+        assertEquals(1, segmentFiles().size());
+        
+        try (SegmentedIndex restored = new SegmentedIndex(directory, changed, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            assertEquals(1, restored.openCommittedSegments());
+            assertEquals(49, restored.snapshot().liveDocumentCount());
+            assertEquals(changed.getName(), IndexCommit.read(commitFiles().get(commitFiles().size() - 1)).analyzerName());
+        }
+    }
+    
+    private SegmentedIndex newIndex() {
+        return new SegmentedIndex(directory, Analyzer.STANDARD, MAX_BUFFERED_DOCS, MERGE_FACTOR);
+    }
+    
+    private static IndexCommit sampleCommit() {
+        LiveDocs liveDocs = new LiveDocs().delete(3).delete(70);
+        return new IndexCommit(7, Analyzer.STANDARD_NAME, List.of(
+            new IndexCommit.Entry("segment_0.seg", 100, 4096, 0x1234L, liveDocs),
+            new IndexCommit.Entry("segment_1.seg", 20, 512, 0xCAFEL, new LiveDocs())));
+    }
+    
+    private static void addDocuments(SegmentedIndex index, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String id = "doc-" + i;
+            Document document = Document.builder().id(id).title(id).content("와인 " + id).build();
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            termFrequencies.put("와인", 1);
+            termFrequencies.put(id, 1);
+            index.addDocument(document, termFrequencies);
+        }
+    }
+    
+    private List<Path> commitFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> IndexCommit.FILE_PATTERN.matcher(file.getFileName().toString()).matches())
+                .sorted((a, b) -> Long.compare(IndexCommit.generationOf(a), IndexCommit.generationOf(b)))
+                .toList();
+        }
+    }
+    
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SegmentFormat.SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+    }
+    
+    private static void flipByte(Path file, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) position] ^= 0x01;
+        Files.write(file, bytes);
+    }
+}
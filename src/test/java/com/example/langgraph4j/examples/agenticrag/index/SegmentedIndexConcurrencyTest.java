@@ -0,0 +1,165 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 문서 교체/삭제와 세그먼트 병합 중 동시 검색의 격리 검증
+ * 
+ * 작성 스레드가 문서를 계속 교체(같은 ID로 다시 추가)하고 일부를 삭제하는 동안 검색 스레드가 스냅샷을 잡아,
+ * 교체 대상 문서는 정확히 한 버전만 보이는지, 같은 스냅샷을 다시 읽어도 살아 있는 문서와 삭제 수가 바뀌지 않는지 확인합니다.
+ * 작은 색인 버퍼와 병합 기준으로 봉인/기록/병합이 계속 일어나도록 하여, 병합 도중의 삭제가 병합 결과로 옮겨지는지도 확인합니다.
+ */
+class SegmentedIndexConcurrencyTest {
+    
+    private static final int DOCUMENTS = 300;
+    private static final int UPDATES = 20_000;
+    private static final int READERS = 3;
+    
+    // 봉인과 병합이 자주 일어나도록 작게
+    private static final int MAX_BUFFERED_DOCS = 50;
+    private static final int MERGE_FACTOR = 2;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void searchesSeeExactlyOneVersionDuringUpdates() throws Exception {
+        try (SegmentedIndex index = new SegmentedIndex(null, Analyzer.STANDARD, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            runUpdatesWithReaders(index);
+        }
+    }
+    
+    @Test
+    void mergeCarriesOverDeletesMadeWhileWriting() throws Exception {
+        try (SegmentedIndex index = new SegmentedIndex(directory, Analyzer.STANDARD, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            runUpdatesWithReaders(index);
+            index.flush();
+        }
+        
+        // 커밋된 상태도 같은 문서 집합 (병합 중 삭제가 빠지지 않았는지)
+        try (SegmentedIndex restored = new SegmentedIndex(directory, Analyzer.STANDARD, MAX_BUFFERED_DOCS, MERGE_FACTOR)) {
+            restored.openCommittedSegments();
+            assertFinalState(restored.snapshot());
+        }
+    }
+    
+    /**
+     * 교체와 삭제를 실행하는 동안 검색 스레드가 스냅샷 불변식을 확인하고, 끝난 뒤 최종 상태 확인
+     */
+    private void runUpdatesWithReaders(SegmentedIndex index) throws Exception {
+        for (int i = 0; i < DOCUMENTS; i++) {
+            index.addDocument(document(i, 0), termFrequencies(i, 0));
+        }
+        
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<Integer>> checks = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            checks.add(readers.submit(() -> {
+                int snapshots = 0;
+                while (!done.get()) {
+                    assertConsistent(index.snapshot());
+                    snapshots++;
+                }
+                return snapshots;
+            }));
+        }
+        
+        Random random = new Random(7L);
+        try {
+            for (int version = 1; version <= UPDATES; version++) {
+                int id = random.nextInt(DOCUMENTS);
+                // 마지막 10%의 문서는 교체 대신 삭제 (이후 다시 추가하지 않음)
+                if (id >= DOCUMENTS * 9 / 10) {
+                    index.deleteDocument(id(id));
+                } else {
+                    index.addDocument(document(id, version), termFrequencies(id, version));
+                }
+            }
+        } finally {
+            done.set(true);
+            readers.shutdown();
+        }
+        for (Future<Integer> check : checks) {
+            assertTrue(check.get() > 0);
+        }
+        assertTrue(readers.awaitTermination(1, TimeUnit.MINUTES));
+        
+        assertFinalState(index.snapshot());
+    }
+    
+    /**
+     * 같은 스냅샷을 두 번 읽어도 결과가 같고, 교체 대상 문서는 한 버전만 살아 있음
+     */
+    private static void assertConsistent(IndexSnapshot snapshot) {
+        List<String> first = liveIds(snapshot);
+        int liveCount = snapshot.liveDocumentCount();
+        
+        Set<String> unique = new HashSet<>(first);
+        assertEquals(first.size(), unique.size(), "같은 ID의 두 버전이 동시에 보임");
+        for (int i = 0; i < DOCUMENTS * 9 / 10; i++) {
+            assertTrue(unique.contains(id(i)), "교체 중인 문서가 보이지 않음: " + id(i));
+        }
+        assertEquals(first.size(), liveCount, "삭제 수와 삭제 비트가 다름");
+        
+        assertEquals(first, liveIds(snapshot), "검색 도중 삭제 정보가 바뀜");
+        assertEquals(liveCount, snapshot.liveDocumentCount());
+    }
+    
+    private static void assertFinalState(IndexSnapshot snapshot) {
+        assertConsistent(snapshot);
+        Set<String> live = new HashSet<>(liveIds(snapshot));
+        for (int i = DOCUMENTS * 9 / 10; i < DOCUMENTS; i++) {
+            assertFalse(live.contains(id(i)), "삭제한 문서가 살아 있음: " + id(i));
+        }
+        assertEquals(DOCUMENTS * 9 / 10, live.size());
+    }
+    
+    private static List<String> liveIds(IndexSnapshot snapshot) {
+        List<String> ids = new ArrayList<>();
+        for (IndexSnapshot.Leaf leaf : snapshot.leaves()) {
+            for (int ordinal = 0; ordinal < leaf.maxDoc(); ordinal++) {
+                if (leaf.isLive(ordinal)) {
+                    ids.add(leaf.segment().documentId(ordinal));
+                }
+            }
+        }
+        return ids;
+    }
+    
+    private static String id(int id) {
+        return "doc-" + id;
+    }
+    
+    private static Document document(int id, int version) {
+        return Document.builder().id(id(id)).title(id(id)).content("와인 v" + version).build();
+    }
+    
+    private static Map<String, Integer> termFrequencies(int id, int version) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        termFrequencies.put("와인", 1);
+        termFrequencies.put("v" + version, 1);
+        termFrequencies.put(id(id), 1);
+        return termFrequencies;
+    }
+}
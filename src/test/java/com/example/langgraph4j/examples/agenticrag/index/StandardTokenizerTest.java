@@ -0,0 +1,90 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * StandardTokenizer가 기존 정규식 파이프라인과 같은 토큰을 만드는지 검증하는 속성 기반 테스트
+ * 
+ * 고정 시드의 무작위 문자열(한글 음절/자모, 대소문자 영문, 숫자, 공백, 구두점, 소문자 변환 특수 문자,
+ * 서로게이트 쌍 등)을 생성하여 두 구현의 토큰 목록을 비교합니다.
+ */
+class StandardTokenizerTest {
+    
+    private static final int CASES = 20_000;
+    
+    // 생성 문자 후보 (경계 문자 위주)
+    private static final String ALPHABET =
+        "aZz09AM가힣각한국어ㄱㅏ" +                         // 토큰 문자 (한글 자모는 구분자)
+        " \t\n\r\f\u000B\u00A0\u3000" +                   // 정규식 \\s 와 그 밖의 공백
+        ".,!?-_()[]'\"/#\u00B7~" +                        // 구두점
+        "\u212A\u0130\u0131\u00C0\u00DF\u03A3\u0307" +      // 켈빈 기호, 점 있는/없는 I, À, ß, Σ, 결합 점
+        "\uAC00\uD7A3\uD7A4\uABFF" +                     // 한글 음절 범위 경계
+        "\uD83D\uDE00\uD801\uDC00";                      // 서로게이트 쌍 (이모지, 데저렛 대문자)
+    
+    @Test
+    void producesSameTokensAsRegexPipeline() {
+        Random random = new Random(20250731L);
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        
+        for (int i = 0; i < CASES; i++) {
+            String text = randomText(random);
+            assertEquals(legacyTokens(text), tokens(tokenizer, text), () -> "입력: " + escape(text));
+        }
+    }
+    
+    @Test
+    void producesSameTokensForRestaurantText() {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        String text = "1. 한우 안심 스테이크 (200g) - 68,000원\nCHÂTEAU Margaux 2015, Bordeaux; 레드 와인 추천!";
+        
+        assertEquals(legacyTokens(text), tokens(tokenizer, text));
+    }
+    
+    @Test
+    void growsBufferForLongTokens() {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        String text = "x".repeat(1000) + " " + "가".repeat(300);
+        
+        assertEquals(legacyTokens(text), tokens(tokenizer, text));
+    }
+    
+    private static String randomText(Random random) {
+        int length = random.nextInt(40);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+    
+    private static List<String> tokens(StandardTokenizer tokenizer, String text) {
+        List<String> tokens = new ArrayList<>();
+        tokenizer.tokenize(text, (buffer, length) -> tokens.add(new String(buffer, 0, length)));
+        return tokens;
+    }
+    
+    // 기존 DocumentRetriever.tokenize 구현 (로케일 특수 규칙이 없는 기준)
+    private static List<String> legacyTokens(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^가-힣a-z0-9\\s]", " ")
+                .split("\\s+"))
+                .filter(word -> word.length() >= 2)
+                .toList();
+    }
+    
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            escaped.append(c < 0x80 && c >= 0x20 ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return escaped.toString();
+    }
+}
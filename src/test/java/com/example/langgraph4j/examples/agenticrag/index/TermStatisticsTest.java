@@ -0,0 +1,70 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 병합으로 빈도가 0이 된 단어 순번 회수와 이전 세대 변화량 재계산 검증
+ */
+class TermStatisticsTest {
+    
+    private static final int REMOVED_TERMS = 5_000;
+    
+    @Test
+    void reclaimsOrdinalsOfMergedAwayTerms() {
+        TermStatistics statistics = new TermStatistics();
+        Map<String, Integer> terms = new HashMap<>();
+        for (int i = 0; i < REMOVED_TERMS; i++) {
+            terms.put("removed" + i, 1);
+        }
+        terms.put("kept", 1);
+        IndexSegment source = segment("source", terms);
+        statistics.apply(List.of(statistics.deltaOf(source)));
+        assertEquals(REMOVED_TERMS + 1, statistics.termCount());
+        
+        // 병합 결과에는 한 단어만 남음
+        IndexSegment merged = segment("merged", Map.of("kept", 1));
+        statistics.apply(List.of(statistics.deltaOf(source).negate(), statistics.deltaOf(merged)));
+        
+        assertEquals(1, statistics.generation());
+        assertEquals(1, statistics.termCount());
+        assertEquals(1, statistics.documentFrequency("kept"));
+        assertEquals(0, statistics.documentFrequency("removed0"));
+    }
+    
+    @Test
+    void recomputesDeltasPreparedBeforeReclaim() {
+        TermStatistics statistics = new TermStatistics();
+        Map<String, Integer> terms = new HashMap<>();
+        for (int i = 0; i < REMOVED_TERMS; i++) {
+            terms.put("removed" + i, 1);
+        }
+        IndexSegment source = segment("source", terms);
+        IndexSegment merged = segment("merged", Map.of("kept", 1));
+        statistics.apply(List.of(statistics.deltaOf(source), statistics.deltaOf(merged)));
+        
+        // 순번 회수 전에 계산한 변화량 (추가할 세그먼트와 빠질 세그먼트)
+        TermStatistics.Delta prepared = statistics.deltaOf(segment("prepared", Map.of("kept", 1, "added", 1)));
+        TermStatistics.Delta removal = statistics.deltaOf(merged).negate();
+        statistics.apply(List.of(statistics.deltaOf(source).negate()));
+        assertEquals(1, statistics.generation());
+        
+        statistics.apply(List.of(prepared, removal));
+        assertEquals(1, statistics.documentFrequency("kept"));
+        assertEquals(1, statistics.documentFrequency("added"));
+        assertEquals(0, statistics.documentFrequency("removed0"));
+    }
+    
+    private static IndexSegment segment(String name, Map<String, Integer> termFrequencies) {
+        InMemorySegment segment = new InMemorySegment(name);
+        segment.addDocument(Document.builder().id(name + "_1").content(name).build(), termFrequencies);
+        segment.seal();
+        return segment;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 구절 분할 후 재결합 시 겹침 제거, 중간 구절 누락, 시작 위치 없는 이전 형식 구절 처리 검증
+ */
+class DocumentChunkerTest {
+    
+    @Test
+    void joinTrimsOverlapAndRestoresContent() {
+        String content = "첫째 둘째\n셋째 넷째  다섯째 여섯째\t일곱째 여덟째 아홉째";
+        Document document = document("doc_1", content);
+        
+        List<Document> passages = new DocumentChunker(4, 2).split(document);
+        assertEquals(4, passages.size());
+        
+        Document joined = DocumentChunker.join(passages);
+        assertEquals(content, joined.getContent());
+        assertEquals("doc_1", joined.getId());
+        assertEquals(Map.of("category", "menu"), joined.getMetadata());
+    }
+    
+    @Test
+    void joinKeepsTextAfterMissingMiddlePassage() {
+        List<Document> gapped = new DocumentChunker(3, 1).split(document("doc_2", "a b c d e f g"));
+        assertEquals(3, gapped.size());
+        assertEquals("a b c e f g", DocumentChunker.join(List.of(gapped.get(0), gapped.get(2))).getContent());
+        
+        // 누락된 구절을 건너뛰어도 남은 겹침만 잘라냄
+        List<Document> overlapping = new DocumentChunker(3, 2).split(document("doc_3", "a b c d e"));
+        assertEquals(3, overlapping.size());
+        assertEquals("a b c d e", DocumentChunker.join(List.of(overlapping.get(0), overlapping.get(2))).getContent());
+    }
+    
+    @Test
+    void joinsLegacyPassagesWithoutOffsetBySpace() {
+        Document joined = DocumentChunker.join(List.of(
+            legacyPassage("doc_4", 0, "첫 구절 끝"),
+            legacyPassage("doc_4", 1, "끝 둘째 구절")));
+        
+        assertEquals("첫 구절 끝 끝 둘째 구절", joined.getContent());
+        assertEquals("doc_4", joined.getId());
+        assertEquals(Map.of(), joined.getMetadata());
+    }
+    
+    @Test
+    void recognizesContinuationPassageIds() {
+        assertFalse(DocumentChunker.isContinuationPassageId("doc_1"));
+        assertFalse(DocumentChunker.isContinuationPassageId(DocumentChunker.passageId("doc_1", 0)));
+        assertTrue(DocumentChunker.isContinuationPassageId(DocumentChunker.passageId("doc_1", 1)));
+        assertTrue(DocumentChunker.isContinuationPassageId(DocumentChunker.passageId("doc_1", 10)));
+        assertFalse(DocumentChunker.isContinuationPassageId("doc#a"));
+        assertFalse(DocumentChunker.isContinuationPassageId("doc#"));
+    }
+    
+    private static Document document(String id, String content) {
+        return Document.builder()
+            .id(id)
+            .title("제목")
+            .content(content)
+            .metadata(Map.of("category", "menu"))
+            .build();
+    }
+    
+    private static Document legacyPassage(String parentId, int index, String content) {
+        return Document.builder()
+            .id(DocumentChunker.passageId(parentId, index))
+            .content(content)
+            .metadata(Map.of(
+                Document.PARENT_ID_KEY, parentId,
+                Document.PASSAGE_INDEX_KEY, index,
+                Document.PASSAGE_COUNT_KEY, 2))
+            .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.model.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 색인 경로의 가격/빈티지 메타데이터 추출 검증 (API로 들어온 문서와 불변 메타데이터 포함)
+ */
+class NumericMetadataExtractorTest {
+    
+    @Test
+    void extractsPriceAndVintage() {
+        Document document = Document.builder()
+            .id("wine_1")
+            .title("샤토 마고 2015")
+            .content("샤토 마고 2015\n• 가격: ₩1,250,000\n• 산지: 보르도")
+            .metadata(Map.of("category", "wine"))
+            .build();
+        
+        NumericMetadataExtractor.extract(document);
+        
+        assertEquals(1_250_000L, document.getMetadata().get(Document.PRICE_KEY));
+        assertEquals(2015, document.getMetadata().get(Document.VINTAGE_KEY));
+        assertEquals("wine", document.getMetadata().get("category"));
+    }
+    
+    @Test
+    void keepsValuesFromRequest() {
+        Document document = Document.builder()
+            .id("menu_1")
+            .title("한우 안심 스테이크")
+            .content("가격: 68,000원")
+            .metadata(Map.of(Document.PRICE_KEY, 59_000L))
+            .build();
+        
+        NumericMetadataExtractor.extract(document);
+        
+        assertEquals(59_000L, document.getMetadata().get(Document.PRICE_KEY));
+        assertNull(document.getMetadata().get(Document.VINTAGE_KEY));
+    }
+    
+    @Test
+    void leavesDocumentWithoutNumbersUnchanged() {
+        Document document = Document.builder()
+            .id("review_1")
+            .title("친절한 서비스")
+            .content("직원분들이 친절했어요.")
+            .build();
+        
+        NumericMetadataExtractor.extract(document);
+        
+        assertNull(document.getMetadata());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.langgraph4j.examples.agenticrag.service;
+
+import com.example.langgraph4j.examples.agenticrag.index.DocumentFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * PriceQueryParser의 금액 표현과 경계 조사 해석 검증
+ */
+class PriceQueryParserTest {
+    
+    @Test
+    void parsesCompoundManCheonAmounts() {
+        assertEquals(range(null, 35_000.0), PriceQueryParser.parse("3만 5천원 이하 메뉴"));
+        assertEquals(range(null, 35_000.0), PriceQueryParser.parse("3만5000원 이하"));
+        assertEquals(range(null, 35_000.0), PriceQueryParser.parse("3.5만 원 이하"));
+        assertEquals(range(5_000.0, null), PriceQueryParser.parse("5천원 이상 디저트"));
+        assertEquals(range(50_000.0, null), PriceQueryParser.parse("₩50,000 이상 와인"));
+    }
+    
+    @Test
+    void excludesAmountForExclusiveBounds() {
+        assertEquals(range(null, Math.nextDown(30_000.0)), PriceQueryParser.parse("3만원 미만"));
+        assertEquals(range(Math.nextUp(30_000.0), null), PriceQueryParser.parse("3만원 초과 와인"));
+        assertEquals(range(Math.nextUp(20_000.0), Math.nextDown(50_000.0)),
+            PriceQueryParser.parse("2만원 초과 5만원 미만"));
+    }
+    
+    @Test
+    void treatsTwoUnboundedAmountsAsRange() {
+        assertEquals(range(20_000.0, 30_000.0), PriceQueryParser.parse("2만원에서 3만원 사이 메뉴"));
+        assertEquals(range(20_000.0, 30_000.0), PriceQueryParser.parse("3만원, 2만원 정도"));
+    }
+    
+    @Test
+    void ignoresSingleAmountWithoutBound() {
+        assertFalse(PriceQueryParser.parse("3만원짜리 메뉴 추천").isPresent());
+        assertFalse(PriceQueryParser.parse("스테이크 추천").isPresent());
+        assertFalse(PriceQueryParser.parse("").isPresent());
+        assertFalse(PriceQueryParser.parse(null).isPresent());
+    }
+    
+    @Test
+    void ignoresContradictoryBounds() {
+        assertFalse(PriceQueryParser.parse("5만원 이상 3만원 이하").isPresent());
+    }
+    
+    private static Optional<DocumentFilter.Range> range(Double min, Double max) {
+        return Optional.of(DocumentFilter.Range.of(min, max));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.langgraph4j.examples.agenticrag.index;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Java Vector API(jdk.incubator.vector) SIMD 내적 커널
+ * 
+ * 플랫폼 기본 폭(AVX2 8개, AVX-512 16개 float)으로 곱셈과 누적을 수행하고, 남은 원소는 스칼라로 처리합니다.
+ * 블록 연산은 쿼리 레인을 한 번 읽어 네 행에 재사용합니다. 하드웨어 FMA가 없는 환경에서 느려지는
+ * {@code fma} 대신 곱셈 후 덧셈을 사용합니다.
+ * 
+ * int8 내적은 8개 바이트를 short로 넓혀 곱한 뒤 int 256비트 레인에 누적하며 (127² 곱이 short 범위 안),
+ * int 벡터 폭이 256비트 미만인 플랫폼에서는 스칼라 루프를 사용합니다.
+ * 
+ * 이 클래스는 Vector API 모듈이 있을 때만 로드해야 합니다 ({@link SimilarityKernel#isVectorApiAvailable()}).
+ * 인큐베이터 모듈 옵션이 이 소스 세트(src/vector/java)의 컴파일에만 적용되도록 메인 코드에서 분리되어 있으며,
+ * {@link SimilarityKernel#forName(String)}이 리플렉션으로 {@code INSTANCE}를 읽습니다.
+ * 
+ * @author Claude AI Assistant
+ * @since 2025-07-31
+ */
+final class PanamaSimilarityKernel implements SimilarityKernel {
+    
+    static final String NAME = VECTOR_KERNEL;
+    
+    static final PanamaSimilarityKernel INSTANCE = new PanamaSimilarityKernel();
+    
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    
+    private static final boolean INT8_VECTORIZED = IntVector.SPECIES_PREFERRED.vectorBitSize() >= 256;
+    
+    private PanamaSimilarityKernel() {
+    }
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public float dotProduct(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        int bound = FLOAT_SPECIES.loopBound(length);
+        FloatVector sum = FloatVector.zero(FLOAT_SPECIES);
+        int i = 0;
+        for (; i < bound; i += FLOAT_SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, b, bOffset + i);
+            sum = va.mul(vb).add(sum);
+        }
+        
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+    
+    @Override
+    public void dotProducts(float[] query, float[] matrix, int firstRow, int rowCount, float[] scores) {
+        int dimension = query.length;
+        int bound = FLOAT_SPECIES.loopBound(dimension);
+        int row = 0;
+        
+        // 네 행씩 묶어 쿼리 레인 로드를 공유
+        for (; row + 4 <= rowCount; row += 4) {
+            int offset0 = (firstRow + row) * dimension;
+            int offset1 = offset0 + dimension;
+            int offset2 = offset1 + dimension;
+            int offset3 = offset2 + dimension;
+            FloatVector sum0 = FloatVector.zero(FLOAT_SPECIES);
+            FloatVector sum1 = FloatVector.zero(FLOAT_SPECIES);
+            FloatVector sum2 = FloatVector.zero(FLOAT_SPECIES);
+            FloatVector sum3 = FloatVector.zero(FLOAT_SPECIES);
+            
+            int i = 0;
+            for (; i < bound; i += FLOAT_SPECIES.length()) {
+                FloatVector q = FloatVector.fromArray(FLOAT_SPECIES, query, i);
+                sum0 = q.mul(FloatVector.fromArray(FLOAT_SPECIES, matrix, offset0 + i)).add(sum0);
+                sum1 = q.mul(FloatVector.fromArray(FLOAT_SPECIES, matrix, offset1 + i)).add(sum1);
+                sum2 = q.mul(FloatVector.fromArray(FLOAT_SPECIES, matrix, offset2 + i)).add(sum2);
+                sum3 = q.mul(FloatVector.fromArray(FLOAT_SPECIES, matrix, offset3 + i)).add(sum3);
+            }
+            
+            float score0 = sum0.reduceLanes(VectorOperators.ADD);
+            float score1 = sum1.reduceLanes(VectorOperators.ADD);
+            float score2 = sum2.reduceLanes(VectorOperators.ADD);
+            float score3 = sum3.reduceLanes(VectorOperators.ADD);
+            for (; i < dimension; i++) {
+                float q = query[i];
+                score0 += q * matrix[offset0 + i];
+                score1 += q * matrix[offset1 + i];
+                score2 += q * matrix[offset2 + i];
+                score3 += q * matrix[offset3 + i];
+            }
+            scores[row] = score0;
+            scores[row + 1] = score1;
+            scores[row + 2] = score2;
+            scores[row + 3] = score3;
+        }
+        
+        for (; row < rowCount; row++) {
+            scores[row] = dotProduct(query, 0, matrix, (firstRow + row) * dimension, dimension);
+        }
+    }
+    
+    @Override
+    public int dotProduct(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int i = 0;
+        int result = 0;
+        
+        if (INT8_VECTORIZED) {
+            int bound = ByteVector.SPECIES_64.loopBound(length);
+            IntVector sum = IntVector.zero(IntVector.SPECIES_256);
+            for (; i < bound; i += ByteVector.SPECIES_64.length()) {
+                ByteVector va = ByteVector.fromArray(ByteVector.SPECIES_64, a, aOffset + i);
+                ByteVector vb = ByteVector.fromArray(ByteVector.SPECIES_64, b, bOffset + i);
+                ShortVector product = ((ShortVector) va.convertShape(VectorOperators.B2S, ShortVector.SPECIES_128, 0))
+                    .mul((ShortVector) vb.convertShape(VectorOperators.B2S, ShortVector.SPECIES_128, 0));
+                sum = sum.add(product.convertShape(VectorOperators.S2I, IntVector.SPECIES_256, 0));
+            }
+            result = sum.reduceLanes(VectorOperators.ADD);
+        }
+        
+        for (; i < length; i++) {
+            result += a[aOffset + i] * b[bOffset + i];
+        }
+        return result;
+    }
+}